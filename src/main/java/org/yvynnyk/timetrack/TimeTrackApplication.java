@@ -2,8 +2,10 @@ package org.yvynnyk.timetrack;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TimeTrackApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,83 @@
+package org.yvynnyk.timetrack.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-process task cache and its cross-instance invalidation, bound from the
+ * {@code timetrack.cache} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.cache")
+public class CacheProperties {
+
+	/**
+	 * Settings of the task cache.
+	 */
+	private Tasks tasks = new Tasks();
+
+	/**
+	 * Settings of the invalidation bus.
+	 */
+	private Invalidation invalidation = new Invalidation();
+
+	/**
+	 * Settings of the task cache.
+	 */
+	@Data
+	public static class Tasks {
+		/**
+		 * Whether tasks and task lists are cached.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Upper bound of cached tasks, and of cached task lists.
+		 */
+		private long maximumSize = 10_000;
+
+		/**
+		 * Time after which a cached entry is reloaded even without an invalidation.
+		 */
+		private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+		/**
+		 * Whether concurrent loads of the same task, or of the same task list, share one database query. Applies
+		 * even when caching is disabled.
+		 */
+		private boolean coalesceLoads = true;
+	}
+
+	/**
+	 * Settings of the PostgreSQL LISTEN/NOTIFY invalidation bus.
+	 */
+	@Data
+	public static class Invalidation {
+		/**
+		 * Whether changed tasks are announced to the other instances. Only effective on PostgreSQL.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Notification channel; a lower-case SQL identifier.
+		 */
+		private String channel = "timetrack_task_changes";
+
+		/**
+		 * Time during which received notifications are collected before they are applied at once.
+		 */
+		private Duration coalesce = Duration.ofMillis(50);
+
+		/**
+		 * First delay before reconnecting a lost listener connection; doubled after every failed attempt.
+		 */
+		private Duration reconnectDelay = Duration.ofSeconds(1);
+
+		/**
+		 * Largest delay between reconnection attempts.
+		 */
+		private Duration maxReconnectDelay = Duration.ofSeconds(30);
+	}
+}
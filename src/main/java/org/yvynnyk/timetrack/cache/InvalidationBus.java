@@ -0,0 +1,24 @@
+package org.yvynnyk.timetrack.cache;
+
+import java.util.Collection;
+
+/**
+ * Announces changed tasks to the other application instances, which evict them from their {@link TaskCache}.
+ */
+public interface InvalidationBus {
+
+	/**
+	 * Bus of a single instance, announcing nothing.
+	 */
+	InvalidationBus LOCAL = (tenant, taskIds) -> {
+	};
+
+	/**
+	 * Announces changed tasks. Called inside the transaction making the change, just before it commits, so that
+	 * a transactional bus announces exactly the committed changes.
+	 *
+	 * @param tenant  the tenant of the changed tasks
+	 * @param taskIds the IDs of the changed tasks
+	 */
+	void publish(String tenant, Collection<Long> taskIds);
+}
@@ -0,0 +1,277 @@
+package org.yvynnyk.timetrack.cache;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * {@link InvalidationBus} over PostgreSQL's {@code LISTEN}/{@code NOTIFY}, which needs no infrastructure besides
+ * the database.
+ * <p>
+ * Changes are announced with {@code pg_notify} on the connection of the changing transaction, so PostgreSQL
+ * delivers them only if the transaction commits. The payload is {@code tenant|id,id,...}, split into several
+ * notifications when it would exceed PostgreSQL's payload limit. With sharding, a change is announced on the shard
+ * holding the task.
+ * </p>
+ * <p>
+ * Every instance listens on a dedicated connection per database, outside the pools. Notifications arriving in a
+ * burst are collected for {@code coalesce} and applied as one eviction per tenant. When a listener connection is
+ * lost, the instance may miss notifications, so after every (re)connection the whole {@link TaskCache} is flushed.
+ * The bus stays inactive when the databases are not PostgreSQL, as in the tests on H2; the cache is then only
+ * invalidated locally.
+ * </p>
+ */
+public class PgNotifyInvalidationBus implements InvalidationBus, SmartLifecycle {
+
+	private static final Logger logger = LoggerFactory.getLogger(PgNotifyInvalidationBus.class);
+
+	private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+	private static final String POSTGRESQL_URL = "jdbc:postgresql:";
+	private static final String NOTIFY = "select pg_notify(?, ?)";
+	private static final char TENANT_SEPARATOR = '|';
+	private static final char ID_SEPARATOR = ',';
+	private static final long POLL_MILLIS = 500;
+
+	/**
+	 * Largest payload of one notification; PostgreSQL rejects payloads of 8000 bytes or more.
+	 */
+	static final int MAX_PAYLOAD = 7900;
+
+	private final JdbcTemplate publisher;
+	private final List<HikariDataSource> databases;
+	private final TaskCache cache;
+	private final CacheProperties.Invalidation properties;
+	private final boolean active;
+	private final Counter received;
+	private final Counter flushes;
+	private final List<Thread> listeners = new ArrayList<>();
+
+	private volatile boolean running;
+
+	/**
+	 * Constructs a PgNotifyInvalidationBus.
+	 *
+	 * @param dataSource    the application's DataSource, whose transaction connection sends the notifications
+	 * @param databases     the pools of the databases to listen on
+	 * @param cache         the cache to invalidate
+	 * @param properties    the bus properties
+	 * @param meterRegistry the registry for the bus metrics
+	 */
+	public PgNotifyInvalidationBus(DataSource dataSource, List<HikariDataSource> databases, TaskCache cache,
+								   CacheProperties.Invalidation properties, MeterRegistry meterRegistry) {
+		if (!CHANNEL.matcher(properties.getChannel()).matches()) {
+			throw new IllegalArgumentException("Invalid notification channel: " + properties.getChannel());
+		}
+		this.publisher = new JdbcTemplate(dataSource);
+		this.databases = databases;
+		this.cache = cache;
+		this.properties = properties;
+		this.active = !databases.isEmpty() && databases.stream()
+				.allMatch(database -> database.getJdbcUrl() != null && database.getJdbcUrl().startsWith(POSTGRESQL_URL));
+		this.received = Counter.builder(MetricsConstants.Cache.NOTIFICATIONS)
+				.description("Task change notifications received from other instances")
+				.register(meterRegistry);
+		this.flushes = Counter.builder(MetricsConstants.Cache.FLUSHES)
+				.description("Full flushes of the task cache after a listener (re)connection")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void publish(String tenant, Collection<Long> taskIds) {
+		if (!active) {
+			return;
+		}
+		for (String payload : encode(tenant, taskIds)) {
+			publisher.query(NOTIFY, (ResultSetExtractor<Object>) resultSet -> null, properties.getChannel(), payload);
+		}
+	}
+
+	/**
+	 * Whether the bus announces and receives changes, i.e. whether all databases are PostgreSQL.
+	 *
+	 * @return {@code true} if the bus is active
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		if (!active) {
+			logger.info(LoggingConstants.Cache.BUS_INACTIVE);
+			return;
+		}
+		for (HikariDataSource database : databases) {
+			Thread listener = new Thread(new Listener(database), "invalidation-" + database.getPoolName());
+			listener.setDaemon(true);
+			listener.start();
+			listeners.add(listener);
+		}
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		listeners.forEach(Thread::interrupt);
+		listeners.clear();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Encodes changed tasks into notification payloads of at most {@link #MAX_PAYLOAD} characters.
+	 *
+	 * @param tenant  the tenant of the tasks
+	 * @param taskIds the task IDs
+	 * @return the payloads
+	 */
+	static List<String> encode(String tenant, Collection<Long> taskIds) {
+		List<String> payloads = new ArrayList<>();
+		StringBuilder payload = new StringBuilder(tenant).append(TENANT_SEPARATOR);
+		int empty = payload.length();
+		for (Long taskId : taskIds) {
+			String id = String.valueOf(taskId);
+			if (payload.length() > empty && payload.length() + 1 + id.length() > MAX_PAYLOAD) {
+				payloads.add(payload.toString());
+				payload.setLength(empty);
+			}
+			if (payload.length() > empty) {
+				payload.append(ID_SEPARATOR);
+			}
+			payload.append(id);
+		}
+		payloads.add(payload.toString());
+		return payloads;
+	}
+
+	/**
+	 * Decodes a notification payload into the changes, collected by tenant.
+	 *
+	 * @param payload the payload
+	 * @param changes the changes to add to
+	 * @throws IllegalArgumentException if the payload is malformed
+	 */
+	static void decode(String payload, Map<String, Set<Long>> changes) {
+		int separator = payload.indexOf(TENANT_SEPARATOR);
+		if (separator <= 0) {
+			throw new IllegalArgumentException("Malformed task change notification: " + payload);
+		}
+		Set<Long> taskIds = changes.computeIfAbsent(payload.substring(0, separator), tenant -> new LinkedHashSet<>());
+		int start = separator + 1;
+		while (start < payload.length()) {
+			int end = payload.indexOf(ID_SEPARATOR, start);
+			if (end < 0) {
+				end = payload.length();
+			}
+			taskIds.add(Long.parseLong(payload, start, end, 10));
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * Listener on one database, reconnecting until the bus stops.
+	 */
+	private final class Listener implements Runnable {
+
+		private final HikariDataSource database;
+
+		private Listener(HikariDataSource database) {
+			this.database = database;
+		}
+
+		@Override
+		public void run() {
+			long delay = properties.getReconnectDelay().toMillis();
+			while (running) {
+				try (Connection connection = DriverManager.getConnection(database.getJdbcUrl(),
+						database.getUsername(), database.getPassword());
+					 Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + properties.getChannel());
+					cache.clear();
+					flushes.increment();
+					delay = properties.getReconnectDelay().toMillis();
+					logger.info(LoggingConstants.Cache.LISTENING, value(LoggingConstants.Fields.POOL, database.getPoolName()));
+					listen(connection.unwrap(PGConnection.class));
+				} catch (SQLException e) {
+					if (!running) {
+						return;
+					}
+					logger.warn(LoggingConstants.Cache.LISTENER_FAILED, value(LoggingConstants.Fields.POOL,
+							database.getPoolName()), e);
+					try {
+						TimeUnit.MILLISECONDS.sleep(delay);
+					} catch (InterruptedException interrupted) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					delay = Math.min(delay * 2, properties.getMaxReconnectDelay().toMillis());
+				}
+			}
+		}
+
+		private void listen(PGConnection connection) throws SQLException {
+			while (running) {
+				PGNotification[] notifications = connection.getNotifications((int) POLL_MILLIS);
+				if (notifications == null || notifications.length == 0) {
+					continue;
+				}
+				Map<String, Set<Long>> changes = new LinkedHashMap<>();
+				collect(notifications, changes);
+				long deadline = System.nanoTime() + properties.getCoalesce().toNanos();
+				long remaining;
+				while ((remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())) > 0) {
+					collect(connection.getNotifications((int) remaining), changes);
+				}
+				changes.forEach(cache::evict);
+			}
+		}
+
+		private void collect(PGNotification[] notifications, Map<String, Set<Long>> changes) {
+			if (notifications == null) {
+				return;
+			}
+			for (PGNotification notification : notifications) {
+				received.increment();
+				try {
+					decode(notification.getParameter(), changes);
+				} catch (IllegalArgumentException e) {
+					logger.warn(LoggingConstants.Cache.INVALID_NOTIFICATION, value(LoggingConstants.Fields.POOL,
+							database.getPoolName()), e);
+				}
+			}
+		}
+	}
+}
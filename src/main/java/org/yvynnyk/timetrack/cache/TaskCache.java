@@ -0,0 +1,313 @@
+package org.yvynnyk.timetrack.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yvynnyk.timetrack.concurrency.SingleFlight;
+import org.yvynnyk.timetrack.datasource.ReadYourWrites;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of tasks by ID and of the task list of every tenant.
+ * <p>
+ * Only reads of a single tenant are cached, and only outside read-write transactions, so that a service writing
+ * a task always starts from the database state. Entries are evicted by {@link TaskChanges} when a transaction
+ * changing tasks commits, on this instance directly and on the other instances through the
+ * {@link InvalidationBus}; they also expire after a fixed time as a safety net.
+ * </p>
+ * <p>
+ * Cached objects are shared between callers and must not be modified.
+ * </p>
+ * <p>
+ * Concurrent loads of the same task, or of the same task list, are coalesced through a {@link SingleFlight}: one
+ * caller queries the database and the others wait for its result. This also applies to reads that bypass the
+ * cache, such as reads of the {@link TenantContext#ROOT} tenant or reads while caching is disabled, but not to
+ * reads in read-write transactions, which must see their own changes. Loads are keyed by tenant and by
+ * whether the caller is pinned to the primary by {@link ReadYourWrites}, so that no caller receives data it could
+ * not have read itself, and evictions detach the loads in flight so that no caller arriving after a change
+ * receives data read before it.
+ * </p>
+ */
+public class TaskCache {
+
+	/**
+	 * Name of the task cache in the cache metrics.
+	 */
+	public static final String TASKS = "tasks";
+
+	/**
+	 * Name of the task list cache in the cache metrics.
+	 */
+	public static final String TASK_LISTS = "task-lists";
+
+	private final Cache<Long, Entry> tasks;
+	private final Cache<String, List<TaskDTO>> lists;
+	private final SingleFlight<TaskKey, TaskDTO> taskLoads = new SingleFlight<>();
+	private final SingleFlight<ListKey, List<TaskDTO>> listLoads = new SingleFlight<>();
+	private final String defaultTenant;
+	private final boolean enabled;
+	private final boolean coalesce;
+
+	/**
+	 * Constructs a TaskCache.
+	 *
+	 * @param maximumSize      upper bound of cached tasks, and of cached task lists
+	 * @param expireAfterWrite time after which an entry expires
+	 * @param defaultTenant    the tenant of callers without a bound tenant
+	 */
+	public TaskCache(long maximumSize, Duration expireAfterWrite, String defaultTenant) {
+		this(maximumSize, expireAfterWrite, defaultTenant, true, true);
+	}
+
+	/**
+	 * Constructs a TaskCache, optionally without coalescing concurrent loads.
+	 *
+	 * @param maximumSize      upper bound of cached tasks, and of cached task lists
+	 * @param expireAfterWrite time after which an entry expires
+	 * @param defaultTenant    the tenant of callers without a bound tenant
+	 * @param coalesce         whether concurrent loads of the same task or task list share one load
+	 */
+	public TaskCache(long maximumSize, Duration expireAfterWrite, String defaultTenant, boolean coalesce) {
+		this(maximumSize, expireAfterWrite, defaultTenant, true, coalesce);
+	}
+
+	private TaskCache(long maximumSize, Duration expireAfterWrite, String defaultTenant, boolean enabled,
+					  boolean coalesce) {
+		this.tasks = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+		this.lists = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+		this.defaultTenant = defaultTenant;
+		this.enabled = enabled;
+		this.coalesce = coalesce;
+	}
+
+	/**
+	 * Creates a cache that never holds an entry but coalesces concurrent loads.
+	 *
+	 * @param defaultTenant the tenant of callers without a bound tenant
+	 * @return the disabled cache
+	 */
+	public static TaskCache disabled(String defaultTenant) {
+		return disabled(defaultTenant, true);
+	}
+
+	/**
+	 * Creates a cache that never holds an entry.
+	 *
+	 * @param defaultTenant the tenant of callers without a bound tenant
+	 * @param coalesce      whether concurrent loads of the same task or task list share one load
+	 * @return the disabled cache
+	 */
+	public static TaskCache disabled(String defaultTenant, boolean coalesce) {
+		return new TaskCache(0, Duration.ZERO, defaultTenant, false, coalesce);
+	}
+
+	/**
+	 * Returns a task of the current tenant, loading it on a miss.
+	 *
+	 * @param taskId the task ID
+	 * @param loader loads the task; its exceptions are propagated and nothing is cached
+	 * @return the task
+	 */
+	public TaskDTO get(Long taskId, Supplier<TaskDTO> loader) {
+		if (inReadWriteTransaction()) {
+			return loader.get();
+		}
+		String tenant = currentTenant();
+		TaskKey key = new TaskKey(tenant, ReadYourWrites.isPrimaryForced(), taskId);
+		if (!cacheable(tenant)) {
+			return coalesce(taskLoads, key, loader);
+		}
+		Entry entry = tasks.getIfPresent(taskId);
+		if (entry != null && entry.tenant().equals(tenant)) {
+			return entry.task();
+		}
+		if (entry != null) {
+			return coalesce(taskLoads, key, loader);
+		}
+		return coalesce(taskLoads, key, () -> {
+			Entry loaded = tasks.get(taskId, id -> new Entry(tenant, loader.get()));
+			return loaded.tenant().equals(tenant) ? loaded.task() : loader.get();
+		});
+	}
+
+	/**
+	 * Returns several tasks of the current tenant, loading the ones not cached in one call.
+	 * <p>
+	 * Loaded tasks are not added to the cache: unlike a single load, a bulk load is not atomic with respect to
+	 * evictions, so a task changed during the load could be cached in its previous state.
+	 * </p>
+	 *
+	 * @param taskIds the task IDs, without duplicates
+	 * @param loader  loads the tasks with the given IDs; tasks that do not exist are left out
+	 * @return the found tasks by ID
+	 */
+	public Map<Long, TaskDTO> getMany(Collection<Long> taskIds, Function<Collection<Long>, List<TaskDTO>> loader) {
+		Map<Long, TaskDTO> found = new HashMap<>();
+		Collection<Long> missing = taskIds;
+		if (!inReadWriteTransaction() && cacheable(currentTenant())) {
+			String tenant = currentTenant();
+			missing = new ArrayList<>();
+			for (Long taskId : taskIds) {
+				Entry entry = tasks.getIfPresent(taskId);
+				if (entry != null && entry.tenant().equals(tenant)) {
+					found.put(taskId, entry.task());
+				} else {
+					missing.add(taskId);
+				}
+			}
+		}
+		if (!missing.isEmpty()) {
+			for (TaskDTO task : loader.apply(missing)) {
+				found.put(task.getId(), task);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Returns all tasks of the current tenant, loading them on a miss.
+	 *
+	 * @param loader loads the tasks
+	 * @return the tasks, unmodifiable
+	 */
+	public List<TaskDTO> getAll(Supplier<List<TaskDTO>> loader) {
+		if (inReadWriteTransaction()) {
+			return loader.get();
+		}
+		String tenant = currentTenant();
+		ListKey key = new ListKey(tenant, ReadYourWrites.isPrimaryForced());
+		if (!cacheable(tenant)) {
+			return coalesce(listLoads, key, () -> List.copyOf(loader.get()));
+		}
+		return coalesce(listLoads, key, () -> lists.get(tenant, ignored -> List.copyOf(loader.get())));
+	}
+
+	/**
+	 * Evicts changed tasks and the task list of their tenant. For the {@link TenantContext#ROOT} tenant, the lists
+	 * of all tenants are evicted.
+	 *
+	 * @param tenant  the tenant of the changed tasks
+	 * @param taskIds the IDs of the changed tasks
+	 */
+	public void evict(String tenant, Collection<Long> taskIds) {
+		taskLoads.forget(key -> taskIds.contains(key.taskId()));
+		tasks.invalidateAll(taskIds);
+		if (TenantContext.ROOT.equals(tenant)) {
+			listLoads.forget(key -> true);
+			lists.invalidateAll();
+		} else {
+			listLoads.forget(key -> key.tenant().equals(tenant) || TenantContext.ROOT.equals(key.tenant()));
+			lists.invalidate(tenant);
+		}
+	}
+
+	/**
+	 * Evicts every entry, e.g. when changes of other instances may have been missed.
+	 */
+	public void clear() {
+		taskLoads.forget(key -> true);
+		listLoads.forget(key -> true);
+		tasks.invalidateAll();
+		lists.invalidateAll();
+	}
+
+	/**
+	 * The underlying task cache, for metrics.
+	 *
+	 * @return the task cache
+	 */
+	public Cache<Long, ?> tasks() {
+		return tasks;
+	}
+
+	/**
+	 * The underlying task list cache, for metrics.
+	 *
+	 * @return the task list cache
+	 */
+	public Cache<String, ?> lists() {
+		return lists;
+	}
+
+	/**
+	 * The coalescer of task loads, for metrics.
+	 *
+	 * @return the task load coalescer
+	 */
+	public SingleFlight<?, ?> taskLoads() {
+		return taskLoads;
+	}
+
+	/**
+	 * The coalescer of task list loads, for metrics.
+	 *
+	 * @return the task list load coalescer
+	 */
+	public SingleFlight<?, ?> listLoads() {
+		return listLoads;
+	}
+
+	private <K, V> V coalesce(SingleFlight<K, V> flight, K key, Supplier<V> loader) {
+		return coalesce ? flight.load(key, loader) : loader.get();
+	}
+
+	private boolean cacheable(String tenant) {
+		return enabled && !TenantContext.ROOT.equals(tenant);
+	}
+
+	private String currentTenant() {
+		String tenant = TenantContext.current();
+		return tenant != null ? tenant : defaultTenant;
+	}
+
+	private static boolean inReadWriteTransaction() {
+		return TransactionSynchronizationManager.isActualTransactionActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	/**
+	 * A cached task with the tenant it belongs to, so that it is never served to another tenant.
+	 *
+	 * @param tenant the tenant of the task
+	 * @param task   the task
+	 */
+	private record Entry(String tenant, TaskDTO task) {
+	}
+
+	/**
+	 * Key of a task load.
+	 *
+	 * @param tenant  the tenant of the caller
+	 * @param primary whether the caller reads from the primary
+	 * @param taskId  the task ID
+	 */
+	private record TaskKey(String tenant, boolean primary, Long taskId) {
+	}
+
+	/**
+	 * Key of a task list load.
+	 *
+	 * @param tenant  the tenant of the caller
+	 * @param primary whether the caller reads from the primary
+	 */
+	private record ListKey(String tenant, boolean primary) {
+	}
+}
@@ -0,0 +1,102 @@
+package org.yvynnyk.timetrack.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records the tasks changed by the services and invalidates them once the change is committed.
+ * <p>
+ * Changes are collected per transaction, so that a transaction touching a task several times, or many tasks,
+ * results in one announcement per tenant on the {@link InvalidationBus}, sent just before the commit, and one
+ * eviction from the local {@link TaskCache} after it. Rolled back changes are neither announced nor evicted.
+ * Outside a transaction, a change is announced and evicted immediately.
+ * </p>
+ */
+public class TaskChanges {
+
+	private final TaskCache cache;
+	private final InvalidationBus bus;
+	private final String defaultTenant;
+
+	/**
+	 * Constructs a TaskChanges.
+	 *
+	 * @param cache         the local cache
+	 * @param bus           the bus reaching the other instances
+	 * @param defaultTenant the tenant of callers without a bound tenant
+	 */
+	public TaskChanges(TaskCache cache, InvalidationBus bus, String defaultTenant) {
+		this.cache = cache;
+		this.bus = bus;
+		this.defaultTenant = defaultTenant;
+	}
+
+	/**
+	 * Records a changed, created or deleted task of the current tenant.
+	 *
+	 * @param taskId the task ID
+	 */
+	public void changed(Long taskId) {
+		String tenant = TenantContext.current() != null ? TenantContext.current() : defaultTenant;
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			bus.publish(tenant, List.of(taskId));
+			cache.evict(tenant, List.of(taskId));
+			return;
+		}
+		pending(tenant).add(taskId);
+	}
+
+	/**
+	 * Records tasks of the current tenant created in bulk, e.g. by an import. New tasks are not cached yet, so only
+	 * the tenant's task list is invalidated, without listing the tasks.
+	 */
+	public void added() {
+		String tenant = TenantContext.current() != null ? TenantContext.current() : defaultTenant;
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			bus.publish(tenant, List.of());
+			cache.evict(tenant, List.of());
+			return;
+		}
+		pending(tenant);
+	}
+
+	private Set<Long> pending(String tenant) {
+		Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			pending = new Pending();
+			TransactionSynchronizationManager.bindResource(this, pending);
+			TransactionSynchronizationManager.registerSynchronization(pending);
+		}
+		return pending.taskIds.computeIfAbsent(tenant, key -> new LinkedHashSet<>());
+	}
+
+	/**
+	 * The changes of one transaction, by tenant.
+	 */
+	private final class Pending implements TransactionSynchronization {
+
+		private final Map<String, Set<Long>> taskIds = new LinkedHashMap<>();
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			taskIds.forEach(bus::publish);
+		}
+
+		@Override
+		public void afterCommit() {
+			taskIds.forEach(cache::evict);
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(TaskChanges.this);
+		}
+	}
+}
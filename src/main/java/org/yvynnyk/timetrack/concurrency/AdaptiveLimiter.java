@@ -0,0 +1,172 @@
+package org.yvynnyk.timetrack.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to the observed latency, in the style of the gradient limiters.
+ * <p>
+ * Requests take a {@link Permit} while they run; once as many requests run as the limit allows, further ones are
+ * refused instead of queueing. The limiter collects the latency of every {@code windowSize} successful requests
+ * and compares its mean with a baseline: the lowest recent mean, which rises only slowly when latency stays high.
+ * While the latency stays within {@code tolerance} times the baseline, the limit grows by about its square root
+ * per window, probing for more capacity; beyond that, it shrinks in proportion to the latency increase, down to
+ * half per window. New estimates are blended into the limit with the {@code smoothing} weight. Windows in which
+ * fewer than half of the permits were used do not grow the limit, since they say nothing about the capacity
+ * above it. Server errors shrink the limit multiplicatively by {@code backoffRatio}, as in AIMD.
+ * </p>
+ * <p>
+ * Taking and releasing permits is lock-free; the adjustment at the end of a window is synchronized.
+ * </p>
+ */
+public class AdaptiveLimiter {
+
+	private static final double MIN_GRADIENT = 0.5;
+	private static final double BASELINE_DRIFT = 0.05;
+
+	private final ConcurrencyProperties.Limit settings;
+	private final AtomicInteger inflight = new AtomicInteger();
+
+	private volatile int limit;
+
+	private double estimate;
+	private double baselineNanos;
+	private long windowNanos;
+	private int windowCount;
+	private int windowMaxInflight;
+
+	/**
+	 * Constructs an AdaptiveLimiter starting at the initial limit.
+	 *
+	 * @param settings the limit settings
+	 */
+	public AdaptiveLimiter(ConcurrencyProperties.Limit settings) {
+		this.settings = settings;
+		this.estimate = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), settings.getInitialLimit()));
+		this.limit = (int) estimate;
+	}
+
+	/**
+	 * Takes a permit if fewer requests than the limit are running.
+	 *
+	 * @return the permit, to be released when the request completes, or {@code null} if the limit is reached
+	 */
+	public Permit tryAcquire() {
+		int current;
+		do {
+			current = inflight.get();
+			if (current >= limit) {
+				return null;
+			}
+		} while (!inflight.compareAndSet(current, current + 1));
+		return new Permit(System.nanoTime(), current + 1);
+	}
+
+	/**
+	 * Returns the current limit.
+	 *
+	 * @return the number of requests allowed to run concurrently
+	 */
+	public int limit() {
+		return limit;
+	}
+
+	/**
+	 * Returns the number of running requests.
+	 *
+	 * @return the number of permits taken and not yet released
+	 */
+	public int inflight() {
+		return inflight.get();
+	}
+
+	/**
+	 * Records the latency of a successful request.
+	 *
+	 * @param latencyNanos the latency of the request
+	 * @param inflight     the number of running requests when it started, itself included
+	 */
+	synchronized void onSuccess(long latencyNanos, int inflight) {
+		windowNanos += latencyNanos;
+		windowCount++;
+		windowMaxInflight = Math.max(windowMaxInflight, inflight);
+		if (windowCount < settings.getWindowSize()) {
+			return;
+		}
+		double meanNanos = (double) windowNanos / windowCount;
+		if (baselineNanos == 0 || meanNanos < baselineNanos) {
+			baselineNanos = meanNanos;
+		} else {
+			baselineNanos += (meanNanos - baselineNanos) * BASELINE_DRIFT;
+		}
+		double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, settings.getTolerance() * baselineNanos / meanNanos));
+		double target = estimate * gradient + Math.sqrt(estimate);
+		if (target > estimate && windowMaxInflight < estimate / 2) {
+			target = estimate;
+		}
+		update(estimate * (1 - settings.getSmoothing()) + target * settings.getSmoothing());
+	}
+
+	/**
+	 * Shrinks the limit after a request failed with a server error.
+	 */
+	synchronized void onFailure() {
+		update(estimate * settings.getBackoffRatio());
+	}
+
+	private void update(double newEstimate) {
+		estimate = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), newEstimate));
+		limit = (int) estimate;
+		windowNanos = 0;
+		windowCount = 0;
+		windowMaxInflight = 0;
+	}
+
+	/**
+	 * A running request, released exactly once when it completes.
+	 */
+	public final class Permit {
+
+		private final long startNanos;
+		private final int startInflight;
+		private boolean released;
+
+		private Permit(long startNanos, int startInflight) {
+			this.startNanos = startNanos;
+			this.startInflight = startInflight;
+		}
+
+		/**
+		 * Releases the permit of a request that succeeded, feeding its latency into the limit.
+		 */
+		public void success() {
+			if (release()) {
+				onSuccess(System.nanoTime() - startNanos, startInflight);
+			}
+		}
+
+		/**
+		 * Releases the permit of a request that failed with a server error, shrinking the limit.
+		 */
+		public void failure() {
+			if (release()) {
+				onFailure();
+			}
+		}
+
+		/**
+		 * Releases the permit without affecting the limit, e.g. for a rejected client error.
+		 */
+		public void ignore() {
+			release();
+		}
+
+		private boolean release() {
+			if (released) {
+				return false;
+			}
+			released = true;
+			inflight.decrementAndGet();
+			return true;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package org.yvynnyk.timetrack.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method whose concurrent executions are bounded by the adaptive limit of a group.
+ * Requests above the limit are rejected with {@code 503 Service Unavailable} before the method runs.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+
+	/**
+	 * The group whose limit applies.
+	 *
+	 * @return the limit group
+	 */
+	LimitGroup value();
+}
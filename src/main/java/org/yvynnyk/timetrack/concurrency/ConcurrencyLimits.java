@@ -0,0 +1,72 @@
+package org.yvynnyk.timetrack.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The adaptive limiters of all {@link LimitGroup limit groups}, with their metrics.
+ * <p>
+ * The {@link MetricsConstants.Concurrency#LIMIT} and {@link MetricsConstants.Concurrency#INFLIGHT} gauges and the
+ * {@link MetricsConstants.Concurrency#REJECTED} counter are tagged with the group.
+ * </p>
+ */
+public class ConcurrencyLimits {
+
+	private final Map<LimitGroup, AdaptiveLimiter> limiters = new EnumMap<>(LimitGroup.class);
+	private final Map<LimitGroup, Counter> rejections = new EnumMap<>(LimitGroup.class);
+
+	/**
+	 * Constructs the limiters of all groups.
+	 *
+	 * @param properties    the limit settings
+	 * @param meterRegistry the registry for the limiter metrics
+	 */
+	public ConcurrencyLimits(ConcurrencyProperties properties, MeterRegistry meterRegistry) {
+		for (LimitGroup group : LimitGroup.values()) {
+			AdaptiveLimiter limiter = new AdaptiveLimiter(properties.limit(group));
+			String tag = group.name().toLowerCase();
+			limiters.put(group, limiter);
+			Gauge.builder(MetricsConstants.Concurrency.LIMIT, limiter, AdaptiveLimiter::limit)
+					.description("Current adaptive concurrency limit")
+					.tag(MetricsConstants.Tags.GROUP, tag)
+					.register(meterRegistry);
+			Gauge.builder(MetricsConstants.Concurrency.INFLIGHT, limiter, AdaptiveLimiter::inflight)
+					.description("Requests running under the concurrency limit")
+					.tag(MetricsConstants.Tags.GROUP, tag)
+					.register(meterRegistry);
+			rejections.put(group, Counter.builder(MetricsConstants.Concurrency.REJECTED)
+					.description("Requests rejected because the concurrency limit was reached")
+					.tag(MetricsConstants.Tags.GROUP, tag)
+					.register(meterRegistry));
+		}
+	}
+
+	/**
+	 * Takes a permit of a group.
+	 *
+	 * @param group the limit group
+	 * @return the permit, or {@code null} if the group's limit is reached; the rejection is counted
+	 */
+	public AdaptiveLimiter.Permit tryAcquire(LimitGroup group) {
+		AdaptiveLimiter.Permit permit = limiters.get(group).tryAcquire();
+		if (permit == null) {
+			rejections.get(group).increment();
+		}
+		return permit;
+	}
+
+	/**
+	 * Returns the limiter of a group.
+	 *
+	 * @param group the limit group
+	 * @return the limiter
+	 */
+	public AdaptiveLimiter limiter(LimitGroup group) {
+		return limiters.get(group);
+	}
+}
@@ -0,0 +1,102 @@
+package org.yvynnyk.timetrack.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the adaptive concurrency limits of the API, bound from the {@code timetrack.concurrency} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.concurrency")
+public class ConcurrencyProperties {
+
+	/**
+	 * Whether the limits are enforced.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Delay suggested to rejected clients in the {@code Retry-After} header, rounded up to whole seconds.
+	 */
+	private Duration retryAfter = Duration.ofSeconds(1);
+
+	/**
+	 * Limit of the {@link LimitGroup#WRITES} group.
+	 */
+	private Limit writes = Limit.of(20, 4, 200);
+
+	/**
+	 * Limit of the {@link LimitGroup#READS} group.
+	 */
+	private Limit reads = Limit.of(4, 1, 32);
+
+	/**
+	 * Limit of the {@link LimitGroup#IMPORTS} group.
+	 */
+	private Limit imports = Limit.of(1, 1, 2);
+
+	/**
+	 * Returns the limit settings of a group.
+	 *
+	 * @param group the limit group
+	 * @return the settings of the group
+	 */
+	public Limit limit(LimitGroup group) {
+		return switch (group) {
+			case WRITES -> writes;
+			case READS -> reads;
+			case IMPORTS -> imports;
+		};
+	}
+
+	/**
+	 * Settings of the limit of one group.
+	 */
+	@Data
+	public static class Limit {
+		/**
+		 * Limit before the first adjustment.
+		 */
+		private int initialLimit;
+
+		/**
+		 * Lower bound of the limit.
+		 */
+		private int minLimit;
+
+		/**
+		 * Upper bound of the limit.
+		 */
+		private int maxLimit;
+
+		/**
+		 * Ratio of the current to the baseline latency tolerated before the limit shrinks.
+		 */
+		private double tolerance = 1.5;
+
+		/**
+		 * Weight of a new estimate in the limit, between 0 and 1; lower values react more slowly.
+		 */
+		private double smoothing = 0.2;
+
+		/**
+		 * Completed requests per adjustment of the limit.
+		 */
+		private int windowSize = 20;
+
+		/**
+		 * Factor applied to the limit when a request fails with a server error.
+		 */
+		private double backoffRatio = 0.9;
+
+		private static Limit of(int initialLimit, int minLimit, int maxLimit) {
+			Limit limit = new Limit();
+			limit.setInitialLimit(initialLimit);
+			limit.setMinLimit(minLimit);
+			limit.setMaxLimit(maxLimit);
+			return limit;
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package org.yvynnyk.timetrack.concurrency;
+
+/**
+ * Groups of endpoints sharing a concurrency limit. Endpoints of similar cost share a group, so that a slow kind
+ * of request cannot use up the capacity of the cheap ones.
+ */
+public enum LimitGroup {
+
+	/**
+	 * Cheap writes touching a single task or time entry, such as starting and stopping time entries.
+	 */
+	WRITES,
+
+	/**
+	 * Heavy reads whose cost grows with the data, such as listing all tasks.
+	 */
+	READS,
+
+	/**
+	 * Bulk imports, each holding a database connection for as long as its input streams in.
+	 */
+	IMPORTS
+}
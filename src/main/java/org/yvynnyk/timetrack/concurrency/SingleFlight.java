@@ -0,0 +1,109 @@
+package org.yvynnyk.timetrack.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into one.
+ * <p>
+ * The first caller asking for a key becomes the leader and runs the loader on its own thread; callers asking for
+ * the same key while the load is in flight wait for it and receive the same result, or the same exception. The
+ * key is forgotten as soon as the load completes, so that the next caller loads afresh and no key outlives its
+ * load. Nothing is cached.
+ * </p>
+ * <p>
+ * Keys must identify everything the result depends on, since a waiting caller does not run its own loader.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * Returns the value of a key, joining the load in flight for it or running the loader.
+	 *
+	 * @param key    the key
+	 * @param loader loads the value; runs only if no load of the key is in flight
+	 * @return the loaded value
+	 */
+	public V load(K key, Supplier<V> loader) {
+		CompletableFuture<V> flight = new CompletableFuture<>();
+		CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+		if (existing != null) {
+			coalesced.increment();
+			return join(existing);
+		}
+		loads.increment();
+		try {
+			V value = loader.get();
+			flight.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			flight.completeExceptionally(e);
+			throw e;
+		} finally {
+			flights.remove(key, flight);
+		}
+	}
+
+	/**
+	 * Detaches the loads in flight for the matching keys, e.g. after the underlying data changed. Their callers
+	 * still receive their result, but later callers start a new load.
+	 *
+	 * @param keys selects the keys to forget
+	 */
+	public void forget(Predicate<? super K> keys) {
+		flights.keySet().removeIf(keys);
+	}
+
+	/**
+	 * Number of loads run.
+	 *
+	 * @return the loads run since construction
+	 */
+	public long loads() {
+		return loads.sum();
+	}
+
+	/**
+	 * Number of callers that received the result of another caller's load.
+	 *
+	 * @return the coalesced calls since construction
+	 */
+	public long coalesced() {
+		return coalesced.sum();
+	}
+
+	/**
+	 * Number of keys being loaded.
+	 *
+	 * @return the loads in flight
+	 */
+	public int inFlight() {
+		return flights.size();
+	}
+
+	private static <V> V join(CompletableFuture<V> flight) {
+		try {
+			return flight.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
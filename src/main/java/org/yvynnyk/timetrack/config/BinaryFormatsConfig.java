@@ -0,0 +1,44 @@
+package org.yvynnyk.timetrack.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Message converters for the binary alternatives to JSON, selected through the {@code Accept} and
+ * {@code Content-Type} headers: CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}).
+ * <p>
+ * Spring MVC would register default converters for both formats, but with plain object mappers. These are built
+ * from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so they carry the same modules, serializers and
+ * {@code spring.jackson.*} settings as the JSON converter and produce the same document structure.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class BinaryFormatsConfig {
+
+	/**
+	 * CBOR converter.
+	 *
+	 * @param builder Spring Boot's object mapper builder
+	 * @return the CBOR message converter
+	 */
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	/**
+	 * Smile converter.
+	 *
+	 * @param builder Spring Boot's object mapper builder
+	 * @return the Smile message converter
+	 */
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
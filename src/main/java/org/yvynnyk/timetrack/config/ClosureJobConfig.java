@@ -0,0 +1,52 @@
+package org.yvynnyk.timetrack.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.yvynnyk.timetrack.job.ClosureJob;
+import org.yvynnyk.timetrack.job.ClosureProperties;
+import org.yvynnyk.timetrack.job.JobLeases;
+import org.yvynnyk.timetrack.repository.JobClaimRepository;
+import org.yvynnyk.timetrack.service.TimeEntryService;
+
+import java.time.Clock;
+
+/**
+ * The nightly automatic task closure.
+ * <p>
+ * Each instance runs the job on the configured schedule and claims partitions of the run in the {@code job_claim}
+ * table, so that several instances close every task exactly once per night.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ClosureProperties.class)
+public class ClosureJobConfig {
+
+	/**
+	 * Partition leases of this instance.
+	 *
+	 * @param repository the repository of the claims
+	 * @param properties the closure properties
+	 * @return the job leases
+	 */
+	@Bean
+	public JobLeases jobLeases(JobClaimRepository repository, ClosureProperties properties) {
+		return new JobLeases(repository, properties.getNodeId(), properties.getLease(), Clock.systemDefaultZone());
+	}
+
+	/**
+	 * The scheduled closure job.
+	 *
+	 * @param timeEntryService the service closing the tasks
+	 * @param leases           the partition leases
+	 * @param properties       the closure properties
+	 * @param meterRegistry    the registry for the partition metrics
+	 * @return the closure job
+	 */
+	@Bean
+	public ClosureJob closureJob(TimeEntryService timeEntryService, JobLeases leases, ClosureProperties properties,
+								 MeterRegistry meterRegistry) {
+		return new ClosureJob(timeEntryService, leases, properties, meterRegistry);
+	}
+}
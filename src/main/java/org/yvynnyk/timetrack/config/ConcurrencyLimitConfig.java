@@ -0,0 +1,56 @@
+package org.yvynnyk.timetrack.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.yvynnyk.timetrack.concurrency.ConcurrencyLimits;
+import org.yvynnyk.timetrack.concurrency.ConcurrencyProperties;
+import org.yvynnyk.timetrack.web.ConcurrencyLimitInterceptor;
+
+/**
+ * Adaptive concurrency limits of the API, active unless {@code timetrack.concurrency.enabled=false}.
+ * <p>
+ * Controller methods annotated with {@code @ConcurrencyLimited} run under the limit of their group; requests above
+ * it are answered with {@code 503 Service Unavailable} and a {@code Retry-After} header right away, instead of
+ * queueing in Tomcat until they time out.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ConcurrencyProperties.class)
+@ConditionalOnProperty(prefix = "timetrack.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+	/**
+	 * Limiters of the limit groups.
+	 *
+	 * @param properties    the limit settings
+	 * @param meterRegistry the registry for the limiter metrics
+	 * @return the limiters
+	 */
+	@Bean
+	public ConcurrencyLimits concurrencyLimits(ConcurrencyProperties properties, MeterRegistry meterRegistry) {
+		return new ConcurrencyLimits(properties, meterRegistry);
+	}
+
+	/**
+	 * Registers the interceptor enforcing the limits.
+	 *
+	 * @param limits     the limiters
+	 * @param properties the limit settings
+	 * @return the MVC configurer
+	 */
+	@Bean
+	public WebMvcConfigurer concurrencyLimitConfigurer(ConcurrencyLimits limits, ConcurrencyProperties properties) {
+		ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limits, properties.getRetryAfter());
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(interceptor);
+			}
+		};
+	}
+}
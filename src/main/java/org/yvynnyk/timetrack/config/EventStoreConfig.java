@@ -0,0 +1,77 @@
+package org.yvynnyk.timetrack.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.eventstore.EventStoreProperties;
+import org.yvynnyk.timetrack.eventstore.TaskEventStore;
+import org.yvynnyk.timetrack.eventstore.TaskProjector;
+import org.yvynnyk.timetrack.repository.TaskLifecycleEventRepository;
+import org.yvynnyk.timetrack.repository.TaskSnapshotRepository;
+import org.yvynnyk.timetrack.tenant.TenancyProperties;
+
+import javax.sql.DataSource;
+
+/**
+ * Append-only store of task lifecycle events, with the periodic snapshots of the task states rebuilt from them.
+ * <p>
+ * The services append the events with the {@link TaskEventStore} in their own transactions. Instances with
+ * {@code timetrack.event-store.snapshots.enabled=true}, the default, let the {@link TaskProjector} take the
+ * snapshots that are due every {@code timetrack.event-store.snapshots.interval}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(EventStoreProperties.class)
+public class EventStoreConfig {
+
+	/**
+	 * Appender of the lifecycle events.
+	 *
+	 * @param dataSource the application's DataSource
+	 * @param tenancy    the tenancy properties
+	 * @return the event store
+	 */
+	@Bean
+	public TaskEventStore taskEventStore(DataSource dataSource, TenancyProperties tenancy) {
+		return new TaskEventStore(new JdbcTemplate(dataSource), tenancy.getDefaultTenant());
+	}
+
+	/**
+	 * Projector rebuilding task states from the events and taking their snapshots.
+	 *
+	 * @param events             the repository of the lifecycle events
+	 * @param snapshots          the repository of the snapshots
+	 * @param transactionManager the application's transaction manager
+	 * @param properties         the event store properties
+	 * @param meterRegistry      the registry for the projection metrics
+	 * @return the task projector
+	 */
+	@Bean
+	public TaskProjector taskProjector(TaskLifecycleEventRepository events, TaskSnapshotRepository snapshots,
+									   PlatformTransactionManager transactionManager, EventStoreProperties properties,
+									   MeterRegistry meterRegistry) {
+		return new TaskProjector(events, snapshots, new TransactionTemplate(transactionManager),
+				properties.getSnapshots(), meterRegistry);
+	}
+
+	/**
+	 * Schedules the snapshot runs. The projector is called through its proxy, so that every run covers all tenants.
+	 *
+	 * @param projector  the task projector
+	 * @param properties the event store properties
+	 * @return the scheduling configurer
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "timetrack.event-store.snapshots", name = "enabled", havingValue = "true",
+			matchIfMissing = true)
+	public SchedulingConfigurer taskSnapshotSchedule(TaskProjector projector, EventStoreProperties properties) {
+		return registrar -> registrar.addFixedDelayTask(projector::snapshotDue,
+				properties.getSnapshots().getInterval());
+	}
+}
@@ -0,0 +1,63 @@
+package org.yvynnyk.timetrack.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.yvynnyk.timetrack.cache.TaskChanges;
+import org.yvynnyk.timetrack.imports.CsvImporter;
+import org.yvynnyk.timetrack.imports.ImportProperties;
+import org.yvynnyk.timetrack.imports.ImportRunner;
+import org.yvynnyk.timetrack.statistics.TaskDurationStatistics;
+import org.yvynnyk.timetrack.tenant.TenancyProperties;
+
+import javax.sql.DataSource;
+
+/**
+ * Bulk import of tasks and time entries from CSV, over HTTP and from the command line.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ImportProperties.class)
+public class ImportConfig {
+
+	/**
+	 * The CSV importer.
+	 *
+	 * @param dataSource         the application's DataSource
+	 * @param transactionManager the application's transaction manager
+	 * @param taskChanges        the recorder of task changes
+	 * @param taskDurations      the task duration statistics
+	 * @param properties         the import properties
+	 * @param tenancy            the tenancy properties
+	 * @param meterRegistry      the registry for the import metrics
+	 * @return the importer
+	 */
+	@Bean
+	public CsvImporter csvImporter(DataSource dataSource, PlatformTransactionManager transactionManager,
+								   TaskChanges taskChanges, TaskDurationStatistics taskDurations,
+								   ImportProperties properties, TenancyProperties tenancy, MeterRegistry meterRegistry) {
+		return new CsvImporter(dataSource, transactionManager, taskChanges, taskDurations, properties,
+				tenancy.getDefaultTenant(), meterRegistry);
+	}
+
+	/**
+	 * Command-line import, run when {@code timetrack.import.tasks} or {@code timetrack.import.time-entries} is set.
+	 *
+	 * @param importer    the importer
+	 * @param context     the application context
+	 * @param environment the environment holding the command
+	 * @return the import runner
+	 */
+	@Bean
+	@ConditionalOnExpression("'${timetrack.import.tasks:}' != '' or '${timetrack.import.time-entries:}' != ''")
+	public ImportRunner importRunner(CsvImporter importer, ConfigurableApplicationContext context,
+									 Environment environment) {
+		return new ImportRunner(importer, context, environment.getProperty("timetrack.import.tasks"),
+				environment.getProperty("timetrack.import.time-entries"),
+				environment.getProperty("timetrack.import.tenant"));
+	}
+}
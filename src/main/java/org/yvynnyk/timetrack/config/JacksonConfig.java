@@ -0,0 +1,26 @@
+package org.yvynnyk.timetrack.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Additional Jackson configuration. Module beans are registered by Spring Boot on the auto-configured
+ * {@code ObjectMapper}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JacksonConfig {
+
+	/**
+	 * Blackbird replaces reflective property access with generated lambdas for the types that still use the bean
+	 * serializers and deserializers, such as request bodies. {@code TaskDTO} responses use the hand-written
+	 * serializers of the {@code json} package.
+	 *
+	 * @return the Blackbird module
+	 */
+	@Bean
+	public Module blackbirdModule() {
+		return new BlackbirdModule();
+	}
+}
@@ -0,0 +1,93 @@
+package org.yvynnyk.timetrack.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.outbox.FileOutboxSink;
+import org.yvynnyk.timetrack.outbox.HttpOutboxSink;
+import org.yvynnyk.timetrack.outbox.Outbox;
+import org.yvynnyk.timetrack.outbox.OutboxProperties;
+import org.yvynnyk.timetrack.outbox.OutboxRelay;
+import org.yvynnyk.timetrack.outbox.OutboxSink;
+import org.yvynnyk.timetrack.repository.OutboxEventRepository;
+import org.yvynnyk.timetrack.tenant.TenancyProperties;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+/**
+ * Transactional outbox of task and time entry changes for downstream systems.
+ * <p>
+ * The services record the events with the {@link Outbox} in their own transactions. Instances with
+ * {@code timetrack.outbox.relay.enabled=true} run the {@link OutboxRelay}, which delivers them to the application's
+ * {@link OutboxSink} bean if there is one, and otherwise to the sink configured under
+ * {@code timetrack.outbox.sink}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+	/**
+	 * Recorder of the change events.
+	 *
+	 * @param repository   the repository of the events
+	 * @param objectMapper the application's JSON mapper
+	 * @param tenancy      the tenancy properties
+	 * @return the outbox
+	 */
+	@Bean
+	public Outbox outbox(OutboxEventRepository repository, ObjectMapper objectMapper, TenancyProperties tenancy) {
+		return new Outbox(repository, objectMapper, tenancy.getDefaultTenant());
+	}
+
+	/**
+	 * Relay delivering the events.
+	 *
+	 * @param dataSource         the application's DataSource
+	 * @param transactionManager the application's transaction manager
+	 * @param sinks              the application's sink, if it defines one
+	 * @param objectMapper       the application's JSON mapper
+	 * @param properties         the outbox properties
+	 * @param meterRegistry      the registry for the relay metrics
+	 * @return the outbox relay
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "timetrack.outbox.relay", name = "enabled", havingValue = "true")
+	public OutboxRelay outboxRelay(DataSource dataSource, PlatformTransactionManager transactionManager,
+								   ObjectProvider<OutboxSink> sinks, ObjectMapper objectMapper,
+								   OutboxProperties properties, MeterRegistry meterRegistry) {
+		OutboxSink sink = sinks.getIfAvailable(() -> configuredSink(properties.getSink(), objectMapper));
+		return new OutboxRelay(new JdbcTemplate(dataSource), new TransactionTemplate(transactionManager), sink,
+				properties.getRelay(), meterRegistry);
+	}
+
+	/**
+	 * Schedules the relay's polls. The relay is called through its proxy, so that every poll covers all tenants.
+	 *
+	 * @param relay      the outbox relay
+	 * @param properties the outbox properties
+	 * @return the scheduling configurer
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "timetrack.outbox.relay", name = "enabled", havingValue = "true")
+	public SchedulingConfigurer outboxRelaySchedule(OutboxRelay relay, OutboxProperties properties) {
+		return registrar -> registrar.addFixedDelayTask(relay::poll, properties.getRelay().getPollInterval());
+	}
+
+	private static OutboxSink configuredSink(OutboxProperties.Sink sink, ObjectMapper objectMapper) {
+		return switch (sink.getType()) {
+			case FILE -> new FileOutboxSink(sink.getFile(), objectMapper);
+			case HTTP -> new HttpOutboxSink(Objects.requireNonNull(sink.getUrl(), "timetrack.outbox.sink.url"),
+					sink.getTimeout(), objectMapper);
+		};
+	}
+}
@@ -0,0 +1,59 @@
+package org.yvynnyk.timetrack.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.yvynnyk.timetrack.datasource.PoolSizingController;
+import org.yvynnyk.timetrack.datasource.PoolSizingProperties;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive sizing of the connection pools, active with {@code timetrack.datasource.pool-sizing.enabled=true}.
+ * <p>
+ * The controller sizes every Hikari pool among the DataSource beans, found through the JDBC wrapper interface so
+ * that the statement counting proxy does not hide them. DataSources that only delegate to other DataSource beans,
+ * such as the replica routing, are skipped so that each pool is sized once.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(PoolSizingProperties.class)
+@ConditionalOnProperty(prefix = "timetrack.datasource.pool-sizing", name = "enabled", havingValue = "true")
+public class PoolSizingConfig {
+
+	/**
+	 * Controller adjusting the pool sizes.
+	 *
+	 * @param dataSources   the DataSource beans
+	 * @param meterRegistry the registry holding the Hikari timers and receiving the decision metrics
+	 * @param taskScheduler the scheduler running the adjustments
+	 * @param properties    the sizing properties
+	 * @return the pool sizing controller
+	 * @throws SQLException if a DataSource fails to unwrap
+	 */
+	@Bean
+	public PoolSizingController poolSizingController(ObjectProvider<DataSource> dataSources,
+													 MeterRegistry meterRegistry, TaskScheduler taskScheduler,
+													 PoolSizingProperties properties) throws SQLException {
+		List<HikariDataSource> pools = new ArrayList<>();
+		for (DataSource dataSource : dataSources) {
+			if (dataSource instanceof DelegatingDataSource || dataSource instanceof AbstractRoutingDataSource) {
+				continue;
+			}
+			if (dataSource.isWrapperFor(HikariDataSource.class)) {
+				pools.add(dataSource.unwrap(HikariDataSource.class));
+			}
+		}
+		return new PoolSizingController(pools, meterRegistry, taskScheduler, properties);
+	}
+}
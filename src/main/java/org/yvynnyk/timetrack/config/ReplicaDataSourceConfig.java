@@ -0,0 +1,118 @@
+package org.yvynnyk.timetrack.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.yvynnyk.timetrack.datasource.ReadYourWrites;
+import org.yvynnyk.timetrack.datasource.ReplicaProperties;
+import org.yvynnyk.timetrack.datasource.ReplicaRoutingDataSource;
+import org.yvynnyk.timetrack.web.ReadYourWritesFilter;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Read/write splitting between the primary database and a read replica.
+ * <p>
+ * Active when {@code timetrack.datasource.replica.url} is set. The primary pool is built from
+ * {@code spring.datasource.*} as Spring Boot would, the replica pool from {@code timetrack.datasource.replica.*},
+ * and the application uses a {@link ReplicaRoutingDataSource} over both, behind a
+ * {@link LazyConnectionDataSourceProxy} so that the transaction's read-only flag is known when the route is chosen.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "timetrack.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+	/**
+	 * Connection pool of the primary database.
+	 *
+	 * @param properties the {@code spring.datasource} properties
+	 * @return the primary pool
+	 */
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	/**
+	 * Connection pool of the read replica.
+	 *
+	 * @param replica    the replica properties
+	 * @param properties the {@code spring.datasource} properties, providing the driver and default credentials
+	 * @return the replica pool
+	 */
+	@Bean
+	@ConfigurationProperties("timetrack.datasource.replica.hikari")
+	public HikariDataSource replicaDataSource(ReplicaProperties replica, DataSourceProperties properties) {
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.driverClassName(properties.determineDriverClassName())
+				.url(replica.getUrl())
+				.username(replica.getUsername() != null ? replica.getUsername() : properties.determineUsername())
+				.password(replica.getPassword() != null ? replica.getPassword() : properties.determinePassword())
+				.build();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	/**
+	 * The DataSource used by the application.
+	 *
+	 * @param primaryDataSource the primary pool
+	 * @param replicaDataSource the replica pool
+	 * @return the routing DataSource behind a lazy connection proxy
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+								 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+		dataSource.setTargetDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource));
+		dataSource.setDefaultAutoCommit(true);
+		dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+		return dataSource;
+	}
+
+	/**
+	 * Write tracker of the read-your-writes safeguard.
+	 *
+	 * @param replica the replica properties
+	 * @return the write tracker
+	 */
+	@Bean
+	public ReadYourWrites readYourWrites(ReplicaProperties replica) {
+		return new ReadYourWrites(replica.getReadYourWritesWindow(), replica.getMaxTrackedClients());
+	}
+
+	/**
+	 * Filter pinning write requests and recent writers to the primary.
+	 *
+	 * @param readYourWrites the write tracker
+	 * @param replica        the replica properties
+	 * @return the filter registration
+	 */
+	@Bean
+	public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWrites readYourWrites,
+																			 ReplicaProperties replica) {
+		FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+				new ReadYourWritesFilter(readYourWrites, replica.getClientIdHeader()));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+		return registration;
+	}
+}
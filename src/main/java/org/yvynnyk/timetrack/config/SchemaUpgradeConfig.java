@@ -0,0 +1,58 @@
+package org.yvynnyk.timetrack.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.yvynnyk.timetrack.schema.SchemaUpgrade;
+import org.yvynnyk.timetrack.tenant.TenancyProperties;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Upgrade of tables created by earlier versions, active while Hibernate creates or updates the schema.
+ * <p>
+ * The {@link SchemaUpgrade} adds the columns Hibernate cannot add to tables with rows, before the
+ * {@code EntityManagerFactory} is built and applies {@code spring.jpa.hibernate.ddl-auto}. With sharding, the
+ * upgrade covers every shard and is declared by {@link ShardingConfig}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression(SchemaUpgradeConfig.SCHEMA_UPDATES)
+public class SchemaUpgradeConfig {
+
+	/**
+	 * Condition matching when Hibernate changes the schema, i.e. {@code ddl-auto} is neither {@code none} nor
+	 * {@code validate}.
+	 */
+	public static final String SCHEMA_UPDATES = "!'${spring.jpa.hibernate.ddl-auto:none}'.matches('none|validate')";
+
+	/**
+	 * Makes the {@code EntityManagerFactory} wait for the schema upgrade.
+	 *
+	 * @return the bean factory post-processor
+	 */
+	@Bean
+	public static EntityManagerFactoryDependsOnPostProcessor schemaUpgradeDependency() {
+		return new EntityManagerFactoryDependsOnPostProcessor(SchemaUpgrade.class);
+	}
+
+	/**
+	 * Upgrades the application's database.
+	 *
+	 * @param dataSource the application's DataSource
+	 * @param tenancy    the tenancy properties
+	 * @return the applied schema upgrade
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "timetrack.sharding", name = "enabled", havingValue = "false",
+			matchIfMissing = true)
+	public SchemaUpgrade schemaUpgrade(DataSource dataSource, TenancyProperties tenancy) {
+		SchemaUpgrade upgrade = new SchemaUpgrade(Map.of(tenancy.getDefaultTenant(), dataSource),
+				tenancy.getDefaultTenant());
+		upgrade.apply();
+		return upgrade;
+	}
+}
@@ -0,0 +1,49 @@
+package org.yvynnyk.timetrack.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.yvynnyk.timetrack.timing.RequestTimingAspect;
+import org.yvynnyk.timetrack.timing.ServerTimingProperties;
+import org.yvynnyk.timetrack.web.ServerTimingFilter;
+
+/**
+ * Configuration of the per-request latency breakdown.
+ * <p>
+ * Off by default; with {@code timetrack.timing.enabled=true} every response carries a {@code Server-Timing}
+ * header and slow requests are logged with their breakdown. When disabled, neither the filter nor the aspect
+ * is registered.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ServerTimingProperties.class)
+@ConditionalOnProperty(prefix = "timetrack.timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+	/**
+	 * Aspect timing the service and mapper calls.
+	 *
+	 * @return the request timing aspect
+	 */
+	@Bean
+	public RequestTimingAspect requestTimingAspect() {
+		return new RequestTimingAspect();
+	}
+
+	/**
+	 * Filter collecting the timings and writing the header. It runs right inside the statement counting filter.
+	 *
+	 * @param properties the timing properties
+	 * @return the filter registration
+	 */
+	@Bean
+	public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ServerTimingProperties properties) {
+		FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+				new ServerTimingFilter(properties.getSlowThreshold()));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+		return registration;
+	}
+}
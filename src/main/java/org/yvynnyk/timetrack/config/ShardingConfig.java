@@ -0,0 +1,231 @@
+package org.yvynnyk.timetrack.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.yvynnyk.timetrack.schema.SchemaUpgrade;
+import org.yvynnyk.timetrack.sharding.ShardPartitions;
+import org.yvynnyk.timetrack.sharding.ShardRing;
+import org.yvynnyk.timetrack.sharding.ShardRoutingDataSource;
+import org.yvynnyk.timetrack.sharding.ShardSchemaInitializer;
+import org.yvynnyk.timetrack.sharding.ShardingProperties;
+import org.yvynnyk.timetrack.sharding.TenantDirectory;
+import org.yvynnyk.timetrack.sharding.TenantRebalanceRunner;
+import org.yvynnyk.timetrack.sharding.TenantRebalancer;
+import org.yvynnyk.timetrack.tenant.TenancyProperties;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Horizontal sharding of the tenants' data, active with {@code timetrack.sharding.enabled=true}.
+ * <p>
+ * Every configured shard gets its own Hikari pool bean, named {@code <shard>ShardDataSource}, so that the statement
+ * counting, the pool metrics and the adaptive pool sizing apply to it like to any other pool. The application uses
+ * a {@link ShardRoutingDataSource} over all shards, which sends each transaction to the shard of the current tenant
+ * as recorded in the {@link TenantDirectory}. Sharding replaces {@code spring.datasource.url}; it is not combined
+ * with the read replica routing.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "timetrack.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+	private static final String SHARDS = "timetrack.sharding.shards";
+	private static final String BEAN_NAME_SUFFIX = "ShardDataSource";
+
+	/**
+	 * Registers a pool bean per configured shard. It is static and binds the shard list itself because bean
+	 * definitions are registered before configuration properties beans exist.
+	 *
+	 * @param environment the environment holding the shard configuration
+	 * @return the registry post-processor
+	 */
+	@Bean
+	public static BeanDefinitionRegistryPostProcessor shardDataSourceRegistrar(Environment environment) {
+		return new BeanDefinitionRegistryPostProcessor() {
+			@Override
+			public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+				Binder binder = Binder.get(environment);
+				List<ShardingProperties.Shard> shards = binder
+						.bind(SHARDS, Bindable.listOf(ShardingProperties.Shard.class))
+						.orElseThrow(() -> new IllegalStateException("Sharding is enabled but no shard is configured"));
+				for (int i = 0; i < shards.size(); i++) {
+					ShardingProperties.Shard shard = shards.get(i);
+					String prefix = SHARDS + "[" + i + "].hikari";
+					AbstractBeanDefinition definition = BeanDefinitionBuilder
+							.genericBeanDefinition(HikariDataSource.class, () -> shardDataSource(binder, shard, prefix))
+							.getBeanDefinition();
+					definition.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD);
+					registry.registerBeanDefinition(shard.getName() + BEAN_NAME_SUFFIX, definition);
+				}
+			}
+		};
+	}
+
+	private static HikariDataSource shardDataSource(Binder binder, ShardingProperties.Shard shard, String prefix) {
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(shard.getUrl())
+				.username(shard.getUsername() != null ? shard.getUsername()
+						: binder.bind("spring.datasource.username", String.class).orElse(null))
+				.password(shard.getPassword() != null ? shard.getPassword()
+						: binder.bind("spring.datasource.password", String.class).orElse(null))
+				.build();
+		dataSource.setPoolName("shard-" + shard.getName());
+		binder.bind(prefix, Bindable.ofInstance(dataSource));
+		return dataSource;
+	}
+
+	/**
+	 * Directory of the tenants' shards, kept on the first shard.
+	 *
+	 * @param properties  the sharding properties
+	 * @param beanFactory the bean factory holding the shard pools
+	 * @return the tenant directory
+	 */
+	@Bean
+	public TenantDirectory tenantDirectory(ShardingProperties properties, BeanFactory beanFactory) {
+		Map<String, DataSource> shards = shardDataSources(properties, beanFactory);
+		TenantDirectory directory = new TenantDirectory(shards.values().iterator().next(),
+				new ShardRing(shards.keySet(), properties.getVirtualNodes()),
+				properties.getDirectoryCacheTtl(), properties.getDirectoryCacheSize());
+		directory.createTable();
+		return directory;
+	}
+
+	/**
+	 * The DataSource used by the application.
+	 *
+	 * @param properties  the sharding properties
+	 * @param tenancy     the tenancy properties
+	 * @param directory   the tenant directory
+	 * @param beanFactory the bean factory holding the shard pools
+	 * @return the shard routing DataSource
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(ShardingProperties properties, TenancyProperties tenancy, TenantDirectory directory,
+								 BeanFactory beanFactory) {
+		return new ShardRoutingDataSource(shardDataSources(properties, beanFactory), directory,
+				tenancy.getDefaultTenant());
+	}
+
+	/**
+	 * The shards as partitions of the tenants' data, for jobs running across all tenants.
+	 *
+	 * @param properties the sharding properties
+	 * @return the shard partitions
+	 */
+	@Bean
+	public ShardPartitions shardPartitions(ShardingProperties properties) {
+		return new ShardPartitions(shardNames(properties));
+	}
+
+	/**
+	 * Initializer of the shards' schemas and identifier blocks.
+	 *
+	 * @param properties  the sharding properties
+	 * @param beanFactory the bean factory holding the shard pools
+	 * @return the schema initializer
+	 */
+	@Bean
+	public ShardSchemaInitializer shardSchemaInitializer(ShardingProperties properties, BeanFactory beanFactory) {
+		return new ShardSchemaInitializer(shardNames(properties), shardDataSources(properties, beanFactory));
+	}
+
+	/**
+	 * Upgrade of the tables created by earlier versions on every shard, applied before Hibernate updates the
+	 * schemas.
+	 *
+	 * @param properties  the sharding properties
+	 * @param tenancy     the tenancy properties
+	 * @param beanFactory the bean factory holding the shard pools
+	 * @return the applied schema upgrade
+	 */
+	@Bean
+	@ConditionalOnExpression(SchemaUpgradeConfig.SCHEMA_UPDATES)
+	public SchemaUpgrade schemaUpgrade(ShardingProperties properties, TenancyProperties tenancy,
+									   BeanFactory beanFactory) {
+		SchemaUpgrade upgrade = new SchemaUpgrade(shardDataSources(properties, beanFactory), tenancy.getDefaultTenant());
+		upgrade.apply();
+		return upgrade;
+	}
+
+	/**
+	 * Registers the schema initializer with Hibernate, which hands it the mapping metadata.
+	 *
+	 * @param initializer the schema initializer
+	 * @return the Hibernate properties customizer
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer shardSchemaIntegratorCustomizer(ShardSchemaInitializer initializer) {
+		IntegratorProvider integrators = () -> List.of(initializer);
+		return hibernateProperties -> hibernateProperties.put("hibernate.integrator_provider", integrators);
+	}
+
+	/**
+	 * Mover of tenants between shards.
+	 *
+	 * @param properties  the sharding properties
+	 * @param directory   the tenant directory
+	 * @param beanFactory the bean factory holding the shard pools
+	 * @return the rebalancer
+	 */
+	@Bean
+	public TenantRebalancer tenantRebalancer(ShardingProperties properties, TenantDirectory directory,
+											 BeanFactory beanFactory) {
+		return new TenantRebalancer(shardDataSources(properties, beanFactory), directory,
+				properties.getDirectoryCacheTtl().plus(properties.getMoveDrainTime()));
+	}
+
+	/**
+	 * Command-line rebalancing, run when {@code timetrack.sharding.rebalance} is set.
+	 *
+	 * @param rebalancer  the rebalancer
+	 * @param directory   the tenant directory
+	 * @param context     the application context
+	 * @param environment the environment holding the command
+	 * @return the rebalancing runner
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "timetrack.sharding", name = "rebalance")
+	public TenantRebalanceRunner tenantRebalanceRunner(TenantRebalancer rebalancer, TenantDirectory directory,
+													   ConfigurableApplicationContext context, Environment environment) {
+		return new TenantRebalanceRunner(rebalancer, directory, context,
+				environment.getRequiredProperty("timetrack.sharding.rebalance"),
+				environment.getProperty("timetrack.sharding.rebalance-tenant"),
+				environment.getProperty("timetrack.sharding.rebalance-target"));
+	}
+
+	private static List<String> shardNames(ShardingProperties properties) {
+		return properties.getShards().stream().map(ShardingProperties.Shard::getName).toList();
+	}
+
+	private static Map<String, DataSource> shardDataSources(ShardingProperties properties, BeanFactory beanFactory) {
+		Map<String, DataSource> shards = new LinkedHashMap<>();
+		for (String name : shardNames(properties)) {
+			shards.put(name, beanFactory.getBean(name + BEAN_NAME_SUFFIX, DataSource.class));
+		}
+		return shards;
+	}
+}
@@ -0,0 +1,89 @@
+package org.yvynnyk.timetrack.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.yvynnyk.timetrack.sql.SqlInstrumentationProperties;
+import org.yvynnyk.timetrack.sql.StatementCountingListener;
+import org.yvynnyk.timetrack.web.StatementCountingFilter;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of the JDBC statement instrumentation.
+ * <p>
+ * Every {@link DataSource} bean is wrapped in a datasource-proxy {@link ProxyDataSource} that reports each
+ * executed statement to the {@link StatementCountingListener}, and a {@link StatementCountingFilter} scopes the
+ * counts to HTTP requests. The instrumentation is on by default and is switched off with
+ * {@code timetrack.sql.enabled=false}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SqlInstrumentationProperties.class)
+@ConditionalOnProperty(prefix = "timetrack.sql", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+	/**
+	 * Listener counting the executed statements.
+	 *
+	 * @param meterRegistry the registry for the statement metrics
+	 * @return the statement counting listener
+	 */
+	@Bean
+	public StatementCountingListener statementCountingListener(MeterRegistry meterRegistry) {
+		return new StatementCountingListener(meterRegistry);
+	}
+
+	/**
+	 * Post-processor wrapping the DataSource beans. It is static so that it is registered before the
+	 * DataSource is created, and it resolves the listener only when the first DataSource appears. DataSources
+	 * that only delegate to other DataSource beans, such as the replica routing, are left alone so that every
+	 * statement is counted once, by the pool that executes it.
+	 *
+	 * @param listener provider of the statement counting listener
+	 * @return the DataSource post-processor
+	 */
+	@Bean
+	public static BeanPostProcessor statementCountingDataSourcePostProcessor(
+			ObjectProvider<StatementCountingListener> listener) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+						&& !(bean instanceof DelegatingDataSource) && !(bean instanceof AbstractRoutingDataSource)) {
+					return ProxyDataSourceBuilder.create(beanName, dataSource)
+							.listener(listener.getObject())
+							.build();
+				}
+				return bean;
+			}
+		};
+	}
+
+	/**
+	 * Filter scoping the statement counts to HTTP requests. It runs first so that every statement of the
+	 * request, including those of other filters, is counted.
+	 *
+	 * @param meterRegistry the registry for the per-request summary
+	 * @param properties    the instrumentation properties
+	 * @return the filter registration
+	 */
+	@Bean
+	public FilterRegistrationBean<StatementCountingFilter> statementCountingFilter(
+			MeterRegistry meterRegistry, SqlInstrumentationProperties properties) {
+		FilterRegistrationBean<StatementCountingFilter> registration = new FilterRegistrationBean<>(
+				new StatementCountingFilter(meterRegistry, properties.isStatementCountHeader()));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+		return registration;
+	}
+}
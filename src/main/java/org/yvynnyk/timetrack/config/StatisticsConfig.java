@@ -0,0 +1,69 @@
+package org.yvynnyk.timetrack.config;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.yvynnyk.timetrack.statistics.StatisticsProperties;
+import org.yvynnyk.timetrack.statistics.TaskDurationLoader;
+import org.yvynnyk.timetrack.statistics.TaskDurationStatistics;
+import org.yvynnyk.timetrack.tenant.TenancyProperties;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+/**
+ * In-memory statistics of the task durations.
+ * <p>
+ * The services report completed time entries to the {@link TaskDurationStatistics}. Unless
+ * {@code timetrack.statistics.rebuild-on-startup=false}, the entries completed before the statistics were created
+ * are loaded from the database once the application has started; otherwise the statistics start empty.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(StatisticsProperties.class)
+public class StatisticsConfig {
+
+	/**
+	 * The task duration statistics.
+	 *
+	 * @param properties the statistics properties
+	 * @param tenancy    the tenancy properties
+	 * @return the statistics
+	 */
+	@Bean
+	public TaskDurationStatistics taskDurationStatistics(StatisticsProperties properties, TenancyProperties tenancy) {
+		LocalDateTime liveFrom = properties.isRebuildOnStartup() ? LocalDateTime.now() : LocalDateTime.MIN;
+		return new TaskDurationStatistics(properties, tenancy.getDefaultTenant(), liveFrom);
+	}
+
+	/**
+	 * Loader of the stored time entries.
+	 *
+	 * @param dataSource the application's DataSource
+	 * @param statistics the task duration statistics
+	 * @return the loader
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "timetrack.statistics", name = "rebuild-on-startup", havingValue = "true",
+			matchIfMissing = true)
+	public TaskDurationLoader taskDurationLoader(DataSource dataSource, TaskDurationStatistics statistics) {
+		return new TaskDurationLoader(new JdbcTemplate(dataSource), statistics);
+	}
+
+	/**
+	 * Loads the stored time entries once the application has started. The loader is called through its proxy, so
+	 * that the entries of all tenants are loaded.
+	 *
+	 * @param loader the loader
+	 * @return the application runner
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "timetrack.statistics", name = "rebuild-on-startup", havingValue = "true",
+			matchIfMissing = true)
+	public ApplicationRunner taskDurationRebuild(TaskDurationLoader loader) {
+		return args -> loader.load();
+	}
+}
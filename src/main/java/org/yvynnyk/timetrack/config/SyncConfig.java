@@ -0,0 +1,17 @@
+package org.yvynnyk.timetrack.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.yvynnyk.timetrack.sync.SyncProperties;
+
+/**
+ * Synchronization of changed tasks.
+ * <p>
+ * Clients that keep the tasks offline fetch the tasks changed since their last synchronization from the task
+ * service, which pages through the index on the tasks' change time with the {@link SyncProperties}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SyncProperties.class)
+public class SyncConfig {
+}
@@ -0,0 +1,144 @@
+package org.yvynnyk.timetrack.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.yvynnyk.timetrack.cache.CacheProperties;
+import org.yvynnyk.timetrack.cache.InvalidationBus;
+import org.yvynnyk.timetrack.cache.PgNotifyInvalidationBus;
+import org.yvynnyk.timetrack.cache.TaskCache;
+import org.yvynnyk.timetrack.cache.TaskChanges;
+import org.yvynnyk.timetrack.concurrency.SingleFlight;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.datasource.ReplicaProperties;
+import org.yvynnyk.timetrack.tenant.TenancyProperties;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process caching of tasks with cross-instance invalidation.
+ * <p>
+ * The services read tasks through the {@link TaskCache} and report changed tasks to {@link TaskChanges}, which
+ * evicts them locally and announces them on the {@link PgNotifyInvalidationBus}. The bus listens on every writable
+ * Hikari pool among the DataSource beans, i.e. the primary database or every shard; read replicas are skipped
+ * since a standby cannot {@code LISTEN}.
+ * </p>
+ * <p>
+ * With a read replica, a cache miss may load a task from a replica that has not yet replayed the latest change,
+ * after the invalidation has already been applied. Cached entries therefore expire no later than the
+ * read-your-writes window, the configured bound of the replication lag.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CacheProperties.class)
+public class TaskCacheConfig {
+
+	/**
+	 * The task cache, with its hit, miss and load coalescing metrics.
+	 *
+	 * @param properties    the cache properties
+	 * @param tenancy       the tenancy properties
+	 * @param replica       the replica properties, present when a read replica is configured
+	 * @param meterRegistry the registry for the cache metrics
+	 * @return the task cache
+	 */
+	@Bean
+	public TaskCache taskCache(CacheProperties properties, TenancyProperties tenancy,
+							   ObjectProvider<ReplicaProperties> replica, MeterRegistry meterRegistry) {
+		CacheProperties.Tasks tasks = properties.getTasks();
+		if (!tasks.isEnabled()) {
+			TaskCache cache = TaskCache.disabled(tenancy.getDefaultTenant(), tasks.isCoalesceLoads());
+			monitorLoads(meterRegistry, cache);
+			return cache;
+		}
+		Duration expireAfterWrite = tasks.getExpireAfterWrite();
+		ReplicaProperties replicaProperties = replica.getIfAvailable();
+		if (replicaProperties != null && replicaProperties.getReadYourWritesWindow().compareTo(expireAfterWrite) < 0) {
+			expireAfterWrite = replicaProperties.getReadYourWritesWindow();
+		}
+		TaskCache cache = new TaskCache(tasks.getMaximumSize(), expireAfterWrite, tenancy.getDefaultTenant(),
+				tasks.isCoalesceLoads());
+		CaffeineCacheMetrics.monitor(meterRegistry, cache.tasks(), TaskCache.TASKS);
+		CaffeineCacheMetrics.monitor(meterRegistry, cache.lists(), TaskCache.TASK_LISTS);
+		monitorLoads(meterRegistry, cache);
+		return cache;
+	}
+
+	/**
+	 * The LISTEN/NOTIFY invalidation bus, unless {@code timetrack.cache.invalidation.enabled=false}.
+	 *
+	 * @param dataSource    the application's DataSource
+	 * @param dataSources   the DataSource beans, searched for the pools to listen on
+	 * @param cache         the task cache
+	 * @param properties    the cache properties
+	 * @param meterRegistry the registry for the bus metrics
+	 * @return the invalidation bus
+	 * @throws SQLException if a DataSource fails to unwrap
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "timetrack.cache.invalidation", name = "enabled", havingValue = "true",
+			matchIfMissing = true)
+	public PgNotifyInvalidationBus invalidationBus(DataSource dataSource, ObjectProvider<DataSource> dataSources,
+												   TaskCache cache, CacheProperties properties,
+												   MeterRegistry meterRegistry) throws SQLException {
+		List<HikariDataSource> databases = new ArrayList<>();
+		for (DataSource candidate : dataSources) {
+			if (candidate instanceof DelegatingDataSource || candidate instanceof AbstractRoutingDataSource) {
+				continue;
+			}
+			if (candidate.isWrapperFor(HikariDataSource.class)) {
+				HikariDataSource pool = candidate.unwrap(HikariDataSource.class);
+				if (!pool.isReadOnly()) {
+					databases.add(pool);
+				}
+			}
+		}
+		return new PgNotifyInvalidationBus(dataSource, databases, cache, properties.getInvalidation(), meterRegistry);
+	}
+
+	/**
+	 * Recorder of the changed tasks.
+	 *
+	 * @param cache   the task cache
+	 * @param bus     the invalidation bus, absent when disabled
+	 * @param tenancy the tenancy properties
+	 * @return the change recorder
+	 */
+	@Bean
+	public TaskChanges taskChanges(TaskCache cache, ObjectProvider<InvalidationBus> bus, TenancyProperties tenancy) {
+		return new TaskChanges(cache, bus.getIfAvailable(() -> InvalidationBus.LOCAL), tenancy.getDefaultTenant());
+	}
+
+	private static void monitorLoads(MeterRegistry meterRegistry, TaskCache cache) {
+		monitorLoads(meterRegistry, cache.taskLoads(), TaskCache.TASKS);
+		monitorLoads(meterRegistry, cache.listLoads(), TaskCache.TASK_LISTS);
+	}
+
+	private static void monitorLoads(MeterRegistry meterRegistry, SingleFlight<?, ?> loads, String name) {
+		FunctionCounter.builder(MetricsConstants.Cache.LOADS, loads, SingleFlight::loads)
+				.description("Database loads run on a cache miss or bypass")
+				.tag(MetricsConstants.Tags.CACHE, name)
+				.register(meterRegistry);
+		FunctionCounter.builder(MetricsConstants.Cache.COALESCED, loads, SingleFlight::coalesced)
+				.description("Reads served by a concurrent identical load")
+				.tag(MetricsConstants.Tags.CACHE, name)
+				.register(meterRegistry);
+		Gauge.builder(MetricsConstants.Cache.LOADS_IN_FLIGHT, loads, SingleFlight::inFlight)
+				.description("Loads in flight")
+				.tag(MetricsConstants.Tags.CACHE, name)
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,51 @@
+package org.yvynnyk.timetrack.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.yvynnyk.timetrack.events.TaskEventBroadcaster;
+import org.yvynnyk.timetrack.events.TaskEventProperties;
+import org.yvynnyk.timetrack.events.TaskEvents;
+import org.yvynnyk.timetrack.tenant.TenancyProperties;
+
+/**
+ * Server-Sent Events stream of task status changes.
+ * <p>
+ * The services report saved tasks to {@link TaskEvents}, which hands them to the {@link TaskEventBroadcaster}
+ * after the commit.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TaskEventProperties.class)
+public class TaskEventConfig {
+
+	/**
+	 * Broadcaster of the task events.
+	 *
+	 * @param objectMapper  the application's JSON mapper
+	 * @param taskScheduler the scheduler sending the keep-alive comments
+	 * @param properties    the event stream properties
+	 * @param meterRegistry the registry for the event metrics
+	 * @return the broadcaster
+	 */
+	@Bean
+	public TaskEventBroadcaster taskEventBroadcaster(ObjectMapper objectMapper, TaskScheduler taskScheduler,
+													 TaskEventProperties properties, MeterRegistry meterRegistry) {
+		return new TaskEventBroadcaster(objectMapper, taskScheduler, properties, meterRegistry);
+	}
+
+	/**
+	 * Recorder of the saved tasks.
+	 *
+	 * @param broadcaster the broadcaster of the task events
+	 * @param tenancy     the tenancy properties
+	 * @return the recorder
+	 */
+	@Bean
+	public TaskEvents taskEvents(TaskEventBroadcaster broadcaster, TenancyProperties tenancy) {
+		return new TaskEvents(broadcaster, tenancy.getDefaultTenant());
+	}
+}
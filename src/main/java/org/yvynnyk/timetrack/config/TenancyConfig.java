@@ -0,0 +1,66 @@
+package org.yvynnyk.timetrack.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.yvynnyk.timetrack.tenant.AllTenantsAspect;
+import org.yvynnyk.timetrack.tenant.TenancyProperties;
+import org.yvynnyk.timetrack.tenant.TenantIdentifierResolver;
+import org.yvynnyk.timetrack.tenant.TenantPartitions;
+import org.yvynnyk.timetrack.web.TenantFilter;
+
+/**
+ * Tenant identification.
+ * <p>
+ * Every request acts for the tenant named in its tenant header, or for the default tenant. Hibernate stamps the
+ * tenant on new tasks and time entries and restricts queries to it, and jobs annotated with
+ * {@link org.yvynnyk.timetrack.tenant.AllTenants} run across all tenants.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+
+	/**
+	 * Registers the {@link TenantIdentifierResolver} with Hibernate.
+	 *
+	 * @param properties the tenancy properties
+	 * @return the Hibernate properties customizer
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer tenantIdentifierResolverCustomizer(TenancyProperties properties) {
+		TenantIdentifierResolver resolver = new TenantIdentifierResolver(properties.getDefaultTenant());
+		return hibernateProperties -> hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER,
+				resolver);
+	}
+
+	/**
+	 * Aspect running {@code @AllTenants} jobs in every partition of the tenants' data.
+	 *
+	 * @param partitions the partitions, present when sharding is enabled
+	 * @return the aspect
+	 */
+	@Bean
+	public AllTenantsAspect allTenantsAspect(ObjectProvider<TenantPartitions> partitions) {
+		return new AllTenantsAspect(partitions.getIfAvailable(() -> TenantPartitions.SINGLE));
+	}
+
+	/**
+	 * Filter binding the tenant of each request. It runs before any filter that may access the database.
+	 *
+	 * @param properties the tenancy properties
+	 * @return the filter registration
+	 */
+	@Bean
+	public FilterRegistrationBean<TenantFilter> tenantFilter(TenancyProperties properties) {
+		FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(
+				new TenantFilter(properties.getHeader(), properties.getDefaultTenant()));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 4);
+		return registration;
+	}
+}
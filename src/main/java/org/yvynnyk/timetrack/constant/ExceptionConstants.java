@@ -34,6 +34,61 @@ public final class ExceptionConstants {
 		 * Exception message indicating that a task was not found with a specific ID.
 		 */
 		public static final String TASK_NOT_FOUND_WITH_ID = "Task not found with id: %d";
+
+		/**
+		 * Exception message indicating that more tasks were requested at once than allowed.
+		 */
+		public static final String TOO_MANY_TASK_IDS = "At most %d task ids can be requested at once, got %d";
+
+		/**
+		 * Exception message indicating that a requested task ID is null.
+		 */
+		public static final String NULL_TASK_ID = "Task ids must not be null";
+
+		/**
+		 * Exception message indicating that a change token is malformed.
+		 */
+		public static final String INVALID_CHANGE_TOKEN = "Invalid change token: %s";
+	}
+
+	/**
+	 * Constants for the problem details of error responses.
+	 */
+	public static class Problem {
+		/**
+		 * Prefix of the problem {@code type} URIs, followed by the name of the error type.
+		 */
+		public static final String TYPE_PREFIX = "urn:timetrack:problem:";
+
+		/**
+		 * Title of the problems indicating that a requested resource does not exist.
+		 */
+		public static final String NOT_FOUND_TITLE = "Resource not found";
+
+		/**
+		 * Title of the problems indicating that a task does not allow the requested transition.
+		 */
+		public static final String INVALID_TASK_STATE_TITLE = "Invalid task state";
+
+		/**
+		 * Title of the problems indicating that a request conflicts with the current state.
+		 */
+		public static final String INVALID_STATE_TITLE = "Invalid state";
+
+		/**
+		 * Title of the problems indicating that a request is malformed.
+		 */
+		public static final String INVALID_REQUEST_TITLE = "Invalid request";
+
+		/**
+		 * Title of the problems indicating that a request was shed under load.
+		 */
+		public static final String OVERLOADED_TITLE = "Service overloaded";
+
+		/**
+		 * Title of the problems indicating that the tenant is being moved between shards.
+		 */
+		public static final String TENANT_MOVING_TITLE = "Tenant being moved";
 	}
 
 	/**
@@ -54,5 +109,165 @@ public final class ExceptionConstants {
 		 * Exception message indicating that a time entry was not found for a task with a specific ID.
 		 */
 		public static final String TIME_ENTRY_NOT_FOUND_FOR_TASK_ID = "Time entry not found for task id: %d";
+
+		/**
+		 * Exception message indicating that the automatic closure failed for the tasks with the given IDs.
+		 */
+		public static final String AUTOMATIC_CLOSURE_FAILED = "Automatic closure failed for tasks %s";
+	}
+
+	/**
+	 * Constants for exception messages related to tenants and shards.
+	 */
+	public static class Tenant {
+		/**
+		 * Exception message indicating a malformed tenant identifier in a request.
+		 */
+		public static final String INVALID_TENANT_ID = "Tenant id must be 1 to 64 letters, digits, '-' or '_'";
+
+		/**
+		 * Exception message indicating a reference to a shard that is not configured.
+		 */
+		public static final String UNKNOWN_SHARD = "Unknown shard: %s";
+
+		/**
+		 * Exception message indicating that a tenant's work is rejected while the tenant is moved between shards.
+		 */
+		public static final String TENANT_MOVING = "Tenant %s is being moved to another shard, retry later";
+
+		/**
+		 * Exception message indicating that a move was interrupted before it copied the tenant's rows.
+		 */
+		public static final String MOVE_INTERRUPTED = "Interrupted while waiting to move tenant %s";
+	}
+
+	/**
+	 * Constants for exception messages related to the outbox.
+	 */
+	public static class Outbox {
+		/**
+		 * Exception message indicating that a sink was interrupted while delivering a batch.
+		 */
+		public static final String DELIVERY_INTERRUPTED = "Interrupted while delivering outbox events to %s";
+
+		/**
+		 * Exception message indicating that an HTTP endpoint rejected a batch.
+		 */
+		public static final String DELIVERY_REJECTED = "Outbox events rejected by %s with status %d";
+
+		/**
+		 * Exception message indicating that an outbox event payload could not be serialised.
+		 */
+		public static final String PAYLOAD_NOT_SERIALIZABLE = "Outbox payload of event %s could not be serialised";
+	}
+
+	/**
+	 * Constants for exception messages related to the task event store.
+	 */
+	public static class EventStore {
+		/**
+		 * Exception message indicating that an event was applied to a task out of its sequence.
+		 */
+		public static final String EVENT_OUT_OF_SEQUENCE = "Event of task %d with sequence number %d does not follow task %d at sequence number %d";
+
+		/**
+		 * Exception message indicating that an event could not be appended to a task because of concurrent appends.
+		 */
+		public static final String APPEND_CONFLICT = "Could not append an event to task %d in %d attempts";
+	}
+
+	/**
+	 * Constants for exception messages related to the CSV import.
+	 */
+	public static class Import {
+		/**
+		 * Exception message indicating that the header of an import does not name the expected columns.
+		 */
+		public static final String UNEXPECTED_HEADER = "Expected the CSV header %s, got %s";
+
+		/**
+		 * Exception message indicating that an import was requested for all tenants at once.
+		 */
+		public static final String TENANT_REQUIRED = "Imports need a single tenant";
+
+		/**
+		 * Exception message indicating that the import input could not be read.
+		 */
+		public static final String INPUT_NOT_READABLE = "Import input could not be read";
+
+		/**
+		 * Rejection reason of a row with another number of columns than the header.
+		 */
+		public static final String WRONG_COLUMN_COUNT = "expected %d columns, got %d";
+
+		/**
+		 * Rejection reason of a row without a required value.
+		 */
+		public static final String MISSING_VALUE = "%s is required";
+
+		/**
+		 * Rejection reason of a row with a value longer than its column.
+		 */
+		public static final String VALUE_TOO_LONG = "%s is longer than %d characters";
+
+		/**
+		 * Rejection reason of a row with a malformed timestamp.
+		 */
+		public static final String INVALID_TIMESTAMP = "%s is not an ISO-8601 date-time";
+
+		/**
+		 * Rejection reason of a task row with an unknown status.
+		 */
+		public static final String UNKNOWN_STATUS = "unknown status %s";
+
+		/**
+		 * Rejection reason of a task row in progress, which would need a running time entry.
+		 */
+		public static final String IN_PROGRESS_NOT_IMPORTABLE = "IN_PROGRESS tasks cannot be imported";
+
+		/**
+		 * Rejection reason of a time entry row ending before it starts.
+		 */
+		public static final String END_BEFORE_START = "end_time is before start_time";
+
+		/**
+		 * Rejection reason of a task row whose reference appears on an earlier row.
+		 */
+		public static final String DUPLICATE_TASK_REFERENCE = "duplicate task reference";
+
+		/**
+		 * Rejection reason of a task row whose reference was imported before.
+		 */
+		public static final String TASK_REFERENCE_EXISTS = "task reference already imported";
+
+		/**
+		 * Rejection reason of a time entry row referencing no imported task of the tenant.
+		 */
+		public static final String UNKNOWN_TASK_REFERENCE = "unknown task reference";
+
+		/**
+		 * Rejection reason of a time entry row whose task appears on an earlier row; a task has one time entry.
+		 */
+		public static final String DUPLICATE_TIME_ENTRY = "duplicate time entry for task";
+
+		/**
+		 * Rejection reason of a time entry row whose task already has a time entry.
+		 */
+		public static final String TIME_ENTRY_EXISTS = "task already has a time entry";
+
+		/**
+		 * Rejection reason of a time entry row whose task is not completed.
+		 */
+		public static final String TASK_NOT_COMPLETED = "task is not completed";
+	}
+
+	/**
+	 * Constants for exception messages related to the concurrency limits.
+	 */
+	public static class Concurrency {
+		/**
+		 * Exception message indicating that a request was shed because the limit of its group is reached.
+		 */
+		public static final String LIMIT_EXCEEDED = "Too many concurrent %s requests, retry later";
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package org.yvynnyk.timetrack.constant;
+
+/**
+ * Utility class that contains the names of the custom HTTP headers used by the application.
+ * <p>
+ * This class is designed to provide a centralized location for header names. It should not be instantiated,
+ * and all fields should be declared as {@code public static final}.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ *     response.setHeader(HeaderConstants.SQL_STATEMENT_COUNT, String.valueOf(count));
+ * </pre>
+ * </p>
+ */
+public final class HeaderConstants {
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 * <p>
+	 * This constructor is private because this class should not be instantiated.
+	 * Attempting to create an instance will result in an {@code UnsupportedOperationException}.
+	 * </p>
+	 */
+	private HeaderConstants() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Debug response header holding the number of JDBC statements executed while handling the request.
+	 */
+	public static final String SQL_STATEMENT_COUNT = "X-SQL-Statement-Count";
+
+	/**
+	 * W3C response header carrying the latency breakdown of the request.
+	 */
+	public static final String SERVER_TIMING = "Server-Timing";
+
+	/**
+	 * Default request header identifying the tenant a request acts for.
+	 */
+	public static final String TENANT_ID = "X-Tenant-Id";
+
+	/**
+	 * Request header of a reconnecting Server-Sent Events client, naming the last event it received.
+	 */
+	public static final String LAST_EVENT_ID = "Last-Event-ID";
+}
@@ -7,9 +7,14 @@ package org.yvynnyk.timetrack.constant;
  * and all fields should be declared as {@code public static final}.
  * </p>
  * <p>
+ * Messages are SLF4J templates with {@code {}} placeholders, so they are only formatted when the event is actually
+ * logged. Arguments are passed as structured arguments named after {@link Fields}, which also puts them into the
+ * JSON log event as separate fields.
+ * </p>
+ * <p>
  * Example usage:
  * <pre>
- *     logger.info(LoggingConstants.Task.Service.TASK_CREATED, taskName);
+ *     logger.info(LoggingConstants.Task.Service.TASK_CREATED, value(LoggingConstants.Fields.TASK_NAME, taskName));
  * </pre>
  * </p>
  */
@@ -26,6 +31,384 @@ public final class LoggingConstants {
 		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
 	}
 
+	/**
+	 * Names of the structured fields attached to log events.
+	 */
+	public static class Fields {
+		/**
+		 * Field holding the ID of a task.
+		 */
+		public static final String TASK_ID = "taskId";
+
+		/**
+		 * Field holding the name of a task.
+		 */
+		public static final String TASK_NAME = "taskName";
+
+		/**
+		 * Field holding a point in time, such as the start of a scheduled run.
+		 */
+		public static final String TIME = "time";
+
+		/**
+		 * Field holding the HTTP method of a request.
+		 */
+		public static final String HTTP_METHOD = "method";
+
+		/**
+		 * Field holding the URI of a request.
+		 */
+		public static final String URI = "uri";
+
+		/**
+		 * Field holding the HTTP status of a response.
+		 */
+		public static final String STATUS = "status";
+
+		/**
+		 * Field holding the total duration of a request in milliseconds.
+		 */
+		public static final String TOTAL_MS = "totalMs";
+
+		/**
+		 * Field holding the time spent executing JDBC statements in milliseconds.
+		 */
+		public static final String DB_MS = "dbMs";
+
+		/**
+		 * Field holding the number of executed JDBC statements.
+		 */
+		public static final String DB_STATEMENTS = "dbStatements";
+
+		/**
+		 * Field holding the time spent in the services in milliseconds.
+		 */
+		public static final String SERVICE_MS = "serviceMs";
+
+		/**
+		 * Field holding the time spent in the mapper in milliseconds.
+		 */
+		public static final String MAPPER_MS = "mapperMs";
+
+		/**
+		 * Field holding the time spent writing the response body in milliseconds.
+		 */
+		public static final String SERIALIZATION_MS = "serializationMs";
+
+		/**
+		 * Field holding the name of a connection pool.
+		 */
+		public static final String POOL = "pool";
+
+		/**
+		 * Field holding the size of a connection pool before a change.
+		 */
+		public static final String FROM_SIZE = "fromSize";
+
+		/**
+		 * Field holding the size of a connection pool after a change.
+		 */
+		public static final String TO_SIZE = "toSize";
+
+		/**
+		 * Field holding the reason of a decision.
+		 */
+		public static final String REASON = "reason";
+
+		/**
+		 * Field holding the identifier of a tenant.
+		 */
+		public static final String TENANT_ID = "tenantId";
+
+		/**
+		 * Field holding the name of a shard.
+		 */
+		public static final String SHARD = "shard";
+
+		/**
+		 * Field holding the name of the shard a tenant is moved to.
+		 */
+		public static final String TARGET_SHARD = "targetShard";
+
+		/**
+		 * Field holding the name of a database table.
+		 */
+		public static final String TABLE = "table";
+
+		/**
+		 * Field holding a row count, or row counts by table.
+		 */
+		public static final String ROWS = "rows";
+
+		/**
+		 * Field holding a generated identifier.
+		 */
+		public static final String ID = "id";
+
+		/**
+		 * Field holding the name of a scheduled job.
+		 */
+		public static final String JOB = "job";
+
+		/**
+		 * Field holding the key of a scheduled job run.
+		 */
+		public static final String RUN = "run";
+
+		/**
+		 * Field holding the index of a partition of a job run.
+		 */
+		public static final String PARTITION = "partition";
+
+		/**
+		 * Field holding a number of partitions.
+		 */
+		public static final String PARTITIONS = "partitions";
+
+		/**
+		 * Field holding the identifier of an application instance.
+		 */
+		public static final String NODE = "node";
+
+		/**
+		 * Field holding the number of requested tasks.
+		 */
+		public static final String TASK_COUNT = "taskCount";
+
+		/**
+		 * Field holding the kind of imported rows, {@code tasks} or {@code time-entries}.
+		 */
+		public static final String KIND = "kind";
+
+		/**
+		 * Field holding the number of imported rows.
+		 */
+		public static final String IMPORTED = "imported";
+
+		/**
+		 * Field holding the number of rejected rows.
+		 */
+		public static final String REJECTED = "rejected";
+
+		/**
+		 * Field holding a throughput in rows per second.
+		 */
+		public static final String ROWS_PER_SECOND = "rowsPerSecond";
+
+		/**
+		 * Field holding the path of a file.
+		 */
+		public static final String FILE = "file";
+
+		/**
+		 * Field holding a change token.
+		 */
+		public static final String TOKEN = "token";
+
+		/**
+		 * Field holding the name of a database.
+		 */
+		public static final String DATABASE = "database";
+
+		/**
+		 * Field holding a delay.
+		 */
+		public static final String DELAY = "delay";
+	}
+
+	/**
+	 * Constants for logging related to the web layer.
+	 */
+	public static class Web {
+		/**
+		 * Log message indicating a request that exceeded the slow request threshold, with its latency breakdown
+		 * attached as structured fields.
+		 */
+		public static final String SLOW_REQUEST = "Slow request {} {} completed with status {} in {} ms";
+	}
+
+	/**
+	 * Constants for logging related to the connection pools.
+	 */
+	public static class Pool {
+		/**
+		 * Log message indicating a change of a pool's maximum size by the pool sizing controller.
+		 */
+		public static final String RESIZED = "Resized connection pool {} from {} to {} ({})";
+
+		/**
+		 * Log message indicating that a pool could not be sampled or resized.
+		 */
+		public static final String ADJUSTMENT_FAILED = "Failed to adjust the size of connection pool {}";
+	}
+
+	/**
+	 * Constants for logging related to tenant sharding.
+	 */
+	public static class Sharding {
+		/**
+		 * Log message indicating that a tenant was moved between shards, with the moved rows by table.
+		 */
+		public static final String TENANT_MOVED = "Moved tenant {} from shard {} to shard {}: {}";
+
+		/**
+		 * Log message indicating that a tenant was not moved because it already is on the target shard.
+		 */
+		public static final String TENANT_ALREADY_ON_SHARD = "Tenant {} already is on shard {}";
+
+		/**
+		 * Log message indicating that a tenant's work is rejected for its move, and how long the move waits for the
+		 * other instances to see it.
+		 */
+		public static final String TENANT_FENCED = "Fenced tenant {} for its move to shard {}, waiting {}";
+
+		/**
+		 * Log message indicating that the fence of a tenant was released because its move failed.
+		 */
+		public static final String TENANT_UNFENCED = "Released the fence of tenant {} after its move failed";
+
+		/**
+		 * Log message indicating a tenant that the hash ring places on another shard than the one holding it.
+		 */
+		public static final String REBALANCE_CANDIDATE = "Tenant {} is on shard {}, the ring places it on shard {}";
+
+		/**
+		 * Log message indicating that a rebalancing command failed.
+		 */
+		public static final String REBALANCE_FAILED = "Rebalancing failed: {}";
+
+		/**
+		 * Log message indicating the first identifier generated for a table on a shard.
+		 */
+		public static final String IDENTITY_BLOCK = "Identifiers of table {} on shard {} start at {}";
+
+		/**
+		 * Log message indicating that the identifier block of a table on a shard could not be assigned.
+		 */
+		public static final String IDENTITY_BLOCK_FAILED = "Could not assign the identifier block of table {} on shard {}";
+	}
+
+	/**
+	 * Constants for logging related to the upgrade of existing tables.
+	 */
+	public static class Schema {
+		/**
+		 * Log message indicating that a schema upgrade was applied to a database.
+		 */
+		public static final String UPGRADE_APPLIED = "Applied schema upgrade {} to database {}";
+
+		/**
+		 * Log message indicating that a schema upgrade was applied to a database by another instance meanwhile.
+		 */
+		public static final String UPGRADE_APPLIED_ELSEWHERE = "Schema upgrade {} was applied to database {} by another instance";
+	}
+
+	/**
+	 * Constants for logging related to the coordination of scheduled jobs.
+	 */
+	public static class Job {
+		/**
+		 * Log message indicating that an instance took over a partition whose lease had expired.
+		 */
+		public static final String PARTITION_TAKEN_OVER = "Instance {} took over partition {} of job {} run {}";
+
+		/**
+		 * Log message indicating that a claimed partition failed; it is retried once its lease expires.
+		 */
+		public static final String PARTITION_FAILED = "Partition {} of job {} run {} failed";
+
+		/**
+		 * Log message indicating that an instance processed a partition after another instance took over its lease,
+		 * so the partition may have been processed twice.
+		 */
+		public static final String LEASE_LOST = "Instance {} lost the lease of partition {} of job {} run {} while processing it";
+
+		/**
+		 * Log message indicating the end of a job run on an instance, with the partitions it processed.
+		 */
+		public static final String RUN_COMPLETED = "Instance {} processed {} partitions of job {} run {}";
+	}
+
+	/**
+	 * Constants for logging related to the task cache and its invalidation bus.
+	 */
+	public static class Cache {
+		/**
+		 * Log message indicating that the invalidation bus listens on a database; the task cache was flushed.
+		 */
+		public static final String LISTENING = "Listening for task changes on database {}, task cache flushed";
+
+		/**
+		 * Log message indicating that the listener connection to a database failed and will be reopened.
+		 */
+		public static final String LISTENER_FAILED = "Listening for task changes on database {} failed, reconnecting";
+
+		/**
+		 * Log message indicating a notification whose payload could not be decoded.
+		 */
+		public static final String INVALID_NOTIFICATION = "Ignored a malformed task change notification from database {}";
+
+		/**
+		 * Log message indicating that the invalidation bus is inactive because the databases are not PostgreSQL.
+		 */
+		public static final String BUS_INACTIVE = "Task change notifications need PostgreSQL; the task cache is only invalidated locally";
+	}
+
+	/**
+	 * Constants for logging related to the outbox relay.
+	 */
+	public static class Outbox {
+		/**
+		 * Log message indicating that a batch of outbox events could not be delivered and stays in the outbox.
+		 */
+		public static final String DELIVERY_FAILED = "Delivering outbox events failed, retrying on the next poll";
+	}
+
+	/**
+	 * Constants for logging related to the task duration statistics.
+	 */
+	public static class Statistics {
+		/**
+		 * Log message indicating that the statistics were filled from the stored time entries of a database.
+		 */
+		public static final String LOADED = "Loaded {} completed time entries into the task duration statistics";
+	}
+
+	/**
+	 * Constants for logging related to the task event store.
+	 */
+	public static class EventStore {
+		/**
+		 * Log message indicating that the snapshots of a number of tasks were taken.
+		 */
+		public static final String SNAPSHOTS_TAKEN = "Took the snapshots of {} tasks";
+
+		/**
+		 * Log message indicating that the snapshot of a task could not be taken.
+		 */
+		public static final String SNAPSHOT_FAILED = "Could not take the snapshot of task {}";
+	}
+
+	/**
+	 * Constants for logging related to the CSV import.
+	 */
+	public static class Import {
+		/**
+		 * Log message indicating a completed import, with its row counts and throughput.
+		 */
+		public static final String COMPLETED = "Imported {} {} of {} rows, {} rejected, at {} rows/s";
+
+		/**
+		 * Log message indicating a request to import rows of a kind.
+		 */
+		public static final String REQUEST = "Received request to import {}";
+
+		/**
+		 * Log message indicating that an import command failed.
+		 */
+		public static final String FAILED = "Import of {} failed: {}";
+	}
+
 	/**
 	 * Constants for logging related to tasks.
 	 */
@@ -38,17 +421,42 @@ public final class LoggingConstants {
 			/**
 			 * Log message indicating a request to create a task with a specific name.
 			 */
-			public static final String TASK_CREATE_REQUEST = "Received request to create task with name: %s";
+			public static final String TASK_CREATE_REQUEST = "Received request to create task with name: {}";
 
 			/**
 			 * Log message indicating a request to update a task with a specific ID.
 			 */
-			public static final String TASK_UPDATE_REQUEST = "Received request to update task with id: %d";
+			public static final String TASK_UPDATE_REQUEST = "Received request to update task with id: {}";
+
+			/**
+			 * Log message indicating a request to fetch a task with a specific ID.
+			 */
+			public static final String TASK_GET_REQUEST = "Received request to fetch task with id: {}";
+
+			/**
+			 * Log message indicating a request to fetch several tasks by ID.
+			 */
+			public static final String TASK_GET_BATCH_REQUEST = "Received request to fetch {} tasks by id";
 
 			/**
 			 * Log message indicating a request to fetch all tasks.
 			 */
 			public static final String TASK_GET_ALL = "Received request to fetch all tasks";
+
+			/**
+			 * Log message indicating a request to fetch the tasks changed since a token.
+			 */
+			public static final String TASK_GET_CHANGES = "Received request to fetch the tasks changed since {}";
+
+			/**
+			 * Log message indicating a request to fetch the history of a task with a specific ID.
+			 */
+			public static final String TASK_GET_HISTORY = "Received request to fetch the history of task with id: {}";
+
+			/**
+			 * Log message indicating a request to rebuild the state of a task with a specific ID.
+			 */
+			public static final String TASK_GET_STATE = "Received request to rebuild the state of task with id: {}";
 		}
 
 		/**
@@ -58,12 +466,12 @@ public final class LoggingConstants {
 			/**
 			 * Log message indicating a task is being created with a specific name.
 			 */
-			public static final String TASK_CREATED = "Creating task with name: %s";
+			public static final String TASK_CREATED = "Creating task with name: {}";
 
 			/**
 			 * Log message indicating a task is being updated with a specific ID.
 			 */
-			public static final String TASK_UPDATED = "Updating task with id: %d";
+			public static final String TASK_UPDATED = "Updating task with id: {}";
 		}
 	}
 
@@ -79,12 +487,12 @@ public final class LoggingConstants {
 			/**
 			 * Log message indicating a request to start a time entry for a task with a specific ID.
 			 */
-			public static final String TIME_ENTRY_START_REQUEST = "Received request to start time entry for task with id: %d";
+			public static final String TIME_ENTRY_START_REQUEST = "Received request to start time entry for task with id: {}";
 
 			/**
 			 * Log message indicating a request to stop a time entry for a task with a specific ID.
 			 */
-			public static final String TIME_ENTRY_STOP_REQUEST = "Received request to stop time entry for task with id: %d";
+			public static final String TIME_ENTRY_STOP_REQUEST = "Received request to stop time entry for task with id: {}";
 		}
 
 		/**
@@ -94,27 +502,32 @@ public final class LoggingConstants {
 			/**
 			 * Log message indicating a time entry has started for a task with a specific ID.
 			 */
-			public static final String TIME_ENTRY_STARTED = "Time entry started for task with id: %d";
+			public static final String TIME_ENTRY_STARTED = "Time entry started for task with id: {}";
 
 			/**
 			 * Log message indicating a time entry has stopped for a task with a specific ID.
 			 */
-			public static final String TIME_ENTRY_STOPPED = "Time entry stopped for task with id: %d";
+			public static final String TIME_ENTRY_STOPPED = "Time entry stopped for task with id: {}";
 
 			/**
 			 * Log message indicating that automatic task closure has started at a specific time.
 			 */
-			public static final String AUTOMATIC_TASK_CLOSURE_STARTED = "Automatic task closure started at: %s";
+			public static final String AUTOMATIC_TASK_CLOSURE_STARTED = "Automatic task closure started at: {}";
 
 			/**
 			 * Log message indicating that automatic task closure has been completed at a specific time.
 			 */
-			public static final String AUTOMATIC_TASK_CLOSURE_COMPLETED = "Automatic task closure completed at: %s";
+			public static final String AUTOMATIC_TASK_CLOSURE_COMPLETED = "Automatic task closure completed at: {}";
 
 			/**
 			 * Log message indicating that a task with a specific ID has been automatically closed.
 			 */
-			public static final String TASK_AUTOMATICALLY_CLOSED = "Task with id %d automatically closed.";
+			public static final String TASK_AUTOMATICALLY_CLOSED = "Task with id {} automatically closed.";
+
+			/**
+			 * Log message indicating that the automatic closure of a task with a specific ID has failed.
+			 */
+			public static final String TASK_AUTOMATIC_CLOSURE_FAILED = "Automatic closure of task with id {} failed.";
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,361 @@
+package org.yvynnyk.timetrack.constant;
+
+/**
+ * Utility class that contains the names and tags of the application's Micrometer meters.
+ * <p>
+ * This class is designed to provide a centralized location for meter names, so that dashboards and alerts
+ * can rely on them. It should not be instantiated, and all fields should be declared as
+ * {@code public static final}.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ *     Counter.builder(MetricsConstants.Closure.TASKS_CLOSED).register(meterRegistry);
+ * </pre>
+ * </p>
+ */
+public final class MetricsConstants {
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 * <p>
+	 * This constructor is private because this class should not be instantiated.
+	 * Attempting to create an instance will result in an {@code UnsupportedOperationException}.
+	 * </p>
+	 */
+	private MetricsConstants() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Tag names shared by several meters.
+	 */
+	public static class Tags {
+		/**
+		 * Tag holding the simple name of the service class.
+		 */
+		public static final String SERVICE = "service";
+
+		/**
+		 * Tag holding the name of the invoked service method.
+		 */
+		public static final String OPERATION = "operation";
+
+		/**
+		 * Tag holding the outcome of an operation, one of the {@link Outcome} values.
+		 */
+		public static final String OUTCOME = "outcome";
+
+		/**
+		 * Tag holding the simple class name of the thrown exception, or {@code none}.
+		 */
+		public static final String EXCEPTION = "exception";
+
+		/**
+		 * Tag holding the type of a JDBC statement: {@code select}, {@code insert}, {@code update},
+		 * {@code delete} or {@code other}.
+		 */
+		public static final String TYPE = "type";
+
+		/**
+		 * Tag holding the HTTP method of a request.
+		 */
+		public static final String METHOD = "method";
+
+		/**
+		 * Tag holding the matched URI pattern of a request, or {@code UNKNOWN} if no handler matched.
+		 */
+		public static final String URI = "uri";
+
+		/**
+		 * Tag holding the name of a connection pool.
+		 */
+		public static final String POOL = "pool";
+
+		/**
+		 * Tag holding the reason of a decision, such as a pool resize.
+		 */
+		public static final String REASON = "reason";
+
+		/**
+		 * Tag holding the name of a cache, as in the {@code cache.*} meters.
+		 */
+		public static final String CACHE = "cache";
+
+		/**
+		 * Tag holding the concurrency limit group of a request.
+		 */
+		public static final String GROUP = "group";
+
+		/**
+		 * Tag holding the kind of imported rows, {@code tasks} or {@code time-entries}.
+		 */
+		public static final String KIND = "kind";
+
+		/**
+		 * Tag holding the type of an error response, as in the problem {@code type} URI.
+		 */
+		public static final String ERROR = "error";
+
+		/**
+		 * Tag holding the HTTP status code of a response.
+		 */
+		public static final String STATUS = "status";
+
+		/**
+		 * Value of the {@link #EXCEPTION} tag when no exception was thrown.
+		 */
+		public static final String NONE = "none";
+	}
+
+	/**
+	 * Values of the {@link Tags#OUTCOME} tag.
+	 */
+	public static class Outcome {
+		/**
+		 * The operation completed normally.
+		 */
+		public static final String SUCCESS = "success";
+
+		/**
+		 * The operation referred to a resource that does not exist.
+		 */
+		public static final String NOT_FOUND = "not_found";
+
+		/**
+		 * The operation was rejected because of the current state of a task.
+		 */
+		public static final String INVALID_STATE = "invalid_state";
+
+		/**
+		 * The operation failed with an unexpected exception.
+		 */
+		public static final String ERROR = "error";
+
+		/**
+		 * The operation was not performed because another instance performs it.
+		 */
+		public static final String SKIPPED = "skipped";
+
+		/**
+		 * The input was rejected as invalid.
+		 */
+		public static final String REJECTED = "rejected";
+
+		/**
+		 * The operation was performed, but another instance took over its lease in the meantime.
+		 */
+		public static final String LOST = "lost";
+	}
+
+	/**
+	 * Meters of the service layer.
+	 */
+	public static class Service {
+		/**
+		 * Timer of every {@code TaskService} and {@code TimeEntryService} operation.
+		 * <p>
+		 * Tagged with {@link Tags#SERVICE}, {@link Tags#OPERATION}, {@link Tags#OUTCOME} and {@link Tags#EXCEPTION}.
+		 * The timer's count is the per-outcome call counter.
+		 * </p>
+		 */
+		public static final String OPERATION = "timetrack.service.operation";
+	}
+
+	/**
+	 * Meters of the automatic task closure job.
+	 */
+	public static class Closure {
+		/**
+		 * Timer of a complete automatic closure run.
+		 */
+		public static final String DURATION = "timetrack.closure.duration";
+
+		/**
+		 * Counter of in-progress tasks examined by the automatic closure.
+		 */
+		public static final String TASKS_SCANNED = "timetrack.closure.tasks.scanned";
+
+		/**
+		 * Counter of tasks stopped by the automatic closure.
+		 */
+		public static final String TASKS_CLOSED = "timetrack.closure.tasks.closed";
+
+		/**
+		 * Counter of closure partitions seen by this instance, tagged with {@link Tags#OUTCOME}: {@code success}
+		 * for a partition it processed, {@code skipped} for one claimed by another instance, {@code error}
+		 * for one that failed and {@code lost} for one processed after another instance took over its lease.
+		 */
+		public static final String PARTITIONS = "timetrack.closure.partitions";
+	}
+
+	/**
+	 * Meters of the JDBC statements issued by the application.
+	 */
+	public static class Sql {
+		/**
+		 * Counter of executed JDBC statements, tagged with {@link Tags#TYPE}. A batch counts once.
+		 */
+		public static final String STATEMENTS = "timetrack.sql.statements";
+
+		/**
+		 * Distribution of the number of statements per HTTP request, tagged with {@link Tags#METHOD}
+		 * and {@link Tags#URI}.
+		 */
+		public static final String STATEMENTS_PER_REQUEST = "timetrack.sql.statements.per.request";
+
+		/**
+		 * Distribution of the number of statements per Spring-managed transaction.
+		 */
+		public static final String STATEMENTS_PER_TRANSACTION = "timetrack.sql.statements.per.transaction";
+	}
+
+	/**
+	 * Meters of the adaptive connection pool sizing.
+	 */
+	public static class Pool {
+		/**
+		 * Gauge of the maximum pool size chosen by the controller, tagged with {@link Tags#POOL}.
+		 */
+		public static final String TARGET_SIZE = "timetrack.pool.size.target";
+
+		/**
+		 * Counter of pool size changes, tagged with {@link Tags#POOL} and {@link Tags#REASON}: {@code wait}
+		 * for a growth, {@code latency} or {@code idle} for a shrink.
+		 */
+		public static final String RESIZES = "timetrack.pool.resizes";
+	}
+
+	/**
+	 * Meters of the task cache invalidation; hits and misses are published as the {@code cache.*} meters of the
+	 * {@code tasks} and {@code task-lists} caches.
+	 */
+	public static class Cache {
+		/**
+		 * Counter of task change notifications received from the database.
+		 */
+		public static final String NOTIFICATIONS = "timetrack.cache.notifications";
+
+		/**
+		 * Counter of full task cache flushes after a listener connection was (re)opened.
+		 */
+		public static final String FLUSHES = "timetrack.cache.flushes";
+
+		/**
+		 * Counter of database loads run on a cache miss or bypass, tagged with {@link Tags#CACHE}.
+		 */
+		public static final String LOADS = "timetrack.cache.loads";
+
+		/**
+		 * Counter of reads that received the result of a concurrent identical load instead of running their own,
+		 * tagged with {@link Tags#CACHE}.
+		 */
+		public static final String COALESCED = "timetrack.cache.loads.coalesced";
+
+		/**
+		 * Gauge of the loads in flight, tagged with {@link Tags#CACHE}.
+		 */
+		public static final String LOADS_IN_FLIGHT = "timetrack.cache.loads.inflight";
+	}
+
+	/**
+	 * Meters of the task status event stream.
+	 */
+	public static class Events {
+		/**
+		 * Gauge of the open event subscriptions.
+		 */
+		public static final String SUBSCRIBERS = "timetrack.events.subscribers";
+
+		/**
+		 * Counter of published task events.
+		 */
+		public static final String PUBLISHED = "timetrack.events.published";
+
+		/**
+		 * Counter of subscribers told to resynchronise because they fell behind or resumed from an unknown event.
+		 */
+		public static final String RESYNCS = "timetrack.events.resyncs";
+	}
+
+	/**
+	 * Constants for the outbox relay metrics.
+	 */
+	public static class Outbox {
+		/**
+		 * Counter of outbox events delivered to the sink.
+		 */
+		public static final String DELIVERED = "timetrack.outbox.delivered";
+
+		/**
+		 * Counter of outbox batches whose delivery failed and will be retried.
+		 */
+		public static final String FAILURES = "timetrack.outbox.failures";
+
+		/**
+		 * Timer of the time between recording an outbox event and delivering it.
+		 */
+		public static final String LAG = "timetrack.outbox.lag";
+	}
+
+	/**
+	 * Constants for the adaptive concurrency limit metrics.
+	 */
+	public static class Concurrency {
+		/**
+		 * Gauge of the current concurrency limit of a limit group.
+		 */
+		public static final String LIMIT = "timetrack.concurrency.limit";
+
+		/**
+		 * Gauge of the requests running under the limit of a limit group.
+		 */
+		public static final String INFLIGHT = "timetrack.concurrency.inflight";
+
+		/**
+		 * Counter of requests rejected because the limit of their group was reached.
+		 */
+		public static final String REJECTED = "timetrack.concurrency.rejected";
+	}
+
+	/**
+	 * Constants for the task event store metrics.
+	 */
+	public static class EventStore {
+		/**
+		 * Distribution summary of the events replayed to rebuild the state of a task.
+		 */
+		public static final String REPLAYED = "timetrack.eventstore.replayed";
+
+		/**
+		 * Counter of task snapshots, tagged with {@link Tags#OUTCOME}: {@code success} or {@code error}.
+		 */
+		public static final String SNAPSHOTS = "timetrack.eventstore.snapshots";
+	}
+
+	/**
+	 * Constants for the error response metrics.
+	 */
+	public static class Errors {
+		/**
+		 * Counter of error responses, tagged with {@link Tags#ERROR} and {@link Tags#STATUS}.
+		 */
+		public static final String RESPONSES = "timetrack.errors";
+	}
+
+	/**
+	 * Constants for the CSV import metrics.
+	 */
+	public static class Import {
+		/**
+		 * Counter of imported rows, tagged with {@link Tags#KIND} and {@link Tags#OUTCOME}: {@code success} or
+		 * {@code rejected}.
+		 */
+		public static final String ROWS = "timetrack.import.rows";
+
+		/**
+		 * Timer of the imports, tagged with {@link Tags#KIND}.
+		 */
+		public static final String DURATION = "timetrack.import.duration";
+	}
+}
@@ -40,6 +40,113 @@ public final class SwaggerConstants {
 						}
 						""";
 
+		public static final String GET_TASK_SUMMARY = "Retrieve a task";
+		public static final String GET_TASK_DESCRIPTION = "Fetch a single task by its ID.";
+		public static final String GET_TASK_OK_DESCRIPTION = "Successfully retrieved the task.";
+		public static final String GET_TASK_NOT_FOUND_DESCRIPTION = "Task not found";
+		public static final String GET_TASK_EXAMPLE =
+				"""
+						{
+						  "id": 1,
+						  "name": "Task 1",
+						  "description": "This is a detailed description for Task 1",
+						  "status": "IN_PROGRESS",
+						  "createdAt": "2024-09-10T12:34:56",
+						  "updatedAt": "2024-09-10T12:34:56"
+						}
+						""";
+
+		public static final String GET_TASK_BATCH_SUMMARY = "Retrieve several tasks";
+		public static final String GET_TASK_BATCH_DESCRIPTION = "Fetch up to 10000 tasks by their IDs in one call. Tasks are returned in the order of the requested IDs, each ID once; IDs without a task are listed in missingIds.";
+		public static final String GET_TASK_BATCH_OK_DESCRIPTION = "Successfully retrieved the tasks.";
+		public static final String GET_TASK_BATCH_INVALID_INPUT_DESCRIPTION = "Null ID or too many IDs";
+		public static final String GET_TASK_BATCH_EXAMPLE =
+				"""
+						{
+						  "tasks": [
+						    {
+						      "id": 1,
+						      "name": "Task 1",
+						      "description": "This is a detailed description for Task 1",
+						      "status": "IN_PROGRESS",
+						      "createdAt": "2024-09-10T12:34:56",
+						      "updatedAt": "2024-09-10T12:34:56"
+						    }
+						  ],
+						  "missingIds": [3]
+						}
+						""";
+
+		public static final String GET_TASK_CHANGES_SUMMARY = "Retrieve the tasks changed since a token";
+		public static final String GET_TASK_CHANGES_DESCRIPTION = "Fetch the tasks created or updated since the token returned by the previous call, in the order of their changes; without a token, all tasks. Pass the returned token to the next call; while hasMore is true, further changes can be fetched right away. Tasks changed within the last seconds may be returned again.";
+		public static final String GET_TASK_CHANGES_OK_DESCRIPTION = "Successfully retrieved the changed tasks.";
+		public static final String GET_TASK_CHANGES_INVALID_INPUT_DESCRIPTION = "Malformed token";
+		public static final String GET_TASK_CHANGES_EXAMPLE =
+				"""
+						{
+						  "tasks": [
+						    {
+						      "id": 1,
+						      "name": "Task 1",
+						      "description": "This is a detailed description for Task 1",
+						      "status": "IN_PROGRESS",
+						      "createdAt": "2024-09-10T12:34:56",
+						      "updatedAt": "2024-09-10T12:40:00"
+						    }
+						  ],
+						  "token": "1725972000000000-1",
+						  "hasMore": false
+						}
+						""";
+
+		public static final String GET_TASK_HISTORY_SUMMARY = "Retrieve the history of a task";
+		public static final String GET_TASK_HISTORY_DESCRIPTION = "Fetch the lifecycle events of a task in order: its creation, its updates and the start and stop of its time entry. Tasks imported from CSV have no history.";
+		public static final String GET_TASK_HISTORY_OK_DESCRIPTION = "Successfully retrieved the history of the task.";
+		public static final String GET_TASK_HISTORY_NOT_FOUND_DESCRIPTION = "No history found for the given task ID";
+		public static final String GET_TASK_HISTORY_EXAMPLE =
+				"""
+						[
+						  {
+						    "sequenceNumber": 1,
+						    "type": "CREATED",
+						    "status": "CREATE",
+						    "name": "Task 1",
+						    "description": "This is a detailed description for Task 1",
+						    "timeEntryId": null,
+						    "occurredAt": "2024-09-10T12:34:56"
+						  },
+						  {
+						    "sequenceNumber": 2,
+						    "type": "STARTED",
+						    "status": "IN_PROGRESS",
+						    "name": null,
+						    "description": null,
+						    "timeEntryId": 7,
+						    "occurredAt": "2024-09-10T12:40:00"
+						  }
+						]
+						""";
+
+		public static final String GET_TASK_STATE_SUMMARY = "Rebuild the state of a task";
+		public static final String GET_TASK_STATE_DESCRIPTION = "Rebuild the state of a task and of its time entry from its latest snapshot and the lifecycle events after it.";
+		public static final String GET_TASK_STATE_OK_DESCRIPTION = "Successfully rebuilt the state of the task.";
+		public static final String GET_TASK_STATE_NOT_FOUND_DESCRIPTION = "No history found for the given task ID";
+		public static final String GET_TASK_STATE_EXAMPLE =
+				"""
+						{
+						  "taskId": 1,
+						  "name": "Task 1",
+						  "description": "This is a detailed description for Task 1",
+						  "status": "IN_PROGRESS",
+						  "createdAt": "2024-09-10T12:34:56",
+						  "updatedAt": "2024-09-10T12:40:00",
+						  "timeEntryId": 7,
+						  "startTime": "2024-09-10T12:40:00",
+						  "endTime": null,
+						  "sequenceNumber": 2
+						}
+						""";
+
 		public static final String GET_ALL_TASKS_SUMMARY = "Retrieve all tasks";
 		public static final String GET_ALL_TASKS_DESCRIPTION = "Fetch a list of all tasks.";
 		public static final String GET_ALL_TASKS_OK_DESCRIPTION = "Successfully retrieved the list of tasks.";
@@ -67,6 +174,17 @@ public final class SwaggerConstants {
 						    
 						""";
 
+		public static final String TASK_EVENTS_SUMMARY = "Stream task status changes";
+		public static final String TASK_EVENTS_DESCRIPTION = "Server-Sent Events stream of the status of every task saved by the caller's tenant. Reconnecting clients send Last-Event-ID to receive the events they missed; a 'resync' event asks the client to reload the task list.";
+		public static final String TASK_EVENTS_OK_DESCRIPTION = "Event stream opened";
+		public static final String TASK_EVENTS_EXAMPLE =
+				"""
+						id: lq2x1k9c-42
+						event: task-status
+						data: {"taskId":1,"status":"IN_PROGRESS","at":"2024-09-10T12:34:56"}
+						
+						""";
+
 	}
 
 	public static class TimeEntry {
@@ -85,4 +203,55 @@ public final class SwaggerConstants {
 		public static final String INVALID_STATE_FOR_STOPPING_TIME_ENTRY = "Invalid state for stopping time entry";
 		public static final String TASK_NOT_IN_PROGRESS = "Task is not in progress";
 	}
-}
\ No newline at end of file
+
+	public static class Statistics {
+		public static final String TASK_DURATIONS_SUMMARY = "Task duration percentiles";
+		public static final String TASK_DURATIONS_DESCRIPTION = "Percentiles of how long the caller's tasks stayed in progress, i.e. of the durations of the time entries completed within each rolling window. Served from memory.";
+		public static final String TASK_DURATIONS_OK_DESCRIPTION = "Successfully retrieved the statistics.";
+		public static final String TASK_DURATIONS_EXAMPLE =
+				"""
+						[
+						  {
+						    "window": "PT1H",
+						    "count": 3,
+						    "meanSeconds": 1520.0,
+						    "p50Seconds": 1200,
+						    "p90Seconds": 2400,
+						    "p99Seconds": 2400,
+						    "maxSeconds": 2400
+						  }
+						]
+						""";
+	}
+
+	public static class Import {
+		public static final String CSV_MEDIA_TYPE = "text/csv";
+		public static final String IMPORT_TASKS_SUMMARY = "Import tasks from CSV";
+		public static final String IMPORT_TASKS_DESCRIPTION = "Streams a CSV file with the header ref,name,description,status,created_at into the caller's tasks. The ref is the task's identifier in the previous tracker, referenced by imported time entries. Invalid rows are rejected and reported by line; the others are imported in one transaction.";
+		public static final String IMPORT_TIME_ENTRIES_SUMMARY = "Import time entries from CSV";
+		public static final String IMPORT_TIME_ENTRIES_DESCRIPTION = "Streams a CSV file with the header task_ref,start_time,end_time into the time entries of the caller's imported tasks, at most one per completed task. Invalid rows are rejected and reported by line; the others are imported in one transaction.";
+		public static final String IMPORT_OK_DESCRIPTION = "Import completed; rejected rows are listed in the report.";
+		public static final String IMPORT_INVALID_INPUT_DESCRIPTION = "Unexpected header or malformed CSV";
+		public static final String IMPORT_EXAMPLE =
+				"""
+						{
+						  "kind": "time-entries",
+						  "rows": 1000000,
+						  "imported": 999998,
+						  "rejected": 2,
+						  "rejections": [
+						    {
+						      "line": 7,
+						      "reason": "unknown task reference"
+						    },
+						    {
+						      "line": 512,
+						      "reason": "end_time is before start_time"
+						    }
+						  ],
+						  "elapsedMillis": 8400,
+						  "rowsPerSecond": 119047.6
+						}
+						""";
+	}
+}
@@ -50,6 +50,69 @@ public final class UrlConstants {
 		 * </p>
 		 */
 		public static final String TASK_BY_ID = "/{taskId}";
+
+		/**
+		 * URL pattern for retrieving several tasks by their IDs.
+		 */
+		public static final String TASK_BATCH = "/batch";
+
+		/**
+		 * URL pattern for retrieving the tasks changed since a token.
+		 */
+		public static final String TASK_CHANGES = "/changes";
+
+		/**
+		 * URL pattern for retrieving the lifecycle events of a task.
+		 * <p>
+		 * Placeholder for the task ID: {@code {taskId}}.
+		 * </p>
+		 */
+		public static final String TASK_HISTORY = "/{taskId}/history";
+
+		/**
+		 * URL pattern for retrieving the state of a task rebuilt from its lifecycle events.
+		 * <p>
+		 * Placeholder for the task ID: {@code {taskId}}.
+		 * </p>
+		 */
+		public static final String TASK_STATE = "/{taskId}/state";
+
+		public static final String TASK_EVENTS = "/events";
+	}
+
+	/**
+	 * Constants for URL patterns related to statistics.
+	 */
+	public static class Statistics {
+		/**
+		 * Base URL for statistics API endpoints.
+		 */
+		public static final String API = "api/statistics";
+
+		/**
+		 * URL pattern for the task duration percentiles.
+		 */
+		public static final String TASK_DURATIONS = "/task-durations";
+	}
+
+	/**
+	 * Constants for URL patterns related to the CSV import.
+	 */
+	public static class Import {
+		/**
+		 * Base URL for import API endpoints.
+		 */
+		public static final String API = "api/import";
+
+		/**
+		 * URL pattern for importing tasks.
+		 */
+		public static final String TASKS = "/tasks";
+
+		/**
+		 * URL pattern for importing time entries.
+		 */
+		public static final String TIME_ENTRIES = "/time-entries";
 	}
 
 	/**
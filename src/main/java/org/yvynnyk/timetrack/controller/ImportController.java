@@ -0,0 +1,108 @@
+package org.yvynnyk.timetrack.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.yvynnyk.timetrack.concurrency.ConcurrencyLimited;
+import org.yvynnyk.timetrack.concurrency.LimitGroup;
+import org.yvynnyk.timetrack.constant.UrlConstants;
+import org.yvynnyk.timetrack.dto.ImportReportDTO;
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
+import org.yvynnyk.timetrack.imports.CsvImporter;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.KIND;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Import.REQUEST;
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.Import.*;
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.RESPONSE_CODE_200;
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.RESPONSE_CODE_400;
+
+/**
+ * Controller importing the current tenant's tasks and time entries from CSV.
+ * <p>
+ * The request body is streamed into the {@link CsvImporter} as it arrives, so imports of any size need no more
+ * memory than a buffer. Imports share the {@link LimitGroup#IMPORTS} concurrency limit.
+ * </p>
+ */
+@RestController
+@RequestMapping(value = UrlConstants.Import.API)
+public class ImportController {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImportController.class);
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final CsvImporter importer;
+
+	/**
+	 * Constructs an ImportController.
+	 *
+	 * @param importer the CSV importer
+	 */
+	public ImportController(CsvImporter importer) {
+		this.importer = importer;
+	}
+
+	/**
+	 * Imports tasks.
+	 *
+	 * @param body the CSV input
+	 * @return the import report with a 200 OK status code
+	 * @throws InvalidRequestException if the header is not the expected one or the CSV is malformed
+	 */
+	@Operation(summary = IMPORT_TASKS_SUMMARY,
+			description = IMPORT_TASKS_DESCRIPTION)
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = RESPONSE_CODE_200, description = IMPORT_OK_DESCRIPTION, content = @Content(
+					schema = @Schema(implementation = ImportReportDTO.class),
+					examples = @ExampleObject(value = IMPORT_EXAMPLE))),
+			@ApiResponse(responseCode = RESPONSE_CODE_400, description = IMPORT_INVALID_INPUT_DESCRIPTION)
+	})
+	@ConcurrencyLimited(LimitGroup.IMPORTS)
+	@PostMapping(value = UrlConstants.Import.TASKS, consumes = CSV_MEDIA_TYPE)
+	public ResponseEntity<ImportReportDTO> importTasks(InputStream body) {
+		logger.info(REQUEST, value(KIND, "tasks"));
+		return ResponseEntity.ok(importer.importTasks(reader(body)));
+	}
+
+	/**
+	 * Imports time entries.
+	 *
+	 * @param body the CSV input
+	 * @return the import report with a 200 OK status code
+	 * @throws InvalidRequestException if the header is not the expected one or the CSV is malformed
+	 */
+	@Operation(summary = IMPORT_TIME_ENTRIES_SUMMARY,
+			description = IMPORT_TIME_ENTRIES_DESCRIPTION)
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = RESPONSE_CODE_200, description = IMPORT_OK_DESCRIPTION, content = @Content(
+					schema = @Schema(implementation = ImportReportDTO.class),
+					examples = @ExampleObject(value = IMPORT_EXAMPLE))),
+			@ApiResponse(responseCode = RESPONSE_CODE_400, description = IMPORT_INVALID_INPUT_DESCRIPTION)
+	})
+	@ConcurrencyLimited(LimitGroup.IMPORTS)
+	@PostMapping(value = UrlConstants.Import.TIME_ENTRIES, consumes = CSV_MEDIA_TYPE)
+	public ResponseEntity<ImportReportDTO> importTimeEntries(InputStream body) {
+		logger.info(REQUEST, value(KIND, "time-entries"));
+		return ResponseEntity.ok(importer.importTimeEntries(reader(body)));
+	}
+
+	private static Reader reader(InputStream body) {
+		return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), BUFFER_SIZE);
+	}
+}
@@ -0,0 +1,62 @@
+package org.yvynnyk.timetrack.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.yvynnyk.timetrack.constant.UrlConstants;
+import org.yvynnyk.timetrack.dto.DurationStatisticsDTO;
+import org.yvynnyk.timetrack.statistics.TaskDurationStatistics;
+
+import java.util.List;
+
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.RESPONSE_CODE_200;
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.Statistics.*;
+import static org.yvynnyk.timetrack.constant.UrlConstants.Statistics.TASK_DURATIONS;
+
+/**
+ * Controller exposing statistics of the current tenant's tasks.
+ * <p>
+ * The statistics are kept in memory by {@link TaskDurationStatistics}, so requests never reach the database.
+ * </p>
+ */
+@RestController
+@RequestMapping(value = UrlConstants.Statistics.API)
+public class StatisticsController {
+
+	private final TaskDurationStatistics taskDurations;
+
+	/**
+	 * Constructs a StatisticsController.
+	 *
+	 * @param taskDurations the task duration statistics
+	 */
+	public StatisticsController(TaskDurationStatistics taskDurations) {
+		this.taskDurations = taskDurations;
+	}
+
+	/**
+	 * Retrieves the percentiles of the task durations for every rolling window.
+	 *
+	 * @return the statistics by ascending window with a 200 OK status code
+	 */
+	@Operation(summary = TASK_DURATIONS_SUMMARY,
+			description = TASK_DURATIONS_DESCRIPTION)
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = RESPONSE_CODE_200, description = TASK_DURATIONS_OK_DESCRIPTION,
+					content = @Content(
+							array = @ArraySchema(schema = @Schema(implementation = DurationStatisticsDTO.class)),
+							examples = @ExampleObject(value = TASK_DURATIONS_EXAMPLE)))
+	})
+	@GetMapping(TASK_DURATIONS)
+	public ResponseEntity<List<DurationStatisticsDTO>> taskDurations() {
+		return ResponseEntity.ok(taskDurations.statistics());
+	}
+}
@@ -11,24 +11,36 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.yvynnyk.timetrack.concurrency.ConcurrencyLimited;
+import org.yvynnyk.timetrack.concurrency.LimitGroup;
 import org.yvynnyk.timetrack.constant.LoggingConstants;
 import org.yvynnyk.timetrack.constant.UrlConstants;
+import org.yvynnyk.timetrack.dto.TaskBatchDTO;
+import org.yvynnyk.timetrack.dto.TaskChangesDTO;
 import org.yvynnyk.timetrack.dto.TaskCreateDTO;
 import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
 import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
 import org.yvynnyk.timetrack.service.TaskService;
 
 import java.util.List;
 
+import static net.logstash.logback.argument.StructuredArguments.value;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TASK_COUNT;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TASK_ID;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TASK_NAME;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TOKEN;
 import static org.yvynnyk.timetrack.constant.SwaggerConstants.*;
 import static org.yvynnyk.timetrack.constant.SwaggerConstants.Task.*;
 import static org.yvynnyk.timetrack.constant.UrlConstants.Task.TASK_ALL;
+import static org.yvynnyk.timetrack.constant.UrlConstants.Task.TASK_BATCH;
 import static org.yvynnyk.timetrack.constant.UrlConstants.Task.TASK_BY_ID;
+import static org.yvynnyk.timetrack.constant.UrlConstants.Task.TASK_CHANGES;
 
 /**
  * Controller for managing tasks.
  * <p>
- * This controller provides endpoints for creating and updating tasks.
+ * This controller provides endpoints for creating, updating and retrieving tasks.
  * </p>
  */
 @RestController
@@ -63,9 +75,10 @@ public class TaskController {
 							examples = @ExampleObject(value = CREATE_TASK_EXAMPLE))),
 			@ApiResponse(responseCode = RESPONSE_CODE_400, description = CREATE_TASK_INVALID_INPUT_DESCRIPTION, content = @Content)
 	})
+	@ConcurrencyLimited(LimitGroup.WRITES)
 	@PostMapping
 	public ResponseEntity<TaskDTO> create(@RequestBody TaskCreateDTO task) {
-		logger.info(LoggingConstants.Task.Controller.TASK_CREATE_REQUEST, task.getName());
+		logger.info(LoggingConstants.Task.Controller.TASK_CREATE_REQUEST, value(TASK_NAME, task.getName()));
 		TaskDTO createdTask = taskService.create(task);
 		return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
 	}
@@ -88,13 +101,85 @@ public class TaskController {
 			@ApiResponse(responseCode = RESPONSE_CODE_400, description = UPDATE_TASK_INVALID_INPUT_DESCRIPTION, content = @Content),
 			@ApiResponse(responseCode = RESPONSE_CODE_404, description = UPDATE_TASK_NOT_FOUND_DESCRIPTION, content = @Content)
 	})
+	@ConcurrencyLimited(LimitGroup.WRITES)
 	@PutMapping(TASK_BY_ID)
 	public ResponseEntity<TaskDTO> update(@PathVariable Long taskId, @RequestBody TaskDTO task) {
-		logger.info(LoggingConstants.Task.Controller.TASK_UPDATE_REQUEST, taskId);
+		logger.info(LoggingConstants.Task.Controller.TASK_UPDATE_REQUEST, value(TASK_ID, taskId));
 		TaskDTO updatedTask = taskService.update(taskId, task);
 		return new ResponseEntity<>(updatedTask, HttpStatus.OK);
 	}
 
+	/**
+	 * Retrieves a task.
+	 * <p>
+	 * Not subject to a concurrency limit: tasks are read from the cache, and concurrent reads of the same task
+	 * share one database query.
+	 * </p>
+	 *
+	 * @param taskId the ID of the task
+	 * @return the task with a 200 OK status code
+	 * @throws ResourceNotFoundException if the task is not found
+	 */
+	@Operation(summary = GET_TASK_SUMMARY,
+			description = GET_TASK_DESCRIPTION)
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = RESPONSE_CODE_200, description = GET_TASK_OK_DESCRIPTION,
+					content = @Content(
+							schema = @Schema(implementation = TaskDTO.class),
+							examples = @ExampleObject(value = GET_TASK_EXAMPLE))),
+			@ApiResponse(responseCode = RESPONSE_CODE_404, description = GET_TASK_NOT_FOUND_DESCRIPTION, content = @Content)
+	})
+	@GetMapping(TASK_BY_ID)
+	public ResponseEntity<TaskDTO> getById(@PathVariable Long taskId) {
+		logger.info(LoggingConstants.Task.Controller.TASK_GET_REQUEST, value(TASK_ID, taskId));
+		return new ResponseEntity<>(taskService.getById(taskId), HttpStatus.OK);
+	}
+
+	/**
+	 * Retrieves several tasks by their IDs in one call.
+	 *
+	 * @param taskIds the IDs of the tasks
+	 * @return the found tasks and the IDs without a task, in request order, with a 200 OK status code
+	 * @throws InvalidRequestException if an ID is null or too many IDs are given
+	 */
+	@Operation(summary = GET_TASK_BATCH_SUMMARY,
+			description = GET_TASK_BATCH_DESCRIPTION)
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = RESPONSE_CODE_200, description = GET_TASK_BATCH_OK_DESCRIPTION,
+					content = @Content(
+							schema = @Schema(implementation = TaskBatchDTO.class),
+							examples = @ExampleObject(value = GET_TASK_BATCH_EXAMPLE))),
+			@ApiResponse(responseCode = RESPONSE_CODE_400, description = GET_TASK_BATCH_INVALID_INPUT_DESCRIPTION, content = @Content)
+	})
+	@ConcurrencyLimited(LimitGroup.READS)
+	@PostMapping(TASK_BATCH)
+	public ResponseEntity<TaskBatchDTO> getByIds(@RequestBody List<Long> taskIds) {
+		logger.info(LoggingConstants.Task.Controller.TASK_GET_BATCH_REQUEST, value(TASK_COUNT, taskIds.size()));
+		return new ResponseEntity<>(taskService.getByIds(taskIds), HttpStatus.OK);
+	}
+
+	/**
+	 * Retrieves the tasks changed since a token, for clients synchronizing their copy of the tasks.
+	 *
+	 * @param since the token returned by the previous call; absent for all tasks
+	 * @return the changed tasks and the token for the next call, with a 200 OK status code
+	 * @throws InvalidRequestException if the token is malformed
+	 */
+	@Operation(summary = GET_TASK_CHANGES_SUMMARY,
+			description = GET_TASK_CHANGES_DESCRIPTION)
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = RESPONSE_CODE_200, description = GET_TASK_CHANGES_OK_DESCRIPTION,
+					content = @Content(
+							schema = @Schema(implementation = TaskChangesDTO.class),
+							examples = @ExampleObject(value = GET_TASK_CHANGES_EXAMPLE))),
+			@ApiResponse(responseCode = RESPONSE_CODE_400, description = GET_TASK_CHANGES_INVALID_INPUT_DESCRIPTION, content = @Content)
+	})
+	@ConcurrencyLimited(LimitGroup.READS)
+	@GetMapping(TASK_CHANGES)
+	public ResponseEntity<TaskChangesDTO> getChanges(@RequestParam(required = false) String since) {
+		logger.info(LoggingConstants.Task.Controller.TASK_GET_CHANGES, value(TOKEN, since));
+		return new ResponseEntity<>(taskService.getChangesSince(since), HttpStatus.OK);
+	}
 
 	/**
 	 * Retrieves all tasks.
@@ -111,6 +196,7 @@ public class TaskController {
 							examples = @ExampleObject(value = GET_ALL_TASKS_EXAMPLE))),
 			@ApiResponse(responseCode = RESPONSE_CODE_204, description = GET_ALL_TASKS_NO_CONTENT_DESCRIPTION, content = @Content)
 	})
+	@ConcurrencyLimited(LimitGroup.READS)
 	@GetMapping(TASK_ALL)
 	public ResponseEntity<List<TaskDTO>> getAll() {
 		logger.info(LoggingConstants.Task.Controller.TASK_GET_ALL);
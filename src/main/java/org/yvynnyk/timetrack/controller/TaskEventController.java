@@ -0,0 +1,63 @@
+package org.yvynnyk.timetrack.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.constant.UrlConstants;
+import org.yvynnyk.timetrack.events.TaskEventBroadcaster;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.RESPONSE_CODE_200;
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.Task.*;
+import static org.yvynnyk.timetrack.constant.UrlConstants.Task.TASK_EVENTS;
+
+/**
+ * Controller streaming task status changes.
+ * <p>
+ * Wallboards subscribe once instead of polling the task list; see {@link TaskEventBroadcaster} for the event
+ * format, resumption and the handling of slow clients.
+ * </p>
+ */
+@RestController
+@RequestMapping(value = UrlConstants.Task.API)
+public class TaskEventController {
+
+	private final TaskEventBroadcaster broadcaster;
+
+	/**
+	 * Constructs a TaskEventController.
+	 *
+	 * @param broadcaster the broadcaster of the task events
+	 */
+	public TaskEventController(TaskEventBroadcaster broadcaster) {
+		this.broadcaster = broadcaster;
+	}
+
+	/**
+	 * Opens a stream of the status changes of the current tenant's tasks.
+	 *
+	 * @param lastEventId the ID of the last event received before a reconnection, if any
+	 * @return the event stream
+	 */
+	@Operation(summary = TASK_EVENTS_SUMMARY,
+			description = TASK_EVENTS_DESCRIPTION)
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = RESPONSE_CODE_200, description = TASK_EVENTS_OK_DESCRIPTION,
+					content = @Content(
+							mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+							examples = @ExampleObject(value = TASK_EVENTS_EXAMPLE)))
+	})
+	@GetMapping(value = TASK_EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter events(@RequestHeader(value = HeaderConstants.LAST_EVENT_ID, required = false) String lastEventId) {
+		return broadcaster.subscribe(TenantContext.current(), lastEventId);
+	}
+}
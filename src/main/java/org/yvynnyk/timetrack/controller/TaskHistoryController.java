@@ -0,0 +1,105 @@
+package org.yvynnyk.timetrack.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.yvynnyk.timetrack.concurrency.ConcurrencyLimited;
+import org.yvynnyk.timetrack.concurrency.LimitGroup;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+import org.yvynnyk.timetrack.constant.UrlConstants;
+import org.yvynnyk.timetrack.dto.TaskLifecycleEventDTO;
+import org.yvynnyk.timetrack.dto.TaskStateDTO;
+import org.yvynnyk.timetrack.eventstore.TaskProjector;
+import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
+
+import java.util.List;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TASK_ID;
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.RESPONSE_CODE_200;
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.RESPONSE_CODE_404;
+import static org.yvynnyk.timetrack.constant.SwaggerConstants.Task.*;
+import static org.yvynnyk.timetrack.constant.UrlConstants.Task.TASK_HISTORY;
+import static org.yvynnyk.timetrack.constant.UrlConstants.Task.TASK_STATE;
+
+/**
+ * Controller serving the history of tasks from the task event store.
+ * <p>
+ * The history lists the lifecycle events of a task; the state is rebuilt from the task's latest snapshot and the
+ * events after it, see {@link TaskProjector}. Both share the {@link LimitGroup#READS} concurrency limit.
+ * </p>
+ */
+@RestController
+@RequestMapping(value = UrlConstants.Task.API)
+public class TaskHistoryController {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskHistoryController.class);
+
+	private final TaskProjector projector;
+
+	/**
+	 * Constructs a TaskHistoryController.
+	 *
+	 * @param projector the projector of the task events
+	 */
+	public TaskHistoryController(TaskProjector projector) {
+		this.projector = projector;
+	}
+
+	/**
+	 * Retrieves the lifecycle events of a task.
+	 *
+	 * @param taskId the ID of the task
+	 * @return the events of the task, in order, with a 200 OK status code
+	 * @throws ResourceNotFoundException if the task has no events
+	 */
+	@Operation(summary = GET_TASK_HISTORY_SUMMARY,
+			description = GET_TASK_HISTORY_DESCRIPTION)
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = RESPONSE_CODE_200, description = GET_TASK_HISTORY_OK_DESCRIPTION,
+					content = @Content(
+							array = @ArraySchema(schema = @Schema(implementation = TaskLifecycleEventDTO.class)),
+							examples = @ExampleObject(value = GET_TASK_HISTORY_EXAMPLE))),
+			@ApiResponse(responseCode = RESPONSE_CODE_404, description = GET_TASK_HISTORY_NOT_FOUND_DESCRIPTION, content = @Content)
+	})
+	@ConcurrencyLimited(LimitGroup.READS)
+	@GetMapping(TASK_HISTORY)
+	public ResponseEntity<List<TaskLifecycleEventDTO>> getHistory(@PathVariable Long taskId) {
+		logger.info(LoggingConstants.Task.Controller.TASK_GET_HISTORY, value(TASK_ID, taskId));
+		return ResponseEntity.ok(projector.history(taskId));
+	}
+
+	/**
+	 * Rebuilds the state of a task from its lifecycle events.
+	 *
+	 * @param taskId the ID of the task
+	 * @return the state of the task with a 200 OK status code
+	 * @throws ResourceNotFoundException if the task has no events
+	 */
+	@Operation(summary = GET_TASK_STATE_SUMMARY,
+			description = GET_TASK_STATE_DESCRIPTION)
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = RESPONSE_CODE_200, description = GET_TASK_STATE_OK_DESCRIPTION,
+					content = @Content(
+							schema = @Schema(implementation = TaskStateDTO.class),
+							examples = @ExampleObject(value = GET_TASK_STATE_EXAMPLE))),
+			@ApiResponse(responseCode = RESPONSE_CODE_404, description = GET_TASK_STATE_NOT_FOUND_DESCRIPTION, content = @Content)
+	})
+	@ConcurrencyLimited(LimitGroup.READS)
+	@GetMapping(TASK_STATE)
+	public ResponseEntity<TaskStateDTO> getState(@PathVariable Long taskId) {
+		logger.info(LoggingConstants.Task.Controller.TASK_GET_STATE, value(TASK_ID, taskId));
+		return ResponseEntity.ok(projector.state(taskId));
+	}
+}
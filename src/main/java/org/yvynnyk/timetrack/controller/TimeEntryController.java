@@ -10,11 +10,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.yvynnyk.timetrack.concurrency.ConcurrencyLimited;
+import org.yvynnyk.timetrack.concurrency.LimitGroup;
 import org.yvynnyk.timetrack.constant.UrlConstants;
 import org.yvynnyk.timetrack.exception.GlobalExceptionHandler;
+import org.yvynnyk.timetrack.exception.InvalidTaskStateException;
 import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
 import org.yvynnyk.timetrack.service.TimeEntryService;
 
+import static net.logstash.logback.argument.StructuredArguments.value;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TASK_ID;
 import static org.yvynnyk.timetrack.constant.LoggingConstants.TimeEntry.Controller.TIME_ENTRY_START_REQUEST;
 import static org.yvynnyk.timetrack.constant.LoggingConstants.TimeEntry.Controller.TIME_ENTRY_STOP_REQUEST;
 import static org.yvynnyk.timetrack.constant.SwaggerConstants.*;
@@ -49,8 +54,8 @@ public class TimeEntryController {
 	 *
 	 * @param taskId the ID of the task to start time entry for
 	 * @return a response with a 204 No Content status code if successful
-	 * @throws ResourceNotFoundException if the task with the given ID does not exist
-	 * @throws IllegalStateException     if the task cannot be started due to its current status
+	 * @throws ResourceNotFoundException  if the task with the given ID does not exist
+	 * @throws InvalidTaskStateException if the task cannot be started due to its current status
 	 */
 	@Operation(summary = START_TIME_ENTRY_SUMMARY,
 			description = START_TIME_ENTRY_DESCRIPTION)
@@ -62,9 +67,10 @@ public class TimeEntryController {
 			@ApiResponse(responseCode = RESPONSE_CODE_404, description = TASK_NOT_FOUND, content = @Content(
 					examples = @ExampleObject(value = TASK_NOT_FOUND_WITH_ID)))
 	})
+	@ConcurrencyLimited(LimitGroup.WRITES)
 	@PostMapping(UrlConstants.TimeEntry.START)
 	public ResponseEntity<Void> start(@RequestBody Long taskId) {
-		logger.info(TIME_ENTRY_START_REQUEST.formatted(taskId));
+		logger.info(TIME_ENTRY_START_REQUEST, value(TASK_ID, taskId));
 		timeEntryService.start(taskId);
 		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 	}
@@ -74,8 +80,8 @@ public class TimeEntryController {
 	 *
 	 * @param taskId the ID of the task to stop time entry for
 	 * @return a response with a 204 No Content status code if successful
-	 * @throws ResourceNotFoundException if the task with the given ID does not exist
-	 * @throws IllegalStateException     if the task cannot be stopped due to its current status
+	 * @throws ResourceNotFoundException  if the task with the given ID does not exist
+	 * @throws InvalidTaskStateException if the task cannot be stopped due to its current status
 	 */
 	@Operation(summary = STOP_TIME_ENTRY_SUMMARY,
 			description = STOP_TIME_ENTRY_DESCRIPTION)
@@ -87,9 +93,10 @@ public class TimeEntryController {
 			@ApiResponse(responseCode = RESPONSE_CODE_404, description = TASK_NOT_IN_PROGRESS, content = @Content(
 					examples = @ExampleObject(value = TASK_NOT_FOUND_WITH_ID)))
 	})
+	@ConcurrencyLimited(LimitGroup.WRITES)
 	@PostMapping(UrlConstants.TimeEntry.STOP)
 	public ResponseEntity<Void> stop(@PathVariable Long taskId) {
-		logger.info(TIME_ENTRY_STOP_REQUEST.formatted(taskId));
+		logger.info(TIME_ENTRY_STOP_REQUEST, value(TASK_ID, taskId));
 		timeEntryService.stop(taskId);
 		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 	}
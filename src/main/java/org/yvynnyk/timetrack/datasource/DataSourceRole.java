@@ -0,0 +1,17 @@
+package org.yvynnyk.timetrack.datasource;
+
+/**
+ * Databases a {@link ReplicaRoutingDataSource} routes between.
+ */
+public enum DataSourceRole {
+
+	/**
+	 * The primary database, which receives all writes.
+	 */
+	PRIMARY,
+
+	/**
+	 * The read replica, which receives read-only transactions.
+	 */
+	REPLICA
+}
@@ -0,0 +1,190 @@
+package org.yvynnyk.timetrack.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * Adjusts the maximum size of the application's Hikari pools at runtime.
+ * <p>
+ * Every {@code interval}, the controller samples each pool: threads waiting for a connection and active
+ * connections from the pool's MXBean, and the mean acquisition time and connection usage time from the
+ * {@code hikaricp.connections.acquire} and {@code hikaricp.connections.usage} timers. The usage time is the
+ * latency of the work done on a connection, queries included, and its sum over the interval gives the average
+ * number of busy connections. A {@link PoolSizingPolicy} turns the sample into a new size, which is applied
+ * through the pool's {@link HikariConfigMXBean}.
+ * </p>
+ * <p>
+ * A larger size takes effect immediately. After a shrink, connections above the new size are closed by Hikari
+ * once they have been idle for {@code spring.datasource.hikari.idle-timeout}, since the controller lowers the
+ * pools' minimum idle connections to {@code minSize}. Decisions are published as the
+ * {@link MetricsConstants.Pool#TARGET_SIZE} gauge and the {@link MetricsConstants.Pool#RESIZES} counter.
+ * </p>
+ */
+public class PoolSizingController implements SmartLifecycle {
+
+	private static final Logger logger = LoggerFactory.getLogger(PoolSizingController.class);
+
+	private static final String HIKARI_ACQUIRE = "hikaricp.connections.acquire";
+	private static final String HIKARI_USAGE = "hikaricp.connections.usage";
+	private static final String HIKARI_POOL_TAG = "pool";
+
+	private final List<ManagedPool> pools;
+	private final MeterRegistry meterRegistry;
+	private final TaskScheduler taskScheduler;
+	private final PoolSizingProperties properties;
+
+	private ScheduledFuture<?> adjustments;
+
+	/**
+	 * Constructs a PoolSizingController.
+	 *
+	 * @param dataSources   the pools to size
+	 * @param meterRegistry the registry holding the Hikari timers and receiving the decision metrics
+	 * @param taskScheduler the scheduler running the adjustments
+	 * @param properties    the sizing bounds and thresholds
+	 */
+	public PoolSizingController(List<HikariDataSource> dataSources, MeterRegistry meterRegistry,
+								TaskScheduler taskScheduler, PoolSizingProperties properties) {
+		this.meterRegistry = meterRegistry;
+		this.taskScheduler = taskScheduler;
+		this.properties = properties;
+		this.pools = dataSources.stream().map(ManagedPool::new).toList();
+	}
+
+	@Override
+	public void start() {
+		adjustments = taskScheduler.scheduleWithFixedDelay(this::adjust, properties.getInterval());
+	}
+
+	@Override
+	public void stop() {
+		if (adjustments != null) {
+			adjustments.cancel(false);
+			adjustments = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return adjustments != null;
+	}
+
+	/**
+	 * Samples every pool and applies the policy's decisions. Pools that have not opened a connection yet are
+	 * skipped.
+	 */
+	public void adjust() {
+		for (ManagedPool pool : pools) {
+			try {
+				pool.adjust();
+			} catch (RuntimeException e) {
+				logger.warn(LoggingConstants.Pool.ADJUSTMENT_FAILED, value(LoggingConstants.Fields.POOL, pool.name), e);
+			}
+		}
+	}
+
+	/**
+	 * One pool with its policy and the timer readings of the previous adjustment.
+	 */
+	private final class ManagedPool {
+
+		private final HikariDataSource dataSource;
+		private final String name;
+		private final PoolSizingPolicy policy = new PoolSizingPolicy(properties);
+		private final AtomicInteger targetSize;
+
+		private boolean initialized;
+		private long lastNanos;
+		private long lastAcquireCount;
+		private double lastAcquireMillis;
+		private long lastUsageCount;
+		private double lastUsageMillis;
+
+		private ManagedPool(HikariDataSource dataSource) {
+			this.dataSource = dataSource;
+			this.name = dataSource.getPoolName();
+			this.targetSize = new AtomicInteger(dataSource.getMaximumPoolSize());
+			Gauge.builder(MetricsConstants.Pool.TARGET_SIZE, targetSize, AtomicInteger::get)
+					.description("Maximum pool size chosen by the pool sizing controller")
+					.tag(MetricsConstants.Tags.POOL, name)
+					.register(meterRegistry);
+		}
+
+		private void adjust() {
+			HikariPoolMXBean poolBean = dataSource.getHikariPoolMXBean();
+			if (poolBean == null) {
+				return;
+			}
+			HikariConfigMXBean configBean = dataSource.getHikariConfigMXBean();
+			Timer acquire = meterRegistry.find(HIKARI_ACQUIRE).tag(HIKARI_POOL_TAG, name).timer();
+			Timer usage = meterRegistry.find(HIKARI_USAGE).tag(HIKARI_POOL_TAG, name).timer();
+			long now = System.nanoTime();
+			long acquireCount = acquire != null ? acquire.count() : 0;
+			double acquireMillis = acquire != null ? acquire.totalTime(TimeUnit.MILLISECONDS) : 0;
+			long usageCount = usage != null ? usage.count() : 0;
+			double usageMillis = usage != null ? usage.totalTime(TimeUnit.MILLISECONDS) : 0;
+
+			if (!initialized) {
+				initialized = true;
+				if (configBean.getMinimumIdle() > properties.getMinSize()) {
+					configBean.setMinimumIdle(properties.getMinSize());
+				}
+			} else {
+				double intervalMillis = (now - lastNanos) / 1e6;
+				long acquires = acquireCount - lastAcquireCount;
+				long usages = usageCount - lastUsageCount;
+				PoolSizingPolicy.Sample sample = new PoolSizingPolicy.Sample(
+						configBean.getMaximumPoolSize(),
+						poolBean.getActiveConnections(),
+						poolBean.getThreadsAwaitingConnection(),
+						intervalMillis > 0 ? (usageMillis - lastUsageMillis) / intervalMillis : 0,
+						acquires > 0 ? (acquireMillis - lastAcquireMillis) / acquires : 0,
+						usages > 0 ? (usageMillis - lastUsageMillis) / usages : 0);
+				PoolSizingPolicy.Decision decision = policy.decide(sample);
+				if (decision != null) {
+					apply(configBean, sample, decision);
+				}
+			}
+			lastNanos = now;
+			lastAcquireCount = acquireCount;
+			lastAcquireMillis = acquireMillis;
+			lastUsageCount = usageCount;
+			lastUsageMillis = usageMillis;
+		}
+
+		private void apply(HikariConfigMXBean configBean, PoolSizingPolicy.Sample sample,
+						   PoolSizingPolicy.Decision decision) {
+			configBean.setMaximumPoolSize(decision.size());
+			targetSize.set(decision.size());
+			Counter.builder(MetricsConstants.Pool.RESIZES)
+					.description("Pool size changes made by the pool sizing controller")
+					.tag(MetricsConstants.Tags.POOL, name)
+					.tag(MetricsConstants.Tags.REASON, decision.reason())
+					.register(meterRegistry)
+					.increment();
+			logger.info(LoggingConstants.Pool.RESIZED,
+					value(LoggingConstants.Fields.POOL, name),
+					value(LoggingConstants.Fields.FROM_SIZE, sample.size()),
+					value(LoggingConstants.Fields.TO_SIZE, decision.size()),
+					value(LoggingConstants.Fields.REASON, decision.reason()));
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package org.yvynnyk.timetrack.datasource;
+
+/**
+ * Sizing decisions for one connection pool, taken once per adjustment interval from a {@link Sample} of the
+ * pool's activity during that interval.
+ * <p>
+ * The rules, in order of precedence:
+ * </p>
+ * <ul>
+ *     <li><b>latency</b> - if the mean connection usage time rose by more than the latency tolerance right after
+ *     a growth, the database rather than the pool is the bottleneck: the growth is undone and the pool does not
+ *     grow again until it has been calm for {@code shrinkAfter} intervals</li>
+ *     <li><b>wait</b> - if threads are waiting for a connection or the mean acquisition time exceeds the wait
+ *     threshold, the pool grows by the number of waiting threads, at least one and at most {@code growStep}</li>
+ *     <li><b>idle</b> - if the demand, the larger of the measured busy connections and the active connections,
+ *     plus headroom stays below the pool size for {@code shrinkAfter} intervals, the pool shrinks by at most
+ *     {@code shrinkStep}</li>
+ * </ul>
+ * <p>
+ * Growth reacts within one interval while shrinking is slow, so a burst such as the morning clock-in is served
+ * quickly and a short lull does not release connections that are needed again moments later. Instances keep
+ * state between samples and are not thread-safe.
+ * </p>
+ */
+public class PoolSizingPolicy {
+
+	/**
+	 * Reason of a growth caused by connection waits.
+	 */
+	public static final String REASON_WAIT = "wait";
+
+	/**
+	 * Reason of a shrink undoing a growth that raised the connection usage time.
+	 */
+	public static final String REASON_LATENCY = "latency";
+
+	/**
+	 * Reason of a shrink of an oversized pool.
+	 */
+	public static final String REASON_IDLE = "idle";
+
+	private final PoolSizingProperties properties;
+
+	private int previousSize;
+	private double previousUsageMillis;
+	private boolean grewLastTime;
+	private int oversizedIntervals;
+	private int growthBlockedIntervals;
+
+	/**
+	 * Constructs a PoolSizingPolicy.
+	 *
+	 * @param properties the sizing bounds and thresholds
+	 */
+	public PoolSizingPolicy(PoolSizingProperties properties) {
+		this.properties = properties;
+	}
+
+	/**
+	 * Decides the pool size for the next interval.
+	 *
+	 * @param sample the pool's activity during the last interval
+	 * @return the new size and the reason of the change, or {@code null} if the size stays
+	 */
+	public Decision decide(Sample sample) {
+		int size = sample.size();
+		boolean grewBefore = grewLastTime;
+		grewLastTime = false;
+		if (growthBlockedIntervals > 0) {
+			growthBlockedIntervals--;
+		}
+
+		try {
+			if (grewBefore && previousUsageMillis > 0
+					&& sample.meanUsageMillis() > previousUsageMillis * properties.getLatencyTolerance()) {
+				growthBlockedIntervals = properties.getShrinkAfter();
+				oversizedIntervals = 0;
+				return resize(size, previousSize, REASON_LATENCY);
+			}
+
+			boolean waiting = sample.pending() > 0
+					|| sample.meanWaitMillis() > properties.getWaitThreshold().toNanos() / 1e6;
+			if (waiting) {
+				oversizedIntervals = 0;
+				if (growthBlockedIntervals > 0) {
+					return null;
+				}
+				int step = Math.min(properties.getGrowStep(), Math.max(1, sample.pending()));
+				Decision decision = resize(size, size + step, REASON_WAIT);
+				grewLastTime = decision != null;
+				return decision;
+			}
+
+			double demand = Math.max(sample.busy(), sample.active()) * properties.getHeadroom();
+			int target = (int) Math.ceil(demand);
+			if (target >= size) {
+				oversizedIntervals = 0;
+				return null;
+			}
+			if (++oversizedIntervals < properties.getShrinkAfter()) {
+				return null;
+			}
+			oversizedIntervals = 0;
+			return resize(size, Math.max(target, size - properties.getShrinkStep()), REASON_IDLE);
+		} finally {
+			previousSize = size;
+			if (sample.meanUsageMillis() > 0) {
+				previousUsageMillis = sample.meanUsageMillis();
+			}
+		}
+	}
+
+	private Decision resize(int size, int requested, String reason) {
+		int bounded = Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), requested));
+		return bounded == size ? null : new Decision(bounded, reason);
+	}
+
+	/**
+	 * Activity of a pool during one adjustment interval.
+	 *
+	 * @param size            the maximum pool size during the interval
+	 * @param active          connections in use at the end of the interval
+	 * @param pending         threads waiting for a connection at the end of the interval
+	 * @param busy            average number of connections in use during the interval, from the summed usage time
+	 * @param meanWaitMillis  mean connection acquisition time, or {@code 0} without acquisitions
+	 * @param meanUsageMillis mean time a connection was held, or {@code 0} without returned connections
+	 */
+	public record Sample(int size, int active, int pending, double busy, double meanWaitMillis,
+						 double meanUsageMillis) {
+	}
+
+	/**
+	 * A change of the pool size.
+	 *
+	 * @param size   the new maximum pool size
+	 * @param reason the rule that caused the change
+	 */
+	public record Decision(int size, String reason) {
+	}
+}
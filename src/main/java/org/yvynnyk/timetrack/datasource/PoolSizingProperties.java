@@ -0,0 +1,66 @@
+package org.yvynnyk.timetrack.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the adaptive connection pool sizing, bound from the {@code timetrack.datasource.pool-sizing}
+ * prefix. The bounds apply to every Hikari pool of the application.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.datasource.pool-sizing")
+public class PoolSizingProperties {
+
+	/**
+	 * Whether the pool sizes are adjusted at runtime.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Smallest maximum pool size; also used as the pools' minimum idle connections.
+	 */
+	private int minSize = 2;
+
+	/**
+	 * Largest maximum pool size.
+	 */
+	private int maxSize = 30;
+
+	/**
+	 * Time between two adjustments.
+	 */
+	private Duration interval = Duration.ofSeconds(5);
+
+	/**
+	 * Mean connection acquisition time above which a pool grows.
+	 */
+	private Duration waitThreshold = Duration.ofMillis(5);
+
+	/**
+	 * Largest number of connections added in one adjustment.
+	 */
+	private int growStep = 4;
+
+	/**
+	 * Largest number of connections removed in one adjustment.
+	 */
+	private int shrinkStep = 1;
+
+	/**
+	 * Consecutive adjustments a pool must be oversized before it shrinks.
+	 */
+	private int shrinkAfter = 6;
+
+	/**
+	 * Spare capacity kept above the measured connection demand, as a factor.
+	 */
+	private double headroom = 1.25;
+
+	/**
+	 * Increase of the mean connection usage time after a growth, as a factor, at which the growth is undone
+	 * because the database itself is saturated.
+	 */
+	private double latencyTolerance = 1.5;
+}
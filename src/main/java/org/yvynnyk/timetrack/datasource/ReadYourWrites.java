@@ -0,0 +1,81 @@
+package org.yvynnyk.timetrack.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes safeguard for replica routing.
+ * <p>
+ * A replica lags behind the primary, so a client reading right after its own write could miss it. The tracker
+ * remembers, per client, when it last wrote; for the configured window afterwards, and during the write request
+ * itself, the client's reads are pinned to the primary through a thread-bound flag that
+ * {@link ReplicaRoutingDataSource} checks. The window should exceed the usual replication lag.
+ * </p>
+ * <p>
+ * The tracker is local to the application instance; behind a load balancer, clients must be routed to the same
+ * instance for the guarantee to hold.
+ * </p>
+ */
+public class ReadYourWrites {
+
+	private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+	private final Cache<String, Boolean> recentWriters;
+
+	/**
+	 * Constructs a ReadYourWrites tracker.
+	 *
+	 * @param window     how long a client's reads stay on the primary after its last write
+	 * @param maxClients upper bound of tracked clients; the least recently written are evicted first
+	 */
+	public ReadYourWrites(Duration window, long maxClients) {
+		this.recentWriters = Caffeine.newBuilder()
+				.expireAfterWrite(window)
+				.maximumSize(maxClients)
+				.build();
+	}
+
+	/**
+	 * Records a write of the client.
+	 *
+	 * @param clientId the client identifier
+	 */
+	public void recordWrite(String clientId) {
+		recentWriters.put(clientId, Boolean.TRUE);
+	}
+
+	/**
+	 * Tells whether the client wrote within the window.
+	 *
+	 * @param clientId the client identifier
+	 * @return {@code true} if the client's reads must go to the primary
+	 */
+	public boolean wroteRecently(String clientId) {
+		return recentWriters.getIfPresent(clientId) != null;
+	}
+
+	/**
+	 * Pins the connections obtained on the current thread to the primary until {@link #release()}.
+	 */
+	public static void forcePrimary() {
+		PRIMARY_FORCED.set(Boolean.TRUE);
+	}
+
+	/**
+	 * Releases the pin set by {@link #forcePrimary()}.
+	 */
+	public static void release() {
+		PRIMARY_FORCED.remove();
+	}
+
+	/**
+	 * Tells whether the current thread is pinned to the primary.
+	 *
+	 * @return {@code true} if connections must come from the primary
+	 */
+	public static boolean isPrimaryForced() {
+		return PRIMARY_FORCED.get() != null;
+	}
+}
@@ -0,0 +1,45 @@
+package org.yvynnyk.timetrack.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the read replica, bound from the {@code timetrack.datasource.replica} prefix. Replica routing
+ * is enabled by setting {@code url}; pool settings are bound from {@code timetrack.datasource.replica.hikari}.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.datasource.replica")
+public class ReplicaProperties {
+
+	/**
+	 * JDBC URL of the read replica.
+	 */
+	private String url;
+
+	/**
+	 * Login username of the read replica; defaults to {@code spring.datasource.username}.
+	 */
+	private String username;
+
+	/**
+	 * Login password of the read replica; defaults to {@code spring.datasource.password}.
+	 */
+	private String password;
+
+	/**
+	 * How long a client's reads go to the primary after its last write.
+	 */
+	private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+	/**
+	 * Request header identifying a client; the remote address is used when absent.
+	 */
+	private String clientIdHeader = "X-Client-Id";
+
+	/**
+	 * Upper bound of clients tracked for read-your-writes.
+	 */
+	private long maxTrackedClients = 100_000;
+}
@@ -0,0 +1,49 @@
+package org.yvynnyk.timetrack.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource sending read-only transactions to the read replica and everything else to the primary.
+ * <p>
+ * The decision is taken when a connection is obtained, from the read-only flag of the current Spring transaction.
+ * The JPA transaction manager obtains the connection before it publishes that flag, so this DataSource must be
+ * wrapped in a {@link LazyConnectionDataSourceProxy}, which defers the choice to the first statement. Reads are
+ * kept on the primary while {@link ReadYourWrites#isPrimaryForced()} is set, i.e. shortly after the client's own
+ * writes, and outside of transactions.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	/**
+	 * Constructs a ReplicaRoutingDataSource.
+	 *
+	 * @param primary the primary database
+	 * @param replica the read replica
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+		setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return currentRole();
+	}
+
+	/**
+	 * Determines the database for a connection obtained on the current thread.
+	 *
+	 * @return the database to use
+	 */
+	static DataSourceRole currentRole() {
+		boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+				&& TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+		return readOnly && !ReadYourWrites.isPrimaryForced() ? DataSourceRole.REPLICA : DataSourceRole.PRIMARY;
+	}
+}
@@ -0,0 +1,61 @@
+package org.yvynnyk.timetrack.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for returning the distribution of task durations within a time window.
+ *
+ * <p> Durations are in seconds and are accurate to the configured number of significant digits; a window without
+ * completed time entries reports zeros.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "DurationStatisticsDTO", description = "DTO for returning task duration percentiles of a time window")
+public class DurationStatisticsDTO {
+
+	/**
+	 * The rolling window, as an ISO-8601 duration.
+	 */
+	@Schema(description = "Rolling window, as an ISO-8601 duration", example = "PT24H")
+	private String window;
+
+	/**
+	 * The number of time entries completed within the window.
+	 */
+	@Schema(description = "Number of time entries completed within the window", example = "42")
+	private long count;
+
+	/**
+	 * The mean duration in seconds.
+	 */
+	@Schema(description = "Mean duration in seconds", example = "2712.5")
+	private double meanSeconds;
+
+	/**
+	 * The median duration in seconds.
+	 */
+	@Schema(description = "Median duration in seconds", example = "1800")
+	private long p50Seconds;
+
+	/**
+	 * The 90th percentile of the durations in seconds.
+	 */
+	@Schema(description = "90th percentile of the durations in seconds", example = "5400")
+	private long p90Seconds;
+
+	/**
+	 * The 99th percentile of the durations in seconds.
+	 */
+	@Schema(description = "99th percentile of the durations in seconds", example = "14400")
+	private long p99Seconds;
+
+	/**
+	 * The longest duration in seconds.
+	 */
+	@Schema(description = "Longest duration in seconds", example = "28800")
+	private long maxSeconds;
+}
@@ -0,0 +1,28 @@
+package org.yvynnyk.timetrack.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for returning a row rejected by an import.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ImportRejectionDTO", description = "DTO for returning a rejected import row")
+public class ImportRejectionDTO {
+
+	/**
+	 * The line of the input at which the row starts; the header is line 1.
+	 */
+	@Schema(description = "Line of the input at which the row starts; the header is line 1", example = "7")
+	private long line;
+
+	/**
+	 * The reason the row was rejected.
+	 */
+	@Schema(description = "Reason the row was rejected", example = "unknown task reference")
+	private String reason;
+}
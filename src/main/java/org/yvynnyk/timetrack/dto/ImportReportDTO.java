@@ -0,0 +1,63 @@
+package org.yvynnyk.timetrack.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for returning the outcome of an import.
+ *
+ * <p> Every data row of the input is either imported or rejected. Only the first rejected rows are listed, in input
+ * order; {@code rejected} counts all of them.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ImportReportDTO", description = "DTO for returning the outcome of an import")
+public class ImportReportDTO {
+
+	/**
+	 * The kind of imported rows.
+	 */
+	@Schema(description = "Kind of imported rows", example = "tasks")
+	private String kind;
+
+	/**
+	 * The number of data rows read.
+	 */
+	@Schema(description = "Number of data rows read", example = "1000000")
+	private long rows;
+
+	/**
+	 * The number of imported rows.
+	 */
+	@Schema(description = "Number of imported rows", example = "999998")
+	private long imported;
+
+	/**
+	 * The number of rejected rows.
+	 */
+	@Schema(description = "Number of rejected rows", example = "2")
+	private long rejected;
+
+	/**
+	 * The first rejected rows, in input order.
+	 */
+	@Schema(description = "First rejected rows, in input order")
+	private List<ImportRejectionDTO> rejections;
+
+	/**
+	 * The duration of the import in milliseconds.
+	 */
+	@Schema(description = "Duration of the import in milliseconds", example = "8400")
+	private long elapsedMillis;
+
+	/**
+	 * The data rows read per second.
+	 */
+	@Schema(description = "Data rows read per second", example = "119047.6")
+	private double rowsPerSecond;
+}
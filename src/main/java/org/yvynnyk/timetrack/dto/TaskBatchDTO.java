@@ -0,0 +1,33 @@
+package org.yvynnyk.timetrack.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for returning the tasks requested by ID in one call.
+ *
+ * <p> The tasks are listed in the order of the requested IDs, each ID once; IDs without a task visible to the
+ * caller are listed in {@code missingIds}, in the same order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "TaskBatchDTO", description = "DTO for returning tasks requested by ID")
+public class TaskBatchDTO {
+
+	/**
+	 * The found tasks, in request order.
+	 */
+	@Schema(description = "The found tasks, in request order")
+	private List<TaskDTO> tasks;
+
+	/**
+	 * The requested IDs without a task, in request order.
+	 */
+	@Schema(description = "The requested IDs without a task, in request order", example = "[3]")
+	private List<Long> missingIds;
+}
@@ -0,0 +1,40 @@
+package org.yvynnyk.timetrack.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for returning the tasks changed since a client's last synchronization.
+ *
+ * <p> The tasks are listed in the order of their changes, each task in its current state. {@code token} is passed
+ * to the next synchronization; {@code hasMore} tells that further changes are ready to be fetched right away with
+ * it. Tasks changed within the last seconds may be returned again by the next synchronization.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "TaskChangesDTO", description = "DTO for returning the tasks changed since a token")
+public class TaskChangesDTO {
+
+	/**
+	 * The changed tasks, in the order of their changes.
+	 */
+	@Schema(description = "The changed tasks, in the order of their changes")
+	private List<TaskDTO> tasks;
+
+	/**
+	 * The token to synchronize from next time.
+	 */
+	@Schema(description = "The token to synchronize from next time", example = "1725971696000000-1")
+	private String token;
+
+	/**
+	 * Whether further changes can be fetched right away with the token.
+	 */
+	@Schema(description = "Whether further changes can be fetched right away with the token", example = "false")
+	private boolean hasMore;
+}
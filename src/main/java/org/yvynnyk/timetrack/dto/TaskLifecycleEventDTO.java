@@ -0,0 +1,65 @@
+package org.yvynnyk.timetrack.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.yvynnyk.timetrack.model.enumeration.LifecycleEventType;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for returning an event in the history of a task.
+ *
+ * <p> {@code name} and {@code description} are set for {@code CREATED} and {@code UPDATED} events,
+ * {@code timeEntryId} for {@code STARTED} and {@code STOPPED} events.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "TaskLifecycleEventDTO", description = "DTO for returning an event in the history of a task")
+public class TaskLifecycleEventDTO {
+
+	/**
+	 * Position of the event in the history of the task, starting at 1.
+	 */
+	@Schema(description = "Position of the event in the history of the task", example = "1")
+	private long sequenceNumber;
+
+	/**
+	 * Kind of the event.
+	 */
+	@Schema(description = "Kind of the event", example = "STARTED")
+	private LifecycleEventType type;
+
+	/**
+	 * Status of the task after the event.
+	 */
+	@Schema(description = "Status of the task after the event", example = "IN_PROGRESS")
+	private TaskStatus status;
+
+	/**
+	 * Name of the task.
+	 */
+	@Schema(description = "Name of the task", example = "My Task")
+	private String name;
+
+	/**
+	 * Description of the task.
+	 */
+	@Schema(description = "Description of the task", example = "This is a detailed description")
+	private String description;
+
+	/**
+	 * ID of the time entry.
+	 */
+	@Schema(description = "ID of the time entry", example = "1")
+	private Long timeEntryId;
+
+	/**
+	 * The timestamp of the change.
+	 */
+	@Schema(description = "Timestamp of the change", example = "2024-09-10T13:00:00")
+	private LocalDateTime occurredAt;
+}
@@ -0,0 +1,81 @@
+package org.yvynnyk.timetrack.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for returning the state of a task rebuilt from its lifecycle events.
+ *
+ * <p> The state covers the task and its time entry, as of the event numbered {@code sequenceNumber}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "TaskStateDTO", description = "DTO for returning the state of a task rebuilt from its events")
+public class TaskStateDTO {
+
+	/**
+	 * Unique identifier of the task.
+	 */
+	@Schema(description = "Unique identifier of the task", example = "1")
+	private Long taskId;
+
+	/**
+	 * Name of the task.
+	 */
+	@Schema(description = "Name of the task", example = "My Task")
+	private String name;
+
+	/**
+	 * Description of the task.
+	 */
+	@Schema(description = "Description of the task", example = "This is a detailed description")
+	private String description;
+
+	/**
+	 * Status of the task.
+	 */
+	@Schema(description = "Status of the task", example = "COMPLETED")
+	private TaskStatus status;
+
+	/**
+	 * The timestamp when the task was created.
+	 */
+	@Schema(description = "Creation timestamp of the task", example = "2024-09-10T12:34:56")
+	private LocalDateTime createdAt;
+
+	/**
+	 * The timestamp of the last change of the task after its creation.
+	 */
+	@Schema(description = "Last change timestamp of the task", example = "2024-09-10T14:00:00")
+	private LocalDateTime updatedAt;
+
+	/**
+	 * ID of the task's time entry, if one was started.
+	 */
+	@Schema(description = "ID of the task's time entry", example = "1")
+	private Long timeEntryId;
+
+	/**
+	 * Start time of the task's time entry.
+	 */
+	@Schema(description = "Start time of the task's time entry", example = "2024-09-10T13:00:00")
+	private LocalDateTime startTime;
+
+	/**
+	 * End time of the task's time entry, once stopped.
+	 */
+	@Schema(description = "End time of the task's time entry", example = "2024-09-10T14:00:00")
+	private LocalDateTime endTime;
+
+	/**
+	 * Sequence number of the last event applied.
+	 */
+	@Schema(description = "Sequence number of the last event applied", example = "3")
+	private long sequenceNumber;
+}
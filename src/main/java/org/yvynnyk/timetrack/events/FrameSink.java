@@ -0,0 +1,24 @@
+package org.yvynnyk.timetrack.events;
+
+import java.io.IOException;
+
+/**
+ * Destination of the encoded frames of one subscriber, typically its HTTP response.
+ */
+@FunctionalInterface
+public interface FrameSink {
+
+	/**
+	 * Writes and flushes one complete frame. May block while the client is slow.
+	 *
+	 * @param frame the encoded frame, shared with other subscribers and not to be modified
+	 * @throws IOException if the client is gone
+	 */
+	void write(byte[] frame) throws IOException;
+
+	/**
+	 * Ends the stream, e.g. when the application shuts down.
+	 */
+	default void close() {
+	}
+}
@@ -0,0 +1,349 @@
+package org.yvynnyk.timetrack.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans task status events out to Server-Sent Events subscribers.
+ * <p>
+ * Every event is serialised once into a complete SSE frame, and the same byte array is queued for every subscriber
+ * of the event's tenant, so a published event costs one JSON serialisation plus one queue offer per subscriber.
+ * A small pool of writer threads drains the queues into the subscribers' responses; a subscriber is only scheduled
+ * on a writer while it has queued frames, so idle subscribers hold no thread.
+ * </p>
+ * <p>
+ * Queues are bounded. When a subscriber falls {@code bufferSize} frames behind, its queued frames are dropped and
+ * replaced by a {@code resync} event, after which the client should reload the task list. Event IDs are
+ * {@code <epoch>-<sequence>}, where the epoch identifies this broadcaster instance; a client reconnecting with
+ * {@code Last-Event-ID} receives the events it missed from the last {@code history} events, or a {@code resync}
+ * event if they are no longer available or were published by another instance or before a restart.
+ * </p>
+ * <p>
+ * Events are broadcast by the instance that committed the change; subscribers of other instances do not receive
+ * them.
+ * </p>
+ */
+public class TaskEventBroadcaster implements SmartLifecycle {
+
+	/**
+	 * Name of the events announcing a task's status.
+	 */
+	public static final String STATUS_EVENT = "task-status";
+
+	/**
+	 * Name of the event telling a client that it missed events and should reload the task list.
+	 */
+	public static final String RESYNC_EVENT = "resync";
+
+	private static final byte[] RESYNC = ("event: " + RESYNC_EVENT + "\ndata: {}\n\n").getBytes(StandardCharsets.UTF_8);
+	private static final byte[] HEARTBEAT = ": keep-alive\n\n".getBytes(StandardCharsets.UTF_8);
+
+	private final ObjectMapper objectMapper;
+	private final TaskScheduler taskScheduler;
+	private final TaskEventProperties properties;
+	private final ExecutorService writers;
+	private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+	private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private final Counter published;
+	private final Counter resyncs;
+
+	private final Object lock = new Object();
+	private final Event[] history;
+	private long sequence;
+
+	private ScheduledFuture<?> heartbeats;
+
+	/**
+	 * Constructs a TaskEventBroadcaster.
+	 *
+	 * @param objectMapper  the mapper serialising the event payloads
+	 * @param taskScheduler the scheduler sending the keep-alive comments
+	 * @param properties    the event stream properties
+	 * @param meterRegistry the registry for the event metrics
+	 */
+	public TaskEventBroadcaster(ObjectMapper objectMapper, TaskScheduler taskScheduler, TaskEventProperties properties,
+								MeterRegistry meterRegistry) {
+		this.objectMapper = objectMapper;
+		this.taskScheduler = taskScheduler;
+		this.properties = properties;
+		this.history = new Event[properties.getHistory()];
+		AtomicInteger threads = new AtomicInteger();
+		this.writers = Executors.newFixedThreadPool(properties.getWriterThreads(), runnable -> {
+			Thread thread = new Thread(runnable, "task-events-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		Gauge.builder(MetricsConstants.Events.SUBSCRIBERS, subscriberCount, AtomicInteger::get)
+				.description("Open task event subscriptions")
+				.register(meterRegistry);
+		this.published = Counter.builder(MetricsConstants.Events.PUBLISHED)
+				.description("Task events published")
+				.register(meterRegistry);
+		this.resyncs = Counter.builder(MetricsConstants.Events.RESYNCS)
+				.description("Subscribers told to resynchronise because they missed events")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Publishes the status of a task to the subscribers of its tenant.
+	 *
+	 * @param tenant the tenant of the task
+	 * @param taskId the task ID
+	 * @param status the status of the task
+	 */
+	public void publish(String tenant, Long taskId, TaskStatus status) {
+		byte[] data;
+		try {
+			data = objectMapper.writeValueAsBytes(new TaskStatusEvent(taskId, status, LocalDateTime.now()));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+		synchronized (lock) {
+			long id = ++sequence;
+			Event event = new Event(id, tenant, frame(id, data));
+			history[(int) (id % history.length)] = event;
+			for (Subscriber subscriber : subscribers.getOrDefault(tenant, Set.of())) {
+				subscriber.offer(event.frame());
+			}
+		}
+		published.increment();
+	}
+
+	/**
+	 * Opens an SSE subscription to the events of a tenant.
+	 *
+	 * @param tenant      the tenant
+	 * @param lastEventId the ID of the last event the client received, or {@code null}
+	 * @return the emitter streaming the events
+	 */
+	public SseEmitter subscribe(String tenant, String lastEventId) {
+		SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+		Subscriber subscriber = subscribe(tenant, lastEventId, new FrameSink() {
+			@Override
+			public void write(byte[] frame) throws IOException {
+				emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(frame, MediaType.TEXT_EVENT_STREAM)));
+			}
+
+			@Override
+			public void close() {
+				emitter.complete();
+			}
+		});
+		emitter.onCompletion(subscriber::remove);
+		emitter.onTimeout(subscriber::remove);
+		emitter.onError(error -> subscriber.remove());
+		return emitter;
+	}
+
+	/**
+	 * Opens a subscription to the events of a tenant, replaying the events missed since {@code lastEventId}.
+	 *
+	 * @param tenant      the tenant
+	 * @param lastEventId the ID of the last event the client received, or {@code null}
+	 * @param sink        the destination of the frames
+	 * @return the subscriber
+	 */
+	public Subscriber subscribe(String tenant, String lastEventId, FrameSink sink) {
+		Subscriber subscriber = new Subscriber(tenant, sink);
+		synchronized (lock) {
+			subscriber.offer(HEARTBEAT);
+			if (lastEventId != null) {
+				replay(subscriber, lastEventId);
+			}
+			subscribers.computeIfAbsent(tenant, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+		}
+		subscriberCount.incrementAndGet();
+		return subscriber;
+	}
+
+	@Override
+	public void start() {
+		heartbeats = taskScheduler.scheduleAtFixedRate(this::heartbeat, properties.getHeartbeat());
+	}
+
+	@Override
+	public void stop() {
+		if (heartbeats != null) {
+			heartbeats.cancel(false);
+			heartbeats = null;
+		}
+		subscribers.values().forEach(tenantSubscribers -> tenantSubscribers.forEach(Subscriber::close));
+		writers.shutdown();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return heartbeats != null;
+	}
+
+	/**
+	 * Sends a keep-alive comment to every subscriber with an empty queue; writing it detects closed connections.
+	 */
+	void heartbeat() {
+		subscribers.values().forEach(tenantSubscribers -> tenantSubscribers.forEach(Subscriber::heartbeat));
+	}
+
+	private void replay(Subscriber subscriber, String lastEventId) {
+		long last = parseSequence(lastEventId);
+		long oldest = Math.max(1, sequence - history.length + 1);
+		if (last < 0 || last > sequence || last + 1 < oldest) {
+			subscriber.resync();
+			return;
+		}
+		for (long id = last + 1; id <= sequence; id++) {
+			Event event = history[(int) (id % history.length)];
+			if (event.tenant().equals(subscriber.tenant)) {
+				subscriber.offer(event.frame());
+			}
+		}
+	}
+
+	private long parseSequence(String eventId) {
+		int separator = eventId.indexOf('-');
+		if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(eventId.substring(separator + 1));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private byte[] frame(long id, byte[] data) {
+		byte[] header = ("id: " + epoch + "-" + id + "\nevent: " + STATUS_EVENT + "\ndata: ")
+				.getBytes(StandardCharsets.UTF_8);
+		byte[] frame = new byte[header.length + data.length + 2];
+		System.arraycopy(header, 0, frame, 0, header.length);
+		System.arraycopy(data, 0, frame, header.length, data.length);
+		frame[frame.length - 2] = '\n';
+		frame[frame.length - 1] = '\n';
+		return frame;
+	}
+
+	/**
+	 * A published event kept for replay.
+	 *
+	 * @param id     the sequence number
+	 * @param tenant the tenant of the event
+	 * @param frame  the encoded frame
+	 */
+	private record Event(long id, String tenant, byte[] frame) {
+	}
+
+	/**
+	 * One subscription with its bounded queue of frames.
+	 */
+	public final class Subscriber {
+
+		private final String tenant;
+		private final FrameSink sink;
+		private final ArrayBlockingQueue<byte[]> queue;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private final AtomicBoolean removed = new AtomicBoolean();
+
+		private Subscriber(String tenant, FrameSink sink) {
+			this.tenant = tenant;
+			this.sink = sink;
+			this.queue = new ArrayBlockingQueue<>(properties.getBufferSize() + 1);
+		}
+
+		/**
+		 * Ends the subscription and closes its sink.
+		 */
+		public void close() {
+			remove();
+			sink.close();
+		}
+
+		/**
+		 * Ends the subscription, e.g. after the client disconnected.
+		 */
+		public void remove() {
+			if (removed.compareAndSet(false, true)) {
+				Set<Subscriber> tenantSubscribers = subscribers.get(tenant);
+				if (tenantSubscribers != null) {
+					tenantSubscribers.remove(this);
+				}
+				queue.clear();
+				subscriberCount.decrementAndGet();
+			}
+		}
+
+		private void offer(byte[] frame) {
+			if (removed.get()) {
+				return;
+			}
+			if (queue.size() >= properties.getBufferSize() || !queue.offer(frame)) {
+				resync();
+				return;
+			}
+			schedule();
+		}
+
+		private void resync() {
+			queue.clear();
+			queue.offer(RESYNC);
+			resyncs.increment();
+			schedule();
+		}
+
+		private void heartbeat() {
+			if (queue.isEmpty() && queue.offer(HEARTBEAT)) {
+				schedule();
+			}
+		}
+
+		private void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				try {
+					writers.execute(this::drain);
+				} catch (RejectedExecutionException e) {
+					scheduled.set(false);
+					remove();
+				}
+			}
+		}
+
+		private void drain() {
+			try {
+				byte[] frame;
+				while (!removed.get() && (frame = queue.poll()) != null) {
+					sink.write(frame);
+				}
+			} catch (IOException | RuntimeException e) {
+				remove();
+			} finally {
+				scheduled.set(false);
+			}
+			if (!removed.get() && !queue.isEmpty()) {
+				schedule();
+			}
+		}
+	}
+}
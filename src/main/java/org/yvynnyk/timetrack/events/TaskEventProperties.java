@@ -0,0 +1,39 @@
+package org.yvynnyk.timetrack.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the task status event stream, bound from the {@code timetrack.events} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.events")
+public class TaskEventProperties {
+
+	/**
+	 * Frames queued for one subscriber before it is considered too slow and told to resynchronise.
+	 */
+	private int bufferSize = 64;
+
+	/**
+	 * Recent events kept for subscribers resuming with {@code Last-Event-ID}.
+	 */
+	private int history = 1024;
+
+	/**
+	 * Time between two keep-alive comments, which also detect disconnected subscribers.
+	 */
+	private Duration heartbeat = Duration.ofSeconds(15);
+
+	/**
+	 * Lifetime of a subscription; the client reconnects afterwards and resumes from its last event.
+	 */
+	private Duration timeout = Duration.ofMinutes(30);
+
+	/**
+	 * Threads writing queued frames to the subscribers.
+	 */
+	private int writerThreads = 4;
+}
@@ -0,0 +1,75 @@
+package org.yvynnyk.timetrack.events;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the status of saved tasks and hands them to the {@link TaskEventBroadcaster} once committed.
+ * <p>
+ * Within a transaction only the last status of each task is kept, so a task saved several times results in one
+ * event, and rolled back changes result in none.
+ * </p>
+ */
+public class TaskEvents {
+
+	private final TaskEventBroadcaster broadcaster;
+	private final String defaultTenant;
+
+	/**
+	 * Constructs a TaskEvents.
+	 *
+	 * @param broadcaster   the broadcaster of the events
+	 * @param defaultTenant the tenant of callers without a bound tenant
+	 */
+	public TaskEvents(TaskEventBroadcaster broadcaster, String defaultTenant) {
+		this.broadcaster = broadcaster;
+		this.defaultTenant = defaultTenant;
+	}
+
+	/**
+	 * Records the status of a saved task of the current tenant.
+	 *
+	 * @param taskId the task ID
+	 * @param status the status after the save
+	 */
+	public void statusSaved(Long taskId, TaskStatus status) {
+		String tenant = TenantContext.current() != null ? TenantContext.current() : defaultTenant;
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			broadcaster.publish(tenant, taskId, status);
+			return;
+		}
+		Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			pending = new Pending();
+			TransactionSynchronizationManager.bindResource(this, pending);
+			TransactionSynchronizationManager.registerSynchronization(pending);
+		}
+		pending.statuses.put(new TaskKey(tenant, taskId), status);
+	}
+
+	private record TaskKey(String tenant, Long taskId) {
+	}
+
+	/**
+	 * The saved statuses of one transaction.
+	 */
+	private final class Pending implements TransactionSynchronization {
+
+		private final Map<TaskKey, TaskStatus> statuses = new LinkedHashMap<>();
+
+		@Override
+		public void afterCommit() {
+			statuses.forEach((key, status) -> broadcaster.publish(key.tenant(), key.taskId(), status));
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(TaskEvents.this);
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package org.yvynnyk.timetrack.events;
+
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a {@code task-status} event: a task has been saved with the given status.
+ *
+ * @param taskId the ID of the task
+ * @param status the status of the task after the change
+ * @param at     the time the change was committed
+ */
+public record TaskStatusEvent(Long taskId, TaskStatus status, LocalDateTime at) {
+}
@@ -0,0 +1,45 @@
+package org.yvynnyk.timetrack.eventstore;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the task event store and its snapshots, bound from the {@code timetrack.event-store} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.event-store")
+public class EventStoreProperties {
+
+	/**
+	 * Settings of the snapshots.
+	 */
+	private Snapshots snapshots = new Snapshots();
+
+	/**
+	 * Settings of the snapshots.
+	 */
+	@Data
+	public static class Snapshots {
+		/**
+		 * Whether this instance takes snapshots. Without snapshots, rebuilding a task replays all its events.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Delay between the end of a snapshot run and the start of the next.
+		 */
+		private Duration interval = Duration.ofMinutes(5);
+
+		/**
+		 * Number of events after which a task's snapshot is renewed, or first taken.
+		 */
+		private int threshold = 50;
+
+		/**
+		 * Upper bound of snapshots taken per run and database.
+		 */
+		private int batchSize = 500;
+	}
+}
@@ -0,0 +1,121 @@
+package org.yvynnyk.timetrack.eventstore;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.model.TaskLifecycleEvent;
+import org.yvynnyk.timetrack.model.TimeEntry;
+import org.yvynnyk.timetrack.model.enumeration.LifecycleEventType;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.LocalDateTime;
+
+import static org.yvynnyk.timetrack.constant.ExceptionConstants.EventStore.APPEND_CONFLICT;
+
+/**
+ * Appends the lifecycle events of tasks to the {@code task_lifecycle_event} table.
+ * <p>
+ * Events are inserted in the transaction of the change they describe, so they are committed or rolled back with
+ * it; appending an event outside a transaction is an error. Every append is a single {@code INSERT ... SELECT}
+ * that numbers the event after the last one of its task, so it neither reads nor updates any row of its own: the
+ * history of a hot task grows without contention on a counter or version row. Two transactions appending to the
+ * same task at once compute the same sequence number; the later insert waits for the earlier transaction on the
+ * unique sequence number and, once that has committed, inserts nothing instead of failing, so that the append is
+ * repeated with the next number. Under the default {@code READ COMMITTED} isolation the repeated statement sees
+ * the committed event.
+ * </p>
+ * <p>
+ * Events belong to the tenant bound to the {@link TenantContext}, as with the outbox.
+ * </p>
+ *
+ * @see TaskLifecycleEvent
+ */
+public class TaskEventStore {
+
+	private static final String APPEND = "insert into task_lifecycle_event "
+			+ "(task_id, sequence_number, type, status, name, description, time_entry_id, occurred_at, tenant_id) "
+			+ "select cast(? as bigint), coalesce(max(sequence_number), 0) + 1, cast(? as varchar(16)), "
+			+ "cast(? as varchar(255)), cast(? as varchar(255)), cast(? as varchar(255)), cast(? as bigint), "
+			+ "cast(? as timestamp), cast(? as varchar(64)) from task_lifecycle_event where task_id = ? "
+			+ "on conflict do nothing";
+
+	/**
+	 * Number of times an append is attempted before giving up on a task appended to concurrently.
+	 */
+	static final int MAX_ATTEMPTS = 5;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String defaultTenant;
+
+	/**
+	 * Constructs a TaskEventStore.
+	 *
+	 * @param jdbcTemplate  the template on the application's DataSource
+	 * @param defaultTenant the tenant of callers without a bound tenant
+	 */
+	public TaskEventStore(JdbcTemplate jdbcTemplate, String defaultTenant) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.defaultTenant = defaultTenant;
+	}
+
+	/**
+	 * Appends the creation of a task.
+	 *
+	 * @param task the created task
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void created(TaskDTO task) {
+		append(task.getId(), LifecycleEventType.CREATED, task.getStatus(), task.getName(), task.getDescription(),
+				null, task.getCreatedAt() != null ? task.getCreatedAt() : LocalDateTime.now());
+	}
+
+	/**
+	 * Appends an update of a task through the API.
+	 *
+	 * @param task the updated task
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void updated(TaskDTO task) {
+		append(task.getId(), LifecycleEventType.UPDATED, task.getStatus(), task.getName(), task.getDescription(),
+				null, LocalDateTime.now());
+	}
+
+	/**
+	 * Appends the start of a task's time entry, at its start time.
+	 *
+	 * @param taskId    the ID of the task
+	 * @param timeEntry the started time entry
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void started(Long taskId, TimeEntry timeEntry) {
+		append(taskId, LifecycleEventType.STARTED, TaskStatus.IN_PROGRESS, null, null, timeEntry.getId(),
+				timeEntry.getStartTime());
+	}
+
+	/**
+	 * Appends the stop of a task's time entry, at its end time.
+	 *
+	 * @param taskId    the ID of the task
+	 * @param timeEntry the stopped time entry
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void stopped(Long taskId, TimeEntry timeEntry) {
+		append(taskId, LifecycleEventType.STOPPED, TaskStatus.COMPLETED, null, null, timeEntry.getId(),
+				timeEntry.getEndTime());
+	}
+
+	private void append(Long taskId, LifecycleEventType type, TaskStatus status, String name, String description,
+						Long timeEntryId, LocalDateTime occurredAt) {
+		String tenant = TenantContext.current() != null ? TenantContext.current() : defaultTenant;
+		for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+			if (jdbcTemplate.update(APPEND, taskId, type.name(), status.name(), name, description, timeEntryId,
+					occurredAt, tenant, taskId) > 0) {
+				return;
+			}
+		}
+		throw new ConcurrencyFailureException(APPEND_CONFLICT.formatted(taskId, MAX_ATTEMPTS));
+	}
+}
@@ -0,0 +1,139 @@
+package org.yvynnyk.timetrack.eventstore;
+
+import lombok.Getter;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.dto.TaskStateDTO;
+import org.yvynnyk.timetrack.model.TaskLifecycleEvent;
+import org.yvynnyk.timetrack.model.TaskSnapshot;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The state of a task and of its time entry, rebuilt by applying the task's lifecycle events in order.
+ * <p>
+ * A projection starts either empty or from a {@link TaskSnapshot}, and {@link #apply(TaskLifecycleEvent) applies}
+ * the events after it. It is not thread-safe.
+ * </p>
+ */
+@Getter
+public class TaskProjection {
+
+	private final Long taskId;
+	private long sequenceNumber;
+	private String name;
+	private String description;
+	private TaskStatus status;
+	private LocalDateTime createdAt;
+	private LocalDateTime updatedAt;
+	private Long timeEntryId;
+	private LocalDateTime startTime;
+	private LocalDateTime endTime;
+	private String tenantId;
+
+	private TaskProjection(Long taskId) {
+		this.taskId = taskId;
+	}
+
+	/**
+	 * Creates the projection of a task before its first event.
+	 *
+	 * @param taskId the ID of the task
+	 * @return the empty projection
+	 */
+	public static TaskProjection empty(Long taskId) {
+		return new TaskProjection(taskId);
+	}
+
+	/**
+	 * Creates the projection of a task from its snapshot.
+	 *
+	 * @param snapshot the snapshot
+	 * @return the projection as of the snapshot's last event
+	 */
+	public static TaskProjection of(TaskSnapshot snapshot) {
+		TaskProjection projection = new TaskProjection(snapshot.getTaskId());
+		projection.sequenceNumber = snapshot.getSequenceNumber();
+		projection.name = snapshot.getName();
+		projection.description = snapshot.getDescription();
+		projection.status = snapshot.getStatus();
+		projection.createdAt = snapshot.getCreatedAt();
+		projection.updatedAt = snapshot.getUpdatedAt();
+		projection.timeEntryId = snapshot.getTimeEntryId();
+		projection.startTime = snapshot.getStartTime();
+		projection.endTime = snapshot.getEndTime();
+		projection.tenantId = snapshot.getTenantId();
+		return projection;
+	}
+
+	/**
+	 * Applies the next event of the task.
+	 *
+	 * @param event the event, following the last applied one
+	 * @throws IllegalStateException if the event is not the next one of the task
+	 */
+	public void apply(TaskLifecycleEvent event) {
+		if (!taskId.equals(event.getTaskId()) || event.getSequenceNumber() != sequenceNumber + 1) {
+			throw new IllegalStateException(ExceptionConstants.EventStore.EVENT_OUT_OF_SEQUENCE.formatted(
+					event.getTaskId(), event.getSequenceNumber(), taskId, sequenceNumber + 1));
+		}
+		switch (event.getType()) {
+			case CREATED -> {
+				name = event.getName();
+				description = event.getDescription();
+				createdAt = event.getOccurredAt();
+			}
+			case UPDATED -> {
+				name = event.getName();
+				description = event.getDescription();
+				updatedAt = event.getOccurredAt();
+			}
+			case STARTED -> {
+				timeEntryId = event.getTimeEntryId();
+				startTime = event.getOccurredAt();
+				endTime = null;
+				updatedAt = event.getOccurredAt();
+			}
+			case STOPPED -> {
+				endTime = event.getOccurredAt();
+				updatedAt = event.getOccurredAt();
+			}
+		}
+		status = event.getStatus();
+		tenantId = event.getTenantId();
+		sequenceNumber = event.getSequenceNumber();
+	}
+
+	/**
+	 * Copies the projection into a snapshot.
+	 *
+	 * @param snapshot the snapshot to fill, new or the task's previous one
+	 * @param takenAt  the time of the snapshot
+	 * @return the filled snapshot
+	 */
+	public TaskSnapshot copyTo(TaskSnapshot snapshot, LocalDateTime takenAt) {
+		snapshot.setTaskId(taskId);
+		snapshot.setSequenceNumber(sequenceNumber);
+		snapshot.setName(name);
+		snapshot.setDescription(description);
+		snapshot.setStatus(status);
+		snapshot.setCreatedAt(createdAt);
+		snapshot.setUpdatedAt(updatedAt);
+		snapshot.setTimeEntryId(timeEntryId);
+		snapshot.setStartTime(startTime);
+		snapshot.setEndTime(endTime);
+		snapshot.setTakenAt(takenAt);
+		snapshot.setTenantId(tenantId);
+		return snapshot;
+	}
+
+	/**
+	 * Converts the projection into its DTO.
+	 *
+	 * @return the state of the task
+	 */
+	public TaskStateDTO toDto() {
+		return new TaskStateDTO(taskId, name, description, status, createdAt, updatedAt, timeEntryId, startTime,
+				endTime, sequenceNumber);
+	}
+}
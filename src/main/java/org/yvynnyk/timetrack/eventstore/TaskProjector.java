@@ -0,0 +1,163 @@
+package org.yvynnyk.timetrack.eventstore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.dto.TaskLifecycleEventDTO;
+import org.yvynnyk.timetrack.dto.TaskStateDTO;
+import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
+import org.yvynnyk.timetrack.model.TaskLifecycleEvent;
+import org.yvynnyk.timetrack.model.TaskSnapshot;
+import org.yvynnyk.timetrack.repository.TaskLifecycleEventRepository;
+import org.yvynnyk.timetrack.repository.TaskSnapshotRepository;
+import org.yvynnyk.timetrack.tenant.AllTenants;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+import static org.yvynnyk.timetrack.constant.ExceptionConstants.Task.TASK_NOT_FOUND_WITH_ID;
+
+/**
+ * Rebuilds the state of tasks from their lifecycle events, and takes the snapshots that keep rebuilds short.
+ * <p>
+ * A rebuild starts from the task's {@link TaskSnapshot}, if it has one, and replays the events after it. Snapshots
+ * are taken by {@link #snapshotDue()}, scheduled every {@code interval} on the instances with snapshots enabled:
+ * every run renews the snapshots of up to {@code batch-size} tasks per database that have at least
+ * {@code threshold} events after their snapshot, each in its own transaction. Instances taking the same snapshot
+ * at once are harmless, since any snapshot is a valid starting point; the losing first insert is skipped.
+ * </p>
+ * <p>
+ * Replayed events per rebuild are recorded by {@link MetricsConstants.EventStore#REPLAYED}, snapshots by
+ * {@link MetricsConstants.EventStore#SNAPSHOTS}.
+ * </p>
+ */
+public class TaskProjector {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskProjector.class);
+
+	private final TaskLifecycleEventRepository events;
+	private final TaskSnapshotRepository snapshots;
+	private final TransactionTemplate transactions;
+	private final EventStoreProperties.Snapshots properties;
+	private final DistributionSummary replayed;
+	private final Counter taken;
+	private final Counter failed;
+
+	/**
+	 * Constructs a TaskProjector.
+	 *
+	 * @param events        the repository of the lifecycle events
+	 * @param snapshots     the repository of the snapshots
+	 * @param transactions  the template of the snapshot transactions
+	 * @param properties    the snapshot properties
+	 * @param meterRegistry the registry for the projection metrics
+	 */
+	public TaskProjector(TaskLifecycleEventRepository events, TaskSnapshotRepository snapshots,
+						 TransactionTemplate transactions, EventStoreProperties.Snapshots properties,
+						 MeterRegistry meterRegistry) {
+		this.events = events;
+		this.snapshots = snapshots;
+		this.transactions = transactions;
+		this.properties = properties;
+		this.replayed = DistributionSummary.builder(MetricsConstants.EventStore.REPLAYED)
+				.description("Events replayed to rebuild a task")
+				.register(meterRegistry);
+		this.taken = snapshotCounter(meterRegistry, MetricsConstants.Outcome.SUCCESS);
+		this.failed = snapshotCounter(meterRegistry, MetricsConstants.Outcome.ERROR);
+	}
+
+	/**
+	 * Rebuilds the current state of a task of the current tenant.
+	 *
+	 * @param taskId the ID of the task
+	 * @return the state of the task and its time entry
+	 * @throws ResourceNotFoundException if the task has no events
+	 */
+	@Transactional(readOnly = true)
+	public TaskStateDTO state(Long taskId) {
+		TaskProjection projection = rebuild(taskId, snapshots.findByTaskId(taskId).orElse(null));
+		if (projection.getSequenceNumber() == 0) {
+			throw new ResourceNotFoundException(TASK_NOT_FOUND_WITH_ID.formatted(taskId));
+		}
+		return projection.toDto();
+	}
+
+	/**
+	 * Retrieves the full history of a task of the current tenant.
+	 *
+	 * @param taskId the ID of the task
+	 * @return the events of the task, in order
+	 * @throws ResourceNotFoundException if the task has no events
+	 */
+	@Transactional(readOnly = true)
+	public List<TaskLifecycleEventDTO> history(Long taskId) {
+		List<TaskLifecycleEventDTO> history = events
+				.findAllByTaskIdAndSequenceNumberGreaterThanOrderBySequenceNumber(taskId, 0L).stream()
+				.map(TaskProjector::toDto)
+				.toList();
+		if (history.isEmpty()) {
+			throw new ResourceNotFoundException(TASK_NOT_FOUND_WITH_ID.formatted(taskId));
+		}
+		return history;
+	}
+
+	/**
+	 * Renews the snapshots of the tasks of all tenants with at least {@code threshold} events after their
+	 * snapshot, up to {@code batch-size} tasks per database.
+	 */
+	@AllTenants
+	public void snapshotDue() {
+		List<Long> due = events.findTaskIdsDueForSnapshot(properties.getThreshold(),
+				Limit.of(properties.getBatchSize()));
+		int count = 0;
+		for (Long taskId : due) {
+			try {
+				transactions.executeWithoutResult(status -> snapshot(taskId));
+				taken.increment();
+				count++;
+			} catch (RuntimeException e) {
+				failed.increment();
+				logger.warn(LoggingConstants.EventStore.SNAPSHOT_FAILED,
+						value(LoggingConstants.Fields.TASK_ID, taskId), e);
+			}
+		}
+		if (count > 0) {
+			logger.info(LoggingConstants.EventStore.SNAPSHOTS_TAKEN, value(LoggingConstants.Fields.TASK_COUNT, count));
+		}
+	}
+
+	private void snapshot(Long taskId) {
+		TaskSnapshot snapshot = snapshots.findByTaskId(taskId).orElse(null);
+		TaskProjection projection = rebuild(taskId, snapshot);
+		snapshots.save(projection.copyTo(snapshot != null ? snapshot : new TaskSnapshot(), LocalDateTime.now()));
+	}
+
+	private TaskProjection rebuild(Long taskId, TaskSnapshot snapshot) {
+		TaskProjection projection = snapshot != null ? TaskProjection.of(snapshot) : TaskProjection.empty(taskId);
+		List<TaskLifecycleEvent> after = events.findAllByTaskIdAndSequenceNumberGreaterThanOrderBySequenceNumber(
+				taskId, projection.getSequenceNumber());
+		after.forEach(projection::apply);
+		replayed.record(after.size());
+		return projection;
+	}
+
+	private static TaskLifecycleEventDTO toDto(TaskLifecycleEvent event) {
+		return new TaskLifecycleEventDTO(event.getSequenceNumber(), event.getType(), event.getStatus(),
+				event.getName(), event.getDescription(), event.getTimeEntryId(), event.getOccurredAt());
+	}
+
+	private static Counter snapshotCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder(MetricsConstants.EventStore.SNAPSHOTS)
+				.description("Task snapshots taken by this instance")
+				.tag(MetricsConstants.Tags.OUTCOME, outcome)
+				.register(meterRegistry);
+	}
+}
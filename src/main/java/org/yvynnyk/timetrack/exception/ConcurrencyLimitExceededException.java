@@ -0,0 +1,34 @@
+package org.yvynnyk.timetrack.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is shed because its endpoint's concurrency limit is reached.
+ * <p>
+ * Shedding has to stay cheap under overload, so the exception does not capture a stack trace.
+ * </p>
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+	private final transient Duration retryAfter;
+
+	/**
+	 * Constructs a new ConcurrencyLimitExceededException with the specified detail message.
+	 *
+	 * @param message    the detail message
+	 * @param retryAfter the delay suggested to the client
+	 */
+	public ConcurrencyLimitExceededException(String message, Duration retryAfter) {
+		super(message, null, false, false);
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * Returns the delay suggested to the client before retrying.
+	 *
+	 * @return the retry delay
+	 */
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+}
@@ -0,0 +1,95 @@
+package org.yvynnyk.timetrack.exception;
+
+import org.springframework.http.HttpStatus;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+
+import java.net.URI;
+
+/**
+ * Types of the error responses, with the parts of their RFC 7807 problem details that do not depend on the request.
+ * <p>
+ * The status, {@code type} URI and title are built once per type, so an error response only adds the detail
+ * message of its exception.
+ * </p>
+ */
+public enum ErrorType {
+
+	/**
+	 * A requested task or time entry does not exist, e.g. a stale task ID.
+	 */
+	NOT_FOUND(HttpStatus.NOT_FOUND, "not-found", ExceptionConstants.Problem.NOT_FOUND_TITLE),
+
+	/**
+	 * A time entry cannot be started or stopped in the current status of its task.
+	 */
+	INVALID_TASK_STATE(HttpStatus.BAD_REQUEST, "invalid-task-state",
+			ExceptionConstants.Problem.INVALID_TASK_STATE_TITLE),
+
+	/**
+	 * Any other request conflicting with the current state.
+	 */
+	INVALID_STATE(HttpStatus.BAD_REQUEST, "invalid-state", ExceptionConstants.Problem.INVALID_STATE_TITLE),
+
+	/**
+	 * A malformed request, such as an invalid token or CSV header.
+	 */
+	INVALID_REQUEST(HttpStatus.BAD_REQUEST, "invalid-request", ExceptionConstants.Problem.INVALID_REQUEST_TITLE),
+
+	/**
+	 * A request shed because its concurrency limit was reached.
+	 */
+	OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "overloaded", ExceptionConstants.Problem.OVERLOADED_TITLE),
+
+	/**
+	 * A request of a tenant that is being moved to another shard.
+	 */
+	TENANT_MOVING(HttpStatus.SERVICE_UNAVAILABLE, "tenant-moving", ExceptionConstants.Problem.TENANT_MOVING_TITLE);
+
+	private final HttpStatus status;
+	private final String name;
+	private final URI type;
+	private final String title;
+
+	ErrorType(HttpStatus status, String name, String title) {
+		this.status = status;
+		this.name = name;
+		this.type = URI.create(ExceptionConstants.Problem.TYPE_PREFIX + name);
+		this.title = title;
+	}
+
+	/**
+	 * Returns the status code of the responses.
+	 *
+	 * @return the HTTP status
+	 */
+	public HttpStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Returns the name of the type, as used in the {@code type} URI and in metrics.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the problem {@code type} URI.
+	 *
+	 * @return the type URI
+	 */
+	public URI getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the problem title.
+	 *
+	 * @return the title
+	 */
+	public String getTitle() {
+		return title;
+	}
+}
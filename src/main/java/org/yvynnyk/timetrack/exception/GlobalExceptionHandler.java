@@ -1,41 +1,130 @@
 package org.yvynnyk.timetrack.exception;
 
-import org.springframework.http.HttpStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Global exception handler for managing exceptions across the application.
+ * <p>
+ * Errors are answered with RFC 7807 problem details ({@code application/problem+json}) of the {@link ErrorType}
+ * of the exception, whose status, {@code type} and title are built once; the detail is the exception message.
+ * Every error response is counted by {@link MetricsConstants.Errors#RESPONSES}, tagged with its type. The expected
+ * errors, {@link ResourceNotFoundException}, {@link InvalidTaskStateException} and {@link InvalidRequestException},
+ * capture no stack trace, so that they cost about as much as a successful response.
+ * </p>
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+	private final Map<ErrorType, Counter> errors = new EnumMap<>(ErrorType.class);
+
+	/**
+	 * Constructs a GlobalExceptionHandler.
+	 *
+	 * @param meterRegistry the registry for the error metrics
+	 */
+	public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+		for (ErrorType type : ErrorType.values()) {
+			errors.put(type, Counter.builder(MetricsConstants.Errors.RESPONSES)
+					.description("Error responses by type")
+					.tag(MetricsConstants.Tags.ERROR, type.getName())
+					.tag(MetricsConstants.Tags.STATUS, String.valueOf(type.getStatus().value()))
+					.register(meterRegistry));
+		}
+	}
+
+	/**
+	 * Handles InvalidTaskStateException and returns a 400 Bad Request response.
+	 *
+	 * @param ex the exception to handle
+	 * @return a problem response of type {@link ErrorType#INVALID_TASK_STATE}
+	 */
+	@ExceptionHandler(InvalidTaskStateException.class)
+	public ResponseEntity<ProblemDetail> handleInvalidTaskStateException(InvalidTaskStateException ex) {
+		return problem(ErrorType.INVALID_TASK_STATE, ex);
+	}
+
 	/**
 	 * Handles IllegalStateException and returns a 400 Bad Request response.
 	 *
 	 * @param ex the exception to handle
-	 * @return a response with the exception message and a 400 Bad Request status code
+	 * @return a problem response of type {@link ErrorType#INVALID_STATE}
 	 */
 	@ExceptionHandler(IllegalStateException.class)
-	@ResponseStatus(HttpStatus.BAD_REQUEST)
-	@ResponseBody
-	public ResponseEntity<String> handleIllegalStateException(IllegalStateException ex) {
-		return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+	public ResponseEntity<ProblemDetail> handleIllegalStateException(IllegalStateException ex) {
+		return problem(ErrorType.INVALID_STATE, ex);
+	}
+
+	/**
+	 * Handles InvalidRequestException and returns a 400 Bad Request response. Other illegal arguments are
+	 * programming errors and are left to the default handling.
+	 *
+	 * @param ex the exception to handle
+	 * @return a problem response of type {@link ErrorType#INVALID_REQUEST}
+	 */
+	@ExceptionHandler(InvalidRequestException.class)
+	public ResponseEntity<ProblemDetail> handleInvalidRequestException(InvalidRequestException ex) {
+		return problem(ErrorType.INVALID_REQUEST, ex);
 	}
 
 	/**
 	 * Handles ResourceNotFoundException and returns a 404 Not Found response.
 	 *
 	 * @param ex the exception to handle
-	 * @return a response with the exception message and a 404 Not Found status code
+	 * @return a problem response of type {@link ErrorType#NOT_FOUND}
 	 */
 	@ExceptionHandler(ResourceNotFoundException.class)
-	@ResponseStatus(HttpStatus.NOT_FOUND)
-	@ResponseBody
-	public ResponseEntity<String> handleResourceNotFoundException(ResourceNotFoundException ex) {
-		return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+	public ResponseEntity<ProblemDetail> handleResourceNotFoundException(ResourceNotFoundException ex) {
+		return problem(ErrorType.NOT_FOUND, ex);
+	}
+
+	/**
+	 * Handles TenantMovingException, usually the cause of the failure to begin a transaction, and returns a 503
+	 * Service Unavailable response.
+	 *
+	 * @param ex the exception to handle
+	 * @return a problem response of type {@link ErrorType#TENANT_MOVING}
+	 */
+	@ExceptionHandler(TenantMovingException.class)
+	public ResponseEntity<ProblemDetail> handleTenantMovingException(TenantMovingException ex) {
+		return problem(ErrorType.TENANT_MOVING, ex);
+	}
+
+	/**
+	 * Handles ConcurrencyLimitExceededException and returns a 503 Service Unavailable response with a
+	 * {@code Retry-After} header.
+	 *
+	 * @param ex the exception to handle
+	 * @return a problem response of type {@link ErrorType#OVERLOADED}
+	 */
+	@ExceptionHandler(ConcurrencyLimitExceededException.class)
+	public ResponseEntity<ProblemDetail> handleConcurrencyLimitExceededException(ConcurrencyLimitExceededException ex) {
+		long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+		errors.get(ErrorType.OVERLOADED).increment();
+		return ResponseEntity.status(ErrorType.OVERLOADED.getStatus())
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+				.body(detail(ErrorType.OVERLOADED, ex));
+	}
+
+	private ResponseEntity<ProblemDetail> problem(ErrorType type, RuntimeException ex) {
+		errors.get(type).increment();
+		return ResponseEntity.status(type.getStatus()).body(detail(type, ex));
+	}
+
+	private static ProblemDetail detail(ErrorType type, RuntimeException ex) {
+		ProblemDetail detail = ProblemDetail.forStatus(type.getStatus());
+		detail.setType(type.getType());
+		detail.setTitle(type.getTitle());
+		detail.setDetail(ex.getMessage());
+		return detail;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package org.yvynnyk.timetrack.exception;
+
+/**
+ * Exception thrown when the input of a request is invalid, e.g. a malformed synchronization token or CSV import.
+ * <p>
+ * Like {@link ResourceNotFoundException}, this is an expected outcome of client requests and does not capture a
+ * stack trace. It remains an {@link IllegalArgumentException} for callers handling invalid arguments in general,
+ * while only this type is answered with 400 Bad Request, so that other illegal arguments surface as server errors.
+ * </p>
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+	/**
+	 * Constructs a new InvalidRequestException with the specified detail message.
+	 *
+	 * @param message the detail message
+	 */
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+
+	/**
+	 * Does not capture the stack trace, see the class description.
+	 *
+	 * @return this exception
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
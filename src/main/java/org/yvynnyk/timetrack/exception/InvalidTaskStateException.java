@@ -0,0 +1,30 @@
+package org.yvynnyk.timetrack.exception;
+
+/**
+ * Exception thrown when a time entry cannot be started or stopped in the current status of its task.
+ * <p>
+ * Like {@link ResourceNotFoundException}, this is an expected outcome of client requests and does not capture a
+ * stack trace. It remains an {@link IllegalStateException} for callers handling invalid states in general.
+ * </p>
+ */
+public class InvalidTaskStateException extends IllegalStateException {
+
+	/**
+	 * Constructs a new InvalidTaskStateException with the specified detail message.
+	 *
+	 * @param message the detail message
+	 */
+	public InvalidTaskStateException(String message) {
+		super(message);
+	}
+
+	/**
+	 * Does not capture the stack trace, see the class description.
+	 *
+	 * @return this exception
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
@@ -2,6 +2,10 @@ package org.yvynnyk.timetrack.exception;
 
 /**
  * Exception thrown when a requested resource is not found.
+ * <p>
+ * Clients regularly request stale task IDs, so this is an expected outcome rather than a failure: the exception
+ * does not capture a stack trace, which would cost more than the lookup that failed.
+ * </p>
  */
 public class ResourceNotFoundException extends RuntimeException {
 
@@ -11,6 +15,6 @@ public class ResourceNotFoundException extends RuntimeException {
 	 * @param message the detail message
 	 */
 	public ResourceNotFoundException(String message) {
-		super(message);
+		super(message, null, false, false);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package org.yvynnyk.timetrack.exception;
+
+/**
+ * Exception thrown when work of a tenant is started while the tenant is being moved between shards.
+ * <p>
+ * The move fences the tenant for a short time, during which every request of the tenant fails with this exception,
+ * so it does not capture a stack trace.
+ * </p>
+ */
+public class TenantMovingException extends RuntimeException {
+
+	/**
+	 * Constructs a new TenantMovingException with the specified detail message.
+	 *
+	 * @param message the detail message
+	 */
+	public TenantMovingException(String message) {
+		super(message, null, false, false);
+	}
+}
@@ -0,0 +1,67 @@
+package org.yvynnyk.timetrack.imports;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link StagingWriter} inserting the rows with batched {@code INSERT} statements, for databases without
+ * {@code COPY}, such as H2 in the tests.
+ */
+public class BatchStagingWriter implements StagingWriter {
+
+	private final PreparedStatement insert;
+	private final int batchSize;
+
+	private int batched;
+
+	/**
+	 * Constructs a BatchStagingWriter.
+	 *
+	 * @param connection the connection of the importing transaction
+	 * @param table      the staging table
+	 * @param columns    the staging columns
+	 * @param batchSize  the rows sent per batch
+	 * @throws SQLException if the statement cannot be prepared
+	 */
+	public BatchStagingWriter(Connection connection, String table, List<String> columns, int batchSize)
+			throws SQLException {
+		this.insert = connection.prepareStatement("insert into " + table + " (" + String.join(", ", columns)
+				+ ") values (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")");
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void write(Object[] row) throws SQLException {
+		for (int i = 0; i < row.length; i++) {
+			insert.setObject(i + 1, row[i]);
+		}
+		insert.addBatch();
+		if (++batched == batchSize) {
+			insert.executeBatch();
+			batched = 0;
+		}
+	}
+
+	@Override
+	public void finish() throws SQLException {
+		try {
+			if (batched > 0) {
+				insert.executeBatch();
+			}
+		} finally {
+			insert.close();
+		}
+	}
+
+	@Override
+	public void abort() {
+		try {
+			insert.close();
+		} catch (SQLException e) {
+			// the transaction is rolled back anyway
+		}
+	}
+}
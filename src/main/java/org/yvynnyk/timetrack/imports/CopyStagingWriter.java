@@ -0,0 +1,86 @@
+package org.yvynnyk.timetrack.imports;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * {@link StagingWriter} streaming the rows to PostgreSQL with {@code COPY ... FROM STDIN} in CSV format.
+ * <p>
+ * The rows are encoded into a buffer and sent in large chunks, without a statement or round trip per row.
+ * {@code null} is written as an unquoted empty field, every string is quoted, and timestamps are written in
+ * ISO-8601 form.
+ * </p>
+ */
+public class CopyStagingWriter implements StagingWriter {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final PGCopyOutputStream copy;
+	private final Writer writer;
+
+	/**
+	 * Constructs a CopyStagingWriter and starts the copy.
+	 *
+	 * @param connection the connection of the importing transaction
+	 * @param table      the staging table
+	 * @param columns    the staging columns
+	 * @throws SQLException if the copy cannot be started
+	 */
+	public CopyStagingWriter(PGConnection connection, String table, List<String> columns) throws SQLException {
+		this.copy = new PGCopyOutputStream(connection,
+				"copy " + table + " (" + String.join(", ", columns) + ") from stdin with (format csv)", BUFFER_SIZE);
+		this.writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE);
+	}
+
+	@Override
+	public void write(Object[] row) throws IOException {
+		for (int i = 0; i < row.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			Object value = row[i];
+			if (value instanceof String string) {
+				writeQuoted(string);
+			} else if (value != null) {
+				writer.write(value.toString());
+			}
+		}
+		writer.write('\n');
+	}
+
+	@Override
+	public void finish() throws IOException {
+		writer.close();
+	}
+
+	@Override
+	public void abort() {
+		try {
+			if (copy.isActive()) {
+				copy.cancelCopy();
+			}
+		} catch (SQLException e) {
+			// the transaction is rolled back anyway
+		}
+	}
+
+	private void writeQuoted(String value) throws IOException {
+		writer.write('"');
+		int start = 0;
+		for (int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', start)) {
+			writer.write(value, start, i + 1 - start);
+			writer.write('"');
+			start = i + 1;
+		}
+		writer.write(value, start, value.length() - start);
+		writer.write('"');
+	}
+}
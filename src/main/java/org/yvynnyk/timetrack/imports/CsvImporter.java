@@ -0,0 +1,213 @@
+package org.yvynnyk.timetrack.imports;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.cache.TaskChanges;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.dto.ImportRejectionDTO;
+import org.yvynnyk.timetrack.dto.ImportReportDTO;
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
+import org.yvynnyk.timetrack.statistics.TaskDurationStatistics;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * Imports tasks and time entries of the current tenant from CSV, e.g. when migrating from another tracker.
+ * <p>
+ * An import runs in one transaction on the tenant's database. The input is read as a stream, record by record;
+ * every row is checked on its own and written into a temporary staging table, with {@code COPY} on PostgreSQL and
+ * with batched inserts on other databases. The {@link ImportFormat} then rejects conflicting rows with a few
+ * set-based statements and inserts the others with one {@code INSERT ... SELECT}, so the cost per row stays that of
+ * the copy. Rejected rows are reported by line with their reason; the first header line names the columns.
+ * </p>
+ * <p>
+ * Imports bypass the services: they record no outbox or status events, and only invalidate the cached task lists.
+ * The number of rows per second of every import is logged and reported.
+ * </p>
+ */
+public class CsvImporter {
+
+	private static final Logger logger = LoggerFactory.getLogger(CsvImporter.class);
+
+	private final JdbcTemplate jdbc;
+	private final TransactionTemplate transactions;
+	private final ImportProperties properties;
+	private final String defaultTenant;
+	private final MeterRegistry meterRegistry;
+	private final TaskImportFormat tasks;
+	private final TimeEntryImportFormat timeEntries;
+
+	/**
+	 * Constructs a CsvImporter.
+	 *
+	 * @param dataSource         the application's DataSource
+	 * @param transactionManager the application's transaction manager
+	 * @param taskChanges        the recorder of task changes
+	 * @param taskDurations      the task duration statistics
+	 * @param properties         the import properties
+	 * @param defaultTenant      the tenant of callers without a bound tenant
+	 * @param meterRegistry      the registry for the import metrics
+	 */
+	public CsvImporter(DataSource dataSource, PlatformTransactionManager transactionManager, TaskChanges taskChanges,
+					   TaskDurationStatistics taskDurations, ImportProperties properties, String defaultTenant,
+					   MeterRegistry meterRegistry) {
+		this.jdbc = new JdbcTemplate(dataSource);
+		this.transactions = new TransactionTemplate(transactionManager);
+		this.properties = properties;
+		this.defaultTenant = defaultTenant;
+		this.meterRegistry = meterRegistry;
+		this.tasks = new TaskImportFormat(taskChanges);
+		this.timeEntries = new TimeEntryImportFormat(taskDurations);
+	}
+
+	/**
+	 * Imports tasks, see {@link TaskImportFormat}.
+	 *
+	 * @param input the CSV input
+	 * @return the report of the import
+	 * @throws InvalidRequestException if the header is not the expected one, the CSV is malformed or the current
+	 *                                 tenant is {@link TenantContext#ROOT}
+	 */
+	public ImportReportDTO importTasks(Reader input) {
+		return importRows(tasks, input);
+	}
+
+	/**
+	 * Imports time entries, see {@link TimeEntryImportFormat}.
+	 *
+	 * @param input the CSV input
+	 * @return the report of the import
+	 * @throws InvalidRequestException if the header is not the expected one, the CSV is malformed or the current
+	 *                                 tenant is {@link TenantContext#ROOT}
+	 */
+	public ImportReportDTO importTimeEntries(Reader input) {
+		return importRows(timeEntries, input);
+	}
+
+	private ImportReportDTO importRows(ImportFormat format, Reader input) {
+		String tenant = TenantContext.current() != null ? TenantContext.current() : defaultTenant;
+		if (TenantContext.ROOT.equals(tenant)) {
+			throw new InvalidRequestException(ExceptionConstants.Import.TENANT_REQUIRED);
+		}
+		long started = System.nanoTime();
+		ImportReportDTO report = transactions.execute(status -> {
+			jdbc.execute(format.createStage());
+			long rows = jdbc.execute((ConnectionCallback<Long>) connection -> stage(connection, format, input));
+			format.validate(jdbc, tenant);
+			int imported = format.insert(jdbc, tenant);
+			format.imported(jdbc, tenant);
+			Long rejected = jdbc.queryForObject("select count(*) from " + format.stageTable()
+					+ " where reason is not null", Long.class);
+			List<ImportRejectionDTO> rejections = jdbc.query("select line, reason from " + format.stageTable()
+							+ " where reason is not null order by line limit ?",
+					(rs, rowNum) -> new ImportRejectionDTO(rs.getLong(1), rs.getString(2)),
+					properties.getMaxReportedRejections());
+			return new ImportReportDTO(format.kind(), rows, imported, rejected != null ? rejected : 0, rejections,
+					0, 0);
+		});
+		long elapsed = System.nanoTime() - started;
+		report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed));
+		report.setRowsPerSecond(report.getRows() * 1e9 / Math.max(elapsed, 1));
+		record(report, elapsed);
+		return report;
+	}
+
+	private long stage(Connection connection, ImportFormat format, Reader input) throws SQLException {
+		CsvReader csv = new CsvReader(input);
+		List<String> header = format.header();
+		int width = header.size();
+		StagingWriter writer = null;
+		try {
+			checkHeader(header, csv.next());
+			writer = connection.isWrapperFor(PGConnection.class)
+					? new CopyStagingWriter(connection.unwrap(PGConnection.class), format.stageTable(),
+					format.stageColumns())
+					: new BatchStagingWriter(connection, format.stageTable(), format.stageColumns(),
+					properties.getBatchSize());
+			Object[] values = new Object[width];
+			Object[] row = new Object[width + 2];
+			long rows = 0;
+			for (List<String> fields = csv.next(); fields != null; fields = csv.next()) {
+				Arrays.fill(values, null);
+				String reason = fields.size() == width
+						? format.parse(fields, values)
+						: ExceptionConstants.Import.WRONG_COLUMN_COUNT.formatted(width, fields.size());
+				row[0] = csv.line();
+				System.arraycopy(values, 0, row, 1, width);
+				row[width + 1] = reason;
+				writer.write(row);
+				rows++;
+			}
+			writer.finish();
+			return rows;
+		} catch (IOException e) {
+			if (writer != null) {
+				writer.abort();
+			}
+			throw new UncheckedIOException(ExceptionConstants.Import.INPUT_NOT_READABLE, e);
+		} catch (RuntimeException | SQLException e) {
+			if (writer != null) {
+				writer.abort();
+			}
+			throw e;
+		}
+	}
+
+	private static void checkHeader(List<String> expected, List<String> header) {
+		List<String> actual = header == null ? List.of() : header.stream()
+				.map(column -> column == null ? "" : column.strip().toLowerCase(Locale.ROOT))
+				.toList();
+		if (!actual.equals(expected)) {
+			throw new InvalidRequestException(ExceptionConstants.Import.UNEXPECTED_HEADER.formatted(
+					String.join(",", expected), String.join(",", actual)));
+		}
+	}
+
+	private void record(ImportReportDTO report, long elapsedNanos) {
+		Counter.builder(MetricsConstants.Import.ROWS)
+				.description("Rows read by the CSV import")
+				.tag(MetricsConstants.Tags.KIND, report.getKind())
+				.tag(MetricsConstants.Tags.OUTCOME, MetricsConstants.Outcome.SUCCESS)
+				.register(meterRegistry)
+				.increment(report.getImported());
+		Counter.builder(MetricsConstants.Import.ROWS)
+				.description("Rows read by the CSV import")
+				.tag(MetricsConstants.Tags.KIND, report.getKind())
+				.tag(MetricsConstants.Tags.OUTCOME, MetricsConstants.Outcome.REJECTED)
+				.register(meterRegistry)
+				.increment(report.getRejected());
+		Timer.builder(MetricsConstants.Import.DURATION)
+				.description("Duration of the CSV imports")
+				.tag(MetricsConstants.Tags.KIND, report.getKind())
+				.register(meterRegistry)
+				.record(elapsedNanos, TimeUnit.NANOSECONDS);
+		logger.info(LoggingConstants.Import.COMPLETED,
+				value(LoggingConstants.Fields.IMPORTED, report.getImported()),
+				value(LoggingConstants.Fields.KIND, report.getKind()),
+				value(LoggingConstants.Fields.ROWS, report.getRows()),
+				value(LoggingConstants.Fields.REJECTED, report.getRejected()),
+				value(LoggingConstants.Fields.ROWS_PER_SECOND, Math.round(report.getRowsPerSecond())));
+	}
+}
@@ -0,0 +1,127 @@
+package org.yvynnyk.timetrack.imports;
+
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads comma-separated records as described by RFC 4180, one record at a time.
+ * <p>
+ * Fields may be quoted with {@code "}, in which case they may contain commas, line breaks and doubled quotes.
+ * Records end with {@code \n} or {@code \r\n}. Unquoted fields are taken as they are, quoted empty fields are empty
+ * strings and unquoted empty fields are {@code null}, as in PostgreSQL's CSV format. Empty lines are skipped.
+ * </p>
+ */
+public class CsvReader {
+
+	private static final int QUOTE = '"';
+	private static final int SEPARATOR = ',';
+
+	private final Reader reader;
+	private final StringBuilder field = new StringBuilder();
+
+	private long line = 1;
+	private long recordLine;
+	private int pushedBack = -2;
+
+	/**
+	 * Constructs a CsvReader.
+	 *
+	 * @param reader the input; it is read as a stream and should be buffered
+	 */
+	public CsvReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Reads the next record.
+	 *
+	 * @return the fields of the record, or {@code null} at the end of the input
+	 * @throws IOException             if the input cannot be read
+	 * @throws InvalidRequestException if a quoted field is not closed or is followed by other characters
+	 */
+	public List<String> next() throws IOException {
+		int c = read();
+		while (c == '\r' || c == '\n') {
+			c = endOfLine(c);
+		}
+		if (c < 0) {
+			return null;
+		}
+		recordLine = line;
+		List<String> fields = new ArrayList<>();
+		while (true) {
+			boolean quoted = c == QUOTE;
+			field.setLength(0);
+			c = quoted ? readQuoted() : readUnquoted(c);
+			fields.add(quoted || !field.isEmpty() ? field.toString() : null);
+			if (c == SEPARATOR) {
+				c = read();
+				continue;
+			}
+			if (c >= 0) {
+				pushedBack = endOfLine(c);
+			}
+			return fields;
+		}
+	}
+
+	/**
+	 * The line at which the last record read starts, counting from 1.
+	 *
+	 * @return the line of the last record
+	 */
+	public long line() {
+		return recordLine;
+	}
+
+	private int readUnquoted(int c) throws IOException {
+		while (c >= 0 && c != SEPARATOR && c != '\r' && c != '\n') {
+			field.append((char) c);
+			c = read();
+		}
+		return c;
+	}
+
+	private int readQuoted() throws IOException {
+		while (true) {
+			int c = read();
+			if (c < 0) {
+				throw new InvalidRequestException("Unterminated quoted field at line " + recordLine);
+			}
+			if (c == QUOTE) {
+				c = read();
+				if (c != QUOTE) {
+					if (c >= 0 && c != SEPARATOR && c != '\r' && c != '\n') {
+						throw new InvalidRequestException("Unexpected character after quoted field at line " + line);
+					}
+					return c;
+				}
+			} else if (c == '\n') {
+				line++;
+			}
+			field.append((char) c);
+		}
+	}
+
+	private int endOfLine(int c) throws IOException {
+		line++;
+		int next = read();
+		if (c == '\r' && next == '\n') {
+			next = read();
+		}
+		return next;
+	}
+
+	private int read() throws IOException {
+		if (pushedBack != -2) {
+			int c = pushedBack;
+			pushedBack = -2;
+			return c;
+		}
+		return reader.read();
+	}
+}
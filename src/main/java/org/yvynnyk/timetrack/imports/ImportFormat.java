@@ -0,0 +1,170 @@
+package org.yvynnyk.timetrack.imports;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rows of one kind that the {@link CsvImporter} imports, and how.
+ * <p>
+ * A format checks every row on its own while it is read, e.g. for missing values and malformed timestamps, and
+ * stages the row in its temporary staging table together with its line and the reason it was rejected, if any.
+ * Once all rows are staged, it validates them against each other and against the stored data with a few
+ * set-based statements, marking further rows as rejected, and inserts the remaining ones with one statement.
+ * </p>
+ */
+public abstract class ImportFormat {
+
+	/**
+	 * Column of the staging tables holding the line of a row.
+	 */
+	protected static final String LINE = "line";
+
+	/**
+	 * Column of the staging tables holding the rejection reason of a row, {@code null} for valid rows.
+	 */
+	protected static final String REASON = "reason";
+
+	/**
+	 * Length of the rejection reasons.
+	 */
+	protected static final int REASON_LENGTH = 255;
+
+	/**
+	 * The kind of the imported rows, as used in URLs, logs and metrics.
+	 *
+	 * @return the kind
+	 */
+	public abstract String kind();
+
+	/**
+	 * The columns of the CSV header, in order, which are also the staging columns of the values.
+	 *
+	 * @return the expected header
+	 */
+	public abstract List<String> header();
+
+	/**
+	 * The name of the temporary staging table.
+	 *
+	 * @return the staging table
+	 */
+	public abstract String stageTable();
+
+	/**
+	 * The statement creating the staging table, dropped when the transaction ends.
+	 *
+	 * @return the {@code create} statement
+	 */
+	public abstract String createStage();
+
+	/**
+	 * Converts and checks the fields of one row.
+	 *
+	 * @param fields the fields, as many as the header has
+	 * @param values the staged values to fill, in the order of {@link #header()}
+	 * @return the reason the row is rejected, or {@code null} if it is valid on its own
+	 */
+	public abstract String parse(List<String> fields, Object[] values);
+
+	/**
+	 * Marks the staged rows that conflict with each other or with the stored data as rejected.
+	 *
+	 * @param jdbc   the template of the importing transaction
+	 * @param tenant the importing tenant
+	 */
+	public abstract void validate(JdbcTemplate jdbc, String tenant);
+
+	/**
+	 * Inserts the valid staged rows.
+	 *
+	 * @param jdbc   the template of the importing transaction
+	 * @param tenant the importing tenant
+	 * @return the number of inserted rows
+	 */
+	public abstract int insert(JdbcTemplate jdbc, String tenant);
+
+	/**
+	 * Called after the insertion, in the importing transaction, e.g. to register work to do after the commit.
+	 *
+	 * @param jdbc   the template of the importing transaction
+	 * @param tenant the importing tenant
+	 */
+	public void imported(JdbcTemplate jdbc, String tenant) {
+	}
+
+	/**
+	 * All staging columns: the line, the values and the rejection reason.
+	 *
+	 * @return the staging columns
+	 */
+	public List<String> stageColumns() {
+		List<String> columns = new ArrayList<>(header().size() + 2);
+		columns.add(LINE);
+		columns.addAll(header());
+		columns.add(REASON);
+		return columns;
+	}
+
+	/**
+	 * Checks a required value.
+	 *
+	 * @param column    the column name, for the rejection reason
+	 * @param value     the value
+	 * @param maxLength the maximum length
+	 * @return the reason the value is rejected, or {@code null}
+	 */
+	protected static String required(String column, String value, int maxLength) {
+		if (value == null || value.isBlank()) {
+			return ExceptionConstants.Import.MISSING_VALUE.formatted(column);
+		}
+		return optional(column, value, maxLength);
+	}
+
+	/**
+	 * Checks an optional value.
+	 *
+	 * @param column    the column name, for the rejection reason
+	 * @param value     the value, possibly {@code null}
+	 * @param maxLength the maximum length
+	 * @return the reason the value is rejected, or {@code null}
+	 */
+	protected static String optional(String column, String value, int maxLength) {
+		if (value != null && value.length() > maxLength) {
+			return ExceptionConstants.Import.VALUE_TOO_LONG.formatted(column, maxLength);
+		}
+		return null;
+	}
+
+	/**
+	 * Parses an ISO-8601 local date-time, whose date and time may also be separated by a space.
+	 *
+	 * @param value the value, not blank
+	 * @return the date-time, or {@code null} if the value is malformed
+	 */
+	protected static LocalDateTime timestamp(String value) {
+		String stripped = value.strip();
+		String iso = stripped.length() > 10 && stripped.charAt(10) == ' '
+				? stripped.substring(0, 10) + 'T' + stripped.substring(11)
+				: stripped;
+		try {
+			return LocalDateTime.parse(iso);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Whether a value is absent.
+	 *
+	 * @param value the value
+	 * @return {@code true} if the value is {@code null} or blank
+	 */
+	protected static boolean blank(String value) {
+		return value == null || value.isBlank();
+	}
+}
@@ -0,0 +1,22 @@
+package org.yvynnyk.timetrack.imports;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the CSV import, bound from the {@code timetrack.import} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.import")
+public class ImportProperties {
+
+	/**
+	 * Rows staged per batch on databases without {@code COPY}.
+	 */
+	private int batchSize = 1000;
+
+	/**
+	 * Rejected rows listed in an import report; all of them are counted.
+	 */
+	private int maxReportedRejections = 100;
+}
@@ -0,0 +1,95 @@
+package org.yvynnyk.timetrack.imports;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * Command-line entry point of the {@link CsvImporter}, run instead of serving requests.
+ * <p>
+ * Started with {@code --timetrack.import.tasks=<file>} and/or {@code --timetrack.import.time-entries=<file>}, it
+ * imports the files into the tenant {@code --timetrack.import.tenant}, or the default tenant, tasks first so that
+ * the time entries can refer to them. Every import logs its report. The application exits when done, with a
+ * non-zero code if an import failed.
+ * </p>
+ */
+public class ImportRunner implements ApplicationRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImportRunner.class);
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final CsvImporter importer;
+	private final ConfigurableApplicationContext context;
+	private final String tasksFile;
+	private final String timeEntriesFile;
+	private final String tenantId;
+
+	/**
+	 * Constructs an ImportRunner.
+	 *
+	 * @param importer        the importer
+	 * @param context         the application context, closed when done
+	 * @param tasksFile       the tasks to import, or {@code null}
+	 * @param timeEntriesFile the time entries to import, or {@code null}
+	 * @param tenantId        the importing tenant, or {@code null} for the default tenant
+	 */
+	public ImportRunner(CsvImporter importer, ConfigurableApplicationContext context, String tasksFile,
+						String timeEntriesFile, String tenantId) {
+		this.importer = importer;
+		this.context = context;
+		this.tasksFile = tasksFile;
+		this.timeEntriesFile = timeEntriesFile;
+		this.tenantId = tenantId;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		int exitCode = 0;
+		if (tenantId != null && !tenantId.isBlank()) {
+			TenantContext.bind(tenantId);
+		}
+		try {
+			importFile(tasksFile, importer::importTasks);
+			importFile(timeEntriesFile, importer::importTimeEntries);
+		} catch (RuntimeException e) {
+			exitCode = 1;
+		} finally {
+			TenantContext.unbind();
+		}
+		int code = exitCode;
+		System.exit(SpringApplication.exit(context, () -> code));
+	}
+
+	private static void importFile(String file, Function<Reader, ?> importRows) {
+		if (file == null || file.isBlank()) {
+			return;
+		}
+		try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+			importRows.apply(reader);
+		} catch (IOException e) {
+			logger.error(LoggingConstants.Import.FAILED, value(LoggingConstants.Fields.FILE, file),
+					value(LoggingConstants.Fields.REASON, e.getMessage()), e);
+			throw new UncheckedIOException(e);
+		} catch (RuntimeException e) {
+			logger.error(LoggingConstants.Import.FAILED, value(LoggingConstants.Fields.FILE, file),
+					value(LoggingConstants.Fields.REASON, e.getMessage()), e);
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package org.yvynnyk.timetrack.imports;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Writes rows into a staging table on the connection of the importing transaction.
+ */
+public interface StagingWriter {
+
+	/**
+	 * Writes a row.
+	 *
+	 * @param row the values, in the order of the staging columns
+	 * @throws SQLException if the database rejects the row
+	 * @throws IOException  if the row cannot be sent
+	 */
+	void write(Object[] row) throws SQLException, IOException;
+
+	/**
+	 * Sends the remaining rows and ends the writing.
+	 *
+	 * @throws SQLException if the database rejects the rows
+	 * @throws IOException  if the rows cannot be sent
+	 */
+	void finish() throws SQLException, IOException;
+
+	/**
+	 * Abandons the writing after a failure, discarding unsent rows.
+	 */
+	void abort();
+}
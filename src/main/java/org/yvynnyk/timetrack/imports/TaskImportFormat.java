@@ -0,0 +1,141 @@
+package org.yvynnyk.timetrack.imports;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.yvynnyk.timetrack.cache.TaskChanges;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Import of tasks, from the columns {@code ref,name,description,status,created_at}.
+ * <p>
+ * {@code ref} is the task's identifier in the tracker it comes from, kept as the task's {@code import_ref} so that
+ * imported time entries can refer to it; it is optional, but unique per tenant. {@code status} defaults to
+ * {@code COMPLETED} and may not be {@code IN_PROGRESS}, since the task would lack its running time entry;
+ * {@code created_at} defaults to the time of the import, which is the tasks' change time in any case, so that
+ * synchronizing clients receive them.
+ * </p>
+ * <p>
+ * The index on the staged references is built once the rows are staged, which is cheaper than maintaining it
+ * during the copy.
+ * </p>
+ */
+public class TaskImportFormat extends ImportFormat {
+
+	private static final String STAGE = "task_import";
+
+	private static final int REF_LENGTH = 64;
+	private static final int TEXT_LENGTH = 255;
+
+	private static final String CREATE_STAGE = "create local temporary table " + STAGE + " ("
+			+ "line bigint not null, ref varchar(" + REF_LENGTH + "), name varchar(" + TEXT_LENGTH + "), "
+			+ "description varchar(" + TEXT_LENGTH + "), status varchar(32), created_at timestamp, "
+			+ "reason varchar(" + REASON_LENGTH + ")) on commit drop";
+
+	private static final String INDEX_REF = "create index " + STAGE + "_ref on " + STAGE + " (ref)";
+
+	private static final String REJECT_DUPLICATE = "update " + STAGE + " s set reason = ? "
+			+ "where s.reason is null and s.ref is not null "
+			+ "and exists (select 1 from " + STAGE + " d where d.ref = s.ref and d.line < s.line)";
+
+	private static final String REJECT_EXISTING = "update " + STAGE + " s set reason = ? "
+			+ "where s.reason is null and s.ref is not null "
+			+ "and exists (select 1 from task t where t.tenant_id = ? and t.import_ref = s.ref)";
+
+	private static final String INSERT = "insert into task "
+			+ "(name, description, status, created_at, changed_at, tenant_id, import_ref) "
+			+ "select name, description, status, coalesce(created_at, ?), ?, ?, ref from " + STAGE + " "
+			+ "where reason is null order by line";
+
+	private final TaskChanges taskChanges;
+
+	/**
+	 * Constructs a TaskImportFormat.
+	 *
+	 * @param taskChanges the recorder of task changes, invalidating the cached task lists
+	 */
+	public TaskImportFormat(TaskChanges taskChanges) {
+		this.taskChanges = taskChanges;
+	}
+
+	@Override
+	public String kind() {
+		return "tasks";
+	}
+
+	@Override
+	public List<String> header() {
+		return List.of("ref", "name", "description", "status", "created_at");
+	}
+
+	@Override
+	public String stageTable() {
+		return STAGE;
+	}
+
+	@Override
+	public String createStage() {
+		return CREATE_STAGE;
+	}
+
+	@Override
+	public String parse(List<String> fields, Object[] values) {
+		String ref = blank(fields.get(0)) ? null : fields.get(0).strip();
+		String name = fields.get(1);
+		String description = fields.get(2);
+		String reason = optional("ref", ref, REF_LENGTH);
+		if (reason == null) {
+			reason = required("name", name, TEXT_LENGTH);
+		}
+		if (reason == null) {
+			reason = optional("description", description, TEXT_LENGTH);
+		}
+		TaskStatus status = TaskStatus.COMPLETED;
+		if (reason == null && !blank(fields.get(3))) {
+			try {
+				status = TaskStatus.valueOf(fields.get(3).strip());
+			} catch (IllegalArgumentException e) {
+				reason = ExceptionConstants.Import.UNKNOWN_STATUS.formatted(fields.get(3));
+			}
+		}
+		if (reason == null && status == TaskStatus.IN_PROGRESS) {
+			reason = ExceptionConstants.Import.IN_PROGRESS_NOT_IMPORTABLE;
+		}
+		LocalDateTime createdAt = null;
+		if (reason == null && !blank(fields.get(4))) {
+			createdAt = timestamp(fields.get(4));
+			if (createdAt == null) {
+				reason = ExceptionConstants.Import.INVALID_TIMESTAMP.formatted("created_at");
+			}
+		}
+		if (reason != null) {
+			return reason;
+		}
+		values[0] = ref;
+		values[1] = name;
+		values[2] = description;
+		values[3] = status.name();
+		values[4] = createdAt;
+		return null;
+	}
+
+	@Override
+	public void validate(JdbcTemplate jdbc, String tenant) {
+		jdbc.execute(INDEX_REF);
+		jdbc.update(REJECT_DUPLICATE, ExceptionConstants.Import.DUPLICATE_TASK_REFERENCE);
+		jdbc.update(REJECT_EXISTING, ExceptionConstants.Import.TASK_REFERENCE_EXISTS, tenant);
+	}
+
+	@Override
+	public int insert(JdbcTemplate jdbc, String tenant) {
+		LocalDateTime now = LocalDateTime.now();
+		return jdbc.update(INSERT, now, now, tenant);
+	}
+
+	@Override
+	public void imported(JdbcTemplate jdbc, String tenant) {
+		taskChanges.added();
+	}
+}
@@ -0,0 +1,158 @@
+package org.yvynnyk.timetrack.imports;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.statistics.TaskDurationStatistics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import of completed time entries, from the columns {@code task_ref,start_time,end_time}.
+ * <p>
+ * {@code task_ref} refers to a task imported before by its {@code ref}; the references are resolved to task IDs
+ * with one update of the staging table. A task has at most one time entry, and only completed tasks may get one,
+ * so rows for other tasks, for tasks that already have a time entry or for a task of an earlier row are rejected.
+ * </p>
+ * <p>
+ * Imported entries that completed within the longest window of the {@link TaskDurationStatistics} are added to the
+ * statistics once the import commits.
+ * </p>
+ */
+public class TimeEntryImportFormat extends ImportFormat {
+
+	private static final String STAGE = "time_entry_import";
+
+	private static final int REF_LENGTH = 64;
+
+	private static final String CREATE_STAGE = "create local temporary table " + STAGE + " ("
+			+ "line bigint not null, task_ref varchar(" + REF_LENGTH + "), start_time timestamp, end_time timestamp, "
+			+ "task_id bigint, reason varchar(" + REASON_LENGTH + ")) on commit drop";
+
+	private static final String RESOLVE = "update " + STAGE + " s set task_id = "
+			+ "(select t.id from task t where t.tenant_id = ? and t.import_ref = s.task_ref) where s.reason is null";
+
+	private static final String REJECT_UNKNOWN = "update " + STAGE + " set reason = ? "
+			+ "where reason is null and task_id is null";
+
+	private static final String INDEX_TASK = "create index " + STAGE + "_task on " + STAGE + " (task_id)";
+
+	private static final String REJECT_NOT_COMPLETED = "update " + STAGE + " s set reason = ? "
+			+ "where s.reason is null and exists (select 1 from task t where t.id = s.task_id and t.status <> ?)";
+
+	private static final String REJECT_DUPLICATE = "update " + STAGE + " s set reason = ? "
+			+ "where s.reason is null "
+			+ "and exists (select 1 from " + STAGE + " d where d.task_id = s.task_id and d.line < s.line)";
+
+	private static final String REJECT_EXISTING = "update " + STAGE + " s set reason = ? "
+			+ "where s.reason is null and exists (select 1 from time_entry e where e.task_id = s.task_id)";
+
+	private static final String INSERT = "insert into time_entry (task_id, start_time, end_time, tenant_id) "
+			+ "select task_id, start_time, end_time, ? from " + STAGE + " where reason is null order by line";
+
+	private static final String SELECT_RECENT = "select start_time, end_time from " + STAGE + " "
+			+ "where reason is null and end_time >= ?";
+
+	private final TaskDurationStatistics taskDurations;
+
+	/**
+	 * Constructs a TimeEntryImportFormat.
+	 *
+	 * @param taskDurations the task duration statistics
+	 */
+	public TimeEntryImportFormat(TaskDurationStatistics taskDurations) {
+		this.taskDurations = taskDurations;
+	}
+
+	@Override
+	public String kind() {
+		return "time-entries";
+	}
+
+	@Override
+	public List<String> header() {
+		return List.of("task_ref", "start_time", "end_time");
+	}
+
+	@Override
+	public String stageTable() {
+		return STAGE;
+	}
+
+	@Override
+	public String createStage() {
+		return CREATE_STAGE;
+	}
+
+	@Override
+	public String parse(List<String> fields, Object[] values) {
+		String taskRef = blank(fields.get(0)) ? null : fields.get(0).strip();
+		String reason = required("task_ref", taskRef, REF_LENGTH);
+		LocalDateTime startTime = null;
+		LocalDateTime endTime = null;
+		if (reason == null) {
+			reason = required("start_time", fields.get(1), Integer.MAX_VALUE);
+		}
+		if (reason == null) {
+			startTime = timestamp(fields.get(1));
+			if (startTime == null) {
+				reason = ExceptionConstants.Import.INVALID_TIMESTAMP.formatted("start_time");
+			}
+		}
+		if (reason == null) {
+			reason = required("end_time", fields.get(2), Integer.MAX_VALUE);
+		}
+		if (reason == null) {
+			endTime = timestamp(fields.get(2));
+			if (endTime == null) {
+				reason = ExceptionConstants.Import.INVALID_TIMESTAMP.formatted("end_time");
+			} else if (endTime.isBefore(startTime)) {
+				reason = ExceptionConstants.Import.END_BEFORE_START;
+			}
+		}
+		if (reason != null) {
+			return reason;
+		}
+		values[0] = taskRef;
+		values[1] = startTime;
+		values[2] = endTime;
+		return null;
+	}
+
+	@Override
+	public void validate(JdbcTemplate jdbc, String tenant) {
+		jdbc.update(RESOLVE, tenant);
+		jdbc.update(REJECT_UNKNOWN, ExceptionConstants.Import.UNKNOWN_TASK_REFERENCE);
+		jdbc.execute(INDEX_TASK);
+		jdbc.update(REJECT_NOT_COMPLETED, ExceptionConstants.Import.TASK_NOT_COMPLETED,
+				TaskStatus.COMPLETED.name());
+		jdbc.update(REJECT_DUPLICATE, ExceptionConstants.Import.DUPLICATE_TIME_ENTRY);
+		jdbc.update(REJECT_EXISTING, ExceptionConstants.Import.TIME_ENTRY_EXISTS);
+	}
+
+	@Override
+	public int insert(JdbcTemplate jdbc, String tenant) {
+		return jdbc.update(INSERT, tenant);
+	}
+
+	@Override
+	public void imported(JdbcTemplate jdbc, String tenant) {
+		List<LocalDateTime[]> recent = new ArrayList<>();
+		jdbc.query(SELECT_RECENT, rs -> {
+			recent.add(new LocalDateTime[]{rs.getObject(1, LocalDateTime.class), rs.getObject(2, LocalDateTime.class)});
+		}, LocalDateTime.now().minus(taskDurations.longestWindow()));
+		if (recent.isEmpty()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				recent.forEach(entry -> taskDurations.record(tenant, entry[0], entry[1]));
+			}
+		});
+	}
+}
@@ -0,0 +1,174 @@
+package org.yvynnyk.timetrack.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.service.TimeEntryService;
+import org.yvynnyk.timetrack.tenant.AllTenants;
+
+import java.time.LocalDate;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * The nightly automatic task closure, coordinated between the application instances.
+ * <p>
+ * Every instance triggers the job on the same schedule. The tasks are split into {@code partitions} partitions by
+ * ID, and each partition of a run, identified by its date, is processed by the instance that claims it in the
+ * {@link JobLeases job claims}. Instances start with different partitions, derived from their node ID, so that
+ * concurrent instances share the work instead of contending for the same partitions. A partition whose instance
+ * fails is left claimed but uncompleted; once its lease has expired, the catch-up, which every instance runs
+ * frequently for the runs of yesterday and today, takes it over. The catch-up only resumes claimed partitions, so
+ * it never starts a run early.
+ * </p>
+ * <p>
+ * The claims live next to the tasks, so that with sharding every shard coordinates its own partitions. The
+ * schedule is read from {@code timetrack.closure.cron}, by default one second before midnight, and the catch-up
+ * schedule from {@code timetrack.closure.catch-up-cron}, by default every 15 minutes.
+ * </p>
+ */
+public class ClosureJob {
+
+	/**
+	 * Name of the job in the claims.
+	 */
+	public static final String JOB_NAME = "task-closure";
+
+	private static final Logger logger = LoggerFactory.getLogger(ClosureJob.class);
+
+	private final TimeEntryService timeEntryService;
+	private final JobLeases leases;
+	private final ClosureProperties properties;
+	private final Counter processed;
+	private final Counter skipped;
+	private final Counter failed;
+	private final Counter lost;
+
+	/**
+	 * Constructs a ClosureJob.
+	 *
+	 * @param timeEntryService the service closing the tasks
+	 * @param leases           the partition leases of this instance
+	 * @param properties       the closure properties
+	 * @param meterRegistry    the registry for the partition metrics
+	 */
+	public ClosureJob(TimeEntryService timeEntryService, JobLeases leases, ClosureProperties properties,
+					  MeterRegistry meterRegistry) {
+		this.timeEntryService = timeEntryService;
+		this.leases = leases;
+		this.properties = properties;
+		this.processed = partitionCounter(meterRegistry, MetricsConstants.Outcome.SUCCESS);
+		this.skipped = partitionCounter(meterRegistry, MetricsConstants.Outcome.SKIPPED);
+		this.failed = partitionCounter(meterRegistry, MetricsConstants.Outcome.ERROR);
+		this.lost = partitionCounter(meterRegistry, MetricsConstants.Outcome.LOST);
+	}
+
+	/**
+	 * Runs the closure for today, for the tasks of all tenants.
+	 */
+	@AllTenants
+	@Scheduled(cron = "${timetrack.closure.cron:59 59 23 * * *}")
+	public void run() {
+		runPartitions(LocalDate.now());
+	}
+
+	/**
+	 * Runs the closure of the given date, for the tasks of all tenants, e.g. to complete a run after a failure.
+	 * The tasks started on that date are closed, and partitions already completed for that date are skipped.
+	 *
+	 * @param date the date identifying the run and its tasks
+	 */
+	@AllTenants
+	public void runFor(LocalDate date) {
+		runPartitions(date);
+	}
+
+	/**
+	 * Resumes the uncompleted partitions of yesterday's and today's runs whose leases have expired, for the tasks of
+	 * all tenants. Partitions that no instance claimed yet are left to the scheduled run.
+	 */
+	@AllTenants
+	@Scheduled(cron = "${timetrack.closure.catch-up-cron:0 */15 * * * *}")
+	public void catchUp() {
+		LocalDate today = LocalDate.now();
+		resumePartitions(today.minusDays(1));
+		resumePartitions(today);
+	}
+
+	private void runPartitions(LocalDate date) {
+		String run = date.toString();
+		int partitions = properties.getPartitions();
+		int offset = Math.floorMod(leases.owner().hashCode(), partitions);
+		int count = 0;
+		for (int i = 0; i < partitions; i++) {
+			int partition = (offset + i) % partitions;
+			JobLeases.Claim claim = leases.claim(JOB_NAME, run, partition);
+			if (!claim.acquired()) {
+				skipped.increment();
+				continue;
+			}
+			if (process(date, partition, claim)) {
+				count++;
+			}
+		}
+		leases.purge(JOB_NAME, properties.getRetention());
+		logger.info(LoggingConstants.Job.RUN_COMPLETED, value(LoggingConstants.Fields.NODE, leases.owner()),
+				value(LoggingConstants.Fields.PARTITIONS, count), value(LoggingConstants.Fields.JOB, JOB_NAME),
+				value(LoggingConstants.Fields.RUN, run));
+	}
+
+	private void resumePartitions(LocalDate date) {
+		String run = date.toString();
+		for (int partition : leases.uncompleted(JOB_NAME, run)) {
+			JobLeases.Claim claim = leases.claim(JOB_NAME, run, partition);
+			if (claim.acquired()) {
+				process(date, partition, claim);
+			}
+		}
+	}
+
+	/**
+	 * Processes a partition this instance holds the claim of.
+	 *
+	 * @param date      the date identifying the run and its tasks
+	 * @param partition the partition
+	 * @param claim     the claim of the partition
+	 * @return whether the partition was processed and completed under this instance's claim
+	 */
+	private boolean process(LocalDate date, int partition, JobLeases.Claim claim) {
+		String run = date.toString();
+		if (claim == JobLeases.Claim.TAKEN_OVER) {
+			logger.info(LoggingConstants.Job.PARTITION_TAKEN_OVER, value(LoggingConstants.Fields.NODE, leases.owner()),
+					value(LoggingConstants.Fields.PARTITION, partition), value(LoggingConstants.Fields.JOB, JOB_NAME),
+					value(LoggingConstants.Fields.RUN, run));
+		}
+		try {
+			timeEntryService.closeTasksAutomatically(date, partition, properties.getPartitions());
+		} catch (RuntimeException e) {
+			failed.increment();
+			logger.warn(LoggingConstants.Job.PARTITION_FAILED, value(LoggingConstants.Fields.PARTITION, partition),
+					value(LoggingConstants.Fields.JOB, JOB_NAME), value(LoggingConstants.Fields.RUN, run), e);
+			return false;
+		}
+		if (!leases.complete(JOB_NAME, run, partition)) {
+			lost.increment();
+			logger.warn(LoggingConstants.Job.LEASE_LOST, value(LoggingConstants.Fields.NODE, leases.owner()),
+					value(LoggingConstants.Fields.PARTITION, partition), value(LoggingConstants.Fields.JOB, JOB_NAME),
+					value(LoggingConstants.Fields.RUN, run));
+			return false;
+		}
+		processed.increment();
+		return true;
+	}
+
+	private static Counter partitionCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder(MetricsConstants.Closure.PARTITIONS)
+				.description("Automatic closure partitions seen by this instance")
+				.tag(MetricsConstants.Tags.OUTCOME, outcome)
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,35 @@
+package org.yvynnyk.timetrack.job;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+/**
+ * Configuration of the nightly automatic task closure, bound from the {@code timetrack.closure} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.closure")
+public class ClosureProperties {
+
+	/**
+	 * Number of partitions the tasks are split into. All instances must use the same value.
+	 */
+	private int partitions = 8;
+
+	/**
+	 * Time after which an uncompleted claim may be taken over by another instance.
+	 */
+	private Duration lease = Duration.ofMinutes(10);
+
+	/**
+	 * Age after which claims are deleted.
+	 */
+	private Duration retention = Duration.ofDays(30);
+
+	/**
+	 * Identifier of this instance in the claims; defaults to the JVM name, {@code pid@host}.
+	 */
+	private String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+}
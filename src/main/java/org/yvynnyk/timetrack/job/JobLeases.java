@@ -0,0 +1,128 @@
+package org.yvynnyk.timetrack.job;
+
+import org.yvynnyk.timetrack.repository.JobClaimRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Leases on the partitions of scheduled job runs, kept in the {@code job_claim} table.
+ * <p>
+ * A partition is processed by the instance that claims it first. The claim is a single insert that does nothing
+ * when the row exists, so the database decides between concurrent instances. A claim that was not completed
+ * within the lease duration, because its owner crashed or failed, may be taken over with a conditional update.
+ * Completed claims are never taken over, so a partition is processed once per run.
+ * </p>
+ */
+public class JobLeases {
+
+	private final JobClaimRepository repository;
+	private final String owner;
+	private final Duration lease;
+	private final Clock clock;
+
+	/**
+	 * Constructs a JobLeases.
+	 *
+	 * @param repository the repository of the claims
+	 * @param owner      the identifier of this instance
+	 * @param lease      the time after which an uncompleted claim may be taken over
+	 * @param clock      the clock of the claim timestamps
+	 */
+	public JobLeases(JobClaimRepository repository, String owner, Duration lease, Clock clock) {
+		this.repository = repository;
+		this.owner = owner;
+		this.lease = lease;
+		this.clock = clock;
+	}
+
+	/**
+	 * Claims a partition of a run.
+	 *
+	 * @param job       the job name
+	 * @param run       the run key
+	 * @param partition the partition index
+	 * @return whether this instance holds the claim and should process the partition
+	 */
+	public Claim claim(String job, String run, int partition) {
+		LocalDateTime now = LocalDateTime.now(clock);
+		if (repository.claim(job, run, partition, owner, now) == 1) {
+			return Claim.CLAIMED;
+		}
+		if (repository.takeOver(job, run, partition, owner, now, now.minus(lease)) == 1) {
+			return Claim.TAKEN_OVER;
+		}
+		return Claim.HELD_ELSEWHERE;
+	}
+
+	/**
+	 * Marks a claimed partition as processed.
+	 *
+	 * @param job       the job name
+	 * @param run       the run key
+	 * @param partition the partition index
+	 * @return {@code false} if another instance took the claim over in the meantime
+	 */
+	public boolean complete(String job, String run, int partition) {
+		return repository.complete(job, run, partition, owner, LocalDateTime.now(clock)) == 1;
+	}
+
+	/**
+	 * Lists the partitions of a run that were claimed but not completed, e.g. because their owner failed.
+	 *
+	 * @param job the job name
+	 * @param run the run key
+	 * @return the indexes of the uncompleted partitions
+	 */
+	public List<Integer> uncompleted(String job, String run) {
+		return repository.findUncompletedPartitions(job, run);
+	}
+
+	/**
+	 * Deletes the claims of a job older than the given age.
+	 *
+	 * @param job       the job name
+	 * @param retention the age of the claims to delete
+	 */
+	public void purge(String job, Duration retention) {
+		repository.deleteClaimedBefore(job, LocalDateTime.now(clock).minus(retention));
+	}
+
+	/**
+	 * The identifier of this instance.
+	 *
+	 * @return the owner written into the claims
+	 */
+	public String owner() {
+		return owner;
+	}
+
+	/**
+	 * Result of a claim.
+	 */
+	public enum Claim {
+		/**
+		 * The partition was free and is now held by this instance.
+		 */
+		CLAIMED,
+		/**
+		 * The partition's previous claim had expired and is now held by this instance.
+		 */
+		TAKEN_OVER,
+		/**
+		 * The partition is held or was completed by an instance.
+		 */
+		HELD_ELSEWHERE;
+
+		/**
+		 * Whether this instance should process the partition.
+		 *
+		 * @return {@code true} unless the partition is held elsewhere
+		 */
+		public boolean acquired() {
+			return this != HELD_ELSEWHERE;
+		}
+	}
+}
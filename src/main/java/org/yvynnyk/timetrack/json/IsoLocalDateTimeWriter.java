@@ -0,0 +1,97 @@
+package org.yvynnyk.timetrack.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes {@link LocalDateTime} values as JSON strings in the {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} format,
+ * without going through {@link DateTimeFormatter}.
+ * <p>
+ * The output is identical to the formatter's: seconds are always written and the fraction of second is written
+ * only when non-zero, with trailing zeros removed. The digits are produced into a per-thread character buffer and
+ * handed to the generator, so no intermediate {@code String} is created. Years outside {@code 0..9999}, which the
+ * formatter writes with a sign, are delegated to the formatter.
+ * </p>
+ */
+final class IsoLocalDateTimeWriter {
+
+	/**
+	 * Longest supported value: {@code yyyy-MM-ddTHH:mm:ss.nnnnnnnnn}.
+	 */
+	private static final int MAX_LENGTH = 29;
+
+	private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+	private IsoLocalDateTimeWriter() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Writes the value as a JSON string.
+	 *
+	 * @param value     the value to write, not {@code null}
+	 * @param generator the generator to write to
+	 * @throws IOException if the generator fails
+	 */
+	static void write(LocalDateTime value, JsonGenerator generator) throws IOException {
+		int year = value.getYear();
+		if (year < 0 || year > 9999) {
+			generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+			return;
+		}
+		char[] buffer = BUFFER.get();
+		generator.writeString(buffer, 0, format(value, buffer));
+	}
+
+	/**
+	 * Formats a value whose year is within {@code 0..9999} into the buffer.
+	 *
+	 * @param value  the value to format
+	 * @param buffer a buffer of at least {@value #MAX_LENGTH} characters
+	 * @return the number of characters written
+	 */
+	static int format(LocalDateTime value, char[] buffer) {
+		int year = value.getYear();
+		buffer[0] = digit(year / 1000);
+		buffer[1] = digit(year / 100 % 10);
+		buffer[2] = digit(year / 10 % 10);
+		buffer[3] = digit(year % 10);
+		buffer[4] = '-';
+		twoDigits(buffer, 5, value.getMonthValue());
+		buffer[7] = '-';
+		twoDigits(buffer, 8, value.getDayOfMonth());
+		buffer[10] = 'T';
+		twoDigits(buffer, 11, value.getHour());
+		buffer[13] = ':';
+		twoDigits(buffer, 14, value.getMinute());
+		buffer[16] = ':';
+		twoDigits(buffer, 17, value.getSecond());
+		int nano = value.getNano();
+		if (nano == 0) {
+			return 19;
+		}
+		buffer[19] = '.';
+		int end = 29;
+		for (int position = 28; position >= 20; position--) {
+			int digit = nano % 10;
+			nano /= 10;
+			buffer[position] = digit(digit);
+			if (digit == 0 && end == position + 1) {
+				end = position;
+			}
+		}
+		return end;
+	}
+
+	private static void twoDigits(char[] buffer, int offset, int value) {
+		buffer[offset] = digit(value / 10);
+		buffer[offset + 1] = digit(value % 10);
+	}
+
+	private static char digit(int value) {
+		return (char) ('0' + value);
+	}
+}
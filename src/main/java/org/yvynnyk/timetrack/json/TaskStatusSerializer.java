@@ -0,0 +1,48 @@
+package org.yvynnyk.timetrack.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.io.IOException;
+
+/**
+ * Serializer writing a {@link TaskStatus} as its name, from names encoded once at class initialisation.
+ */
+@JsonComponent
+public class TaskStatusSerializer extends StdSerializer<TaskStatus> {
+
+	private static final SerializedString[] NAMES = new SerializedString[TaskStatus.values().length];
+
+	static {
+		for (TaskStatus status : TaskStatus.values()) {
+			NAMES[status.ordinal()] = new SerializedString(status.name());
+		}
+	}
+
+	/**
+	 * Constructs a TaskStatusSerializer.
+	 */
+	public TaskStatusSerializer() {
+		super(TaskStatus.class);
+	}
+
+	@Override
+	public void serialize(TaskStatus value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+		write(value, generator);
+	}
+
+	/**
+	 * Writes a status as a JSON string.
+	 *
+	 * @param value     the status to write, not {@code null}
+	 * @param generator the generator to write to
+	 * @throws IOException if the generator fails
+	 */
+	static void write(TaskStatus value, JsonGenerator generator) throws IOException {
+		generator.writeString(NAMES[value.ordinal()]);
+	}
+}
@@ -0,0 +1,82 @@
+package org.yvynnyk.timetrack.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback turbo filter that keeps one in {@code rate} INFO events per message template of the configured loggers.
+ * <p>
+ * High-volume request logs, such as the controllers' "Received request" lines, are emitted once per call. Since
+ * every log call site uses its own template from {@code LoggingConstants}, counting per template samples each
+ * endpoint independently: a busy endpoint is thinned out without hiding a rarely called one. The first event of
+ * every template is always kept. Events above INFO, events of other loggers and events without a template are
+ * never sampled.
+ * </p>
+ * <p>
+ * Turbo filters run before the logging event is created, so a dropped event costs one counter increment.
+ * </p>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+	/**
+	 * Upper bound on the number of tracked templates, protecting against templates built at runtime.
+	 */
+	private static final int MAX_TEMPLATES = 1024;
+
+	private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+	private String[] loggerPrefixes = new String[0];
+	private int rate = 1;
+
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+		if (rate <= 1 || format == null || level != Level.INFO || !matches(logger.getName())) {
+			return FilterReply.NEUTRAL;
+		}
+		AtomicLong counter = counters.get(format);
+		if (counter == null) {
+			if (counters.size() >= MAX_TEMPLATES) {
+				return FilterReply.NEUTRAL;
+			}
+			counter = counters.computeIfAbsent(format, key -> new AtomicLong());
+		}
+		return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+	}
+
+	private boolean matches(String loggerName) {
+		for (String prefix : loggerPrefixes) {
+			if (loggerName.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sets the loggers whose INFO events are sampled.
+	 *
+	 * @param loggers comma-separated logger name prefixes
+	 */
+	public void setLoggers(String loggers) {
+		this.loggerPrefixes = Arrays.stream(loggers.split(","))
+				.map(String::trim)
+				.filter(prefix -> !prefix.isEmpty())
+				.toArray(String[]::new);
+	}
+
+	/**
+	 * Sets the sampling rate; {@code 1} or less keeps every event.
+	 *
+	 * @param rate the number of events per kept event
+	 */
+	public void setRate(int rate) {
+		this.rate = rate;
+	}
+}
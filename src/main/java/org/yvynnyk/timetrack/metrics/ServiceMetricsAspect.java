@@ -0,0 +1,108 @@
+package org.yvynnyk.timetrack.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.yvynnyk.timetrack.constant.MetricsConstants.Tags.*;
+
+/**
+ * Aspect that times every public operation of the task and time entry services.
+ * <p>
+ * Each call is recorded in the {@link MetricsConstants.Service#OPERATION} timer, tagged with the service,
+ * the operation and its outcome, so that both latency and call rates per outcome are visible. Only calls
+ * through the Spring proxy are recorded; calls a service makes on itself are part of the caller's timing.
+ * The timers are registered once per service, operation and exception type and kept, so that a call only looks up
+ * its timer in a local map rather than building and registering it again.
+ * </p>
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+	private final MeterRegistry meterRegistry;
+	private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a ServiceMetricsAspect recording into the given registry.
+	 *
+	 * @param meterRegistry the registry to record timers in
+	 */
+	public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Times a service operation and tags it with its outcome.
+	 *
+	 * @param joinPoint the intercepted service call
+	 * @return the result of the service call
+	 * @throws Throwable the exception thrown by the service call, rethrown unchanged
+	 */
+	@Around("execution(public * org.yvynnyk.timetrack.service.TaskService+.*(..))"
+			+ " || execution(public * org.yvynnyk.timetrack.service.TimeEntryService+.*(..))")
+	public Object timeOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Throwable failure = null;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable ex) {
+			failure = ex;
+			throw ex;
+		} finally {
+			sample.stop(timer(joinPoint.getSignature(), failure));
+		}
+	}
+
+	/**
+	 * Returns the timer of a service operation with the given outcome, registering it on first use.
+	 *
+	 * @param signature the signature of the service operation
+	 * @param failure   the thrown exception, or {@code null} if the call succeeded
+	 * @return the timer
+	 */
+	private Timer timer(Signature signature, Throwable failure) {
+		Class<?> failureType = failure == null ? null : failure.getClass();
+		return timers.computeIfAbsent(new TimerKey(signature.getDeclaringType(), signature.getName(), failureType),
+				key -> Timer.builder(MetricsConstants.Service.OPERATION)
+						.tag(SERVICE, key.service().getSimpleName())
+						.tag(OPERATION, key.operation())
+						.tag(OUTCOME, outcome(failure))
+						.tag(EXCEPTION, failureType == null ? NONE : failureType.getSimpleName())
+						.register(meterRegistry));
+	}
+
+	/**
+	 * Maps the exception of a service call to the value of the outcome tag.
+	 *
+	 * @param failure the thrown exception, or {@code null} if the call succeeded
+	 * @return the outcome tag value
+	 */
+	static String outcome(Throwable failure) {
+		if (failure == null) {
+			return MetricsConstants.Outcome.SUCCESS;
+		}
+		if (failure instanceof ResourceNotFoundException) {
+			return MetricsConstants.Outcome.NOT_FOUND;
+		}
+		if (failure instanceof IllegalStateException) {
+			return MetricsConstants.Outcome.INVALID_STATE;
+		}
+		return MetricsConstants.Outcome.ERROR;
+	}
+
+	/**
+	 * Identifies the timer of a service operation and the type of its exception, if any.
+	 */
+	private record TimerKey(Class<?> service, String operation, Class<?> failure) {
+	}
+}
@@ -0,0 +1,52 @@
+package org.yvynnyk.timetrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the claim of an application instance on one partition of a scheduled job run.
+ *
+ * <p>The table coordinates instances that run the same schedule: the instance that inserts the claim processes
+ * the partition, every other instance skips it. A claim is a lease; if its owner does not complete it within the
+ * lease duration, for example because it crashed, another instance may take it over.</p>
+ *
+ * <p>Claims are not tenant data and are shared by all tenants of a database.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "job_claim")
+public class JobClaim {
+
+	/**
+	 * The job, run and partition claimed.
+	 */
+	@EmbeddedId
+	private JobClaimId id;
+
+	/**
+	 * Identifier of the instance holding the claim.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(nullable = false, length = 128)
+	private String owner;
+
+	/**
+	 * The timestamp when the current owner claimed the partition.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "claimed_at", nullable = false)
+	private LocalDateTime claimedAt;
+
+	/**
+	 * The timestamp when the partition was processed.
+	 * This field is {@code null} while the partition is being processed.
+	 */
+	@Column(name = "completed_at")
+	private LocalDateTime completedAt;
+}
@@ -0,0 +1,37 @@
+package org.yvynnyk.timetrack.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Identifier of a {@link JobClaim}: one partition of one run of a job.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class JobClaimId implements Serializable {
+
+	/**
+	 * Name of the job.
+	 */
+	@Column(name = "job_name", nullable = false, length = 64)
+	private String jobName;
+
+	/**
+	 * Key of the scheduled run, such as its date.
+	 */
+	@Column(name = "run_key", nullable = false, length = 64)
+	private String runKey;
+
+	/**
+	 * Index of the partition within the run.
+	 */
+	@Column(name = "partition_index", nullable = false)
+	private int partitionIndex;
+}
@@ -0,0 +1,74 @@
+package org.yvynnyk.timetrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a change event waiting to be delivered to downstream systems.
+ *
+ * <p>Events are written in the transaction of the change they describe, so an event exists if and only if its
+ * change was committed. The outbox relay delivers them in ID order and deletes them once delivered.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent {
+
+	/**
+	 * Unique identifier for the event, increasing in insertion order.
+	 * Generated automatically using the {@link GenerationType#IDENTITY} strategy.
+	 */
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/**
+	 * Type of the changed aggregate, e.g. {@code task}.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "aggregate_type", nullable = false, length = 32)
+	private String aggregateType;
+
+	/**
+	 * ID of the changed aggregate.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "aggregate_id", nullable = false)
+	private Long aggregateId;
+
+	/**
+	 * Type of the event, e.g. {@code task.saved}.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "event_type", nullable = false, length = 64)
+	private String eventType;
+
+	/**
+	 * The event as a JSON document.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(nullable = false, length = 4000)
+	private String payload;
+
+	/**
+	 * The timestamp when the event was recorded.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	/**
+	 * Identifier of the tenant owning the changed aggregate.
+	 * This field is assigned by the outbox from the current tenant and cannot be updated.
+	 */
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	private String tenantId;
+}
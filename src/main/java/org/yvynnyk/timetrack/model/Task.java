@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
 import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
 
 import java.time.LocalDateTime;
@@ -15,6 +16,13 @@ import java.time.LocalDateTime;
  * and timestamps for creation and last update. It is mapped to a table in the database
  * with the appropriate annotations for entity lifecycle management.</p>
  *
+ * <p>Tasks belong to a tenant, see {@link #tenantId}.</p>
+ *
+ * <p>Tasks imported from another tracker keep their identifier there in {@link #importRef}, unique per tenant.</p>
+ *
+ * <p>Every creation and update also sets {@link #changedAt}, indexed per tenant, from which clients synchronize
+ * the tasks changed since their last synchronization.</p>
+ *
  * <p>The {@code Task} entity includes automatic timestamping for both creation
  * and update events via the {@code @PrePersist} and {@code @PreUpdate} annotations.</p>
  */
@@ -22,7 +30,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "task")
+@Table(name = "task", uniqueConstraints = @UniqueConstraint(name = "uk_task_import_ref",
+		columnNames = {"tenant_id", "import_ref"}),
+		indexes = @Index(name = "ix_task_changed_at", columnList = "tenant_id, changed_at, id"))
 public class Task {
 
 	/**
@@ -70,20 +80,61 @@ public class Task {
 	private LocalDateTime updatedAt;
 
 	/**
-	 * Sets the {@code createdAt} field to the current time before the entity is persisted.
+	 * Identifier of the tenant owning the task.
+	 * This field is assigned from the current tenant when the task is persisted and cannot be updated;
+	 * queries only return the tasks of the current tenant.
+	 */
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	private String tenantId;
+
+	/**
+	 * Identifier of the task in the tracker it was imported from, referenced by imported time entries.
+	 * This field is optional, set only by the CSV import and cannot be updated.
+	 */
+	@Column(name = "import_ref", updatable = false, length = 64)
+	private String importRef;
+
+	/**
+	 * The timestamp of the last creation or update of the task.
+	 * This field is set automatically whenever the task is persisted or modified; unlike {@link #updatedAt}, it is
+	 * also set on creation.
+	 */
+	@Column(name = "changed_at", nullable = false)
+	private LocalDateTime changedAt;
+
+	/**
+	 * Creates a task of the current tenant.
+	 *
+	 * @param id          the task ID
+	 * @param name        the task name
+	 * @param description the task description
+	 * @param status      the task status
+	 * @param createdAt   the creation timestamp
+	 * @param updatedAt   the last update timestamp
+	 */
+	public Task(Long id, String name, String description, TaskStatus status, LocalDateTime createdAt,
+				LocalDateTime updatedAt) {
+		this(id, name, description, status, createdAt, updatedAt, null, null, null);
+	}
+
+	/**
+	 * Sets the {@code createdAt} and {@code changedAt} fields to the current time before the entity is persisted.
 	 * This method is called automatically by the JPA lifecycle when the entity is created.
 	 */
 	@PrePersist
 	protected void onCreate() {
 		createdAt = LocalDateTime.now();
+		changedAt = createdAt;
 	}
 
 	/**
-	 * Sets the {@code updatedAt} field to the current time before the entity is updated.
+	 * Sets the {@code updatedAt} and {@code changedAt} fields to the current time before the entity is updated.
 	 * This method is called automatically by the JPA lifecycle when the entity is updated.
 	 */
 	@PreUpdate
 	protected void onUpdate() {
 		updatedAt = LocalDateTime.now();
+		changedAt = updatedAt;
 	}
 }
\ No newline at end of file
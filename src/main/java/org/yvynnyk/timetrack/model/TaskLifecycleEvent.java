@@ -0,0 +1,99 @@
+package org.yvynnyk.timetrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+import org.yvynnyk.timetrack.model.enumeration.LifecycleEventType;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents an event in the lifecycle of a task, such as its creation or the start of its time entry.
+ *
+ * <p>Events are only ever inserted, in the transaction of the change they describe, and form the full history of
+ * every task. The events of a task are numbered by {@link #sequenceNumber} from {@code 1}; the unique constraint
+ * on the task and number makes the later of two concurrent appends to the same task take the next number instead
+ * of interleaving.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "task_lifecycle_event", uniqueConstraints = @UniqueConstraint(name = "uk_task_lifecycle_event_sequence",
+		columnNames = {"task_id", "sequence_number"}))
+public class TaskLifecycleEvent {
+
+	/**
+	 * Unique identifier for the event.
+	 * Generated automatically using the {@link GenerationType#IDENTITY} strategy.
+	 */
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/**
+	 * ID of the task.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "task_id", nullable = false, updatable = false)
+	private Long taskId;
+
+	/**
+	 * Position of the event among the events of its task, starting at {@code 1}.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "sequence_number", nullable = false, updatable = false)
+	private Long sequenceNumber;
+
+	/**
+	 * Kind of the event.
+	 * This field is required and is stored as a string in the database.
+	 */
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, updatable = false, length = 16)
+	private LifecycleEventType type;
+
+	/**
+	 * Status of the task after the event.
+	 * This field is required and is stored as a string in the database.
+	 */
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, updatable = false)
+	private TaskStatus status;
+
+	/**
+	 * Name of the task, for {@code CREATED} and {@code UPDATED} events.
+	 */
+	@Column(updatable = false)
+	private String name;
+
+	/**
+	 * Description of the task, for {@code CREATED} and {@code UPDATED} events.
+	 */
+	@Column(updatable = false)
+	private String description;
+
+	/**
+	 * ID of the time entry, for {@code STARTED} and {@code STOPPED} events.
+	 */
+	@Column(name = "time_entry_id", updatable = false)
+	private Long timeEntryId;
+
+	/**
+	 * The timestamp of the change.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "occurred_at", nullable = false, updatable = false)
+	private LocalDateTime occurredAt;
+
+	/**
+	 * Identifier of the tenant owning the task.
+	 * This field is assigned by the event store from the current tenant and cannot be updated.
+	 */
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	private String tenantId;
+}
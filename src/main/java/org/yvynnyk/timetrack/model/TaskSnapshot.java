@@ -0,0 +1,113 @@
+package org.yvynnyk.timetrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the state of a task rebuilt from its lifecycle events up to {@link #sequenceNumber}.
+ *
+ * <p>Snapshots are taken periodically for tasks with many events since their last snapshot, so that rebuilding
+ * a task only replays the events after its snapshot. A task has at most one snapshot, which is only written by
+ * the snapshot job, never in the transactions appending events.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "task_snapshot", uniqueConstraints = @UniqueConstraint(name = "uk_task_snapshot_task",
+		columnNames = "task_id"))
+public class TaskSnapshot {
+
+	/**
+	 * Unique identifier for the snapshot.
+	 * Generated automatically using the {@link GenerationType#IDENTITY} strategy.
+	 */
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/**
+	 * ID of the task.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "task_id", nullable = false, updatable = false)
+	private Long taskId;
+
+	/**
+	 * Sequence number of the last event included in the snapshot.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "sequence_number", nullable = false)
+	private Long sequenceNumber;
+
+	/**
+	 * Name of the task.
+	 */
+	@Column
+	private String name;
+
+	/**
+	 * Description of the task.
+	 */
+	@Column
+	private String description;
+
+	/**
+	 * Status of the task.
+	 * This field is required and is stored as a string in the database.
+	 */
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private TaskStatus status;
+
+	/**
+	 * The timestamp when the task was created.
+	 */
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	/**
+	 * The timestamp of the last change of the task after its creation.
+	 */
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	/**
+	 * ID of the task's time entry, if one was started.
+	 */
+	@Column(name = "time_entry_id")
+	private Long timeEntryId;
+
+	/**
+	 * Start time of the task's time entry.
+	 */
+	@Column(name = "start_time")
+	private LocalDateTime startTime;
+
+	/**
+	 * End time of the task's time entry, once stopped.
+	 */
+	@Column(name = "end_time")
+	private LocalDateTime endTime;
+
+	/**
+	 * The timestamp when the snapshot was taken.
+	 * This field is required and cannot be {@code null}.
+	 */
+	@Column(name = "taken_at", nullable = false)
+	private LocalDateTime takenAt;
+
+	/**
+	 * Identifier of the tenant owning the task.
+	 * This field is copied from the task's events and cannot be updated.
+	 */
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	private String tenantId;
+}
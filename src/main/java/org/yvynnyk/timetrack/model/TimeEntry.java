@@ -3,7 +3,10 @@ package org.yvynnyk.timetrack.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDateTime;
 
@@ -16,6 +19,9 @@ import java.time.LocalDateTime;
  *
  * <p>The {@code TimeEntry} entity includes fields for tracking the task, start time,
  * and optionally an end time.</p>
+ *
+ * <p>The task is loaded lazily: queries that need it fetch it explicitly, see
+ * {@link org.yvynnyk.timetrack.repository.TimeEntryRepository}.</p>
  */
 @Data
 @AllArgsConstructor
@@ -34,10 +40,14 @@ public class TimeEntry {
 
 	/**
 	 * The associated task for which this time entry is recorded.
-	 * This field is required and cannot be {@code null}.
+	 * This field is required and cannot be {@code null}. It is a proxy until first accessed, unless fetched with
+	 * the time entry, and is left out of {@code toString}, {@code equals} and {@code hashCode} so that these do
+	 * not load it.
 	 */
-	@OneToOne
+	@OneToOne(fetch = FetchType.LAZY, optional = false)
 	@JoinColumn(name = "task_id", nullable = false)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private Task task;
 
 	/**
@@ -53,4 +63,25 @@ public class TimeEntry {
 	 */
 	@Column(name = "end_time")
 	private LocalDateTime endTime;
+
+	/**
+	 * Identifier of the tenant owning the time entry, the tenant of its task.
+	 * This field is assigned from the current tenant when the time entry is persisted and cannot be updated;
+	 * queries only return the time entries of the current tenant.
+	 */
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	private String tenantId;
+
+	/**
+	 * Creates a time entry of the current tenant.
+	 *
+	 * @param id        the time entry ID
+	 * @param task      the task the time is recorded for
+	 * @param startTime the start timestamp
+	 * @param endTime   the end timestamp, or {@code null} while running
+	 */
+	public TimeEntry(Long id, Task task, LocalDateTime startTime, LocalDateTime endTime) {
+		this(id, task, startTime, endTime, null);
+	}
 }
\ No newline at end of file
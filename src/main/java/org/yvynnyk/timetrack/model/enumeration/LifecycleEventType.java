@@ -0,0 +1,31 @@
+package org.yvynnyk.timetrack.model.enumeration;
+
+/**
+ * Enum representing the kinds of events in the lifecycle of a task.
+ *
+ * <p>Every change of a task and of its time entry is appended to the event store as one of these events, from
+ * which the state of the task can be rebuilt.</p>
+ */
+public enum LifecycleEventType {
+
+	/**
+	 * The task was created; the event holds its name, description and status.
+	 */
+	CREATED,
+
+	/**
+	 * The task was updated through the API; the event holds its new name, description and status. Setting a task
+	 * in progress back to {@code PENDING} pauses it.
+	 */
+	UPDATED,
+
+	/**
+	 * The time entry of the task was started; the event holds the time entry's ID, and its time is the start time.
+	 */
+	STARTED,
+
+	/**
+	 * The time entry of the task was stopped, completing the task; the event's time is the end time.
+	 */
+	STOPPED
+}
@@ -0,0 +1,56 @@
+package org.yvynnyk.timetrack.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink appending the events to a local file as JSON lines, for development and tests.
+ * <p>
+ * Each batch is written with one call and forced to disk before it counts as delivered.
+ * </p>
+ */
+public class FileOutboxSink implements OutboxSink {
+
+	private final Path file;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Constructs a FileOutboxSink.
+	 *
+	 * @param file         the file to append to, created if missing
+	 * @param objectMapper the mapper writing the events
+	 */
+	public FileOutboxSink(Path file, ObjectMapper objectMapper) {
+		this.file = file;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public synchronized void deliver(List<OutboxMessage> messages) throws IOException {
+		ByteArrayOutputStream lines = new ByteArrayOutputStream();
+		for (OutboxMessage message : messages) {
+			lines.write(objectMapper.writeValueAsBytes(message));
+			lines.write('\n');
+		}
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND)) {
+			ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		}
+	}
+}
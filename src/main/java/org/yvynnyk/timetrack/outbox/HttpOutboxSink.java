@@ -0,0 +1,58 @@
+package org.yvynnyk.timetrack.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sink posting each batch as a JSON array to an HTTP endpoint. Any 2xx response acknowledges the batch.
+ */
+public class HttpOutboxSink implements OutboxSink {
+
+	private final URI url;
+	private final Duration timeout;
+	private final ObjectMapper objectMapper;
+	private final HttpClient client;
+
+	/**
+	 * Constructs an HttpOutboxSink.
+	 *
+	 * @param url          the endpoint receiving the batches
+	 * @param timeout      the connect and request timeout
+	 * @param objectMapper the mapper writing the events
+	 */
+	public HttpOutboxSink(URI url, Duration timeout, ObjectMapper objectMapper) {
+		this.url = url;
+		this.timeout = timeout;
+		this.objectMapper = objectMapper;
+		this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+	}
+
+	@Override
+	public void deliver(List<OutboxMessage> messages) throws IOException {
+		HttpRequest request = HttpRequest.newBuilder(url)
+				.timeout(timeout)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(messages)))
+				.build();
+		HttpResponse<Void> response;
+		try {
+			response = client.send(request, HttpResponse.BodyHandlers.discarding());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(ExceptionConstants.Outbox.DELIVERY_INTERRUPTED.formatted(url), e);
+		}
+		if (response.statusCode() / 100 != 2) {
+			throw new IOException(ExceptionConstants.Outbox.DELIVERY_REJECTED.formatted(url, response.statusCode()));
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package org.yvynnyk.timetrack.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.model.OutboxEvent;
+import org.yvynnyk.timetrack.repository.OutboxEventRepository;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records change events for downstream systems in the {@code outbox_event} table.
+ * <p>
+ * Events are inserted in the transaction of the change they describe, so they are committed or rolled back with
+ * it, and the {@link OutboxRelay} delivers them afterwards. Recording an event outside a transaction is an error.
+ * </p>
+ * <p>
+ * Events belong to the tenant bound to the {@link TenantContext}. Jobs running as {@link TenantContext#ROOT} bind
+ * the tenant of the changed aggregate before recording its event; Hibernate keeps the assigned tenant in root
+ * sessions.
+ * </p>
+ */
+public class Outbox {
+
+	/**
+	 * Aggregate type of tasks.
+	 */
+	public static final String TASK = "task";
+
+	/**
+	 * Aggregate type of time entries.
+	 */
+	public static final String TIME_ENTRY = "time-entry";
+
+	/**
+	 * A task was created or updated; the payload is a {@code TaskStatusEvent} with its status.
+	 */
+	public static final String TASK_SAVED = "task.saved";
+
+	/**
+	 * A time entry was started; the payload is a {@link TimeEntryEvent}.
+	 */
+	public static final String TIME_ENTRY_STARTED = "time-entry.started";
+
+	/**
+	 * A time entry was stopped; the payload is a {@link TimeEntryEvent}.
+	 */
+	public static final String TIME_ENTRY_STOPPED = "time-entry.stopped";
+
+	private final OutboxEventRepository repository;
+	private final ObjectMapper objectMapper;
+	private final String defaultTenant;
+
+	/**
+	 * Constructs an Outbox.
+	 *
+	 * @param repository    the repository of the events
+	 * @param objectMapper  the mapper serialising the payloads
+	 * @param defaultTenant the tenant of callers without a bound tenant
+	 */
+	public Outbox(OutboxEventRepository repository, ObjectMapper objectMapper, String defaultTenant) {
+		this.repository = repository;
+		this.objectMapper = objectMapper;
+		this.defaultTenant = defaultTenant;
+	}
+
+	/**
+	 * Records an event of the current tenant in the current transaction.
+	 *
+	 * @param aggregateType the type of the changed aggregate
+	 * @param aggregateId   the ID of the changed aggregate
+	 * @param eventType     the type of the event
+	 * @param payload       the event, serialised as JSON
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(String aggregateType, Long aggregateId, String eventType, Object payload) {
+		String json;
+		try {
+			json = objectMapper.writeValueAsString(payload);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(ExceptionConstants.Outbox.PAYLOAD_NOT_SERIALIZABLE.formatted(eventType), e);
+		}
+		String tenant = TenantContext.current() != null ? TenantContext.current() : defaultTenant;
+		repository.save(new OutboxEvent(null, aggregateType, aggregateId, eventType, json, LocalDateTime.now(),
+				tenant));
+	}
+}
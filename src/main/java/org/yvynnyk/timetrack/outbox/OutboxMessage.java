@@ -0,0 +1,21 @@
+package org.yvynnyk.timetrack.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event as handed to an {@link OutboxSink}. The ID identifies the event for deduplication by consumers,
+ * since the relay delivers at least once.
+ *
+ * @param id            the event ID, increasing in commit order within a database
+ * @param tenantId      the tenant of the changed aggregate
+ * @param aggregateType the type of the changed aggregate
+ * @param aggregateId   the ID of the changed aggregate
+ * @param eventType     the type of the event
+ * @param payload       the event as a JSON document, written as is
+ * @param createdAt     the time the event was recorded
+ */
+public record OutboxMessage(Long id, String tenantId, String aggregateType, Long aggregateId, String eventType,
+							@JsonRawValue String payload, LocalDateTime createdAt) {
+}
@@ -0,0 +1,94 @@
+package org.yvynnyk.timetrack.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the outbox relay and its sink, bound from the {@code timetrack.outbox} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.outbox")
+public class OutboxProperties {
+
+	/**
+	 * Settings of the relay.
+	 */
+	private Relay relay = new Relay();
+
+	/**
+	 * Settings of the sink receiving the events.
+	 */
+	private Sink sink = new Sink();
+
+	/**
+	 * Settings of the relay.
+	 */
+	@Data
+	public static class Relay {
+		/**
+		 * Whether this instance relays the outbox events. Events are recorded either way.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Delay between the end of a poll and the start of the next.
+		 */
+		private Duration pollInterval = Duration.ofSeconds(1);
+
+		/**
+		 * Events claimed and delivered per transaction.
+		 */
+		private int batchSize = 100;
+
+		/**
+		 * Upper bound of batches delivered in one poll of a database, so that a backlog does not starve the
+		 * other databases.
+		 */
+		private int maxBatchesPerPoll = 10;
+	}
+
+	/**
+	 * Settings of the sink, used unless the application defines its own {@link OutboxSink} bean.
+	 */
+	@Data
+	public static class Sink {
+		/**
+		 * The kind of sink.
+		 */
+		private Type type = Type.FILE;
+
+		/**
+		 * File receiving the events of the {@code file} sink, as JSON lines.
+		 */
+		private Path file = Path.of("outbox-events.jsonl");
+
+		/**
+		 * Endpoint receiving the batches of the {@code http} sink.
+		 */
+		private URI url;
+
+		/**
+		 * Connect and request timeout of the {@code http} sink.
+		 */
+		private Duration timeout = Duration.ofSeconds(5);
+
+		/**
+		 * The kinds of sink.
+		 */
+		public enum Type {
+			/**
+			 * {@link FileOutboxSink}.
+			 */
+			FILE,
+
+			/**
+			 * {@link HttpOutboxSink}.
+			 */
+			HTTP
+		}
+	}
+}
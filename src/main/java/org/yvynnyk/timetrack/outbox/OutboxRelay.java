@@ -0,0 +1,124 @@
+package org.yvynnyk.timetrack.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.tenant.AllTenants;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delivers the recorded outbox events to the {@link OutboxSink}.
+ * <p>
+ * Polls are scheduled every {@code poll-interval}. Every poll claims the oldest events of each database in
+ * batches, with {@code FOR UPDATE SKIP LOCKED}, hands a batch to the sink and deletes it in the same transaction.
+ * Relays on several instances therefore share the backlog without delivering a batch twice or waiting for each
+ * other. If the sink fails, or the instance dies before the commit, the batch is released and delivered again by
+ * a later poll: delivery is at least once. Events are delivered in ID order within a batch; concurrent relays may
+ * deliver neighbouring batches out of order, so consumers order the events of an aggregate by ID.
+ * </p>
+ * <p>
+ * Delivered events are counted by {@link MetricsConstants.Outbox#DELIVERED}, failed batches by
+ * {@link MetricsConstants.Outbox#FAILURES}, and the time from recording to delivery is timed by
+ * {@link MetricsConstants.Outbox#LAG}.
+ * </p>
+ */
+public class OutboxRelay {
+
+	private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+	private static final String SELECT_BATCH = "select id, tenant_id, aggregate_type, aggregate_id, event_type, "
+			+ "payload, created_at from outbox_event order by id limit ? for update skip locked";
+	private static final String DELETE = "delete from outbox_event where id = ?";
+
+	private static final RowMapper<OutboxMessage> MESSAGE = (rs, rowNum) -> new OutboxMessage(rs.getLong(1),
+			rs.getString(2), rs.getString(3), rs.getLong(4), rs.getString(5), rs.getString(6),
+			rs.getObject(7, LocalDateTime.class));
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final OutboxSink sink;
+	private final OutboxProperties.Relay properties;
+	private final Counter delivered;
+	private final Counter failures;
+	private final Timer lag;
+
+	/**
+	 * Constructs an OutboxRelay.
+	 *
+	 * @param jdbcTemplate        the template on the application's DataSource
+	 * @param transactionTemplate the template of the delivery transactions
+	 * @param sink                the sink receiving the events
+	 * @param properties          the relay properties
+	 * @param meterRegistry       the registry for the relay metrics
+	 */
+	public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, OutboxSink sink,
+					   OutboxProperties.Relay properties, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.sink = sink;
+		this.properties = properties;
+		this.delivered = Counter.builder(MetricsConstants.Outbox.DELIVERED)
+				.description("Outbox events delivered to the sink")
+				.register(meterRegistry);
+		this.failures = Counter.builder(MetricsConstants.Outbox.FAILURES)
+				.description("Outbox batches whose delivery failed")
+				.register(meterRegistry);
+		this.lag = Timer.builder(MetricsConstants.Outbox.LAG)
+				.description("Time from recording an outbox event to its delivery")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Delivers the pending events of all tenants, stopping at the first failed batch of a database.
+	 */
+	@AllTenants
+	public void poll() {
+		int batches = 0;
+		int size;
+		do {
+			size = relayBatch();
+			batches++;
+		} while (size == properties.getBatchSize() && batches < properties.getMaxBatchesPerPoll());
+	}
+
+	private int relayBatch() {
+		List<OutboxMessage> batch;
+		try {
+			batch = transactionTemplate.execute(status -> {
+				List<OutboxMessage> claimed = jdbcTemplate.query(SELECT_BATCH, MESSAGE, properties.getBatchSize());
+				if (!claimed.isEmpty()) {
+					try {
+						sink.deliver(claimed);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					jdbcTemplate.batchUpdate(DELETE, claimed, claimed.size(),
+							(statement, message) -> statement.setLong(1, message.id()));
+				}
+				return claimed;
+			});
+		} catch (RuntimeException e) {
+			failures.increment();
+			logger.warn(LoggingConstants.Outbox.DELIVERY_FAILED, e);
+			return 0;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		for (OutboxMessage message : batch) {
+			lag.record(Duration.between(message.createdAt(), now));
+		}
+		delivered.increment(batch.size());
+		return batch.size();
+	}
+}
@@ -0,0 +1,23 @@
+package org.yvynnyk.timetrack.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the outbox events, e.g. a message broker or a downstream service.
+ * <p>
+ * A batch counts as delivered when {@link #deliver(List)} returns; if it throws, the whole batch is delivered again
+ * later, so a sink should be idempotent or the consumers should deduplicate by {@link OutboxMessage#id()}.
+ * </p>
+ */
+@FunctionalInterface
+public interface OutboxSink {
+
+	/**
+	 * Delivers a batch of events.
+	 *
+	 * @param messages the events, in ID order
+	 * @throws IOException if the batch could not be delivered
+	 */
+	void deliver(List<OutboxMessage> messages) throws IOException;
+}
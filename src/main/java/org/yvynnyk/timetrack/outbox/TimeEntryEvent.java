@@ -0,0 +1,27 @@
+package org.yvynnyk.timetrack.outbox;
+
+import org.yvynnyk.timetrack.model.TimeEntry;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of the {@code time-entry.started} and {@code time-entry.stopped} outbox events.
+ *
+ * @param timeEntryId the ID of the time entry
+ * @param taskId      the ID of the task the time is recorded for
+ * @param startTime   the start of the time entry
+ * @param endTime     the end of the time entry, {@code null} when it was started
+ */
+public record TimeEntryEvent(Long timeEntryId, Long taskId, LocalDateTime startTime, LocalDateTime endTime) {
+
+	/**
+	 * Creates the payload describing a time entry of a task.
+	 *
+	 * @param taskId    the ID of the task
+	 * @param timeEntry the time entry
+	 * @return the payload
+	 */
+	public static TimeEntryEvent of(Long taskId, TimeEntry timeEntry) {
+		return new TimeEntryEvent(timeEntry.getId(), taskId, timeEntry.getStartTime(), timeEntry.getEndTime());
+	}
+}
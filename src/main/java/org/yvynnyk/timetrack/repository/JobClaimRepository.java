@@ -0,0 +1,99 @@
+package org.yvynnyk.timetrack.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.yvynnyk.timetrack.model.JobClaim;
+import org.yvynnyk.timetrack.model.JobClaimId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for {@link JobClaim} entities.
+ *
+ * <p>The modifying methods run in their own transactions and rely on single-statement atomicity, so concurrent
+ * instances cannot both win the same claim.</p>
+ */
+public interface JobClaimRepository extends JpaRepository<JobClaim, JobClaimId> {
+
+	/**
+	 * Claims a partition unless it is already claimed.
+	 *
+	 * @param jobName   the job name
+	 * @param runKey    the run key
+	 * @param partition the partition index
+	 * @param owner     the claiming instance
+	 * @param now       the current time
+	 * @return {@code 1} if the claim was made, {@code 0} if the partition already was claimed
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "insert into job_claim (job_name, run_key, partition_index, owner, claimed_at) "
+			+ "values (:jobName, :runKey, :partition, :owner, :now) on conflict do nothing", nativeQuery = true)
+	int claim(@Param("jobName") String jobName, @Param("runKey") String runKey, @Param("partition") int partition,
+			  @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+	/**
+	 * Takes over a claim whose lease has expired without the partition being completed.
+	 *
+	 * @param jobName       the job name
+	 * @param runKey        the run key
+	 * @param partition     the partition index
+	 * @param owner         the claiming instance
+	 * @param now           the current time
+	 * @param expiredBefore claims made before this time are expired
+	 * @return {@code 1} if the claim was taken over, {@code 0} otherwise
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "update job_claim set owner = :owner, claimed_at = :now "
+			+ "where job_name = :jobName and run_key = :runKey and partition_index = :partition "
+			+ "and completed_at is null and claimed_at < :expiredBefore", nativeQuery = true)
+	int takeOver(@Param("jobName") String jobName, @Param("runKey") String runKey, @Param("partition") int partition,
+				 @Param("owner") String owner, @Param("now") LocalDateTime now,
+				 @Param("expiredBefore") LocalDateTime expiredBefore);
+
+	/**
+	 * Marks a claimed partition as processed.
+	 *
+	 * @param jobName   the job name
+	 * @param runKey    the run key
+	 * @param partition the partition index
+	 * @param owner     the instance holding the claim
+	 * @param now       the current time
+	 * @return {@code 1} if the claim was completed, {@code 0} if it is no longer held by the owner
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "update job_claim set completed_at = :now "
+			+ "where job_name = :jobName and run_key = :runKey and partition_index = :partition "
+			+ "and owner = :owner", nativeQuery = true)
+	int complete(@Param("jobName") String jobName, @Param("runKey") String runKey, @Param("partition") int partition,
+				 @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+	/**
+	 * Finds the claimed partitions of a run that were not completed.
+	 *
+	 * @param jobName the job name
+	 * @param runKey  the run key
+	 * @return the indexes of the uncompleted partitions
+	 */
+	@Query(value = "select partition_index from job_claim "
+			+ "where job_name = :jobName and run_key = :runKey and completed_at is null", nativeQuery = true)
+	List<Integer> findUncompletedPartitions(@Param("jobName") String jobName, @Param("runKey") String runKey);
+
+	/**
+	 * Deletes the claims of a job made before the given time.
+	 *
+	 * @param jobName the job name
+	 * @param before  claims made before this time are deleted
+	 * @return the number of deleted claims
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "delete from job_claim where job_name = :jobName and claimed_at < :before", nativeQuery = true)
+	int deleteClaimedBefore(@Param("jobName") String jobName, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,12 @@
+package org.yvynnyk.timetrack.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.yvynnyk.timetrack.model.OutboxEvent;
+
+/**
+ * Repository interface for {@link OutboxEvent} entities.
+ *
+ * <p>It only writes events; the outbox relay reads and deletes them with plain SQL across all tenants.</p>
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
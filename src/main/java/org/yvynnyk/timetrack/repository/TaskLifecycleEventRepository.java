@@ -0,0 +1,41 @@
+package org.yvynnyk.timetrack.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.yvynnyk.timetrack.model.TaskLifecycleEvent;
+
+import java.util.List;
+
+/**
+ * Repository interface for {@link TaskLifecycleEvent} entities.
+ *
+ * <p>Events are appended by the event store with plain SQL, which numbers them in the same statement; this
+ * repository only reads them.</p>
+ */
+public interface TaskLifecycleEventRepository extends JpaRepository<TaskLifecycleEvent, Long> {
+
+	/**
+	 * Retrieves the events of a task after a sequence number, in order.
+	 *
+	 * @param taskId         the ID of the task
+	 * @param sequenceNumber the sequence number after which to retrieve the events, {@code 0} for all events
+	 * @return the events of the task after the sequence number, in order
+	 */
+	List<TaskLifecycleEvent> findAllByTaskIdAndSequenceNumberGreaterThanOrderBySequenceNumber(Long taskId,
+																							  Long sequenceNumber);
+
+	/**
+	 * Retrieves the IDs of the tasks with at least the given number of events after their snapshot, or in total
+	 * if they have none.
+	 *
+	 * @param threshold the minimum number of events since the snapshot
+	 * @param limit     the maximum number of task IDs to retrieve
+	 * @return the IDs of the tasks due for a snapshot
+	 */
+	@Query("select e.taskId from TaskLifecycleEvent e left join TaskSnapshot s on s.taskId = e.taskId "
+			+ "where e.sequenceNumber > coalesce(s.sequenceNumber, 0) "
+			+ "group by e.taskId having count(e) >= :threshold")
+	List<Long> findTaskIdsDueForSnapshot(@Param("threshold") long threshold, Limit limit);
+}
@@ -1,9 +1,13 @@
 package org.yvynnyk.timetrack.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.yvynnyk.timetrack.model.Task;
 import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -21,4 +25,30 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 	 * @return a list of {@link Task} entities with the given status
 	 */
 	List<Task> findAllByStatus(TaskStatus status);
+
+	/**
+	 * Retrieves the {@link Task} entities with the specified status whose ID falls into one of several partitions.
+	 * A task belongs to partition {@code id mod partitions}.
+	 *
+	 * @param status     the status of the tasks to retrieve
+	 * @param partition  the partition, from {@code 0} to {@code partitions - 1}
+	 * @param partitions the number of partitions
+	 * @return a list of {@link Task} entities with the given status in the partition
+	 */
+	@Query("select t from Task t where t.status = :status and mod(t.id, :partitions) = :partition")
+	List<Task> findAllByStatusInPartition(@Param("status") TaskStatus status, @Param("partition") int partition,
+										  @Param("partitions") int partitions);
+
+	/**
+	 * Retrieves the {@link Task} entities changed after a position in the order of their changes, i.e. by change
+	 * time and then ID. The query is a range scan of the index on the tenant and change time.
+	 *
+	 * @param changedAt the change time of the position
+	 * @param id        the task ID of the position
+	 * @param limit     the maximum number of tasks to retrieve
+	 * @return the {@link Task} entities changed after the position, in the order of their changes
+	 */
+	@Query("select t from Task t where t.changedAt >= :changedAt and (t.changedAt > :changedAt or t.id > :id) "
+			+ "order by t.changedAt, t.id")
+	List<Task> findChangedAfter(@Param("changedAt") LocalDateTime changedAt, @Param("id") long id, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package org.yvynnyk.timetrack.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.yvynnyk.timetrack.model.TaskSnapshot;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for {@link TaskSnapshot} entities.
+ */
+public interface TaskSnapshotRepository extends JpaRepository<TaskSnapshot, Long> {
+
+	/**
+	 * Retrieves the snapshot of a task.
+	 *
+	 * @param taskId the ID of the task
+	 * @return the snapshot of the task, if one was taken
+	 */
+	Optional<TaskSnapshot> findByTaskId(Long taskId);
+}
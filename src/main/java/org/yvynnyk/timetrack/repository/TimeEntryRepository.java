@@ -1,5 +1,6 @@
 package org.yvynnyk.timetrack.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.yvynnyk.timetrack.model.TimeEntry;
 
@@ -10,6 +11,10 @@ import java.util.Optional;
  *
  * <p>This interface extends {@link JpaRepository} to provide CRUD operations and
  * custom query methods for {@link TimeEntry} entities.</p>
+ *
+ * <p>The task of a time entry is lazy, so the plain queries select the time entry alone and the task stays an
+ * uninitialized proxy. Queries for callers that read the task fetch it in the same statement with an entity
+ * graph, named {@code find...With...}.</p>
  */
 public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> {
 
@@ -28,4 +33,14 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> {
 	 * @return an {@link Optional} containing the {@link TimeEntry} if found, or {@code empty} if not found
 	 */
 	Optional<TimeEntry> findByTaskId(Long id);
+
+	/**
+	 * Finds a {@link TimeEntry} by its associated task ID, together with the task.
+	 *
+	 * @param id the ID of the task associated with the time entry
+	 * @return an {@link Optional} containing the {@link TimeEntry} with its initialized task if found, or
+	 * {@code empty} if not found
+	 */
+	@EntityGraph(attributePaths = "task")
+	Optional<TimeEntry> findWithTaskByTaskId(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package org.yvynnyk.timetrack.schema;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * One-off upgrades of tables created by earlier versions, applied before Hibernate updates the schema.
+ * <p>
+ * {@code spring.jpa.hibernate.ddl-auto=update} adds a new {@code NOT NULL} column with a single
+ * {@code ALTER TABLE ... ADD COLUMN ... NOT NULL}, which fails on a table that already has rows, and only logs the
+ * failure; every index and query on the column then fails as well. Each {@link RequiredColumn} is therefore added
+ * here first: as a nullable column, then filled in the existing rows, then made {@code NOT NULL}, in one
+ * transaction. Once the column exists, Hibernate leaves it alone.
+ * </p>
+ * <p>
+ * Applied upgrades are recorded per database in the {@code schema_upgrade} table, so each runs once, including on
+ * databases whose tables do not exist yet and are created by Hibernate afterwards. Instances starting at the same
+ * time insert the same record first; the later one waits for the earlier and then skips the upgrade. A failing
+ * upgrade fails the startup.
+ * </p>
+ */
+public class SchemaUpgrade {
+
+	private static final Logger logger = LoggerFactory.getLogger(SchemaUpgrade.class);
+
+	private static final String CREATE_TABLE = "create table if not exists schema_upgrade ("
+			+ "id varchar(64) not null primary key, applied_at timestamp not null)";
+	private static final String SELECT_APPLIED = "select count(*) from schema_upgrade where id = ?";
+	private static final String INSERT_APPLIED = "insert into schema_upgrade (id, applied_at) values (?, ?)";
+
+	private final Map<String, DataSource> databases;
+	private final List<RequiredColumn> columns;
+
+	/**
+	 * Constructs a SchemaUpgrade.
+	 *
+	 * @param databases     the databases to upgrade by name
+	 * @param defaultTenant the tenant of the rows stored before tenancy existed; tasks stored before they had a
+	 *                      change time get their last update or creation time
+	 */
+	public SchemaUpgrade(Map<String, DataSource> databases, String defaultTenant) {
+		this(databases, List.of(
+				new RequiredColumn("task-tenant-id", "task", "tenant_id", "varchar(64)", "?", defaultTenant),
+				new RequiredColumn("time-entry-tenant-id", "time_entry", "tenant_id", "varchar(64)", "?",
+						defaultTenant),
+				new RequiredColumn("task-changed-at", "task", "changed_at", "timestamp(6)",
+						"coalesce(updated_at, created_at)"),
+				new RequiredColumn("tenant-shard-moving", "tenant_shard", "moving", "boolean", "false")));
+	}
+
+	/**
+	 * Constructs a SchemaUpgrade applying the given columns.
+	 *
+	 * @param databases the databases to upgrade by name
+	 * @param columns   the columns to add, in order
+	 */
+	SchemaUpgrade(Map<String, DataSource> databases, List<RequiredColumn> columns) {
+		this.databases = new LinkedHashMap<>(databases);
+		this.columns = List.copyOf(columns);
+	}
+
+	/**
+	 * Applies the upgrades not yet recorded to every database.
+	 */
+	public void apply() {
+		databases.forEach(this::apply);
+	}
+
+	private void apply(String database, DataSource dataSource) {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		TransactionTemplate transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		jdbc.execute(CREATE_TABLE);
+		for (RequiredColumn column : columns) {
+			if (jdbc.queryForObject(SELECT_APPLIED, Integer.class, column.id()) > 0) {
+				continue;
+			}
+			try {
+				transactions.executeWithoutResult(status -> {
+					jdbc.update(INSERT_APPLIED, column.id(), LocalDateTime.now());
+					add(jdbc, column);
+				});
+				logger.info(LoggingConstants.Schema.UPGRADE_APPLIED, value(LoggingConstants.Fields.ID, column.id()),
+						value(LoggingConstants.Fields.DATABASE, database));
+			} catch (DuplicateKeyException e) {
+				logger.info(LoggingConstants.Schema.UPGRADE_APPLIED_ELSEWHERE,
+						value(LoggingConstants.Fields.ID, column.id()), value(LoggingConstants.Fields.DATABASE, database));
+			}
+		}
+	}
+
+	private static void add(JdbcTemplate jdbc, RequiredColumn column) {
+		if (!Boolean.TRUE.equals(jdbc.execute(exists(column.table(), null)))) {
+			return;
+		}
+		if (!Boolean.TRUE.equals(jdbc.execute(exists(column.table(), column.column())))) {
+			jdbc.execute("alter table " + column.table() + " add column " + column.column() + " " + column.type());
+		}
+		jdbc.update("update " + column.table() + " set " + column.column() + " = " + column.value()
+				+ " where " + column.column() + " is null", column.args().toArray());
+		jdbc.execute("alter table " + column.table() + " alter column " + column.column() + " set not null");
+	}
+
+	/**
+	 * Checks whether a table, or a column of it, exists in the connection's schema.
+	 *
+	 * @param table  the table name
+	 * @param column the column name, or {@code null} to check the table
+	 * @return the callback returning the result
+	 */
+	private static ConnectionCallback<Boolean> exists(String table, String column) {
+		return connection -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			String tablePattern = pattern(metaData, table);
+			try (ResultSet result = column == null
+					? metaData.getTables(connection.getCatalog(), connection.getSchema(), tablePattern, null)
+					: metaData.getColumns(connection.getCatalog(), connection.getSchema(), tablePattern,
+					pattern(metaData, column))) {
+				return result.next();
+			}
+		};
+	}
+
+	private static String pattern(DatabaseMetaData metaData, String identifier) throws SQLException {
+		String name = metaData.storesUpperCaseIdentifiers() ? identifier.toUpperCase() : identifier;
+		String escape = metaData.getSearchStringEscape();
+		return escape == null ? name : name.replace("_", escape + "_");
+	}
+
+	/**
+	 * A {@code NOT NULL} column added to an existing table.
+	 *
+	 * @param id     the identifier of the upgrade in the {@code schema_upgrade} table
+	 * @param table  the table
+	 * @param column the column
+	 * @param type   the SQL type of the column
+	 * @param value  the SQL expression filling the column in existing rows, with {@code ?} placeholders
+	 * @param args   the values of the placeholders
+	 */
+	record RequiredColumn(String id, String table, String column, String type, String value, List<Object> args) {
+
+		RequiredColumn(String id, String table, String column, String type, String value, Object... args) {
+			this(id, table, column, type, value, List.of(args));
+		}
+	}
+}
@@ -1,7 +1,10 @@
 package org.yvynnyk.timetrack.service;
 
+import org.yvynnyk.timetrack.dto.TaskBatchDTO;
+import org.yvynnyk.timetrack.dto.TaskChangesDTO;
 import org.yvynnyk.timetrack.dto.TaskCreateDTO;
 import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
 import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
 
 import java.util.List;
@@ -33,7 +36,8 @@ public interface TaskService {
 	TaskDTO update(Long taskId, TaskDTO task);
 
 	/**
-	 * Updates an existing task using its ID from the task object.
+	 * Updates an existing task using its ID from the task object. Used by the time entries to change a task's
+	 * status, this update appends no lifecycle event of its own: the time entry's start or stop is the event.
 	 *
 	 * @param task the task to update
 	 * @return the updated task
@@ -49,6 +53,24 @@ public interface TaskService {
 	 */
 	TaskDTO getById(Long taskId);
 
+	/**
+	 * Retrieves several tasks by their IDs in one call.
+	 *
+	 * @param taskIds the IDs of the tasks to retrieve; duplicates are ignored
+	 * @return the found tasks and the IDs without a task, both in the order of {@code taskIds}
+	 * @throws InvalidRequestException if an ID is null or too many IDs are given
+	 */
+	TaskBatchDTO getByIds(List<Long> taskIds);
+
+	/**
+	 * Retrieves the tasks created or updated since a token, for clients synchronizing their copy of the tasks.
+	 *
+	 * @param token the token returned by the previous call, or {@code null} for all tasks
+	 * @return the changed tasks in the order of their changes, and the token for the next call
+	 * @throws InvalidRequestException if the token is malformed
+	 */
+	TaskChangesDTO getChangesSince(String token);
+
 	/**
 	 * Retrieves a list of tasks that are in progress, filtered by their status.
 	 *
@@ -57,6 +79,16 @@ public interface TaskService {
 	 */
 	List<TaskDTO> getTasksInProgress(TaskStatus status);
 
+	/**
+	 * Retrieves the tasks with the given status in one partition of the tasks, used to split batch work.
+	 *
+	 * @param status     the status of tasks to filter by
+	 * @param partition  the partition, from {@code 0} to {@code partitions - 1}
+	 * @param partitions the number of partitions
+	 * @return a list of tasks with the given status in the partition
+	 */
+	List<TaskDTO> getTasksInProgress(TaskStatus status, int partition, int partitions);
+
 	/**
 	 * Retrieves a list of all tasks.
 	 *
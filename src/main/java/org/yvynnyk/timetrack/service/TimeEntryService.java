@@ -1,8 +1,11 @@
 package org.yvynnyk.timetrack.service;
 
+import org.yvynnyk.timetrack.exception.InvalidTaskStateException;
 import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
 import org.yvynnyk.timetrack.model.TimeEntry;
 
+import java.time.LocalDate;
+
 /**
  * Service interface for managing time entries and tasks.
  * <p>
@@ -17,14 +20,14 @@ public interface TimeEntryService {
 	 * <p>
 	 * The task's status will be updated to {@code IN_PROGRESS} if it is currently
 	 * in the {@code CREATE} or {@code PENDING} state. A new {@link TimeEntry} will be
-	 * created and associated with the task. Throws {@link IllegalStateException} if
+	 * created and associated with the task. Throws {@link InvalidTaskStateException} if
 	 * the task is already in progress or completed. Throws {@link ResourceNotFoundException}
 	 * if the task with the specified ID does not exist.
 	 * </p>
 	 *
 	 * @param taskId the ID of the task to start
-	 * @throws IllegalStateException     if the task cannot be started due to its current status
-	 * @throws ResourceNotFoundException if the task with the specified ID does not exist
+	 * @throws InvalidTaskStateException if the task cannot be started due to its current status
+	 * @throws ResourceNotFoundException  if the task with the specified ID does not exist
 	 */
 	void start(Long taskId);
 
@@ -32,23 +35,40 @@ public interface TimeEntryService {
 	 * Stops the current time entry for the given task.
 	 * <p>
 	 * The task's status will be updated to {@code COMPLETED}, and the associated
-	 * {@link TimeEntry} will have its end time set. Throws {@link IllegalStateException}
+	 * {@link TimeEntry} will have its end time set. Throws {@link InvalidTaskStateException}
 	 * if the task is not in progress. Throws {@link ResourceNotFoundException} if the
 	 * task with the specified ID does not exist.
 	 * </p>
 	 *
 	 * @param taskId the ID of the task to stop
-	 * @throws IllegalStateException     if the task cannot be stopped due to its current status
-	 * @throws ResourceNotFoundException if the task with the specified ID does not exist
+	 * @throws InvalidTaskStateException if the task cannot be stopped due to its current status
+	 * @throws ResourceNotFoundException  if the task with the specified ID does not exist
 	 */
 	void stop(Long taskId);
 
 	/**
 	 * Automatically closes tasks that are still in progress at the end of the day.
 	 * <p>
-	 * This method is triggered by a scheduled task and checks for tasks with the
-	 * status {@code IN_PROGRESS}. It then stops the task if it was started today.
+	 * This method checks for tasks with the status {@code IN_PROGRESS}. It then stops
+	 * the task if it was started today.
 	 * </p>
+	 *
+	 * @throws IllegalStateException if some tasks could not be closed; the others are closed
 	 */
 	void closeTasksAutomatically();
+
+	/**
+	 * Automatically closes the tasks of one partition that are still in progress at the end of the given day.
+	 * <p>
+	 * Like {@link #closeTasksAutomatically()}, restricted to the tasks whose ID modulo {@code partitions}
+	 * equals {@code partition}, so that several workers can share the closure, and stopping the tasks that were
+	 * started on {@code date} instead of today, so that a run can be completed after midnight.
+	 * </p>
+	 *
+	 * @param date       the day whose tasks are closed
+	 * @param partition  the partition, from {@code 0} to {@code partitions - 1}
+	 * @param partitions the number of partitions
+	 * @throws IllegalStateException if some tasks of the partition could not be closed; the others are closed
+	 */
+	void closeTasksAutomatically(LocalDate date, int partition, int partitions);
 }
\ No newline at end of file
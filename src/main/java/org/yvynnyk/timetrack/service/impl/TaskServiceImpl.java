@@ -2,19 +2,44 @@ package org.yvynnyk.timetrack.service.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.yvynnyk.timetrack.cache.TaskCache;
+import org.yvynnyk.timetrack.cache.TaskChanges;
+import org.yvynnyk.timetrack.dto.TaskBatchDTO;
+import org.yvynnyk.timetrack.dto.TaskChangesDTO;
 import org.yvynnyk.timetrack.dto.TaskCreateDTO;
 import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.eventstore.TaskEventStore;
+import org.yvynnyk.timetrack.events.TaskEvents;
+import org.yvynnyk.timetrack.events.TaskStatusEvent;
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
 import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
 import org.yvynnyk.timetrack.mapper.TaskMapper;
 import org.yvynnyk.timetrack.model.Task;
 import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.outbox.Outbox;
 import org.yvynnyk.timetrack.repository.TaskRepository;
 import org.yvynnyk.timetrack.service.TaskService;
+import org.yvynnyk.timetrack.sync.ChangeToken;
+import org.yvynnyk.timetrack.sync.SyncProperties;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static net.logstash.logback.argument.StructuredArguments.value;
+import static org.yvynnyk.timetrack.constant.ExceptionConstants.Task.NULL_TASK_ID;
 import static org.yvynnyk.timetrack.constant.ExceptionConstants.Task.TASK_NOT_FOUND_WITH_ID;
+import static org.yvynnyk.timetrack.constant.ExceptionConstants.Task.TOO_MANY_TASK_IDS;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TASK_ID;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TASK_NAME;
 import static org.yvynnyk.timetrack.constant.LoggingConstants.Task.Service.TASK_CREATED;
 import static org.yvynnyk.timetrack.constant.LoggingConstants.Task.Service.TASK_UPDATED;
 
@@ -24,72 +49,186 @@ import static org.yvynnyk.timetrack.constant.LoggingConstants.Task.Service.TASK_
  * This class provides concrete implementations for task creation, updating, and retrieval
  * of tasks from a database using JPA.
  * </p>
+ * <p>
+ * Retrievals run in read-only transactions, which are served by the read replica when one is configured;
+ * creations and updates run on the primary.
+ * </p>
+ * <p>
+ * Single tasks and task lists are served from the {@link TaskCache} when they are read outside a read-write
+ * transaction; such reads join no transaction, so a cache hit does not touch the database. Every created or
+ * updated task is reported to {@link TaskChanges}, which invalidates it on all instances after the commit, and
+ * to {@link TaskEvents}, which streams its status to the subscribed clients. Time entries change a task's status
+ * through {@link #update(TaskDTO)}, so starting and stopping them is streamed as well.
+ * </p>
+ * <p>
+ * Every saved task is also recorded in the {@link Outbox}, in the saving transaction, for downstream systems.
+ * Creations and updates through the API are appended to the {@link TaskEventStore} in the same transaction; the
+ * status changes of {@link #update(TaskDTO)} are appended as the start and stop of the time entry instead.
+ * </p>
+ * <p>
+ * Changed tasks are read page by page from the index on the tasks' change time, see
+ * {@link #getChangesSince(String)}, so a synchronization costs in proportion to the changes rather than to all
+ * tasks.
+ * </p>
  */
 @Service
 public class TaskServiceImpl implements TaskService {
 	private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
+	private static final int MAX_BATCH_SIZE = 10_000;
+	private static final int BATCH_CHUNK_SIZE = 512;
 	private final TaskRepository taskRepository;
 	private final TaskMapper taskMapper;
-
+	private final TaskCache taskCache;
+	private final TaskChanges taskChanges;
+	private final TaskEvents taskEvents;
+	private final Outbox outbox;
+	private final SyncProperties syncProperties;
+	private final TaskEventStore eventStore;
 
 	/**
 	 * Constructs a new {@code TaskServiceImpl} with the given task repository.
 	 *
 	 * @param taskRepository the repository used for task persistence
+	 * @param taskMapper     the mapper used to convert tasks
+	 * @param taskCache      the cache serving task reads
+	 * @param taskChanges    the recorder of changed tasks
+	 * @param taskEvents     the recorder of task status events
+	 * @param outbox         the outbox of change events
+	 * @param syncProperties the synchronization properties
+	 * @param eventStore     the store of task lifecycle events
 	 */
-	public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper) {
+	public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper, TaskCache taskCache,
+						   TaskChanges taskChanges, TaskEvents taskEvents, Outbox outbox,
+						   SyncProperties syncProperties, TaskEventStore eventStore) {
 		this.taskRepository = taskRepository;
 		this.taskMapper = taskMapper;
+		this.taskCache = taskCache;
+		this.taskChanges = taskChanges;
+		this.taskEvents = taskEvents;
+		this.outbox = outbox;
+		this.syncProperties = syncProperties;
+		this.eventStore = eventStore;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
+	@Transactional
 	public TaskDTO create(TaskCreateDTO taskCreateDTO) {
 		Task task = taskMapper.toEntity(taskCreateDTO);
 		task.setStatus(TaskStatus.CREATE);
-		logger.info(TASK_CREATED.formatted(task.getName()));
-		return taskMapper.toDto(taskRepository.save(task));
+		logger.info(TASK_CREATED, value(TASK_NAME, task.getName()));
+		TaskDTO created = taskMapper.toDto(taskRepository.save(task));
+		taskChanges.changed(created.getId());
+		taskEvents.statusSaved(created.getId(), created.getStatus());
+		recordSaved(created);
+		eventStore.created(created);
+		return created;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
+	@Transactional
 	public TaskDTO update(Long taskId, TaskDTO taskDTO) {
-		Task task = taskMapper.toEntity(taskDTO);
-		if (taskRepository.existsById(taskId)) {
-			task.setId(taskId);
-			logger.info(TASK_UPDATED.formatted(taskId));
-			return taskMapper.toDto(taskRepository.save(task));
-		} else {
-			throw new ResourceNotFoundException(TASK_NOT_FOUND_WITH_ID.formatted(taskId));
-		}
+		TaskDTO updated = save(taskId, taskDTO);
+		eventStore.updated(updated);
+		return updated;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
+	@Transactional
 	public TaskDTO update(TaskDTO taskDTO) {
-		return update(taskDTO.getId(), taskDTO);
+		return save(taskDTO.getId(), taskDTO);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public TaskDTO getById(Long taskId) {
-		Task task = taskRepository.findById(taskId)
-				.orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_WITH_ID.formatted(taskId)));
-		return taskMapper.toDto(task);
+		return taskCache.get(taskId, () -> taskMapper.toDto(taskRepository.findById(taskId)
+				.orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_WITH_ID.formatted(taskId)))));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Cached tasks are served from the {@link TaskCache}; the others are loaded with one {@code IN} query per
+	 * {@value #BATCH_CHUNK_SIZE} IDs.
+	 * </p>
+	 */
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public TaskBatchDTO getByIds(List<Long> taskIds) {
+		if (taskIds.size() > MAX_BATCH_SIZE) {
+			throw new InvalidRequestException(TOO_MANY_TASK_IDS.formatted(MAX_BATCH_SIZE, taskIds.size()));
+		}
+		Set<Long> ids = new LinkedHashSet<>();
+		for (Long taskId : taskIds) {
+			if (taskId == null) {
+				throw new InvalidRequestException(NULL_TASK_ID);
+			}
+			ids.add(taskId);
+		}
+		Map<Long, TaskDTO> found = taskCache.getMany(ids, this::loadByIds);
+		List<TaskDTO> tasks = new ArrayList<>(found.size());
+		List<Long> missingIds = new ArrayList<>();
+		for (Long taskId : ids) {
+			TaskDTO task = found.get(taskId);
+			if (task != null) {
+				tasks.add(task);
+			} else {
+				missingIds.add(taskId);
+			}
+		}
+		return new TaskBatchDTO(tasks, missingIds);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * At most {@link SyncProperties#getPageSize()} tasks are returned at once. Changes are numbered when they are
+	 * written rather than when they commit, so the returned token only moves past changes older than
+	 * {@link SyncProperties#getSettleTime()}: a change written earlier but committed later than a returned one is
+	 * still found by the next call. Newer changes are returned all the same, and again by the next call.
+	 * </p>
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public TaskChangesDTO getChangesSince(String token) {
+		ChangeToken since = ChangeToken.parse(token);
+		int pageSize = syncProperties.getPageSize();
+		List<Task> changed = taskRepository.findChangedAfter(since.changedAt(), since.taskId(),
+				Limit.of(pageSize + 1));
+		boolean more = changed.size() > pageSize;
+		if (more) {
+			changed = changed.subList(0, pageSize);
+		}
+		LocalDateTime settled = LocalDateTime.now().minus(syncProperties.getSettleTime());
+		ChangeToken next = since;
+		int covered = 0;
+		for (Task task : changed) {
+			if (!task.getChangedAt().isBefore(settled)) {
+				break;
+			}
+			next = new ChangeToken(task.getChangedAt(), task.getId());
+			covered++;
+		}
+		return new TaskChangesDTO(taskMapper.toDto(changed), next.toString(), more && covered == changed.size());
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<TaskDTO> getTasksInProgress(TaskStatus status) {
 		return taskMapper.toDto(taskRepository.findAllByStatus(status));
 	}
@@ -98,7 +237,67 @@ public class TaskServiceImpl implements TaskService {
 	 * {@inheritDoc}
 	 */
 	@Override
+	@Transactional(readOnly = true)
+	public List<TaskDTO> getTasksInProgress(TaskStatus status, int partition, int partitions) {
+		return taskMapper.toDto(taskRepository.findAllByStatusInPartition(status, partition, partitions));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<TaskDTO> getAll() {
-		return taskMapper.toDto(taskRepository.findAll());
+		return taskCache.getAll(() -> taskMapper.toDto(taskRepository.findAll()));
+	}
+
+	/**
+	 * Loads tasks by ID in chunks, so that the {@code IN} lists stay within the database's parameter limits and
+	 * their padded sizes, and thus the statements, are reused.
+	 *
+	 * @param taskIds the task IDs
+	 * @return the found tasks, in no particular order
+	 */
+	private List<TaskDTO> loadByIds(Collection<Long> taskIds) {
+		List<Long> ids = List.copyOf(taskIds);
+		List<TaskDTO> tasks = new ArrayList<>(ids.size());
+		for (int from = 0; from < ids.size(); from += BATCH_CHUNK_SIZE) {
+			tasks.addAll(taskMapper.toDto(taskRepository.findAllById(
+					ids.subList(from, Math.min(from + BATCH_CHUNK_SIZE, ids.size())))));
+		}
+		return tasks;
+	}
+
+	/**
+	 * Saves an existing task and reports the change.
+	 *
+	 * @param taskId  the ID of the task
+	 * @param taskDTO the task details
+	 * @return the saved task
+	 * @throws ResourceNotFoundException if the task does not exist
+	 */
+	private TaskDTO save(Long taskId, TaskDTO taskDTO) {
+		Task task = taskMapper.toEntity(taskDTO);
+		if (taskRepository.existsById(taskId)) {
+			task.setId(taskId);
+			logger.info(TASK_UPDATED, value(TASK_ID, taskId));
+			TaskDTO updated = taskMapper.toDto(taskRepository.save(task));
+			taskChanges.changed(taskId);
+			taskEvents.statusSaved(taskId, updated.getStatus());
+			recordSaved(updated);
+			return updated;
+		} else {
+			throw new ResourceNotFoundException(TASK_NOT_FOUND_WITH_ID.formatted(taskId));
+		}
+	}
+
+	/**
+	 * Records the saved task in the outbox.
+	 *
+	 * @param task the saved task
+	 */
+	private void recordSaved(TaskDTO task) {
+		outbox.record(Outbox.TASK, task.getId(), Outbox.TASK_SAVED,
+				new TaskStatusEvent(task.getId(), task.getStatus(), LocalDateTime.now()));
 	}
-}
\ No newline at end of file
+}
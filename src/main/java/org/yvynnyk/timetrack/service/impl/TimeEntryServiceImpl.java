@@ -1,23 +1,43 @@
 package org.yvynnyk.timetrack.service.impl;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.cache.TaskChanges;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
 import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.eventstore.TaskEventStore;
+import org.yvynnyk.timetrack.exception.InvalidTaskStateException;
 import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
 import org.yvynnyk.timetrack.mapper.TaskMapper;
 import org.yvynnyk.timetrack.model.TimeEntry;
 import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.outbox.Outbox;
+import org.yvynnyk.timetrack.outbox.TimeEntryEvent;
 import org.yvynnyk.timetrack.repository.TimeEntryRepository;
 import org.yvynnyk.timetrack.service.TaskService;
 import org.yvynnyk.timetrack.service.TimeEntryService;
+import org.yvynnyk.timetrack.statistics.TaskDurationStatistics;
+import org.yvynnyk.timetrack.tenant.TenantContext;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
+import static net.logstash.logback.argument.StructuredArguments.value;
 import static org.yvynnyk.timetrack.constant.ExceptionConstants.TimeEntry.*;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TASK_ID;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TIME;
 import static org.yvynnyk.timetrack.constant.LoggingConstants.TimeEntry.Service.*;
 
 /**
@@ -27,6 +47,12 @@ import static org.yvynnyk.timetrack.constant.LoggingConstants.TimeEntry.Service.
  * automatically close tasks that remain in progress at the end of the day. It uses
  * a task repository and time entry repository to persist and update data.
  * </p>
+ * <p>
+ * Starting and stopping a time entry reports its task to {@link TaskChanges}, so that cached copies of the task
+ * are invalidated on all instances, records a time entry event in the {@link Outbox} for downstream systems and
+ * appends the start or stop to the task's history in the {@link TaskEventStore}. Stopped entries are also
+ * reported to the {@link TaskDurationStatistics}.
+ * </p>
  */
 @Service
 public class TimeEntryServiceImpl implements TimeEntryService {
@@ -34,17 +60,50 @@ public class TimeEntryServiceImpl implements TimeEntryService {
 	private final TimeEntryRepository timeEntryRepository;
 	private final TaskService taskService;
 	private final TaskMapper taskMapper;
+	private final TaskChanges taskChanges;
+	private final Outbox outbox;
+	private final TaskDurationStatistics taskDurations;
+	private final TaskEventStore eventStore;
+	private final TransactionTemplate closureTransactions;
+	private final Timer closureTimer;
+	private final Counter closureTasksScanned;
+	private final Counter closureTasksClosed;
 
 	/**
 	 * Constructs a new {@code TimeEntryServiceImpl} with the given repositories.
 	 *
 	 * @param timeEntryRepository the repository used for time entry persistence
 	 * @param taskService         the service used to manage tasks
+	 * @param taskMapper          the mapper used to convert tasks
+	 * @param taskChanges         the recorder of changed tasks
+	 * @param outbox              the outbox of change events
+	 * @param taskDurations       the statistics of completed time entries
+	 * @param eventStore          the store of task lifecycle events
+	 * @param transactionManager  the transaction manager of the automatically closed tasks
+	 * @param meterRegistry       the registry for the automatic closure metrics
 	 */
-	public TimeEntryServiceImpl(TimeEntryRepository timeEntryRepository, TaskService taskService, TaskMapper taskMapper) {
+	public TimeEntryServiceImpl(TimeEntryRepository timeEntryRepository, TaskService taskService, TaskMapper taskMapper,
+	                            TaskChanges taskChanges, Outbox outbox, TaskDurationStatistics taskDurations,
+	                            TaskEventStore eventStore, PlatformTransactionManager transactionManager,
+	                            MeterRegistry meterRegistry) {
 		this.timeEntryRepository = timeEntryRepository;
 		this.taskService = taskService;
 		this.taskMapper = taskMapper;
+		this.taskChanges = taskChanges;
+		this.outbox = outbox;
+		this.taskDurations = taskDurations;
+		this.eventStore = eventStore;
+		this.closureTransactions = new TransactionTemplate(transactionManager);
+		this.closureTransactions.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.closureTimer = Timer.builder(MetricsConstants.Closure.DURATION)
+				.description("Duration of the automatic task closure run")
+				.register(meterRegistry);
+		this.closureTasksScanned = Counter.builder(MetricsConstants.Closure.TASKS_SCANNED)
+				.description("In-progress tasks examined by the automatic task closure")
+				.register(meterRegistry);
+		this.closureTasksClosed = Counter.builder(MetricsConstants.Closure.TASKS_CLOSED)
+				.description("Tasks stopped by the automatic task closure")
+				.register(meterRegistry);
 	}
 
 	/**
@@ -52,19 +111,24 @@ public class TimeEntryServiceImpl implements TimeEntryService {
 	 * <p>
 	 * Starts a time entry for the specified task. If the task's status is {@code CREATE}
 	 * or {@code PENDING}, it updates the status to {@code IN_PROGRESS} and creates a
-	 * new time entry. Throws {@link IllegalStateException} if the task is already in progress
+	 * new time entry. Throws {@link InvalidTaskStateException} if the task is already in progress
 	 * or completed. Throws {@link ResourceNotFoundException} if the task does not exist.
 	 * </p>
 	 */
 	@Override
+	@Transactional
 	public void start(Long taskId) {
 		TaskDTO task = taskService.getById(taskId);
 		if (task.getStatus() == TaskStatus.CREATE || task.getStatus() == TaskStatus.PENDING) {
 			updateTaskStatus(task, TaskStatus.IN_PROGRESS);
-			createAndSaveTimeEntry(task);
-			logger.info(TIME_ENTRY_STARTED.formatted(task.getId()));
+			TimeEntry timeEntry = createAndSaveTimeEntry(task);
+			taskChanges.changed(task.getId());
+			outbox.record(Outbox.TIME_ENTRY, timeEntry.getId(), Outbox.TIME_ENTRY_STARTED,
+					TimeEntryEvent.of(task.getId(), timeEntry));
+			eventStore.started(task.getId(), timeEntry);
+			logger.info(TIME_ENTRY_STARTED, value(TASK_ID, task.getId()));
 		} else {
-			throw new IllegalStateException(TASK_STATUS_ERROR);
+			throw new InvalidTaskStateException(TASK_STATUS_ERROR);
 		}
 	}
 
@@ -73,19 +137,25 @@ public class TimeEntryServiceImpl implements TimeEntryService {
 	 * <p>
 	 * Stops the time entry for the specified task. If the task's status is {@code IN_PROGRESS},
 	 * it updates the status to {@code COMPLETED} and sets the end time of the time entry.
-	 * Throws {@link IllegalStateException} if the task is not in progress. Throws
+	 * Throws {@link InvalidTaskStateException} if the task is not in progress. Throws
 	 * {@link ResourceNotFoundException} if the task does not exist.
 	 * </p>
 	 */
 	@Override
+	@Transactional
 	public void stop(Long taskId) {
 		TaskDTO task = taskService.getById(taskId);
 		if (task.getStatus() == TaskStatus.IN_PROGRESS) {
 			updateTaskStatus(task, TaskStatus.COMPLETED);
-			updateTimeEntryEndTime(taskId);
-			logger.info(TIME_ENTRY_STOPPED.formatted(taskId));
+			TimeEntry timeEntry = updateTimeEntryEndTime(taskId);
+			taskChanges.changed(taskId);
+			outbox.record(Outbox.TIME_ENTRY, timeEntry.getId(), Outbox.TIME_ENTRY_STOPPED,
+					TimeEntryEvent.of(taskId, timeEntry));
+			eventStore.stopped(taskId, timeEntry);
+			taskDurations.completed(timeEntry.getTenantId(), timeEntry.getStartTime(), timeEntry.getEndTime());
+			logger.info(TIME_ENTRY_STOPPED, value(TASK_ID, taskId));
 		} else {
-			throw new IllegalStateException(TASK_STATUS_ERROR);
+			throw new InvalidTaskStateException(TASK_STATUS_ERROR);
 		}
 	}
 
@@ -93,18 +163,62 @@ public class TimeEntryServiceImpl implements TimeEntryService {
 	 * {@inheritDoc}
 	 * <p>
 	 * Automatically closes tasks that are still in progress at the end of the day.
-	 * This method is triggered by a scheduled task and processes tasks with the status
-	 * {@code IN_PROGRESS} that were started today.
+	 * This method processes tasks with the status {@code IN_PROGRESS} that were started today.
+	 * The run duration and the number of scanned and closed tasks are recorded as metrics.
+	 * It is triggered by the {@code ClosureJob}, which coordinates the application instances.
+	 * Every task is closed in its own transaction, so that its changes and outbox events are committed together,
+	 * while a task that cannot be closed is logged and skipped without undoing the others. The failures are thrown
+	 * together once all tasks were examined, so that the closure is retried.
 	 * </p>
 	 */
 	@Override
-	@Scheduled(cron = "59 59 23 * * *")
 	public void closeTasksAutomatically() {
-		LocalDate today = LocalDate.now();
-		logger.info(AUTOMATIC_TASK_CLOSURE_STARTED.formatted(LocalDateTime.now()));
-		List<TaskDTO> tasks = taskService.getTasksInProgress(TaskStatus.IN_PROGRESS);
-		tasks.forEach(task -> processTask(task, today));
-		logger.info(AUTOMATIC_TASK_CLOSURE_COMPLETED.formatted(LocalDateTime.now()));
+		closeTasks(LocalDate.now(), () -> taskService.getTasksInProgress(TaskStatus.IN_PROGRESS));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The metrics of {@link #closeTasksAutomatically()} are recorded per partition, and each task of the partition
+	 * is closed in its own transaction.
+	 * </p>
+	 */
+	@Override
+	public void closeTasksAutomatically(LocalDate date, int partition, int partitions) {
+		closeTasks(date, () -> taskService.getTasksInProgress(TaskStatus.IN_PROGRESS, partition, partitions));
+	}
+
+	/**
+	 * Closes the in-progress tasks that were started on the given day among the given tasks.
+	 *
+	 * @param date       the day whose tasks are closed
+	 * @param inProgress supplier of the in-progress tasks to examine
+	 * @throws IllegalStateException if some tasks could not be closed, with their failures as suppressed exceptions
+	 */
+	private void closeTasks(LocalDate date, Supplier<List<TaskDTO>> inProgress) {
+		closureTimer.record(() -> {
+			logger.info(AUTOMATIC_TASK_CLOSURE_STARTED, value(TIME, LocalDateTime.now()));
+			List<TaskDTO> tasks = inProgress.get();
+			closureTasksScanned.increment(tasks.size());
+			Map<Long, RuntimeException> failures = new LinkedHashMap<>();
+			tasks.forEach(task -> {
+				try {
+					if (processTask(task, date)) {
+						closureTasksClosed.increment();
+					}
+				} catch (RuntimeException e) {
+					logger.warn(TASK_AUTOMATIC_CLOSURE_FAILED, value(TASK_ID, task.getId()), e);
+					failures.put(task.getId(), e);
+				}
+			});
+			if (!failures.isEmpty()) {
+				IllegalStateException failure = new IllegalStateException(
+						AUTOMATIC_CLOSURE_FAILED.formatted(failures.keySet()));
+				failures.values().forEach(failure::addSuppressed);
+				throw failure;
+			}
+			logger.info(AUTOMATIC_TASK_CLOSURE_COMPLETED, value(TIME, LocalDateTime.now()));
+		});
 	}
 
 	/**
@@ -122,40 +236,75 @@ public class TimeEntryServiceImpl implements TimeEntryService {
 	 * Creates and saves a new time entry for the given task.
 	 *
 	 * @param task the task for which to create the time entry
+	 * @return the saved time entry
 	 */
-	private void createAndSaveTimeEntry(TaskDTO task) {
+	private TimeEntry createAndSaveTimeEntry(TaskDTO task) {
 		TimeEntry timeEntry = new TimeEntry();
 		timeEntry.setTask(taskMapper.toEntity(task));
 		timeEntry.setStartTime(LocalDateTime.now());
 		timeEntryRepository.save(timeEntry);
+		return timeEntry;
 	}
 
 	/**
 	 * Updates the end time of the time entry associated with the given task ID.
 	 *
 	 * @param taskId the ID of the task for which to update the time entry
-	 * @throws RuntimeException if no active time entry is found for the task
+	 * @return the stopped time entry
+	 * @throws ResourceNotFoundException if no active time entry is found for the task
 	 */
-	private void updateTimeEntryEndTime(Long taskId) {
+	private TimeEntry updateTimeEntryEndTime(Long taskId) {
 		TimeEntry timeEntry = timeEntryRepository.findByTaskIdAndEndTimeIsNull(taskId)
-				.orElseThrow(() -> new RuntimeException(ACTIVE_TIME_ENTRY_NOT_FOUND.formatted(taskId)));
+				.orElseThrow(() -> new ResourceNotFoundException(ACTIVE_TIME_ENTRY_NOT_FOUND.formatted(taskId)));
 		timeEntry.setEndTime(LocalDateTime.now());
 		timeEntryRepository.save(timeEntry);
+		return timeEntry;
 	}
 
 	/**
-	 * Processes the task and closes it if it was started today.
+	 * Processes the task and closes it if it was started on the given day. The task is stopped as its own tenant,
+	 * so that its events are attributed to that tenant when the closure runs across all tenants, in a new
+	 * transaction, since {@link #stop(Long)} is called on this instance and not through its proxy.
 	 *
-	 * @param task  the task to process
-	 * @param today the current date
+	 * @param task the task to process
+	 * @param date the day whose tasks are closed
+	 * @return {@code true} if the task was closed
 	 */
-	private void processTask(TaskDTO task, LocalDate today) {
-		TimeEntry timeEntries = timeEntryRepository.findByTaskId(task.getId())
-				.orElseThrow(() -> new RuntimeException(TIME_ENTRY_NOT_FOUND_FOR_TASK_ID.formatted(task.getId())));
-		boolean taskStartedToday = timeEntries.getStartTime().toLocalDate().isEqual(today);
-		if (timeEntries.getTask().getStatus() == TaskStatus.IN_PROGRESS && taskStartedToday) {
-			stop(task.getId());
-			logger.info(TASK_AUTOMATICALLY_CLOSED.formatted(task.getId()));
+	private boolean processTask(TaskDTO task, LocalDate date) {
+		TimeEntry timeEntries = timeEntryRepository.findWithTaskByTaskId(task.getId())
+				.orElseThrow(() -> new ResourceNotFoundException(
+						TIME_ENTRY_NOT_FOUND_FOR_TASK_ID.formatted(task.getId())));
+		boolean taskStartedOnDate = timeEntries.getStartTime().toLocalDate().isEqual(date);
+		if (timeEntries.getTask().getStatus() == TaskStatus.IN_PROGRESS && taskStartedOnDate) {
+			asTenant(timeEntries.getTenantId(),
+					() -> closureTransactions.executeWithoutResult(status -> stop(task.getId())));
+			logger.info(TASK_AUTOMATICALLY_CLOSED, value(TASK_ID, task.getId()));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Runs an action with the given tenant bound, restoring the previous tenant afterwards.
+	 *
+	 * @param tenantId the tenant, or {@code null} to keep the current one
+	 * @param action   the action to run
+	 */
+	private static void asTenant(String tenantId, Runnable action) {
+		String previous = TenantContext.current();
+		if (tenantId == null || tenantId.equals(previous)) {
+			action.run();
+			return;
+		}
+		TenantContext.bind(tenantId);
+		try {
+			action.run();
+		} finally {
+			if (previous != null) {
+				TenantContext.bind(previous);
+			} else {
+				TenantContext.unbind();
+			}
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package org.yvynnyk.timetrack.sharding;
+
+/**
+ * Explicit choice of the shard for the database connections obtained on the current thread.
+ * <p>
+ * Normally the shard follows from the current tenant; binding a shard overrides that for work that is not tied to
+ * a single tenant, such as the schema initialization or jobs running across all tenants.
+ * </p>
+ */
+public final class ShardContext {
+
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+	private ShardContext() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Runs an action with the given shard bound to the current thread, restoring the previous binding afterwards.
+	 *
+	 * @param shard  the shard name
+	 * @param action the action to run
+	 */
+	public static void run(String shard, Runnable action) {
+		String previous = CURRENT.get();
+		CURRENT.set(shard);
+		try {
+			action.run();
+		} finally {
+			if (previous != null) {
+				CURRENT.set(previous);
+			} else {
+				CURRENT.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns the shard bound to the current thread.
+	 *
+	 * @return the shard name, or {@code null} if the shard follows from the tenant
+	 */
+	public static String current() {
+		return CURRENT.get();
+	}
+}
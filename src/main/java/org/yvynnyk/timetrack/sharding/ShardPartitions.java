@@ -0,0 +1,29 @@
+package org.yvynnyk.timetrack.sharding;
+
+import org.yvynnyk.timetrack.tenant.TenantPartitions;
+
+import java.util.List;
+
+/**
+ * Partitioning of the tenants' data into shards: an action runs once per shard, in shard order.
+ */
+public class ShardPartitions implements TenantPartitions {
+
+	private final List<String> shards;
+
+	/**
+	 * Constructs a ShardPartitions.
+	 *
+	 * @param shards the shard names
+	 */
+	public ShardPartitions(List<String> shards) {
+		this.shards = List.copyOf(shards);
+	}
+
+	@Override
+	public void forEach(Runnable action) {
+		for (String shard : shards) {
+			ShardContext.run(shard, action);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package org.yvynnyk.timetrack.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring placing tenants on shards.
+ * <p>
+ * Every shard occupies a number of virtual nodes on a 64-bit ring, at the hashes of its name and the node index. A
+ * tenant belongs to the first node at or after the hash of its identifier. Adding a shard therefore only takes over
+ * about {@code 1 / shards} of the tenants, and the virtual nodes keep the shards' shares even. Hashes are the first
+ * eight bytes of the MD5 digest, which is stable across JVMs and releases.
+ * </p>
+ */
+public final class ShardRing {
+
+	private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+	/**
+	 * Constructs a ShardRing.
+	 *
+	 * @param shards       the shard names
+	 * @param virtualNodes the number of points per shard
+	 * @throws IllegalArgumentException if there is no shard or the number of points is not positive
+	 */
+	public ShardRing(Collection<String> shards, int virtualNodes) {
+		if (shards.isEmpty() || virtualNodes <= 0) {
+			throw new IllegalArgumentException("A ring needs at least one shard and one virtual node per shard");
+		}
+		for (String shard : shards) {
+			for (int node = 0; node < virtualNodes; node++) {
+				ring.put(hash(shard + '#' + node), shard);
+			}
+		}
+	}
+
+	/**
+	 * Returns the shard a key is placed on.
+	 *
+	 * @param key the key, such as a tenant identifier
+	 * @return the shard name
+	 */
+	public String shardFor(String key) {
+		Map.Entry<Long, String> node = ring.ceilingEntry(hash(key));
+		return (node != null ? node : ring.firstEntry()).getValue();
+	}
+
+	static long hash(String key) {
+		byte[] digest = md5().digest(key.getBytes(StandardCharsets.UTF_8));
+		long hash = 0;
+		for (int i = 0; i < Long.BYTES; i++) {
+			hash = (hash << 8) | (digest[i] & 0xFF);
+		}
+		return hash;
+	}
+
+	private static MessageDigest md5() {
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("MD5 is required by the Java platform", e);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package org.yvynnyk.timetrack.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource sending each connection to the shard of the current tenant.
+ * <p>
+ * The shard is taken from the {@link ShardContext} if one is bound, and otherwise looked up in the
+ * {@link TenantDirectory} for the tenant of the {@link TenantContext}. Work without a tenant, and work as the root
+ * tenant outside a shard scope, uses the shard of the default tenant. The choice is made when the connection is
+ * obtained, i.e. at the start of a transaction, so the tenant must be bound before.
+ * </p>
+ * <p>
+ * Work of a tenant that is being moved between shards is rejected with a
+ * {@link org.yvynnyk.timetrack.exception.TenantMovingException}, also within a shard scope, so that nothing is
+ * written to the old shard while the move copies the tenant's rows.
+ * </p>
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+	private final TenantDirectory directory;
+	private final String defaultTenant;
+
+	/**
+	 * Constructs a ShardRoutingDataSource.
+	 *
+	 * @param shards        the shard databases by shard name
+	 * @param directory     the directory of tenant placements
+	 * @param defaultTenant the tenant used when none is bound
+	 */
+	public ShardRoutingDataSource(Map<String, DataSource> shards, TenantDirectory directory, String defaultTenant) {
+		this.directory = directory;
+		this.defaultTenant = defaultTenant;
+		setTargetDataSources(new HashMap<>(shards));
+		setLenientFallback(false);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		String tenantId = TenantContext.current();
+		String shard = ShardContext.current();
+		if (shard != null) {
+			if (tenantId != null && !TenantContext.ROOT.equals(tenantId)) {
+				directory.activeShardOf(tenantId);
+			}
+			return shard;
+		}
+		if (tenantId == null || TenantContext.ROOT.equals(tenantId)) {
+			tenantId = defaultTenant;
+		}
+		return directory.activeShardOf(tenantId);
+	}
+}
@@ -0,0 +1,116 @@
+package org.yvynnyk.timetrack.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropRegistryNotAvailableImpl;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * Prepares the schema of every shard once the application has started.
+ * <p>
+ * Hibernate applies {@code spring.jpa.hibernate.ddl-auto} to the one database it sees at startup, the shard of the
+ * default tenant. This initializer captures Hibernate's mapping metadata as an {@link Integrator} and, unless the
+ * action is {@code none} or {@code validate}, updates the schema of every shard with it.
+ * </p>
+ * <p>
+ * It then gives every shard its own block of generated identifiers: on the shard at position {@code i}, the
+ * identity columns of empty tenant tables restart at {@code i * 2^40 + 1}. Identifiers thus stay unique across
+ * shards, below 2^53 for JavaScript clients, and a tenant keeps its identifiers when it is moved to another shard.
+ * </p>
+ */
+public class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+	/**
+	 * Size of the identifier block of a shard.
+	 */
+	public static final long ID_BLOCK = 1L << 40;
+
+	private static final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+	private static final Set<String> NO_SCHEMA_CHANGES = Set.of("none", "validate");
+
+	private final List<String> shards;
+	private final Map<String, DataSource> dataSources;
+
+	private Metadata metadata;
+	private SessionFactoryImplementor sessionFactory;
+
+	/**
+	 * Constructs a ShardSchemaInitializer.
+	 *
+	 * @param shards      the shard names, in configuration order
+	 * @param dataSources the shard databases by shard name
+	 */
+	public ShardSchemaInitializer(List<String> shards, Map<String, DataSource> dataSources) {
+		this.shards = List.copyOf(shards);
+		this.dataSources = Map.copyOf(dataSources);
+	}
+
+	@Override
+	public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+						  SessionFactoryImplementor sessionFactory) {
+		this.metadata = metadata;
+		this.sessionFactory = sessionFactory;
+	}
+
+	@Override
+	public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+		this.metadata = null;
+		this.sessionFactory = null;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (metadata == null) {
+			return;
+		}
+		Object action = sessionFactory.getProperties().get(AvailableSettings.HBM2DDL_AUTO);
+		if (action != null && !NO_SCHEMA_CHANGES.contains(action.toString())) {
+			Map<String, Object> settings = new HashMap<>(sessionFactory.getProperties());
+			settings.remove(AvailableSettings.JAKARTA_HBM2DDL_DATABASE_ACTION);
+			settings.put(AvailableSettings.HBM2DDL_AUTO, "update");
+			for (String shard : shards) {
+				ShardContext.run(shard, () -> SchemaManagementToolCoordinator.process(metadata,
+						sessionFactory.getServiceRegistry(), settings, DelayedDropRegistryNotAvailableImpl.INSTANCE));
+			}
+		}
+		for (int i = 1; i < shards.size(); i++) {
+			assignIdentityBlock(shards.get(i), i * ID_BLOCK + 1);
+		}
+	}
+
+	private void assignIdentityBlock(String shard, long start) {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSources.get(shard));
+		for (String table : TenantRebalancer.TENANT_TABLES) {
+			try {
+				Long max = jdbc.queryForObject("select max(id) from " + table, Long.class);
+				if (max == null) {
+					jdbc.execute("alter table " + table + " alter column id restart with " + start);
+					logger.info(LoggingConstants.Sharding.IDENTITY_BLOCK, value(LoggingConstants.Fields.TABLE, table),
+							value(LoggingConstants.Fields.SHARD, shard), value(LoggingConstants.Fields.ID, start));
+				}
+			} catch (DataAccessException e) {
+				logger.warn(LoggingConstants.Sharding.IDENTITY_BLOCK_FAILED, value(LoggingConstants.Fields.TABLE, table),
+						value(LoggingConstants.Fields.SHARD, shard), e);
+			}
+		}
+	}
+}
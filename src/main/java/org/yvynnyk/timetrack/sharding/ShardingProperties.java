@@ -0,0 +1,79 @@
+package org.yvynnyk.timetrack.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the tenant sharding, bound from the {@code timetrack.sharding} prefix.
+ * <p>
+ * Shards are configured as a list, e.g. {@code timetrack.sharding.shards[0].name=eu-1}; pool settings of a shard are
+ * bound from {@code timetrack.sharding.shards[i].hikari}. The list may only be appended to: a shard's position
+ * determines the block of identifiers generated on it, and its name its place on the hash ring.
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.sharding")
+public class ShardingProperties {
+
+	/**
+	 * Whether tasks and time entries are distributed over the configured shards.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * The shards; the first one also holds the tenant directory.
+	 */
+	private List<Shard> shards = new ArrayList<>();
+
+	/**
+	 * Points per shard on the consistent hash ring.
+	 */
+	private int virtualNodes = 128;
+
+	/**
+	 * How long a tenant's shard is cached before the directory is read again.
+	 */
+	private Duration directoryCacheTtl = Duration.ofSeconds(30);
+
+	/**
+	 * Time for the transactions that started before a tenant was fenced for a move to finish; a move waits for it
+	 * and the directory cache time before copying the tenant's rows.
+	 */
+	private Duration moveDrainTime = Duration.ofSeconds(10);
+
+	/**
+	 * Upper bound of tenants whose shard is cached.
+	 */
+	private long directoryCacheSize = 100_000;
+
+	/**
+	 * One database holding the data of a subset of the tenants.
+	 */
+	@Data
+	public static class Shard {
+
+		/**
+		 * Unique and stable name of the shard.
+		 */
+		private String name;
+
+		/**
+		 * JDBC URL of the shard.
+		 */
+		private String url;
+
+		/**
+		 * Login username; defaults to {@code spring.datasource.username}.
+		 */
+		private String username;
+
+		/**
+		 * Login password; defaults to {@code spring.datasource.password}.
+		 */
+		private String password;
+	}
+}
@@ -0,0 +1,176 @@
+package org.yvynnyk.timetrack.sharding;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.exception.TenantMovingException;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Directory recording the shard of every tenant, kept in the {@code tenant_shard} table of the catalog shard.
+ * <p>
+ * A tenant seen for the first time is placed by the {@link ShardRing} and its placement is recorded; from then on
+ * the directory, not the ring, is authoritative. Adding a shard therefore moves no data implicitly: existing
+ * tenants stay where they are until the {@link TenantRebalancer} moves them, and only new tenants are spread over
+ * the extended ring. Lookups are cached for a configurable time, so a move becomes visible to other application
+ * instances once their cache entries expire.
+ * </p>
+ * <p>
+ * A tenant being moved is {@link #fence fenced}: its work is rejected by {@link #activeShardOf} until the move
+ * {@link #assign assigns} the new shard, so no instance writes to the old shard while the rows are copied.
+ * </p>
+ */
+public class TenantDirectory {
+
+	private static final String CREATE_TABLE = "create table if not exists tenant_shard ("
+			+ "tenant_id varchar(64) not null primary key, shard varchar(64) not null, moving boolean not null)";
+	private static final String SELECT_PLACEMENT = "select shard, moving from tenant_shard where tenant_id = ?";
+	private static final String SELECT_ALL = "select tenant_id, shard from tenant_shard order by tenant_id";
+	private static final String INSERT = "insert into tenant_shard (tenant_id, shard, moving) values (?, ?, false)";
+	private static final String UPDATE = "update tenant_shard set shard = ?, moving = false where tenant_id = ?";
+	private static final String UPDATE_MOVING = "update tenant_shard set moving = ? where tenant_id = ?";
+	private static final RowMapper<Placement> PLACEMENT = (row, rowNum) ->
+			new Placement(row.getString(1), row.getBoolean(2));
+
+	private final JdbcTemplate catalog;
+	private final ShardRing ring;
+	private final LoadingCache<String, Placement> shards;
+
+	/**
+	 * Constructs a TenantDirectory.
+	 *
+	 * @param catalog   the database holding the directory table
+	 * @param ring      the ring placing new tenants
+	 * @param cacheTtl  how long a tenant's shard is cached
+	 * @param cacheSize upper bound of cached tenants
+	 */
+	public TenantDirectory(DataSource catalog, ShardRing ring, Duration cacheTtl, long cacheSize) {
+		this.catalog = new JdbcTemplate(catalog);
+		this.ring = ring;
+		this.shards = Caffeine.newBuilder()
+				.expireAfterWrite(cacheTtl)
+				.maximumSize(cacheSize)
+				.build(this::lookupOrPlace);
+	}
+
+	/**
+	 * Creates the directory table if it does not exist.
+	 */
+	public void createTable() {
+		catalog.execute(CREATE_TABLE);
+	}
+
+	/**
+	 * Returns the shard holding a tenant's data, placing the tenant if it is new.
+	 *
+	 * @param tenantId the tenant identifier
+	 * @return the shard name
+	 */
+	public String shardOf(String tenantId) {
+		return shards.get(tenantId).shard();
+	}
+
+	/**
+	 * Returns the shard to run a tenant's work on, placing the tenant if it is new.
+	 *
+	 * @param tenantId the tenant identifier
+	 * @return the shard name
+	 * @throws TenantMovingException if the tenant is being moved to another shard
+	 */
+	public String activeShardOf(String tenantId) {
+		Placement placement = shards.get(tenantId);
+		if (placement.moving()) {
+			throw new TenantMovingException(ExceptionConstants.Tenant.TENANT_MOVING.formatted(tenantId));
+		}
+		return placement.shard();
+	}
+
+	/**
+	 * Rejects the work of a tenant until it is {@link #assign assigned} a shard or {@link #unfence unfenced}. Other
+	 * instances see the fence once their cache entries expire.
+	 *
+	 * @param tenantId the tenant identifier
+	 */
+	public void fence(String tenantId) {
+		shardOf(tenantId);
+		catalog.update(UPDATE_MOVING, true, tenantId);
+		shards.invalidate(tenantId);
+	}
+
+	/**
+	 * Accepts the work of a fenced tenant again on its recorded shard, e.g. after a failed move.
+	 *
+	 * @param tenantId the tenant identifier
+	 */
+	public void unfence(String tenantId) {
+		catalog.update(UPDATE_MOVING, false, tenantId);
+		shards.invalidate(tenantId);
+	}
+
+	/**
+	 * Returns the shard the ring would place a tenant on, regardless of its recorded placement.
+	 *
+	 * @param tenantId the tenant identifier
+	 * @return the shard name
+	 */
+	public String ringShardOf(String tenantId) {
+		return ring.shardFor(tenantId);
+	}
+
+	/**
+	 * Records that a tenant's data is now held by the given shard, releasing its fence.
+	 *
+	 * @param tenantId the tenant identifier
+	 * @param shard    the shard name
+	 */
+	public void assign(String tenantId, String shard) {
+		if (catalog.update(UPDATE, shard, tenantId) == 0) {
+			catalog.update(INSERT, tenantId, shard);
+		}
+		shards.put(tenantId, new Placement(shard, false));
+	}
+
+	/**
+	 * Returns the recorded placement of all tenants.
+	 *
+	 * @return the shard of every known tenant, by tenant identifier
+	 */
+	public Map<String, String> placements() {
+		Map<String, String> placements = new LinkedHashMap<>();
+		catalog.query(SELECT_ALL, row -> {
+			placements.put(row.getString(1), row.getString(2));
+		});
+		return placements;
+	}
+
+	private Placement lookupOrPlace(String tenantId) {
+		List<Placement> recorded = catalog.query(SELECT_PLACEMENT, PLACEMENT, tenantId);
+		if (!recorded.isEmpty()) {
+			return recorded.get(0);
+		}
+		String shard = ring.shardFor(tenantId);
+		try {
+			catalog.update(INSERT, tenantId, shard);
+			return new Placement(shard, false);
+		} catch (DuplicateKeyException e) {
+			return catalog.queryForObject(SELECT_PLACEMENT, PLACEMENT, tenantId);
+		}
+	}
+
+	/**
+	 * The recorded placement of a tenant.
+	 *
+	 * @param shard  the shard holding the tenant's data
+	 * @param moving whether the tenant is fenced for a move
+	 */
+	private record Placement(String shard, boolean moving) {
+	}
+}
@@ -0,0 +1,79 @@
+package org.yvynnyk.timetrack.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * Command-line entry point of the {@link TenantRebalancer}, run instead of serving requests.
+ * <p>
+ * Started with {@code --timetrack.sharding.rebalance=plan}, it logs the tenants the ring would place elsewhere.
+ * With {@code --timetrack.sharding.rebalance=move --timetrack.sharding.rebalance-tenant=<id>} it moves the tenant
+ * to {@code --timetrack.sharding.rebalance-target}, or to the tenant's shard on the ring if no target is given.
+ * The application exits when done.
+ * </p>
+ */
+public class TenantRebalanceRunner implements ApplicationRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(TenantRebalanceRunner.class);
+
+	private final TenantRebalancer rebalancer;
+	private final TenantDirectory directory;
+	private final ConfigurableApplicationContext context;
+	private final String command;
+	private final String tenantId;
+	private final String targetShard;
+
+	/**
+	 * Constructs a TenantRebalanceRunner.
+	 *
+	 * @param rebalancer  the rebalancer
+	 * @param directory   the directory of tenant placements
+	 * @param context     the application context, closed when done
+	 * @param command     {@code plan} or {@code move}
+	 * @param tenantId    the tenant to move, for {@code move}
+	 * @param targetShard the shard to move to, or {@code null} for the tenant's shard on the ring
+	 */
+	public TenantRebalanceRunner(TenantRebalancer rebalancer, TenantDirectory directory,
+								 ConfigurableApplicationContext context, String command, String tenantId,
+								 String targetShard) {
+		this.rebalancer = rebalancer;
+		this.directory = directory;
+		this.context = context;
+		this.command = command;
+		this.tenantId = tenantId;
+		this.targetShard = targetShard;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		int exitCode = 0;
+		try {
+			switch (command) {
+				case "plan" -> rebalancer.plan().forEach((tenant, ringShard) ->
+						logger.info(LoggingConstants.Sharding.REBALANCE_CANDIDATE,
+								value(LoggingConstants.Fields.TENANT_ID, tenant),
+								value(LoggingConstants.Fields.SHARD, directory.shardOf(tenant)),
+								value(LoggingConstants.Fields.TARGET_SHARD, ringShard)));
+				case "move" -> {
+					if (tenantId == null || tenantId.isBlank()) {
+						throw new IllegalArgumentException("timetrack.sharding.rebalance-tenant is required for move");
+					}
+					rebalancer.move(tenantId, targetShard != null ? targetShard : directory.ringShardOf(tenantId));
+				}
+				default -> throw new IllegalArgumentException("Unknown rebalance command: " + command);
+			}
+		} catch (RuntimeException e) {
+			logger.error(LoggingConstants.Sharding.REBALANCE_FAILED, value(LoggingConstants.Fields.REASON, e.getMessage()), e);
+			exitCode = 1;
+		}
+		int code = exitCode;
+		System.exit(SpringApplication.exit(context, () -> code));
+	}
+}
@@ -0,0 +1,156 @@
+package org.yvynnyk.timetrack.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * Moves tenants between shards.
+ * <p>
+ * A move first {@link TenantDirectory#fence fences} the tenant and waits for the fence delay, the directory cache
+ * time of the other application instances plus the time their running transactions need to finish; from then on,
+ * no instance writes the tenant's rows. It then copies the tenant's rows of every
+ * {@link #TENANT_TABLES tenant table} to the target shard in one transaction, keeping their identifiers and
+ * replacing the leftovers of a failed attempt, records the new placement in the {@link TenantDirectory}, which
+ * releases the fence, and deletes the rows from the source shard in a second transaction. Instances still holding
+ * the fence in their cache keep rejecting the tenant's work until they read the new placement, so nothing written
+ * during the move is lost. If the copy fails, the fence is released and the tenant stays on the source shard.
+ * </p>
+ */
+public class TenantRebalancer {
+
+	/**
+	 * Tables holding tenant data, parents before children.
+	 */
+	public static final List<String> TENANT_TABLES = List.of("task", "time_entry", "outbox_event",
+			"task_lifecycle_event", "task_snapshot");
+
+	private static final Logger logger = LoggerFactory.getLogger(TenantRebalancer.class);
+
+	private final Map<String, DataSource> dataSources;
+	private final TenantDirectory directory;
+	private final Duration fenceDelay;
+
+	/**
+	 * Constructs a TenantRebalancer.
+	 *
+	 * @param dataSources the shard databases by shard name
+	 * @param directory   the directory of tenant placements
+	 * @param fenceDelay  the time after fencing a tenant until no instance writes its rows
+	 */
+	public TenantRebalancer(Map<String, DataSource> dataSources, TenantDirectory directory, Duration fenceDelay) {
+		this.dataSources = Map.copyOf(dataSources);
+		this.directory = directory;
+		this.fenceDelay = fenceDelay;
+	}
+
+	/**
+	 * Lists the tenants the ring would place on another shard than the one holding them, typically after a shard
+	 * was added.
+	 *
+	 * @return the ring's shard of every misplaced tenant, by tenant identifier
+	 */
+	public Map<String, String> plan() {
+		Map<String, String> moves = new LinkedHashMap<>();
+		directory.placements().forEach((tenantId, shard) -> {
+			String ringShard = directory.ringShardOf(tenantId);
+			if (!ringShard.equals(shard)) {
+				moves.put(tenantId, ringShard);
+			}
+		});
+		return moves;
+	}
+
+	/**
+	 * Moves a tenant to the given shard.
+	 *
+	 * @param tenantId    the tenant identifier
+	 * @param targetShard the shard to move to
+	 * @return the number of moved rows by table; empty if the tenant already is on the target shard
+	 * @throws IllegalArgumentException if the target shard is not configured
+	 */
+	public Map<String, Integer> move(String tenantId, String targetShard) {
+		DataSource target = dataSources.get(targetShard);
+		if (target == null) {
+			throw new IllegalArgumentException(ExceptionConstants.Tenant.UNKNOWN_SHARD.formatted(targetShard));
+		}
+		String sourceShard = directory.shardOf(tenantId);
+		if (sourceShard.equals(targetShard)) {
+			logger.info(LoggingConstants.Sharding.TENANT_ALREADY_ON_SHARD, value(LoggingConstants.Fields.TENANT_ID, tenantId),
+					value(LoggingConstants.Fields.SHARD, targetShard));
+			return Map.of();
+		}
+		DataSource source = dataSources.get(sourceShard);
+
+		Map<String, Integer> moved = new LinkedHashMap<>();
+		JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+		JdbcTemplate targetJdbc = new JdbcTemplate(target);
+		directory.fence(tenantId);
+		logger.info(LoggingConstants.Sharding.TENANT_FENCED, value(LoggingConstants.Fields.TENANT_ID, tenantId),
+				value(LoggingConstants.Fields.TARGET_SHARD, targetShard), value(LoggingConstants.Fields.DELAY, fenceDelay));
+		try {
+			awaitFence(tenantId);
+			new TransactionTemplate(new DataSourceTransactionManager(target)).executeWithoutResult(status -> {
+				delete(tenantId, targetJdbc);
+				for (String table : TENANT_TABLES) {
+					moved.put(table, copy(table, tenantId, sourceJdbc, targetJdbc));
+				}
+			});
+		} catch (RuntimeException e) {
+			directory.unfence(tenantId);
+			logger.warn(LoggingConstants.Sharding.TENANT_UNFENCED, value(LoggingConstants.Fields.TENANT_ID, tenantId));
+			throw e;
+		}
+		directory.assign(tenantId, targetShard);
+		new TransactionTemplate(new DataSourceTransactionManager(source))
+				.executeWithoutResult(status -> delete(tenantId, sourceJdbc));
+		logger.info(LoggingConstants.Sharding.TENANT_MOVED, value(LoggingConstants.Fields.TENANT_ID, tenantId),
+				value(LoggingConstants.Fields.SHARD, sourceShard), value(LoggingConstants.Fields.TARGET_SHARD, targetShard),
+				value(LoggingConstants.Fields.ROWS, moved));
+		return moved;
+	}
+
+	private void awaitFence(String tenantId) {
+		try {
+			Thread.sleep(fenceDelay.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ExceptionConstants.Tenant.MOVE_INTERRUPTED.formatted(tenantId), e);
+		}
+	}
+
+	private static void delete(String tenantId, JdbcTemplate jdbc) {
+		for (int i = TENANT_TABLES.size() - 1; i >= 0; i--) {
+			jdbc.update("delete from " + TENANT_TABLES.get(i) + " where tenant_id = ?", tenantId);
+		}
+	}
+
+	private static int copy(String table, String tenantId, JdbcTemplate source, JdbcTemplate target) {
+		List<Map<String, Object>> rows = source.queryForList("select * from " + table + " where tenant_id = ?", tenantId);
+		if (rows.isEmpty()) {
+			return 0;
+		}
+		List<String> columns = new ArrayList<>(rows.get(0).keySet());
+		String insert = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+				+ columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+		List<Object[]> values = rows.stream()
+				.map(row -> columns.stream().map(row::get).toArray())
+				.toList();
+		target.batchUpdate(insert, values);
+		return rows.size();
+	}
+}
@@ -0,0 +1,23 @@
+package org.yvynnyk.timetrack.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the JDBC statement instrumentation, bound from the {@code timetrack.sql} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.sql")
+public class SqlInstrumentationProperties {
+
+	/**
+	 * Whether the application's DataSource is wrapped to count the statements it executes.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Whether every response carries the number of statements executed for it in the
+	 * {@code X-SQL-Statement-Count} header. Meant for debugging and tests, not for production.
+	 */
+	private boolean statementCountHeader = false;
+}
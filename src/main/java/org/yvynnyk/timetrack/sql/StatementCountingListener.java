@@ -0,0 +1,108 @@
+package org.yvynnyk.timetrack.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * datasource-proxy listener that counts the JDBC statements executed by the application.
+ * <p>
+ * Every statement is added to three places:
+ * </p>
+ * <ul>
+ *     <li>the {@link MetricsConstants.Sql#STATEMENTS} counter, tagged by statement type</li>
+ *     <li>the {@link StatementStats} scope bound to the current thread, typically the HTTP request</li>
+ *     <li>the Spring-managed transaction running on the current thread; when it completes, its statement
+ *     count is recorded in the {@link MetricsConstants.Sql#STATEMENTS_PER_TRANSACTION} summary</li>
+ * </ul>
+ * <p>
+ * A JDBC batch counts as one statement, since it is one round trip to the database.
+ * </p>
+ */
+public class StatementCountingListener implements QueryExecutionListener {
+
+	private static final String START_NANOS = StatementCountingListener.class.getName() + ".start";
+
+	private final Map<QueryType, Counter> statementCounters = new EnumMap<>(QueryType.class);
+	private final DistributionSummary statementsPerTransaction;
+
+	/**
+	 * Constructs a StatementCountingListener recording into the given registry.
+	 *
+	 * @param meterRegistry the registry for the statement metrics
+	 */
+	public StatementCountingListener(MeterRegistry meterRegistry) {
+		for (QueryType type : QueryType.values()) {
+			statementCounters.put(type, Counter.builder(MetricsConstants.Sql.STATEMENTS)
+					.description("JDBC statements executed, batches counted once")
+					.tag(MetricsConstants.Tags.TYPE, type.name().toLowerCase(Locale.ROOT))
+					.register(meterRegistry));
+		}
+		this.statementsPerTransaction = DistributionSummary.builder(MetricsConstants.Sql.STATEMENTS_PER_TRANSACTION)
+				.description("JDBC statements executed per transaction")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		execInfo.addCustomValue(START_NANOS, System.nanoTime());
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+		long elapsedNanos = start != null ? System.nanoTime() - start : 0L;
+
+		QueryType type = queryInfoList.isEmpty()
+				? QueryType.OTHER
+				: QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+		statementCounters.get(type).increment();
+
+		StatementStats requestStats = StatementStats.current();
+		if (requestStats != null) {
+			requestStats.add(elapsedNanos);
+		}
+		countInTransaction();
+	}
+
+	private void countInTransaction() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionStatements statements = (TransactionStatements) TransactionSynchronizationManager.getResource(this);
+		if (statements == null) {
+			statements = new TransactionStatements();
+			TransactionSynchronizationManager.bindResource(this, statements);
+			TransactionSynchronizationManager.registerSynchronization(statements);
+		}
+		statements.count++;
+	}
+
+	/**
+	 * Statement count of the transaction running on the current thread, recorded when it completes.
+	 */
+	private final class TransactionStatements implements TransactionSynchronization {
+
+		private int count;
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(StatementCountingListener.this);
+			statementsPerTransaction.record(count);
+		}
+	}
+}
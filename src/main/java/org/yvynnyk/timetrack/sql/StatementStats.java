@@ -0,0 +1,72 @@
+package org.yvynnyk.timetrack.sql;
+
+/**
+ * Number and total execution time of the JDBC statements issued within one scope, such as an HTTP request.
+ * <p>
+ * A scope is bound to the current thread with {@link #bind()} and released with {@link #unbind()};
+ * {@link StatementCountingListener} adds every statement executed on that thread in between. Instances are
+ * confined to a single thread and are not synchronized.
+ * </p>
+ */
+public final class StatementStats {
+
+	private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+	private int count;
+	private long elapsedNanos;
+
+	/**
+	 * Starts a new scope on the current thread, replacing any scope that was bound before.
+	 *
+	 * @return the statistics of the new scope
+	 */
+	public static StatementStats bind() {
+		StatementStats stats = new StatementStats();
+		CURRENT.set(stats);
+		return stats;
+	}
+
+	/**
+	 * Ends the scope bound to the current thread.
+	 */
+	public static void unbind() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Returns the statistics of the scope bound to the current thread.
+	 *
+	 * @return the current statistics, or {@code null} if no scope is bound
+	 */
+	public static StatementStats current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Adds an executed statement.
+	 *
+	 * @param elapsedNanos the execution time of the statement in nanoseconds
+	 */
+	void add(long elapsedNanos) {
+		this.count++;
+		this.elapsedNanos += elapsedNanos;
+	}
+
+	/**
+	 * Returns the number of statements executed in this scope; a JDBC batch counts as one statement.
+	 *
+	 * @return the statement count
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the summed execution time of the statements executed in this scope.
+	 *
+	 * @return the execution time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+}
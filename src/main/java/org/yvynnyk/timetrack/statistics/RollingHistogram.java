@@ -0,0 +1,108 @@
+package org.yvynnyk.timetrack.statistics;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * High-dynamic-range histogram of the values recorded within a rolling time window.
+ * <p>
+ * The window is divided into {@code slices} consecutive slices, each with its own histogram; a value is recorded
+ * in the slice of its time, and a snapshot merges the current slice with the preceding ones. The window thus
+ * advances by one slice at a time, and a snapshot may leave out up to one slice of the window's oldest values.
+ * Slices are kept in a ring and reused once they fall out of the window; a slice's histogram is only allocated
+ * when a value is recorded in it. Values recorded for a time older than the window are dropped.
+ * </p>
+ * <p>
+ * The methods are synchronized; recording is a few array accesses, a snapshot merges at most {@code slices}
+ * histograms.
+ * </p>
+ */
+public class RollingHistogram {
+
+	private final Duration window;
+	private final long sliceSeconds;
+	private final long highestTrackableValue;
+	private final int significantDigits;
+	private final Histogram[] histograms;
+	private final long[] sliceIds;
+
+	/**
+	 * Constructs a RollingHistogram.
+	 *
+	 * @param window                the length of the window
+	 * @param slices                the number of slices the window is divided into
+	 * @param highestTrackableValue the largest value tracked exactly; larger values are recorded as this value
+	 * @param significantDigits     the decimal digits of precision of the recorded values
+	 */
+	public RollingHistogram(Duration window, int slices, long highestTrackableValue, int significantDigits) {
+		this.window = window;
+		this.sliceSeconds = Math.max(1, window.toSeconds() / slices);
+		this.highestTrackableValue = highestTrackableValue;
+		this.significantDigits = significantDigits;
+		this.histograms = new Histogram[slices];
+		this.sliceIds = new long[slices];
+		Arrays.fill(sliceIds, Long.MIN_VALUE);
+	}
+
+	/**
+	 * Records a value.
+	 *
+	 * @param value the value, at least {@code 0}
+	 * @param at    the time of the value
+	 */
+	public synchronized void record(long value, LocalDateTime at) {
+		long sliceId = sliceId(at);
+		int index = (int) Math.floorMod(sliceId, (long) histograms.length);
+		if (sliceIds[index] > sliceId) {
+			return;
+		}
+		if (sliceIds[index] != sliceId) {
+			sliceIds[index] = sliceId;
+			if (histograms[index] != null) {
+				histograms[index].reset();
+			}
+		}
+		if (histograms[index] == null) {
+			histograms[index] = newHistogram();
+		}
+		histograms[index].recordValue(Math.min(Math.max(value, 0), highestTrackableValue));
+	}
+
+	/**
+	 * Returns the values recorded within the window ending at the given time.
+	 *
+	 * @param now the end of the window
+	 * @return a new histogram holding the values
+	 */
+	public synchronized Histogram snapshot(LocalDateTime now) {
+		Histogram snapshot = newHistogram();
+		long current = sliceId(now);
+		for (int i = 0; i < histograms.length; i++) {
+			if (histograms[i] != null && sliceIds[i] <= current && sliceIds[i] > current - histograms.length) {
+				snapshot.add(histograms[i]);
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * The length of the window.
+	 *
+	 * @return the window
+	 */
+	public Duration window() {
+		return window;
+	}
+
+	private long sliceId(LocalDateTime at) {
+		return Math.floorDiv(at.toEpochSecond(ZoneOffset.UTC), sliceSeconds);
+	}
+
+	private Histogram newHistogram() {
+		return new Histogram(highestTrackableValue, significantDigits);
+	}
+}
@@ -0,0 +1,40 @@
+package org.yvynnyk.timetrack.statistics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the task duration statistics, bound from the {@code timetrack.statistics} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.statistics")
+public class StatisticsProperties {
+
+	/**
+	 * Rolling time windows over which percentiles are reported.
+	 */
+	private List<Duration> windows = List.of(Duration.ofHours(1), Duration.ofDays(1), Duration.ofDays(7));
+
+	/**
+	 * Number of slices each window is divided into; a window advances by one slice at a time.
+	 */
+	private int slices = 12;
+
+	/**
+	 * Longest duration tracked exactly; longer intervals are recorded as this duration.
+	 */
+	private Duration highestTrackable = Duration.ofDays(30);
+
+	/**
+	 * Decimal digits of precision of the recorded durations, from 1 to 5.
+	 */
+	private int significantDigits = 2;
+
+	/**
+	 * Whether the windows are filled from the stored time entries at startup.
+	 */
+	private boolean rebuildOnStartup = true;
+}
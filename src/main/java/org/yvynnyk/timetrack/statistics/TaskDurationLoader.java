@@ -0,0 +1,57 @@
+package org.yvynnyk.timetrack.statistics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.yvynnyk.timetrack.constant.LoggingConstants;
+import org.yvynnyk.timetrack.tenant.AllTenants;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+
+/**
+ * Fills the {@link TaskDurationStatistics} from the stored time entries, typically once at startup.
+ * <p>
+ * The entries completed within the longest window before {@link TaskDurationStatistics#liveFrom()} are read
+ * from every database and recorded row by row rather than collected, so the window is never held as entities.
+ * </p>
+ */
+public class TaskDurationLoader {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskDurationLoader.class);
+
+	private static final String SELECT_COMPLETED = "select tenant_id, start_time, end_time from time_entry "
+			+ "where end_time >= ? and end_time < ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TaskDurationStatistics statistics;
+
+	/**
+	 * Constructs a TaskDurationLoader.
+	 *
+	 * @param jdbcTemplate the template on the application's DataSource
+	 * @param statistics   the statistics to fill
+	 */
+	public TaskDurationLoader(JdbcTemplate jdbcTemplate, TaskDurationStatistics statistics) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Records the durations of the entries of all tenants completed before the statistics went live.
+	 */
+	@AllTenants
+	public void load() {
+		LocalDateTime until = statistics.liveFrom();
+		LocalDateTime from = until.minus(statistics.longestWindow());
+		AtomicLong rows = new AtomicLong();
+		jdbcTemplate.query(SELECT_COMPLETED, rs -> {
+			statistics.record(rs.getString(1), rs.getObject(2, LocalDateTime.class),
+					rs.getObject(3, LocalDateTime.class));
+			rows.incrementAndGet();
+		}, from, until);
+		logger.info(LoggingConstants.Statistics.LOADED, value(LoggingConstants.Fields.ROWS, rows.get()));
+	}
+}
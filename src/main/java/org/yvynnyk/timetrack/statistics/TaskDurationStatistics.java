@@ -0,0 +1,162 @@
+package org.yvynnyk.timetrack.statistics;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yvynnyk.timetrack.dto.DurationStatisticsDTO;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statistics of how long tasks stay {@code IN_PROGRESS}, i.e. of the durations of completed time entries.
+ * <p>
+ * Every tenant has a {@link RollingHistogram} per configured window, in seconds. The services report every
+ * completed time entry, which is recorded once its transaction commits; a rolled back stop is not recorded.
+ * Queries are answered from memory alone. The {@link TenantContext#ROOT} tenant sees the merged statistics of
+ * all tenants.
+ * </p>
+ * <p>
+ * Entries completed before {@link #liveFrom()}, i.e. before this instance started, are loaded from the database
+ * by the {@link TaskDurationLoader} instead, and are ignored when reported, so that no entry is counted twice.
+ * </p>
+ */
+public class TaskDurationStatistics {
+
+	private final StatisticsProperties properties;
+	private final String defaultTenant;
+	private final LocalDateTime liveFrom;
+	private final List<Duration> windows;
+	private final Map<String, List<RollingHistogram>> tenants = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a TaskDurationStatistics.
+	 *
+	 * @param properties    the statistics properties
+	 * @param defaultTenant the tenant of callers without a bound tenant
+	 * @param liveFrom      the earliest end time of reported entries; earlier ones are loaded from the database
+	 */
+	public TaskDurationStatistics(StatisticsProperties properties, String defaultTenant, LocalDateTime liveFrom) {
+		this.properties = properties;
+		this.defaultTenant = defaultTenant;
+		this.liveFrom = liveFrom;
+		this.windows = properties.getWindows().stream().sorted().toList();
+	}
+
+	/**
+	 * Reports a completed time entry, recorded once the current transaction commits.
+	 *
+	 * @param tenant    the tenant of the entry, or {@code null} for the current tenant
+	 * @param startTime the start of the entry
+	 * @param endTime   the end of the entry
+	 */
+	public void completed(String tenant, LocalDateTime startTime, LocalDateTime endTime) {
+		String owner = tenant != null ? tenant : currentTenant();
+		if (endTime.isBefore(liveFrom)) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			record(owner, startTime, endTime);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				record(owner, startTime, endTime);
+			}
+		});
+	}
+
+	/**
+	 * Records the duration of a time entry immediately.
+	 *
+	 * @param tenant    the tenant of the entry
+	 * @param startTime the start of the entry
+	 * @param endTime   the end of the entry
+	 */
+	public void record(String tenant, LocalDateTime startTime, LocalDateTime endTime) {
+		long seconds = Duration.between(startTime, endTime).toSeconds();
+		for (RollingHistogram histogram : tenants.computeIfAbsent(tenant, key -> newHistograms())) {
+			histogram.record(seconds, endTime);
+		}
+	}
+
+	/**
+	 * Returns the statistics of the current tenant for every window, as of now.
+	 *
+	 * @return the statistics, by ascending window
+	 */
+	public List<DurationStatisticsDTO> statistics() {
+		return statistics(LocalDateTime.now());
+	}
+
+	/**
+	 * Returns the statistics of the current tenant for every window ending at the given time.
+	 *
+	 * @param now the end of the windows
+	 * @return the statistics, by ascending window
+	 */
+	public List<DurationStatisticsDTO> statistics(LocalDateTime now) {
+		String tenant = currentTenant();
+		List<DurationStatisticsDTO> statistics = new ArrayList<>(windows.size());
+		for (int i = 0; i < windows.size(); i++) {
+			Histogram merged = null;
+			for (Map.Entry<String, List<RollingHistogram>> entry : tenants.entrySet()) {
+				if (TenantContext.ROOT.equals(tenant) || entry.getKey().equals(tenant)) {
+					Histogram snapshot = entry.getValue().get(i).snapshot(now);
+					if (merged == null) {
+						merged = snapshot;
+					} else {
+						merged.add(snapshot);
+					}
+				}
+			}
+			statistics.add(toDto(windows.get(i), merged));
+		}
+		return statistics;
+	}
+
+	/**
+	 * The earliest end time of the entries reported to this instance.
+	 *
+	 * @return the start of the live reporting
+	 */
+	public LocalDateTime liveFrom() {
+		return liveFrom;
+	}
+
+	/**
+	 * The longest configured window.
+	 *
+	 * @return the longest window
+	 */
+	public Duration longestWindow() {
+		return windows.get(windows.size() - 1);
+	}
+
+	private List<RollingHistogram> newHistograms() {
+		return windows.stream()
+				.map(window -> new RollingHistogram(window, properties.getSlices(),
+						properties.getHighestTrackable().toSeconds(), properties.getSignificantDigits()))
+				.toList();
+	}
+
+	private String currentTenant() {
+		String tenant = TenantContext.current();
+		return tenant != null ? tenant : defaultTenant;
+	}
+
+	private static DurationStatisticsDTO toDto(Duration window, Histogram histogram) {
+		if (histogram == null || histogram.getTotalCount() == 0) {
+			return new DurationStatisticsDTO(window.toString(), 0, 0, 0, 0, 0, 0);
+		}
+		return new DurationStatisticsDTO(window.toString(), histogram.getTotalCount(), histogram.getMean(),
+				histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+				histogram.getValueAtPercentile(99), histogram.getMaxValue());
+	}
+}
@@ -0,0 +1,65 @@
+package org.yvynnyk.timetrack.sync;
+
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoField;
+
+/**
+ * Position in the tenant's sequence of task changes, ordered by change time and then task ID.
+ * <p>
+ * Tokens are handed to clients as {@code <epoch-microseconds>-<task ID>}, the change time counted in UTC; clients
+ * treat them as opaque. The position covers the change of the given task at the given time and all changes
+ * ordered before it; change times are compared to the microsecond, the precision of the database.
+ * </p>
+ *
+ * @param changedAt the change time of the last covered change
+ * @param taskId    the task ID of the last covered change
+ */
+public record ChangeToken(LocalDateTime changedAt, long taskId) {
+
+	/**
+	 * The position before all changes.
+	 */
+	public static final ChangeToken START = new ChangeToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+	private static final long MICROS_PER_SECOND = 1_000_000;
+
+	/**
+	 * Parses a token handed out by {@link #toString()}.
+	 *
+	 * @param token the token, or {@code null} or blank for {@link #START}
+	 * @return the position
+	 * @throws InvalidRequestException if the token is malformed
+	 */
+	public static ChangeToken parse(String token) {
+		if (token == null || token.isBlank()) {
+			return START;
+		}
+		int separator = token.indexOf('-');
+		try {
+			if (separator <= 0) {
+				throw new NumberFormatException();
+			}
+			long micros = Long.parseLong(token, 0, separator, 10);
+			long taskId = Long.parseLong(token, separator + 1, token.length(), 10);
+			if (micros < 0 || taskId < 0) {
+				throw new NumberFormatException();
+			}
+			return new ChangeToken(LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+					(int) Math.floorMod(micros, MICROS_PER_SECOND) * 1000, ZoneOffset.UTC), taskId);
+		} catch (NumberFormatException | DateTimeException e) {
+			throw new InvalidRequestException(ExceptionConstants.Task.INVALID_CHANGE_TOKEN.formatted(token));
+		}
+	}
+
+	@Override
+	public String toString() {
+		long micros = changedAt.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND
+				+ changedAt.get(ChronoField.MICRO_OF_SECOND);
+		return micros + "-" + taskId;
+	}
+}
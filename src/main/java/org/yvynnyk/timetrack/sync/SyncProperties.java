@@ -0,0 +1,27 @@
+package org.yvynnyk.timetrack.sync;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the synchronization of changed tasks, bound from the {@code timetrack.sync} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.sync")
+public class SyncProperties {
+
+	/**
+	 * Largest number of changed tasks returned at once; clients fetch further pages with the returned token.
+	 */
+	private int pageSize = 1000;
+
+	/**
+	 * Age after which a change is considered visible: an upper bound of a writing transaction's duration, plus the
+	 * replication lag when a read replica is configured. Returned tokens only move past changes older than this,
+	 * so changes committed late are not skipped; newer changes are returned as well, and again on the next
+	 * synchronization.
+	 */
+	private Duration settleTime = Duration.ofSeconds(10);
+}
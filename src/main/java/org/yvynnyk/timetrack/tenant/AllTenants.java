@@ -0,0 +1,21 @@
+package org.yvynnyk.timetrack.tenant;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method that works on the data of all tenants, such as a scheduled job.
+ * <p>
+ * {@link AllTenantsAspect} runs the method as the {@link TenantContext#ROOT} tenant, once per
+ * {@link TenantPartitions partition} of the data, i.e. once per shard when sharding is enabled. The method's
+ * return value is discarded, so it should return {@code void}.
+ * </p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AllTenants {
+}
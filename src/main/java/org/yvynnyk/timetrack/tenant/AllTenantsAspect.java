@@ -0,0 +1,56 @@
+package org.yvynnyk.timetrack.tenant;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Aspect running methods annotated with {@link AllTenants} as the {@link TenantContext#ROOT} tenant in every
+ * {@link TenantPartitions partition}. The tenant bound before the call is restored afterwards.
+ */
+@Aspect
+public class AllTenantsAspect {
+
+	private final TenantPartitions partitions;
+
+	/**
+	 * Constructs an AllTenantsAspect.
+	 *
+	 * @param partitions the partitions of the tenants' data
+	 */
+	public AllTenantsAspect(TenantPartitions partitions) {
+		this.partitions = partitions;
+	}
+
+	/**
+	 * Runs the annotated method once per partition.
+	 *
+	 * @param joinPoint the intercepted call
+	 * @return {@code null}, since the results of the individual runs are discarded
+	 * @throws Throwable the first unchecked exception thrown by a run, rethrown unchanged; the remaining partitions
+	 *                   are skipped
+	 */
+	@Around("@annotation(org.yvynnyk.timetrack.tenant.AllTenants)")
+	public Object runForAllTenants(ProceedingJoinPoint joinPoint) throws Throwable {
+		String previous = TenantContext.current();
+		TenantContext.bind(TenantContext.ROOT);
+		try {
+			partitions.forEach(() -> {
+				try {
+					joinPoint.proceed();
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable e) {
+					throw new IllegalStateException(e);
+				}
+			});
+			return null;
+		} finally {
+			if (previous != null) {
+				TenantContext.bind(previous);
+			} else {
+				TenantContext.unbind();
+			}
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package org.yvynnyk.timetrack.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+
+/**
+ * Configuration of the tenant identification, bound from the {@code timetrack.tenancy} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.tenancy")
+public class TenancyProperties {
+
+	/**
+	 * Request header carrying the tenant identifier.
+	 */
+	private String header = HeaderConstants.TENANT_ID;
+
+	/**
+	 * Tenant of requests without the header and of work outside requests.
+	 */
+	private String defaultTenant = "default";
+}
@@ -0,0 +1,50 @@
+package org.yvynnyk.timetrack.tenant;
+
+/**
+ * The tenant on whose behalf the current thread works.
+ * <p>
+ * A tenant is bound with {@link #bind(String)}, typically by the {@code TenantFilter} for the duration of an HTTP
+ * request, and released with {@link #unbind()}. Hibernate reads it through {@link TenantIdentifierResolver} to
+ * stamp new rows and to restrict queries to the tenant's rows; the shard routing reads it to pick the tenant's
+ * database. The {@link #ROOT} tenant sees the rows of all tenants and is reserved for jobs such as the automatic
+ * task closure.
+ * </p>
+ */
+public final class TenantContext {
+
+	/**
+	 * Identifier of the pseudo-tenant that is not restricted to any tenant's rows.
+	 */
+	public static final String ROOT = "*";
+
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+	private TenantContext() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Binds a tenant to the current thread, replacing any tenant that was bound before.
+	 *
+	 * @param tenantId the tenant identifier
+	 */
+	public static void bind(String tenantId) {
+		CURRENT.set(tenantId);
+	}
+
+	/**
+	 * Releases the tenant bound to the current thread.
+	 */
+	public static void unbind() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Returns the tenant bound to the current thread.
+	 *
+	 * @return the tenant identifier, or {@code null} if none is bound
+	 */
+	public static String current() {
+		return CURRENT.get();
+	}
+}
@@ -0,0 +1,41 @@
+package org.yvynnyk.timetrack.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Hibernate resolver of the tenant whose rows a session reads and writes, taken from the {@link TenantContext}.
+ * <p>
+ * Entities with a {@code @TenantId} attribute get the resolved tenant on insert, and their queries are restricted
+ * to it, unless the tenant is {@link TenantContext#ROOT}. Without a bound tenant, the configured default tenant is
+ * used.
+ * </p>
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+	private final String defaultTenant;
+
+	/**
+	 * Constructs a TenantIdentifierResolver.
+	 *
+	 * @param defaultTenant the tenant used when none is bound
+	 */
+	public TenantIdentifierResolver(String defaultTenant) {
+		this.defaultTenant = defaultTenant;
+	}
+
+	@Override
+	public String resolveCurrentTenantIdentifier() {
+		String tenantId = TenantContext.current();
+		return tenantId != null ? tenantId : defaultTenant;
+	}
+
+	@Override
+	public boolean validateExistingCurrentSessions() {
+		return false;
+	}
+
+	@Override
+	public boolean isRoot(String tenantId) {
+		return TenantContext.ROOT.equals(tenantId);
+	}
+}
@@ -0,0 +1,21 @@
+package org.yvynnyk.timetrack.tenant;
+
+/**
+ * The parts the tenants' data is split into, such as database shards.
+ */
+@FunctionalInterface
+public interface TenantPartitions {
+
+	/**
+	 * Partitioning of an application keeping all tenants in one database.
+	 */
+	TenantPartitions SINGLE = Runnable::run;
+
+	/**
+	 * Runs an action once per partition, with the partition selected for the database connections obtained by
+	 * the action.
+	 *
+	 * @param action the action to run
+	 */
+	void forEach(Runnable action);
+}
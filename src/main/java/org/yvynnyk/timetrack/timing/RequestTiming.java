@@ -0,0 +1,125 @@
+package org.yvynnyk.timetrack.timing;
+
+/**
+ * Time spent in the phases of one HTTP request.
+ * <p>
+ * A collector is bound to the request thread by the {@code ServerTimingFilter}; {@link RequestTimingAspect}
+ * adds the time spent in the services and the mapper, and the filter itself records when the response body
+ * started being written. Nested calls of the same phase, such as one service calling another through its
+ * proxy, are counted once. Instances are confined to a single thread and are not synchronized.
+ * </p>
+ */
+public final class RequestTiming {
+
+	/**
+	 * Phases measured around Spring bean calls.
+	 */
+	public enum Phase {
+		/**
+		 * Calls of {@code TaskService} and {@code TimeEntryService}, including their database and mapper time.
+		 */
+		SERVICE,
+
+		/**
+		 * Calls of {@code TaskMapper}.
+		 */
+		MAPPER
+	}
+
+	private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+	private final long startNanos = System.nanoTime();
+	private final int[] depth = new int[Phase.values().length];
+	private final long[] phaseStartNanos = new long[Phase.values().length];
+	private final long[] phaseNanos = new long[Phase.values().length];
+	private long bodyStartNanos;
+
+	/**
+	 * Starts a new collector on the current thread, replacing any collector that was bound before.
+	 *
+	 * @return the new collector
+	 */
+	public static RequestTiming bind() {
+		RequestTiming timing = new RequestTiming();
+		CURRENT.set(timing);
+		return timing;
+	}
+
+	/**
+	 * Removes the collector bound to the current thread.
+	 */
+	public static void unbind() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Returns the collector bound to the current thread.
+	 *
+	 * @return the current collector, or {@code null} if timing is disabled or no request is being handled
+	 */
+	public static RequestTiming current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Marks the entry into a phase.
+	 *
+	 * @param phase the entered phase
+	 */
+	public void enter(Phase phase) {
+		int index = phase.ordinal();
+		if (depth[index]++ == 0) {
+			phaseStartNanos[index] = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Marks the exit from a phase entered with {@link #enter(Phase)}.
+	 *
+	 * @param phase the exited phase
+	 */
+	public void exit(Phase phase) {
+		int index = phase.ordinal();
+		if (--depth[index] == 0) {
+			phaseNanos[index] += System.nanoTime() - phaseStartNanos[index];
+		}
+	}
+
+	/**
+	 * Marks the moment the response body starts being written. Only the first call has an effect.
+	 */
+	public void bodyStarted() {
+		if (bodyStartNanos == 0) {
+			bodyStartNanos = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Returns the time spent in a phase so far.
+	 *
+	 * @param phase the phase
+	 * @return the time in nanoseconds
+	 */
+	public long getPhaseNanos(Phase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * Returns the time elapsed since the request started.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return System.nanoTime() - startNanos;
+	}
+
+	/**
+	 * Returns the time elapsed since the response body started being written, which is the serialisation time
+	 * once the handler has returned.
+	 *
+	 * @return the time in nanoseconds, or {@code 0} if no body was written
+	 */
+	public long getBodyNanos() {
+		return bodyStartNanos == 0 ? 0 : System.nanoTime() - bodyStartNanos;
+	}
+}
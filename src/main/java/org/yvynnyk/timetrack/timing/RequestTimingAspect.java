@@ -0,0 +1,54 @@
+package org.yvynnyk.timetrack.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Aspect that adds the time spent in the services and in the mapper to the {@link RequestTiming} of the
+ * current request. Calls outside a request, such as the scheduled task closure, pass straight through.
+ * <p>
+ * The aspect is only registered when request timing is enabled, so it adds no proxies otherwise.
+ * </p>
+ */
+@Aspect
+public class RequestTimingAspect {
+
+	/**
+	 * Times a service call.
+	 *
+	 * @param joinPoint the intercepted service call
+	 * @return the result of the service call
+	 * @throws Throwable the exception thrown by the service call, rethrown unchanged
+	 */
+	@Around("execution(public * org.yvynnyk.timetrack.service.TaskService+.*(..))"
+			+ " || execution(public * org.yvynnyk.timetrack.service.TimeEntryService+.*(..))")
+	public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(joinPoint, RequestTiming.Phase.SERVICE);
+	}
+
+	/**
+	 * Times a mapper call.
+	 *
+	 * @param joinPoint the intercepted mapper call
+	 * @return the result of the mapper call
+	 * @throws Throwable the exception thrown by the mapper call, rethrown unchanged
+	 */
+	@Around("execution(public * org.yvynnyk.timetrack.mapper.TaskMapper.*(..))")
+	public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(joinPoint, RequestTiming.Phase.MAPPER);
+	}
+
+	private static Object time(ProceedingJoinPoint joinPoint, RequestTiming.Phase phase) throws Throwable {
+		RequestTiming timing = RequestTiming.current();
+		if (timing == null) {
+			return joinPoint.proceed();
+		}
+		timing.enter(phase);
+		try {
+			return joinPoint.proceed();
+		} finally {
+			timing.exit(phase);
+		}
+	}
+}
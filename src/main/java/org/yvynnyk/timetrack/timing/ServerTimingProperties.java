@@ -0,0 +1,24 @@
+package org.yvynnyk.timetrack.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the per-request latency breakdown, bound from the {@code timetrack.timing} prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "timetrack.timing")
+public class ServerTimingProperties {
+
+	/**
+	 * Whether requests are timed and answered with a {@code Server-Timing} header.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Requests taking at least this long, serialisation included, are logged with their breakdown.
+	 */
+	private Duration slowThreshold = Duration.ofMillis(500);
+}
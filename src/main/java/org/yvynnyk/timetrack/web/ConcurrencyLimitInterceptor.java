@@ -0,0 +1,76 @@
+package org.yvynnyk.timetrack.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.yvynnyk.timetrack.concurrency.AdaptiveLimiter;
+import org.yvynnyk.timetrack.concurrency.ConcurrencyLimited;
+import org.yvynnyk.timetrack.concurrency.ConcurrencyLimits;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.exception.ConcurrencyLimitExceededException;
+
+import java.time.Duration;
+
+/**
+ * Enforces the concurrency limits of the controller methods annotated with {@link ConcurrencyLimited}.
+ * <p>
+ * A permit of the method's group is taken before the method runs and released when the request completes. Without
+ * a free permit, the request is rejected with a {@link ConcurrencyLimitExceededException} before any work is done.
+ * Successful responses feed their latency into the limit, server errors and unhandled exceptions shrink it, and
+ * client errors leave it unchanged, since their latency says little about the server's capacity.
+ * </p>
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+	private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+	private final ConcurrencyLimits limits;
+	private final Duration retryAfter;
+
+	/**
+	 * Constructs a ConcurrencyLimitInterceptor.
+	 *
+	 * @param limits     the limiters of the groups
+	 * @param retryAfter the delay suggested to rejected clients
+	 */
+	public ConcurrencyLimitInterceptor(ConcurrencyLimits limits, Duration retryAfter) {
+		this.limits = limits;
+		this.retryAfter = retryAfter;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!(handler instanceof HandlerMethod method)) {
+			return true;
+		}
+		ConcurrencyLimited limited = method.getMethodAnnotation(ConcurrencyLimited.class);
+		if (limited == null) {
+			return true;
+		}
+		AdaptiveLimiter.Permit permit = limits.tryAcquire(limited.value());
+		if (permit == null) {
+			throw new ConcurrencyLimitExceededException(
+					ExceptionConstants.Concurrency.LIMIT_EXCEEDED.formatted(limited.value().name().toLowerCase()),
+					retryAfter);
+		}
+		request.setAttribute(PERMIT, permit);
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+								Exception ex) {
+		if (!(request.getAttribute(PERMIT) instanceof AdaptiveLimiter.Permit permit)) {
+			return;
+		}
+		request.removeAttribute(PERMIT);
+		if (ex != null || response.getStatus() >= 500) {
+			permit.failure();
+		} else if (response.getStatus() >= 400) {
+			permit.ignore();
+		} else {
+			permit.success();
+		}
+	}
+}
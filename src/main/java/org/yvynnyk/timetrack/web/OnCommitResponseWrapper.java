@@ -0,0 +1,86 @@
+package org.yvynnyk.timetrack.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Response wrapper that runs a hook once, right before the response can become committed.
+ * <p>
+ * Headers can only be added while the response is not committed, but a filter regains control only after
+ * the body has been written. The hook runs the first time the body stream or writer is obtained, the buffer is
+ * flushed or an error or redirect is sent; a filter must call {@link #finish()} after the chain returns to run it
+ * for responses that never touched their body, such as {@code 204 No Content}.
+ * </p>
+ */
+public class OnCommitResponseWrapper extends HttpServletResponseWrapper {
+
+	private final Runnable hook;
+	private boolean hookRun;
+
+	/**
+	 * Constructs an OnCommitResponseWrapper.
+	 *
+	 * @param response the response to wrap
+	 * @param hook     the action to run before the response is committed, typically setting headers
+	 */
+	public OnCommitResponseWrapper(HttpServletResponse response, Runnable hook) {
+		super(response);
+		this.hook = hook;
+	}
+
+	/**
+	 * Runs the hook if it has not run yet and the response is still open for headers.
+	 */
+	public void finish() {
+		if (!isCommitted()) {
+			runHook();
+		}
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		runHook();
+		return super.getOutputStream();
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		runHook();
+		return super.getWriter();
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		runHook();
+		super.flushBuffer();
+	}
+
+	@Override
+	public void sendError(int sc) throws IOException {
+		runHook();
+		super.sendError(sc);
+	}
+
+	@Override
+	public void sendError(int sc, String msg) throws IOException {
+		runHook();
+		super.sendError(sc, msg);
+	}
+
+	@Override
+	public void sendRedirect(String location) throws IOException {
+		runHook();
+		super.sendRedirect(location);
+	}
+
+	private void runHook() {
+		if (!hookRun) {
+			hookRun = true;
+			hook.run();
+		}
+	}
+}
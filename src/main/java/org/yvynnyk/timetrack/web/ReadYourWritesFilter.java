@@ -0,0 +1,64 @@
+package org.yvynnyk.timetrack.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.yvynnyk.timetrack.datasource.ReadYourWrites;
+
+import java.io.IOException;
+
+/**
+ * Filter applying the {@link ReadYourWrites} safeguard to HTTP requests.
+ * <p>
+ * Write requests ({@code POST}, {@code PUT}, {@code PATCH}, {@code DELETE}) run entirely on the primary, so the
+ * reads they perform before writing are never stale, and mark the client as a recent writer. Other requests run on
+ * the primary while their client is a recent writer, and may use the replica otherwise.
+ * </p>
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	private final ReadYourWrites readYourWrites;
+	private final String clientIdHeader;
+
+	/**
+	 * Constructs a ReadYourWritesFilter.
+	 *
+	 * @param readYourWrites the write tracker
+	 * @param clientIdHeader the request header identifying the client
+	 */
+	public ReadYourWritesFilter(ReadYourWrites readYourWrites, String clientIdHeader) {
+		this.readYourWrites = readYourWrites;
+		this.clientIdHeader = clientIdHeader;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String clientId = clientId(request);
+		boolean write = isWrite(request.getMethod());
+		if (write || readYourWrites.wroteRecently(clientId)) {
+			ReadYourWrites.forcePrimary();
+		}
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			ReadYourWrites.release();
+			if (write) {
+				readYourWrites.recordWrite(clientId);
+			}
+		}
+	}
+
+	private String clientId(HttpServletRequest request) {
+		String clientId = request.getHeader(clientIdHeader);
+		return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+	}
+
+	private static boolean isWrite(String method) {
+		return HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method)
+				|| HttpMethod.PATCH.matches(method) || HttpMethod.DELETE.matches(method);
+	}
+}
@@ -0,0 +1,113 @@
+package org.yvynnyk.timetrack.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.sql.StatementStats;
+import org.yvynnyk.timetrack.timing.RequestTiming;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.*;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Web.SLOW_REQUEST;
+
+/**
+ * Filter that reports the latency breakdown of each request.
+ * <p>
+ * A {@link RequestTiming} collector is bound for the duration of the request. Right before the response is
+ * committed, a {@link HeaderConstants#SERVER_TIMING} header is added with the database time and statement count
+ * (when the SQL instrumentation is active), the service and mapper time and the application time up to that
+ * point. Serialisation happens after the headers are sent, so it only appears in the structured log line written
+ * for requests slower than the configured threshold.
+ * </p>
+ * <p>
+ * The filter must run inside the {@link StatementCountingFilter}, whose statement scope it reads.
+ * </p>
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+	private final long slowThresholdNanos;
+
+	/**
+	 * Constructs a ServerTimingFilter.
+	 *
+	 * @param slowThreshold requests taking at least this long are logged
+	 */
+	public ServerTimingFilter(Duration slowThreshold) {
+		this.slowThresholdNanos = slowThreshold.toNanos();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		RequestTiming timing = RequestTiming.bind();
+		try {
+			OnCommitResponseWrapper wrapper = new OnCommitResponseWrapper(response, () -> {
+				timing.bodyStarted();
+				response.addHeader(HeaderConstants.SERVER_TIMING, serverTiming(timing, StatementStats.current()));
+			});
+			filterChain.doFilter(request, wrapper);
+			wrapper.finish();
+		} finally {
+			RequestTiming.unbind();
+			long totalNanos = timing.getElapsedNanos();
+			if (totalNanos >= slowThresholdNanos) {
+				logSlowRequest(request, response, timing, totalNanos);
+			}
+		}
+	}
+
+	/**
+	 * Builds the value of the {@code Server-Timing} header.
+	 *
+	 * @param timing the timing of the request
+	 * @param stats  the statement statistics of the request, or {@code null} if statements are not counted
+	 * @return the header value
+	 */
+	static String serverTiming(RequestTiming timing, StatementStats stats) {
+		StringBuilder header = new StringBuilder(128);
+		if (stats != null) {
+			appendMetric(header, "db", stats.getElapsedNanos())
+					.append(";desc=\"").append(stats.getCount()).append(" statements\", ");
+		}
+		appendMetric(header, "svc", timing.getPhaseNanos(RequestTiming.Phase.SERVICE)).append(", ");
+		appendMetric(header, "mapper", timing.getPhaseNanos(RequestTiming.Phase.MAPPER)).append(", ");
+		appendMetric(header, "app", timing.getElapsedNanos());
+		return header.toString();
+	}
+
+	private static StringBuilder appendMetric(StringBuilder header, String name, long nanos) {
+		long hundredths = (nanos + 5_000) / 10_000;
+		long fraction = hundredths % 100;
+		return header.append(name).append(";dur=").append(hundredths / 100)
+				.append(fraction < 10 ? ".0" : ".").append(fraction);
+	}
+
+	private static void logSlowRequest(HttpServletRequest request, HttpServletResponse response,
+									   RequestTiming timing, long totalNanos) {
+		StatementStats stats = StatementStats.current();
+		logger.warn(SLOW_REQUEST,
+				value(HTTP_METHOD, request.getMethod()),
+				value(URI, request.getRequestURI()),
+				value(STATUS, response.getStatus()),
+				value(TOTAL_MS, millis(totalNanos)),
+				value(DB_MS, stats != null ? millis(stats.getElapsedNanos()) : null),
+				value(DB_STATEMENTS, stats != null ? stats.getCount() : null),
+				value(SERVICE_MS, millis(timing.getPhaseNanos(RequestTiming.Phase.SERVICE))),
+				value(MAPPER_MS, millis(timing.getPhaseNanos(RequestTiming.Phase.MAPPER))),
+				value(SERIALIZATION_MS, millis(timing.getBodyNanos())));
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / 10_000.0) / 100.0;
+	}
+}
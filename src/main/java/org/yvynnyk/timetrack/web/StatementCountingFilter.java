@@ -0,0 +1,74 @@
+package org.yvynnyk.timetrack.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.sql.StatementStats;
+
+import java.io.IOException;
+
+/**
+ * Filter that counts the JDBC statements executed while handling each request.
+ * <p>
+ * A {@link StatementStats} scope is bound for the duration of the request. When the request completes, its
+ * statement count is recorded in the {@link MetricsConstants.Sql#STATEMENTS_PER_REQUEST} summary, tagged with
+ * the method and the matched URI pattern. If enabled, the count is also returned in the
+ * {@link HeaderConstants#SQL_STATEMENT_COUNT} header; that value is taken when the response starts being
+ * written, so it misses statements issued lazily while the body is serialized.
+ * </p>
+ */
+public class StatementCountingFilter extends OncePerRequestFilter {
+
+	private static final String UNKNOWN_URI = "UNKNOWN";
+
+	private final MeterRegistry meterRegistry;
+	private final boolean countHeader;
+
+	/**
+	 * Constructs a StatementCountingFilter.
+	 *
+	 * @param meterRegistry the registry for the per-request summary
+	 * @param countHeader   whether to add the statement count header to responses
+	 */
+	public StatementCountingFilter(MeterRegistry meterRegistry, boolean countHeader) {
+		this.meterRegistry = meterRegistry;
+		this.countHeader = countHeader;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		StatementStats stats = StatementStats.bind();
+		try {
+			if (countHeader) {
+				OnCommitResponseWrapper wrapper = new OnCommitResponseWrapper(response, () ->
+						response.setHeader(HeaderConstants.SQL_STATEMENT_COUNT, String.valueOf(stats.getCount())));
+				filterChain.doFilter(request, wrapper);
+				wrapper.finish();
+			} else {
+				filterChain.doFilter(request, response);
+			}
+		} finally {
+			StatementStats.unbind();
+			record(request, stats);
+		}
+	}
+
+	private void record(HttpServletRequest request, StatementStats stats) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		DistributionSummary.builder(MetricsConstants.Sql.STATEMENTS_PER_REQUEST)
+				.description("JDBC statements executed per HTTP request")
+				.tag(MetricsConstants.Tags.METHOD, request.getMethod())
+				.tag(MetricsConstants.Tags.URI, pattern != null ? pattern.toString() : UNKNOWN_URI)
+				.publishPercentileHistogram()
+				.register(meterRegistry)
+				.record(stats.getCount());
+	}
+}
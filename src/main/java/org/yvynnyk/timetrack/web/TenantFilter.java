@@ -0,0 +1,57 @@
+package org.yvynnyk.timetrack.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.yvynnyk.timetrack.constant.ExceptionConstants;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Filter binding the tenant of each request to the {@link TenantContext}.
+ * <p>
+ * The tenant is read from the configured header and falls back to the default tenant when the header is absent.
+ * Identifiers must be 1 to 64 letters, digits, hyphens or underscores; requests with any other value are rejected
+ * with {@code 400 Bad Request}, which also keeps clients from claiming the {@link TenantContext#ROOT} tenant.
+ * </p>
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+	private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+	private final String header;
+	private final String defaultTenant;
+
+	/**
+	 * Constructs a TenantFilter.
+	 *
+	 * @param header        the request header carrying the tenant identifier
+	 * @param defaultTenant the tenant of requests without the header
+	 */
+	public TenantFilter(String header, String defaultTenant) {
+		this.header = header;
+		this.defaultTenant = defaultTenant;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String tenantId = request.getHeader(header);
+		if (tenantId == null || tenantId.isEmpty()) {
+			tenantId = defaultTenant;
+		} else if (!TENANT_ID.matcher(tenantId).matches()) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, ExceptionConstants.Tenant.INVALID_TENANT_ID);
+			return;
+		}
+		TenantContext.bind(tenantId);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			TenantContext.unbind();
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package org.yvynnyk.timetrack.benchmark;
+
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.model.Task;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ * <p>
+ * Timestamps carry a non-zero nano-of-second part so that serialisers exercise the fractional-second
+ * formatting path, which is what production timestamps produced by {@link LocalDateTime#now()} look like.
+ * </p>
+ */
+final class BenchmarkData {
+
+	private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 9, 10, 12, 34, 56, 123_456_000);
+	private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+	private BenchmarkData() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	static Task task(long id) {
+		return new Task(id, "Task " + id, "Description of task " + id, status(id),
+				BASE_TIME.plusSeconds(id), BASE_TIME.plusMinutes(id));
+	}
+
+	static TaskDTO taskDTO(long id) {
+		return new TaskDTO(id, "Task " + id, "Description of task " + id, status(id),
+				BASE_TIME.plusSeconds(id), BASE_TIME.plusMinutes(id));
+	}
+
+	static TaskCreateDTO taskCreateDTO(long id) {
+		return new TaskCreateDTO("Task " + id, "Description of task " + id);
+	}
+
+	static List<Task> tasks(int size) {
+		List<Task> tasks = new ArrayList<>(size);
+		for (long id = 1; id <= size; id++) {
+			tasks.add(task(id));
+		}
+		return tasks;
+	}
+
+	static List<TaskDTO> taskDTOs(int size) {
+		List<TaskDTO> taskDTOs = new ArrayList<>(size);
+		for (long id = 1; id <= size; id++) {
+			taskDTOs.add(taskDTO(id));
+		}
+		return taskDTOs;
+	}
+
+	static List<TaskCreateDTO> taskCreateDTOs(int size) {
+		List<TaskCreateDTO> taskCreateDTOs = new ArrayList<>(size);
+		for (long id = 1; id <= size; id++) {
+			taskCreateDTOs.add(taskCreateDTO(id));
+		}
+		return taskCreateDTOs;
+	}
+
+	private static TaskStatus status(long id) {
+		return STATUSES[(int) (id % STATUSES.length)];
+	}
+}
@@ -0,0 +1,90 @@
+package org.yvynnyk.timetrack.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.yvynnyk.timetrack.cache.TaskCache;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput of task reads under high duplicate concurrency, with and without load coalescing.
+ * <p>
+ * Sixteen threads read tasks drawn from {@code hotKeys} IDs through a disabled {@link TaskCache}, so that every
+ * read reaches the loader. The loader stands in for the database: it holds one of four connections for
+ * {@code loadMicros}, so that duplicate loads queue for connections as they would in a clock-in wave. The
+ * {@code reads} and {@code loads} counters report how many reads reached the database.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="CoalescingBenchmark"}.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class CoalescingBenchmark {
+
+	private static final String TENANT = "default";
+	private static final int CONNECTIONS = 4;
+
+	@Param({"true", "false"})
+	private boolean coalesce;
+
+	@Param({"1", "8"})
+	private int hotKeys;
+
+	@Param({"500"})
+	private long loadMicros;
+
+	private TaskCache taskCache;
+	private Semaphore connections;
+	private TaskDTO[] tasks;
+
+	@Setup
+	public void setUp() {
+		taskCache = TaskCache.disabled(TENANT, coalesce);
+		connections = new Semaphore(CONNECTIONS);
+		tasks = BenchmarkData.taskDTOs(hotKeys).toArray(TaskDTO[]::new);
+	}
+
+	@Benchmark
+	public TaskDTO getById(LoadCounter counter) {
+		int index = ThreadLocalRandom.current().nextInt(hotKeys);
+		counter.reads++;
+		return taskCache.get(tasks[index].getId(), () -> load(index, counter));
+	}
+
+	private TaskDTO load(int index, LoadCounter counter) {
+		connections.acquireUninterruptibly();
+		try {
+			counter.loads++;
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(loadMicros));
+			return tasks[index];
+		} finally {
+			connections.release();
+		}
+	}
+
+	/**
+	 * Per-thread counters reported next to the throughput.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class LoadCounter {
+		/**
+		 * Reads performed.
+		 */
+		public long reads;
+
+		/**
+		 * Loads run by the thread; divided by the reads, the database queries per read.
+		 */
+		public long loads;
+	}
+}
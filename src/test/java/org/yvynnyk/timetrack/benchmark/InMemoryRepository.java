@@ -0,0 +1,140 @@
+package org.yvynnyk.timetrack.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Map-backed stand-in for a Spring Data repository interface, used by the benchmarks.
+ * <p>
+ * The handler implements the {@code save}, {@code findById}, {@code existsById} and {@code findAll}
+ * methods of {@code CrudRepository}; derived query methods are registered explicitly with
+ * {@link #withQuery(String, Function)}. Any other method throws {@link UnsupportedOperationException},
+ * so a benchmark that starts using a new repository method fails fast instead of measuring a no-op.
+ * </p>
+ * <p>
+ * Instances are not thread-safe and are meant to be used from {@code Scope.Thread} benchmark states.
+ * </p>
+ *
+ * @param <T> the entity type
+ */
+final class InMemoryRepository<T> implements InvocationHandler {
+
+	private final Map<Long, T> store = new HashMap<>();
+	private final Map<String, Function<Object[], Object>> queries = new HashMap<>();
+	private final Function<T, Long> idGetter;
+	private final BiConsumer<T, Long> idSetter;
+	private long sequence;
+
+	/**
+	 * Constructs an empty repository for entities with the given identifier accessors.
+	 *
+	 * @param idGetter reads the identifier of an entity
+	 * @param idSetter assigns a generated identifier to a new entity
+	 */
+	InMemoryRepository(Function<T, Long> idGetter, BiConsumer<T, Long> idSetter) {
+		this.idGetter = idGetter;
+		this.idSetter = idSetter;
+	}
+
+	/**
+	 * Registers the implementation of a derived query method.
+	 *
+	 * @param methodName the repository method name, e.g. {@code findAllByStatus}
+	 * @param query      the implementation, receiving the method arguments
+	 * @return this repository
+	 */
+	InMemoryRepository<T> withQuery(String methodName, Function<Object[], Object> query) {
+		queries.put(methodName, query);
+		return this;
+	}
+
+	/**
+	 * Creates a proxy implementing the given repository interface on top of this store.
+	 *
+	 * @param repositoryType the repository interface
+	 * @param <R>            the repository type
+	 * @return the repository proxy
+	 */
+	<R> R proxy(Class<R> repositoryType) {
+		return repositoryType.cast(Proxy.newProxyInstance(
+				repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, this));
+	}
+
+	/**
+	 * Returns the stored entities.
+	 *
+	 * @return a live view of the stored entities
+	 */
+	Collection<T> values() {
+		return store.values();
+	}
+
+	/**
+	 * Looks up a stored entity without going through the repository proxy.
+	 *
+	 * @param id the entity identifier
+	 * @return the stored entity, or {@code null} if absent
+	 */
+	T get(Long id) {
+		return store.get(id);
+	}
+
+	/**
+	 * Removes a stored entity.
+	 *
+	 * @param id the entity identifier
+	 */
+	void remove(Long id) {
+		store.remove(id);
+	}
+
+	/**
+	 * Removes all stored entities.
+	 */
+	void clear() {
+		store.clear();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object invoke(Object proxy, Method method, Object[] args) {
+		switch (method.getName()) {
+			case "save":
+				T entity = (T) args[0];
+				if (idGetter.apply(entity) == null) {
+					idSetter.accept(entity, ++sequence);
+				}
+				store.put(idGetter.apply(entity), entity);
+				return entity;
+			case "findById":
+				return Optional.ofNullable(store.get((Long) args[0]));
+			case "existsById":
+				return store.containsKey((Long) args[0]);
+			case "findAll":
+				if (args == null) {
+					return new ArrayList<>(store.values());
+				}
+				break;
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			case "toString":
+				return "InMemoryRepository" + store.keySet();
+			default:
+				Function<Object[], Object> query = queries.get(method.getName());
+				if (query != null) {
+					return query.apply(args);
+				}
+		}
+		throw new UnsupportedOperationException("Not supported by the in-memory repository: " + method);
+	}
+}
@@ -0,0 +1,133 @@
+package org.yvynnyk.timetrack.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.util.Duration;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yvynnyk.timetrack.logging.SamplingTurboFilter;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.value;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.Fields.TASK_ID;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.TimeEntry.Controller.TIME_ENTRY_START_REQUEST;
+import static org.yvynnyk.timetrack.constant.LoggingConstants.TimeEntry.Service.TIME_ENTRY_STARTED;
+
+/**
+ * Logging overhead of one {@code POST /api/timeEntry/start} request, which logs once in the controller and
+ * once in the service.
+ * <p>
+ * {@code legacy} reproduces the previous setup: messages built eagerly with {@code String.formatted} and a
+ * synchronous appender encoding with the console pattern. {@code pipeline} is the setup of
+ * {@code logback-spring.xml}: parameterised templates with structured arguments, 1-in-10 sampling of the
+ * controller logs and a ring buffer handing events to a background JSON encoder. Both write to a discarding
+ * stream. With {@code level=WARN} the INFO events are disabled, which is the cost a call site pays when its
+ * level is switched off.
+ * </p>
+ * <p>
+ * The pipeline benchmark measures what the request thread pays. Under a sustained JMH loop the background
+ * thread cannot keep up and the ring buffer drops events instead of blocking, exactly as it would in production.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingBenchmark {
+
+	private static final String LEGACY_START_REQUEST = "Received request to start time entry for task with id: %d";
+	private static final String LEGACY_STARTED = "Time entry started for task with id: %d";
+
+	private LoggerContext legacyContext;
+	private LoggerContext pipelineContext;
+	private Logger legacyController;
+	private Logger legacyService;
+	private Logger pipelineController;
+	private Logger pipelineService;
+	private long taskId;
+
+	@Param({"INFO", "WARN"})
+	private String level;
+
+	@Setup
+	public void setUp() {
+		legacyContext = new LoggerContext();
+		PatternLayoutEncoder patternEncoder = new PatternLayoutEncoder();
+		patternEncoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%t] %-40.40logger{39} : %m%n");
+		legacyContext.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(discardingAppender(legacyContext, patternEncoder));
+		legacyController = legacyContext.getLogger("org.yvynnyk.timetrack.controller.TimeEntryController");
+		legacyService = legacyContext.getLogger("org.yvynnyk.timetrack.service.impl.TimeEntryServiceImpl");
+
+		pipelineContext = new LoggerContext();
+		SamplingTurboFilter sampling = new SamplingTurboFilter();
+		sampling.setLoggers("org.yvynnyk.timetrack.controller");
+		sampling.setRate(10);
+		sampling.start();
+		pipelineContext.addTurboFilter(sampling);
+		LoggingEventAsyncDisruptorAppender async = new LoggingEventAsyncDisruptorAppender();
+		async.setContext(pipelineContext);
+		async.setRingBufferSize(8192);
+		async.setAppendTimeout(Duration.buildByMilliseconds(0));
+		async.addAppender(discardingAppender(pipelineContext, new LogstashEncoder()));
+		async.start();
+		pipelineContext.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(async);
+		pipelineController = pipelineContext.getLogger("org.yvynnyk.timetrack.controller.TimeEntryController");
+		pipelineService = pipelineContext.getLogger("org.yvynnyk.timetrack.service.impl.TimeEntryServiceImpl");
+
+		legacyContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.toLevel(level));
+		pipelineContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.toLevel(level));
+	}
+
+	@TearDown
+	public void tearDown() {
+		legacyContext.stop();
+		pipelineContext.stop();
+	}
+
+	@Benchmark
+	public void legacy() {
+		long id = ++taskId;
+		legacyController.info(LEGACY_START_REQUEST.formatted(id));
+		legacyService.info(LEGACY_STARTED.formatted(id));
+	}
+
+	@Benchmark
+	public void pipeline() {
+		Long id = ++taskId;
+		pipelineController.info(TIME_ENTRY_START_REQUEST, value(TASK_ID, id));
+		pipelineService.info(TIME_ENTRY_STARTED, value(TASK_ID, id));
+	}
+
+	private static Appender<ILoggingEvent> discardingAppender(LoggerContext context, Encoder<ILoggingEvent> encoder) {
+		encoder.setContext(context);
+		encoder.start();
+		OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+		appender.setContext(context);
+		appender.setEncoder(encoder);
+		appender.setOutputStream(OutputStream.nullOutputStream());
+		appender.start();
+		return appender;
+	}
+}
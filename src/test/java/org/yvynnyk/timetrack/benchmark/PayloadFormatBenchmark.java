@@ -0,0 +1,91 @@
+package org.yvynnyk.timetrack.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.json.TaskDTOSerializer;
+import org.yvynnyk.timetrack.json.TaskStatusSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode throughput of a {@code GET /api/tasks/all} payload in each supported format.
+ * <p>
+ * The object mappers are built like the application's message converters. Payload sizes, raw and gzip-compressed
+ * as {@code server.compression} would send them, are printed once per trial, since JMH only reports timings.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PayloadFormatBenchmark {
+
+	@Param({"1000"})
+	private int size;
+
+	@Param({"json", "cbor", "smile"})
+	private String format;
+
+	private ObjectWriter writer;
+	private ObjectReader reader;
+	private List<TaskDTO> taskDTOs;
+	private byte[] encoded;
+
+	@Setup
+	public void setUp() throws IOException {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+				.factory(factory(format))
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.serializers(new TaskDTOSerializer(), new TaskStatusSerializer())
+				.build();
+		TypeReference<List<TaskDTO>> type = new TypeReference<>() {
+		};
+		writer = objectMapper.writerFor(type);
+		reader = objectMapper.readerFor(type);
+		taskDTOs = BenchmarkData.taskDTOs(size);
+		encoded = writer.writeValueAsBytes(taskDTOs);
+		System.out.printf("%n%s payload for %d tasks: %d bytes, %d bytes gzipped%n",
+				format, size, encoded.length, gzippedLength(encoded));
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		return writer.writeValueAsBytes(taskDTOs);
+	}
+
+	@Benchmark
+	public List<TaskDTO> decode() throws IOException {
+		return reader.readValue(encoded);
+	}
+
+	private static JsonFactory factory(String format) {
+		return switch (format) {
+			case "cbor" -> new CBORFactory();
+			case "smile" -> new SmileFactory();
+			default -> new JsonFactory();
+		};
+	}
+
+	private static int gzippedLength(byte[] payload) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+			gzip.write(payload);
+		}
+		return compressed.size();
+	}
+}
@@ -0,0 +1,167 @@
+package org.yvynnyk.timetrack.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.yvynnyk.timetrack.cache.InvalidationBus;
+import org.yvynnyk.timetrack.cache.TaskCache;
+import org.yvynnyk.timetrack.cache.TaskChanges;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.eventstore.TaskEventStore;
+import org.yvynnyk.timetrack.events.TaskEventBroadcaster;
+import org.yvynnyk.timetrack.events.TaskEventProperties;
+import org.yvynnyk.timetrack.events.TaskEvents;
+import org.yvynnyk.timetrack.mapper.TaskMapper;
+import org.yvynnyk.timetrack.model.OutboxEvent;
+import org.yvynnyk.timetrack.model.Task;
+import org.yvynnyk.timetrack.model.TimeEntry;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.outbox.Outbox;
+import org.yvynnyk.timetrack.repository.OutboxEventRepository;
+import org.yvynnyk.timetrack.repository.TaskRepository;
+import org.yvynnyk.timetrack.repository.TimeEntryRepository;
+import org.yvynnyk.timetrack.service.impl.TaskServiceImpl;
+import org.yvynnyk.timetrack.service.impl.TimeEntryServiceImpl;
+import org.yvynnyk.timetrack.statistics.StatisticsProperties;
+import org.yvynnyk.timetrack.statistics.TaskDurationStatistics;
+import org.yvynnyk.timetrack.sync.SyncProperties;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link TaskServiceImpl} and {@link TimeEntryServiceImpl} against in-memory repositories.
+ * <p>
+ * The repositories are {@link InMemoryRepository} stand-ins, so the numbers cover the service, mapper and
+ * logging code on the request path without any database or network cost. Loggers are raised to
+ * {@code WARN} so that console output does not dominate the measurement; what remains is the cost the
+ * application pays for log statements that are switched off. The task cache is disabled, so that reads
+ * measure the service path rather than cache hits, status events are serialised without subscribers, and
+ * outbox events are serialised into an in-memory outbox that is cleared with the data it describes. Lifecycle
+ * events are bound to their append statement, which is not executed.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ServiceBenchmark {
+
+	private static final int TASK_COUNT = 100;
+	private static final String TENANT = "default";
+
+	private InMemoryRepository<Task> tasks;
+	private InMemoryRepository<TimeEntry> timeEntries;
+	private InMemoryRepository<OutboxEvent> outboxEvents;
+	private TaskServiceImpl taskService;
+	private TimeEntryServiceImpl timeEntryService;
+	private TaskCreateDTO taskCreateDTO;
+	private Long startStopTaskId;
+
+	@Setup
+	public void setUp() {
+		((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+		tasks = new InMemoryRepository<>(Task::getId, Task::setId)
+				.withQuery("findAllByStatus", args -> tasks.values().stream()
+						.filter(task -> task.getStatus() == args[0])
+						.toList());
+		timeEntries = new InMemoryRepository<>(TimeEntry::getId, TimeEntry::setId)
+				.withQuery("findByTaskIdAndEndTimeIsNull", args -> timeEntries.values().stream()
+						.filter(entry -> Objects.equals(entry.getTask().getId(), args[0]) && entry.getEndTime() == null)
+						.findFirst())
+				.withQuery("findWithTaskByTaskId", args -> timeEntries.values().stream()
+						.filter(entry -> Objects.equals(entry.getTask().getId(), args[0]))
+						.findFirst());
+
+		outboxEvents = new InMemoryRepository<>(OutboxEvent::getId, OutboxEvent::setId);
+
+		TaskMapper taskMapper = new TaskMapper();
+		JsonMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+		Outbox outbox = new Outbox(outboxEvents.proxy(OutboxEventRepository.class), objectMapper, TENANT);
+		TaskRepository taskRepository = tasks.proxy(TaskRepository.class);
+		TaskCache taskCache = TaskCache.disabled(TENANT);
+		TaskChanges taskChanges = new TaskChanges(taskCache, InvalidationBus.LOCAL, TENANT);
+		TaskEventBroadcaster broadcaster = new TaskEventBroadcaster(objectMapper,
+				new ConcurrentTaskScheduler(), new TaskEventProperties(), new SimpleMeterRegistry());
+		TaskEventStore eventStore = new TaskEventStore(new JdbcTemplate() {
+			@Override
+			public int update(String sql, Object... args) {
+				return 1;
+			}
+		}, TENANT);
+		taskService = new TaskServiceImpl(taskRepository, taskMapper, taskCache, taskChanges,
+				new TaskEvents(broadcaster, TENANT), outbox, new SyncProperties(), eventStore);
+		timeEntryService = new TimeEntryServiceImpl(timeEntries.proxy(TimeEntryRepository.class), taskService, taskMapper,
+				taskChanges, outbox, new TaskDurationStatistics(new StatisticsProperties(), TENANT, LocalDateTime.MIN),
+				eventStore, new PlatformTransactionManager() {
+					@Override
+					public TransactionStatus getTransaction(TransactionDefinition definition) {
+						return new SimpleTransactionStatus();
+					}
+
+					@Override
+					public void commit(TransactionStatus status) {
+					}
+
+					@Override
+					public void rollback(TransactionStatus status) {
+					}
+				}, new SimpleMeterRegistry());
+
+		BenchmarkData.tasks(TASK_COUNT).forEach(task -> {
+			task.setId(null);
+			taskRepository.save(task);
+		});
+		startStopTaskId = 1L;
+		taskCreateDTO = BenchmarkData.taskCreateDTO(TASK_COUNT + 1L);
+	}
+
+	@Benchmark
+	public TaskDTO create() {
+		TaskDTO created = taskService.create(taskCreateDTO);
+		tasks.remove(created.getId());
+		outboxEvents.clear();
+		return created;
+	}
+
+	@Benchmark
+	public TaskDTO getById() {
+		return taskService.getById(startStopTaskId);
+	}
+
+	@Benchmark
+	public List<TaskDTO> getAll() {
+		return taskService.getAll();
+	}
+
+	/**
+	 * One operation is a full {@code start} followed by {@code stop} of the same task, the pair issued by
+	 * a client tracking time on a task.
+	 */
+	@Benchmark
+	public Optional<TimeEntry> startStop() {
+		tasks.get(startStopTaskId).setStatus(TaskStatus.CREATE);
+		timeEntryService.start(startStopTaskId);
+		timeEntryService.stop(startStopTaskId);
+		Optional<TimeEntry> closed = timeEntries.values().stream().findFirst();
+		timeEntries.clear();
+		outboxEvents.clear();
+		return closed;
+	}
+}
@@ -0,0 +1,75 @@
+package org.yvynnyk.timetrack.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.json.TaskDTOSerializer;
+import org.yvynnyk.timetrack.json.TaskStatusSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of JSON serialisation of {@link TaskDTO} lists, as returned by {@code GET /api/tasks/all}.
+ * <p>
+ * The {@link ObjectMapper} is configured like the one Spring Boot auto-configures for the web layer, and
+ * the output goes to a discarding stream, mirroring how the message converter writes to the servlet
+ * response without materialising the whole payload or closing the target stream.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskJsonBenchmark {
+
+	@Param({"10", "1000", "10000"})
+	private int size;
+
+	/**
+	 * {@code reflective} uses Jackson's bean serializer, {@code handWritten} the serializers of the
+	 * {@code json} package and the Blackbird module, as registered in the application.
+	 */
+	@Param({"reflective", "handWritten"})
+	private String serializers;
+
+	private ObjectWriter writer;
+	private List<TaskDTO> taskDTOs;
+	private OutputStream sink;
+
+	@Setup
+	public void setUp() {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		if ("handWritten".equals(serializers)) {
+			builder.serializers(new TaskDTOSerializer(), new TaskStatusSerializer())
+					.modulesToInstall(new BlackbirdModule());
+		}
+		ObjectMapper objectMapper = builder.build();
+		writer = objectMapper.writerFor(new TypeReference<List<TaskDTO>>() {
+				})
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		taskDTOs = BenchmarkData.taskDTOs(size);
+		sink = OutputStream.nullOutputStream();
+	}
+
+	@Benchmark
+	public void serializeToStream() throws IOException {
+		writer.writeValue(sink, taskDTOs);
+	}
+
+	@Benchmark
+	public byte[] serializeToBytes() throws IOException {
+		return writer.writeValueAsBytes(taskDTOs);
+	}
+}
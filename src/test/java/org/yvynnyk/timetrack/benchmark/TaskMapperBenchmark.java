@@ -0,0 +1,70 @@
+package org.yvynnyk.timetrack.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.mapper.TaskMapper;
+import org.yvynnyk.timetrack.model.Task;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link TaskMapper} conversions for single objects and lists.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="TaskMapperBenchmark -prof gc"}.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskMapperBenchmark {
+
+	@Param({"10", "1000"})
+	private int size;
+
+	private TaskMapper taskMapper;
+	private Task task;
+	private TaskDTO taskDTO;
+	private TaskCreateDTO taskCreateDTO;
+	private List<Task> tasks;
+	private List<TaskCreateDTO> taskCreateDTOs;
+
+	@Setup
+	public void setUp() {
+		taskMapper = new TaskMapper();
+		task = BenchmarkData.task(1L);
+		taskDTO = BenchmarkData.taskDTO(1L);
+		taskCreateDTO = BenchmarkData.taskCreateDTO(1L);
+		tasks = BenchmarkData.tasks(size);
+		taskCreateDTOs = BenchmarkData.taskCreateDTOs(size);
+	}
+
+	@Benchmark
+	public TaskDTO toDto() {
+		return taskMapper.toDto(task);
+	}
+
+	@Benchmark
+	public List<TaskDTO> toDtoList() {
+		return taskMapper.toDto(tasks);
+	}
+
+	@Benchmark
+	public Task toEntityFromCreateDto() {
+		return taskMapper.toEntity(taskCreateDTO);
+	}
+
+	@Benchmark
+	public Task toEntityFromDto() {
+		return taskMapper.toEntity(taskDTO);
+	}
+
+	@Benchmark
+	public List<Task> toEntityList() {
+		return taskMapper.toEntity(taskCreateDTOs);
+	}
+}
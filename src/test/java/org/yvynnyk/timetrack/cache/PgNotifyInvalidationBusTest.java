@@ -0,0 +1,59 @@
+package org.yvynnyk.timetrack.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgNotifyInvalidationBusTest {
+
+	@Test
+	void encodeAndDecode_roundTripByTenant() {
+		Map<String, Set<Long>> changes = new LinkedHashMap<>();
+
+		PgNotifyInvalidationBus.encode("acme", List.of(1L, 42L)).forEach(payload ->
+				PgNotifyInvalidationBus.decode(payload, changes));
+		PgNotifyInvalidationBus.encode("other", List.of(7L)).forEach(payload ->
+				PgNotifyInvalidationBus.decode(payload, changes));
+		PgNotifyInvalidationBus.decode("acme|42,3", changes);
+
+		assertEquals(Map.of("acme", Set.of(1L, 42L, 3L), "other", Set.of(7L)), changes);
+	}
+
+	@Test
+	void encode_splitsLargeChangesBelowPayloadLimit() {
+		List<Long> taskIds = LongStream.range(1_000_000_000_000L, 1_000_000_002_000L).boxed().toList();
+
+		List<String> payloads = PgNotifyInvalidationBus.encode("acme", taskIds);
+
+		assertTrue(payloads.size() > 1);
+		assertTrue(payloads.stream().allMatch(payload -> payload.length() <= PgNotifyInvalidationBus.MAX_PAYLOAD));
+		Map<String, Set<Long>> changes = new LinkedHashMap<>();
+		payloads.forEach(payload -> PgNotifyInvalidationBus.decode(payload, changes));
+		assertEquals(taskIds.size(), changes.get("acme").size());
+	}
+
+	@Test
+	void decode_rejectsMalformedPayload() {
+		Map<String, Set<Long>> changes = new LinkedHashMap<>();
+
+		assertThrows(IllegalArgumentException.class, () -> PgNotifyInvalidationBus.decode("no-tenant", changes));
+		assertThrows(IllegalArgumentException.class, () -> PgNotifyInvalidationBus.decode("acme|x", changes));
+	}
+
+	@Test
+	void invalidChannel_isRejected() {
+		CacheProperties.Invalidation properties = new CacheProperties.Invalidation();
+		properties.setChannel("changes; drop table task");
+
+		assertThrows(IllegalArgumentException.class, () -> new PgNotifyInvalidationBus(new SimpleDriverDataSource(),
+				List.of(), TaskCache.disabled("default"), properties, new SimpleMeterRegistry()));
+	}
+}
@@ -0,0 +1,147 @@
+package org.yvynnyk.timetrack.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCacheTest {
+
+	private final TaskCache cache = new TaskCache(100, Duration.ofMinutes(1), "default");
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@AfterEach
+	void tearDown() {
+		TenantContext.unbind();
+	}
+
+	@Test
+	void repeatedReads_loadOnce() {
+		assertEquals("Task 1", cache.get(1L, loader(1L)).getName());
+		assertEquals("Task 1", cache.get(1L, loader(1L)).getName());
+
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void evict_reloadsTaskAndTenantList() {
+		cache.get(1L, loader(1L));
+		cache.getAll(() -> List.of(load(1L)));
+
+		cache.evict("default", List.of(1L));
+		cache.get(1L, loader(1L));
+		cache.getAll(() -> List.of(load(1L)));
+
+		assertEquals(4, loads.get());
+	}
+
+	@Test
+	void taskOfAnotherTenant_isNotServedFromCache() {
+		TenantContext.bind("tenant-a");
+		cache.get(1L, loader(1L));
+
+		TenantContext.bind("tenant-b");
+		assertThrows(ResourceNotFoundException.class, () -> cache.get(1L, () -> {
+			throw new ResourceNotFoundException("not found");
+		}));
+	}
+
+	@Test
+	void rootTenant_bypassesCacheAndEvictsAllLists() {
+		TenantContext.bind("tenant-a");
+		cache.getAll(() -> List.of(load(1L)));
+		TenantContext.bind(TenantContext.ROOT);
+		cache.getAll(() -> List.of(load(1L)));
+
+		cache.evict(TenantContext.ROOT, List.of(1L));
+		TenantContext.bind("tenant-a");
+		cache.getAll(() -> List.of(load(1L)));
+
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void disabledCache_alwaysLoads() {
+		TaskCache disabled = TaskCache.disabled("default");
+
+		disabled.get(1L, loader(1L));
+		disabled.get(1L, loader(1L));
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void concurrentMisses_shareOneLoad() throws Exception {
+		TaskCache disabled = TaskCache.disabled("default");
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<TaskDTO>> reads = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				reads.add(executor.submit(() -> disabled.get(1L, () -> {
+					awaitQuietly(release);
+					return load(1L);
+				})));
+			}
+			while (disabled.taskLoads().coalesced() < 3) {
+				TimeUnit.MILLISECONDS.sleep(5);
+			}
+			release.countDown();
+
+			for (Future<TaskDTO> read : reads) {
+				assertEquals("Task 1", read.get(5, TimeUnit.SECONDS).getName());
+			}
+			assertEquals(1, loads.get());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void readWriteTransaction_neitherCachesNorCoalesces() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			cache.get(1L, loader(1L));
+			cache.get(1L, loader(1L));
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+
+		assertEquals(2, loads.get());
+		assertEquals(0, cache.taskLoads().loads());
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Supplier<TaskDTO> loader(long id) {
+		return () -> load(id);
+	}
+
+	private TaskDTO load(long id) {
+		loads.incrementAndGet();
+		return new TaskDTO(id, "Task " + id, null, TaskStatus.CREATE, null, null);
+	}
+}
@@ -0,0 +1,77 @@
+package org.yvynnyk.timetrack.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that task lists are served from the cache and invalidated by writes, on H2 where the invalidation bus
+ * stays inactive.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskCachingTest {
+
+	private static final String TENANT = "caching";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PgNotifyInvalidationBus invalidationBus;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void cachedList_isServedWithoutStatementsAndInvalidatedByWrites() throws Exception {
+		long taskId = createTask();
+		getAll().andExpect(jsonPath("$[0].name").value("Task"));
+
+		getAll().andExpect(header().string(HeaderConstants.SQL_STATEMENT_COUNT, "0"));
+
+		mockMvc.perform(MockMvcRequestBuilders.put("/api/tasks/" + taskId)
+						.header(HeaderConstants.TENANT_ID, TENANT)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(
+								new TaskDTO(taskId, "Renamed", null, TaskStatus.PENDING, null, null))))
+				.andExpect(status().isOk());
+		getAll().andExpect(jsonPath("$[0].name").value("Renamed"));
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/timeEntry/start")
+						.header(HeaderConstants.TENANT_ID, TENANT)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(String.valueOf(taskId)))
+				.andExpect(status().isNoContent());
+		getAll().andExpect(jsonPath("$[0].status").value("IN_PROGRESS"));
+		assertFalse(invalidationBus.isActive());
+	}
+
+	private long createTask() throws Exception {
+		String body = mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.header(HeaderConstants.TENANT_ID, TENANT)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new TaskCreateDTO("Task", "Description"))))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("id").asLong();
+	}
+
+	private ResultActions getAll() throws Exception {
+		return mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header(HeaderConstants.TENANT_ID, TENANT))
+				.andExpect(status().isOk());
+	}
+}
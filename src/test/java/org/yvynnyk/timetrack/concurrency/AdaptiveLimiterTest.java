@@ -0,0 +1,92 @@
+package org.yvynnyk.timetrack.concurrency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private ConcurrencyProperties.Limit settings;
+
+	@BeforeEach
+	void setUp() {
+		settings = new ConcurrencyProperties.Limit();
+		settings.setInitialLimit(20);
+		settings.setMinLimit(2);
+		settings.setMaxLimit(100);
+		settings.setWindowSize(10);
+	}
+
+	@Test
+	void permitsBeyondLimit_areRefusedUntilReleased() {
+		settings.setInitialLimit(2);
+		AdaptiveLimiter limiter = new AdaptiveLimiter(settings);
+
+		AdaptiveLimiter.Permit first = limiter.tryAcquire();
+		AdaptiveLimiter.Permit second = limiter.tryAcquire();
+
+		assertNotNull(first);
+		assertNotNull(second);
+		assertNull(limiter.tryAcquire());
+		first.ignore();
+		first.ignore();
+		assertEquals(1, limiter.inflight());
+		assertNotNull(limiter.tryAcquire());
+	}
+
+	@Test
+	void stableLatencyUnderLoad_growsLimit() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(settings);
+
+		windows(limiter, 5, FAST, 20);
+
+		assertTrue(limiter.limit() > 20, "limit " + limiter.limit());
+	}
+
+	@Test
+	void stableLatencyWithoutLoad_keepsLimit() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(settings);
+
+		windows(limiter, 5, FAST, 3);
+
+		assertEquals(20, limiter.limit());
+	}
+
+	@Test
+	void risingLatency_shrinksLimitDownToMinimum() {
+		settings.setMinLimit(8);
+		AdaptiveLimiter limiter = new AdaptiveLimiter(settings);
+		windows(limiter, 1, FAST, 20);
+		int before = limiter.limit();
+
+		windows(limiter, 1, SLOW, 20);
+
+		assertTrue(limiter.limit() < before, before + " -> " + limiter.limit());
+		for (int i = 1; i <= 30; i++) {
+			windows(limiter, 1, SLOW << i, 20);
+		}
+		assertEquals(8, limiter.limit());
+	}
+
+	@Test
+	void serverErrors_backOffMultiplicatively() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(settings);
+
+		limiter.onFailure();
+		limiter.onFailure();
+
+		assertEquals(16, limiter.limit());
+	}
+
+	private static void windows(AdaptiveLimiter limiter, int windows, long latencyNanos, int inflight) {
+		for (int i = 0; i < windows * 10; i++) {
+			limiter.onSuccess(latencyNanos, inflight);
+		}
+	}
+}
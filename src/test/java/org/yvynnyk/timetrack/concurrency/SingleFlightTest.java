@@ -0,0 +1,124 @@
+package org.yvynnyk.timetrack.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+	private static final int CALLERS = 8;
+
+	private final SingleFlight<String, String> flight = new SingleFlight<>();
+	private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentLoadsOfSameKey_shareOneLoad() throws Exception {
+		List<Future<String>> results = submitAll("task-1", () -> "value");
+		awaitCoalesced(CALLERS - 1);
+		release.countDown();
+
+		for (Future<String> result : results) {
+			assertEquals("value", result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, loads.get());
+		assertEquals(1, flight.loads());
+		assertEquals(CALLERS - 1, flight.coalesced());
+		assertEquals(0, flight.inFlight());
+	}
+
+	@Test
+	void failedLoad_isSharedAndForgotten() throws Exception {
+		List<Future<String>> results = submitAll("task-1", () -> {
+			throw new IllegalStateException("database down");
+		});
+		awaitCoalesced(CALLERS - 1);
+		release.countDown();
+
+		for (Future<String> result : results) {
+			Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+			assertInstanceOf(IllegalStateException.class, e.getCause());
+		}
+		assertEquals(0, flight.inFlight());
+		assertEquals("value", flight.load("task-1", () -> "value"));
+	}
+
+	@Test
+	void differentKeys_loadSeparately() {
+		assertEquals("a", flight.load("task-1", () -> "a"));
+		assertEquals("b", flight.load("task-2", () -> "b"));
+		assertEquals("c", flight.load("task-1", () -> "c"));
+
+		assertEquals(3, flight.loads());
+		assertEquals(0, flight.coalesced());
+	}
+
+	@Test
+	void forget_startsNewLoadForLaterCallers() throws Exception {
+		Future<String> stale = executor.submit(() -> flight.load("task-1", () -> blockingLoad("old")));
+		awaitInFlight();
+
+		flight.forget(key -> key.equals("task-1"));
+		String fresh = flight.load("task-1", () -> "new");
+		release.countDown();
+
+		assertEquals("new", fresh);
+		assertEquals("old", stale.get(5, TimeUnit.SECONDS));
+		assertEquals(2, flight.loads());
+	}
+
+	private List<Future<String>> submitAll(String key, Supplier<String> result) {
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(executor.submit(() -> flight.load(key, () -> {
+				blockingLoad(null);
+				return result.get();
+			})));
+		}
+		return results;
+	}
+
+	private String blockingLoad(String value) {
+		loads.incrementAndGet();
+		try {
+			assertTrue(release.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return value;
+	}
+
+	private void awaitCoalesced(int callers) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (flight.coalesced() < callers) {
+			assertTrue(System.nanoTime() < deadline, "callers did not join the load");
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+	}
+
+	private void awaitInFlight() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (loads.get() == 0) {
+			assertTrue(System.nanoTime() < deadline, "the load did not start");
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+	}
+}
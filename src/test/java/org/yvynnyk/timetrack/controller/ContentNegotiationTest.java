@@ -0,0 +1,81 @@
+package org.yvynnyk.timetrack.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ContentNegotiationTest {
+
+	private static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+	private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+	@Test
+	void createTask_cbor() throws Exception {
+		MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.contentType(MediaType.APPLICATION_CBOR)
+						.accept(MediaType.APPLICATION_CBOR)
+						.content(cborMapper.writeValueAsBytes(new TaskCreateDTO("Cbor Task", "Description"))))
+				.andExpect(status().isCreated())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn();
+
+		JsonNode task = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+		assertEquals("Cbor Task", task.get("name").asText());
+		assertEquals("CREATE", task.get("status").asText());
+	}
+
+	@Test
+	void getAllTasks_smile() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Smile Task\",\"description\":\"Description\"}"))
+				.andExpect(status().isCreated());
+
+		MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all")
+						.accept(APPLICATION_SMILE))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(APPLICATION_SMILE))
+				.andReturn();
+
+		JsonNode tasks = smileMapper.readTree(result.getResponse().getContentAsByteArray());
+		assertTrue(tasks.isArray());
+		assertTrue(tasks.get(0).get("createdAt").isTextual());
+	}
+
+	@Test
+	void startTimeEntry_cborBody() throws Exception {
+		MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Task\",\"description\":\"Description\"}"))
+				.andExpect(status().isCreated())
+				.andReturn();
+		long taskId = new ObjectMapper().readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/timeEntry/start")
+						.contentType(MediaType.APPLICATION_CBOR)
+						.content(cborMapper.writeValueAsBytes(taskId)))
+				.andExpect(status().isNoContent());
+	}
+}
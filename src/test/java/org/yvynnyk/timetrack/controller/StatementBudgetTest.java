@@ -0,0 +1,240 @@
+package org.yvynnyk.timetrack.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.yvynnyk.timetrack.cache.TaskCache;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.repository.TaskRepository;
+import org.yvynnyk.timetrack.repository.TimeEntryRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the maximum number of JDBC statements each endpoint may issue, against a real database.
+ * <p>
+ * The counts are read from the per-request statement summary, which is recorded once the response body has been
+ * written, so statements issued while serializing it are counted as well; the {@code X-SQL-Statement-Count} header
+ * is taken before that. The task cache is cleared before reading tasks, so that reads reach the database.
+ * A budget that starts failing means an endpoint now issues more statements than before, typically an
+ * N+1 query; raise it only together with a change that explains why.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatementBudgetTest {
+
+	// Writes include one outbox insert per task saved and per time entry started or stopped, and one lifecycle
+	// event insert per task created or updated and per time entry started or stopped.
+	private static final int CREATE_BUDGET = 3;
+	private static final int UPDATE_BUDGET = 5;
+	private static final int GET_ALL_BUDGET = 1;
+	// One IN query per 512 requested ids.
+	private static final int BATCH_BUDGET = 2;
+	// One range scan of the change time index per page.
+	private static final int CHANGES_BUDGET = 1;
+	// The snapshot and the events after it.
+	private static final int STATE_BUDGET = 2;
+	private static final int START_BUDGET = 7;
+	private static final int STOP_BUDGET = 8;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TimeEntryRepository timeEntryRepository;
+
+	@Autowired
+	private TaskCache taskCache;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private double statementsBefore;
+
+	@BeforeEach
+	void setUp() {
+		timeEntryRepository.deleteAll();
+		taskRepository.deleteAll();
+	}
+
+	@Test
+	void createTask_withinBudget() throws Exception {
+		ResultActions result = perform(MockMvcRequestBuilders.post("/api/tasks")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new TaskCreateDTO("Task", "Description"))))
+				.andExpect(status().isCreated());
+
+		assertWithinBudget(result.andReturn(), CREATE_BUDGET);
+	}
+
+	@Test
+	void updateTask_withinBudget() throws Exception {
+		long taskId = createTask();
+		TaskDTO update = new TaskDTO(taskId, "Updated", "Updated description", TaskStatus.PENDING, null, null);
+
+		ResultActions result = perform(MockMvcRequestBuilders.put("/api/tasks/" + taskId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(update)))
+				.andExpect(status().isOk());
+
+		assertWithinBudget(result.andReturn(), UPDATE_BUDGET);
+	}
+
+	@Test
+	void getAllTasks_withinBudget_independentOfTaskCount() throws Exception {
+		long taskId = createTask();
+		start(taskId);
+
+		assertTrue(assertWithinBudget(getAll(), GET_ALL_BUDGET) > 0, "GET /api/tasks/all did not reach the database");
+
+		for (int i = 0; i < 20; i++) {
+			start(createTask());
+		}
+
+		assertTrue(assertWithinBudget(getAll(), GET_ALL_BUDGET) > 0, "GET /api/tasks/all did not reach the database");
+	}
+
+	@Test
+	void getTaskBatch_withinBudget_independentOfTaskCount() throws Exception {
+		List<Long> taskIds = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			taskIds.add(createTask());
+		}
+		long next = taskIds.get(taskIds.size() - 1) + 1;
+		while (taskIds.size() < 600) {
+			taskIds.add(next++);
+		}
+
+		taskCache.clear();
+		MvcResult result = perform(MockMvcRequestBuilders.post("/api/tasks/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(taskIds)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tasks.length()").value(5))
+				.andExpect(jsonPath("$.missingIds.length()").value(595))
+				.andReturn();
+
+		assertWithinBudget(result, BATCH_BUDGET);
+	}
+
+	@Test
+	void getTaskChanges_withinBudget_independentOfTaskCount() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			start(createTask());
+		}
+
+		MvcResult result = perform(MockMvcRequestBuilders.get("/api/tasks/changes"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tasks.length()").value(20))
+				.andExpect(jsonPath("$.hasMore").value(false))
+				.andReturn();
+
+		assertWithinBudget(result, CHANGES_BUDGET);
+	}
+
+	@Test
+	void getTaskState_withinBudget() throws Exception {
+		long taskId = createTask();
+		start(taskId);
+
+		MvcResult result = perform(MockMvcRequestBuilders.get("/api/tasks/" + taskId + "/state"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.sequenceNumber").value(2))
+				.andReturn();
+
+		assertWithinBudget(result, STATE_BUDGET);
+	}
+
+	@Test
+	void startTimeEntry_withinBudget() throws Exception {
+		long taskId = createTask();
+
+		assertWithinBudget(start(taskId), START_BUDGET);
+	}
+
+	@Test
+	void stopTimeEntry_withinBudget() throws Exception {
+		long taskId = createTask();
+		start(taskId);
+
+		MvcResult result = perform(MockMvcRequestBuilders.post("/api/timeEntry/" + taskId + "/stop"))
+				.andExpect(status().isNoContent())
+				.andReturn();
+
+		assertWithinBudget(result, STOP_BUDGET);
+	}
+
+	private long createTask() throws Exception {
+		MvcResult result = perform(MockMvcRequestBuilders.post("/api/tasks")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new TaskCreateDTO("Task", "Description"))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+	}
+
+	private MvcResult start(long taskId) throws Exception {
+		return perform(MockMvcRequestBuilders.post("/api/timeEntry/start")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(String.valueOf(taskId)))
+				.andExpect(status().isNoContent())
+				.andReturn();
+	}
+
+	private MvcResult getAll() throws Exception {
+		taskCache.clear();
+		return perform(MockMvcRequestBuilders.get("/api/tasks/all"))
+				.andExpect(status().isOk())
+				.andReturn();
+	}
+
+	private ResultActions perform(RequestBuilder request) throws Exception {
+		statementsBefore = recordedStatements();
+		return mockMvc.perform(request);
+	}
+
+	private double recordedStatements() {
+		return meterRegistry.find(MetricsConstants.Sql.STATEMENTS_PER_REQUEST).summaries().stream()
+				.mapToDouble(DistributionSummary::totalAmount)
+				.sum();
+	}
+
+	/**
+	 * Asserts that the last performed request stayed within its budget.
+	 *
+	 * @param result the result of the request
+	 * @param budget the maximum number of statements
+	 * @return the number of statements the request executed
+	 */
+	private int assertWithinBudget(MvcResult result, int budget) {
+		int count = (int) (recordedStatements() - statementsBefore);
+		assertTrue(count <= budget, "%s %s executed %d statements, budget is %d".formatted(
+				result.getRequest().getMethod(), result.getRequest().getRequestURI(), count, budget));
+		return count;
+	}
+}
@@ -1,6 +1,7 @@
 package org.yvynnyk.timetrack.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +12,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.yvynnyk.timetrack.dto.TaskBatchDTO;
+import org.yvynnyk.timetrack.dto.TaskChangesDTO;
 import org.yvynnyk.timetrack.dto.TaskCreateDTO;
 import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
 import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
 import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
 import org.yvynnyk.timetrack.service.TaskService;
@@ -21,6 +25,8 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -89,6 +95,91 @@ class TaskControllerTest {
 				.andDo(MockMvcResultHandlers.print());
 	}
 
+	@Test
+	void getTask_Success() throws Exception {
+		when(taskService.getById(1L)).thenReturn(new TaskDTO(1L, "Task 1", "Description 1", TaskStatus.CREATE, null, null));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/1")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(1))
+				.andExpect(jsonPath("$.name").value("Task 1"))
+				.andDo(MockMvcResultHandlers.print());
+	}
+
+	@Test
+	void getTask_TaskNotFound() throws Exception {
+		when(taskService.getById(1L)).thenThrow(new ResourceNotFoundException("Task not found"));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/1")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.type").value("urn:timetrack:problem:not-found"))
+				.andExpect(jsonPath("$.status").value(404))
+				.andExpect(jsonPath("$.detail").value("Task not found"))
+				.andDo(MockMvcResultHandlers.print());
+	}
+
+	@Test
+	void getTaskBatch_Success() throws Exception {
+		TaskBatchDTO batch = new TaskBatchDTO(
+				List.of(new TaskDTO(2L, "Task 2", "Description 2", TaskStatus.CREATE, null, null)), List.of(3L));
+		when(taskService.getByIds(List.of(2L, 3L))).thenReturn(batch);
+
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[2, 3]")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tasks.length()").value(1))
+				.andExpect(jsonPath("$.tasks[0].id").value(2))
+				.andExpect(jsonPath("$.missingIds[0]").value(3))
+				.andDo(MockMvcResultHandlers.print());
+	}
+
+	@Test
+	void getTaskChanges_Success() throws Exception {
+		TaskChangesDTO changes = new TaskChangesDTO(
+				List.of(new TaskDTO(2L, "Task 2", "Description 2", TaskStatus.CREATE, null, null)),
+				"1725971696000000-2", false);
+		when(taskService.getChangesSince("1725970000000000-1")).thenReturn(changes);
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/changes")
+						.param("since", "1725970000000000-1")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tasks[0].id").value(2))
+				.andExpect(jsonPath("$.token").value("1725971696000000-2"))
+				.andExpect(jsonPath("$.hasMore").value(false))
+				.andDo(MockMvcResultHandlers.print());
+	}
+
+	@Test
+	void getTaskChanges_InvalidToken() throws Exception {
+		when(taskService.getChangesSince("yesterday"))
+				.thenThrow(new InvalidRequestException("Invalid change token: yesterday"));
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/changes")
+						.param("since", "yesterday")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.type").value("urn:timetrack:problem:invalid-request"))
+				.andExpect(jsonPath("$.detail").value("Invalid change token: yesterday"))
+				.andDo(MockMvcResultHandlers.print());
+	}
+
+	@Test
+	void getTaskChanges_OtherIllegalArgumentIsNotAClientError() {
+		when(taskService.getChangesSince("1725970000000000-1")).thenThrow(new IllegalArgumentException("Bug"));
+
+		ServletException failure = assertThrows(ServletException.class, () -> mockMvc.perform(
+				MockMvcRequestBuilders.get("/api/tasks/changes")
+						.param("since", "1725970000000000-1")
+						.accept(MediaType.APPLICATION_JSON)));
+
+		assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+	}
+
 	@Test
 	void getAllTasks_Success() throws Exception {
 		List<TaskDTO> taskList = List.of(
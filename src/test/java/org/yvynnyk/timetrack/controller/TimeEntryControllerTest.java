@@ -1,6 +1,8 @@
 package org.yvynnyk.timetrack.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,11 +13,16 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.exception.InvalidTaskStateException;
 import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
 import org.yvynnyk.timetrack.service.TimeEntryService;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.yvynnyk.timetrack.constant.ExceptionConstants.Task.TASK_NOT_FOUND_WITH_ID;
 import static org.yvynnyk.timetrack.constant.ExceptionConstants.TimeEntry.TASK_STATUS_ERROR;
@@ -30,6 +37,9 @@ class TimeEntryControllerTest {
 	@MockBean
 	private TimeEntryService timeEntryService;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	private ObjectMapper objectMapper;
 
 	@BeforeEach
@@ -68,14 +78,24 @@ class TimeEntryControllerTest {
 	void startTimeEntry_InvalidState() throws Exception {
 		Long taskId = 1L;
 
-		doThrow(new IllegalStateException(TASK_STATUS_ERROR))
+		doThrow(new InvalidTaskStateException(TASK_STATUS_ERROR))
 				.when(timeEntryService).start(taskId);
+		Counter errors = meterRegistry.get(MetricsConstants.Errors.RESPONSES)
+				.tag(MetricsConstants.Tags.ERROR, "invalid-task-state")
+				.counter();
+		double before = errors.count();
 
 		mockMvc.perform(MockMvcRequestBuilders.post("/api/timeEntry/start")
 						.contentType(MediaType.APPLICATION_JSON)
 						.content(objectMapper.writeValueAsString(taskId)))
 				.andExpect(status().isBadRequest())
+				.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.type").value("urn:timetrack:problem:invalid-task-state"))
+				.andExpect(jsonPath("$.title").value("Invalid task state"))
+				.andExpect(jsonPath("$.detail").value(TASK_STATUS_ERROR))
 				.andDo(MockMvcResultHandlers.print());
+
+		assertEquals(before + 1, errors.count());
 	}
 
 	@Test
@@ -0,0 +1,77 @@
+package org.yvynnyk.timetrack.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSizingControllerTest {
+
+	private HikariDataSource dataSource;
+	private MeterRegistry meterRegistry;
+	private PoolSizingController controller;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl("jdbc:h2:mem:pool_sizing");
+		dataSource.setPoolName("test");
+		dataSource.setMaximumPoolSize(2);
+		dataSource.setConnectionTimeout(5_000);
+		dataSource.setMetricRegistry(meterRegistry);
+
+		PoolSizingProperties properties = new PoolSizingProperties();
+		properties.setMinSize(1);
+		properties.setMaxSize(4);
+		controller = new PoolSizingController(List.of(dataSource), meterRegistry, new ConcurrentTaskScheduler(),
+				properties);
+	}
+
+	@AfterEach
+	void tearDown() {
+		dataSource.close();
+	}
+
+	@Test
+	void waitingThread_growsPoolAndPublishesDecision() throws Exception {
+		try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+			controller.adjust();
+			CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+				try (Connection ignored = dataSource.getConnection()) {
+					// released immediately
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			});
+			awaitWaitingThread();
+
+			controller.adjust();
+
+			waiting.get(5, TimeUnit.SECONDS);
+			assertEquals(3, dataSource.getHikariConfigMXBean().getMaximumPoolSize());
+			assertEquals(1, dataSource.getHikariConfigMXBean().getMinimumIdle());
+			assertEquals(3.0, meterRegistry.get(MetricsConstants.Pool.TARGET_SIZE).tag("pool", "test").gauge().value());
+			assertEquals(1.0, meterRegistry.get(MetricsConstants.Pool.RESIZES).tag("reason", "wait").counter().count());
+		}
+	}
+
+	private void awaitWaitingThread() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection() == 0) {
+			assertTrue(System.nanoTime() < deadline, "no thread is waiting for a connection");
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+	}
+}
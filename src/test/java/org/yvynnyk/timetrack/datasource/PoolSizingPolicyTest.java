@@ -0,0 +1,90 @@
+package org.yvynnyk.timetrack.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSizingPolicyTest {
+
+	private PoolSizingProperties properties;
+	private PoolSizingPolicy policy;
+
+	@BeforeEach
+	void setUp() {
+		properties = new PoolSizingProperties();
+		properties.setMinSize(2);
+		properties.setMaxSize(20);
+		properties.setWaitThreshold(Duration.ofMillis(5));
+		properties.setGrowStep(4);
+		properties.setShrinkStep(1);
+		properties.setShrinkAfter(3);
+		properties.setHeadroom(1.25);
+		properties.setLatencyTolerance(1.5);
+		policy = new PoolSizingPolicy(properties);
+	}
+
+	@Test
+	void waitingThreads_growPoolByPendingCount() {
+		PoolSizingPolicy.Decision decision = policy.decide(new PoolSizingPolicy.Sample(5, 5, 3, 5.0, 20.0, 10.0));
+
+		assertEquals(new PoolSizingPolicy.Decision(8, PoolSizingPolicy.REASON_WAIT), decision);
+	}
+
+	@Test
+	void waitingThreads_growthIsCappedByStepAndMaxSize() {
+		assertEquals(9, policy.decide(new PoolSizingPolicy.Sample(5, 5, 50, 5.0, 20.0, 10.0)).size());
+		assertEquals(20, policy.decide(new PoolSizingPolicy.Sample(19, 19, 50, 19.0, 20.0, 10.0)).size());
+		assertNull(policy.decide(new PoolSizingPolicy.Sample(20, 20, 50, 20.0, 20.0, 10.0)));
+	}
+
+	@Test
+	void slowAcquisition_growsPoolWithoutWaitingThreads() {
+		PoolSizingPolicy.Decision decision = policy.decide(new PoolSizingPolicy.Sample(5, 4, 0, 4.5, 8.0, 10.0));
+
+		assertEquals(new PoolSizingPolicy.Decision(6, PoolSizingPolicy.REASON_WAIT), decision);
+	}
+
+	@Test
+	void risingUsageTimeAfterGrowth_undoesGrowthAndBlocksFurtherGrowth() {
+		assertEquals(8, policy.decide(new PoolSizingPolicy.Sample(5, 5, 3, 5.0, 20.0, 10.0)).size());
+
+		PoolSizingPolicy.Decision decision = policy.decide(new PoolSizingPolicy.Sample(8, 8, 3, 8.0, 20.0, 25.0));
+
+		assertEquals(new PoolSizingPolicy.Decision(5, PoolSizingPolicy.REASON_LATENCY), decision);
+		assertNull(policy.decide(new PoolSizingPolicy.Sample(5, 5, 3, 5.0, 20.0, 25.0)));
+	}
+
+	@Test
+	void oversizedPool_shrinksOnlyAfterConsecutiveIntervals() {
+		PoolSizingPolicy.Sample idle = new PoolSizingPolicy.Sample(10, 1, 0, 1.2, 0.1, 3.0);
+
+		assertNull(policy.decide(idle));
+		assertNull(policy.decide(idle));
+		assertEquals(new PoolSizingPolicy.Decision(9, PoolSizingPolicy.REASON_IDLE), policy.decide(idle));
+	}
+
+	@Test
+	void demandWithinHeadroom_keepsSizeAndResetsShrinkCountdown() {
+		PoolSizingPolicy.Sample idle = new PoolSizingPolicy.Sample(10, 1, 0, 1.2, 0.1, 3.0);
+		PoolSizingPolicy.Sample busy = new PoolSizingPolicy.Sample(10, 8, 0, 8.0, 0.1, 3.0);
+
+		assertNull(policy.decide(idle));
+		assertNull(policy.decide(idle));
+		assertNull(policy.decide(busy));
+		assertNull(policy.decide(idle));
+		assertNull(policy.decide(idle));
+		assertNotNull(policy.decide(idle));
+	}
+
+	@Test
+	void shrink_neverGoesBelowMinSize() {
+		PoolSizingPolicy.Sample idle = new PoolSizingPolicy.Sample(2, 0, 0, 0.0, 0.0, 0.0);
+
+		for (int i = 0; i < 10; i++) {
+			assertNull(policy.decide(idle));
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package org.yvynnyk.timetrack.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		ReadYourWrites.release();
+	}
+
+	@Test
+	void readOnlyTransaction_routesToReplica() {
+		beginTransaction(true);
+
+		assertEquals(DataSourceRole.REPLICA, ReplicaRoutingDataSource.currentRole());
+	}
+
+	@Test
+	void readWriteTransaction_routesToPrimary() {
+		beginTransaction(false);
+
+		assertEquals(DataSourceRole.PRIMARY, ReplicaRoutingDataSource.currentRole());
+	}
+
+	@Test
+	void noTransaction_routesToPrimary() {
+		assertEquals(DataSourceRole.PRIMARY, ReplicaRoutingDataSource.currentRole());
+	}
+
+	@Test
+	void readOnlyTransaction_withPrimaryForced_routesToPrimary() {
+		beginTransaction(true);
+		ReadYourWrites.forcePrimary();
+
+		assertEquals(DataSourceRole.PRIMARY, ReplicaRoutingDataSource.currentRole());
+	}
+
+	@Test
+	void recentWriter_isTrackedWithinWindow() throws InterruptedException {
+		ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMillis(100), 10);
+
+		readYourWrites.recordWrite("client-1");
+
+		assertTrue(readYourWrites.wroteRecently("client-1"));
+		assertFalse(readYourWrites.wroteRecently("client-2"));
+		Thread.sleep(200);
+		assertFalse(readYourWrites.wroteRecently("client-1"));
+	}
+
+	private static void beginTransaction(boolean readOnly) {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+	}
+}
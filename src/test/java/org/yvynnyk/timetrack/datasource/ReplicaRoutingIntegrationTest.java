@@ -0,0 +1,60 @@
+package org.yvynnyk.timetrack.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application with a replica pool pointing at the same in-memory database as the primary, and checks
+ * which pool serves each request by whether the replica pool has been started. The task cache is disabled so
+ * that every read reaches a pool.
+ */
+@SpringBootTest(properties = {
+		"timetrack.datasource.replica.url=${spring.datasource.url}",
+		"timetrack.datasource.replica.read-your-writes-window=1m",
+		"timetrack.cache.tasks.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	@Test
+	void reads_goToReplica_exceptForRecentWriters() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.header("X-Client-Id", "writer")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Task\",\"description\":\"Description\"}"))
+				.andExpect(status().isCreated());
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header("X-Client-Id", "writer"))
+				.andExpect(status().isOk());
+		assertNull(replicaPool().getHikariPoolMXBean(), "Reads of a recent writer must stay on the primary");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header("X-Client-Id", "reader"))
+				.andExpect(status().isOk());
+		assertNotNull(replicaPool().getHikariPoolMXBean(), "Reads of other clients must use the replica");
+	}
+
+	private HikariDataSource replicaPool() throws SQLException {
+		return replicaDataSource.unwrap(HikariDataSource.class);
+	}
+}
@@ -0,0 +1,164 @@
+package org.yvynnyk.timetrack.events;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventBroadcasterTest {
+
+	private TaskEventBroadcaster broadcaster;
+
+	@BeforeEach
+	void setUp() {
+		TaskEventProperties properties = new TaskEventProperties();
+		properties.setBufferSize(4);
+		properties.setHistory(8);
+		broadcaster = new TaskEventBroadcaster(JsonMapper.builder().findAndAddModules().build(),
+				new ConcurrentTaskScheduler(), properties, new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.stop();
+	}
+
+	@Test
+	void event_isEncodedOnceAndSentToTenantSubscribersOnly() throws Exception {
+		RecordingSink first = new RecordingSink();
+		RecordingSink second = new RecordingSink();
+		RecordingSink otherTenant = new RecordingSink();
+		broadcaster.subscribe("acme", null, first);
+		broadcaster.subscribe("acme", null, second);
+		broadcaster.subscribe("other", null, otherTenant);
+
+		broadcaster.publish("acme", 1L, TaskStatus.IN_PROGRESS);
+
+		await(() -> first.events().size() == 1 && second.events().size() == 1);
+		assertSame(first.events().get(0), second.events().get(0));
+		assertTrue(first.text(0).contains("event: task-status\ndata: {\"taskId\":1,\"status\":\"IN_PROGRESS\""));
+		assertTrue(otherTenant.events().isEmpty());
+	}
+
+	@Test
+	void lastEventId_replaysMissedEventsOfTenant() throws Exception {
+		RecordingSink live = new RecordingSink();
+		broadcaster.subscribe("acme", null, live);
+		broadcaster.publish("acme", 1L, TaskStatus.IN_PROGRESS);
+		await(() -> live.events().size() == 1);
+		String lastEventId = live.id(0);
+		broadcaster.publish("acme", 1L, TaskStatus.COMPLETED);
+		broadcaster.publish("other", 2L, TaskStatus.COMPLETED);
+		broadcaster.publish("acme", 3L, TaskStatus.CREATE);
+
+		RecordingSink resumed = new RecordingSink();
+		broadcaster.subscribe("acme", lastEventId, resumed);
+
+		await(() -> resumed.events().size() == 2);
+		assertTrue(resumed.text(0).contains("\"taskId\":1,\"status\":\"COMPLETED\""));
+		assertTrue(resumed.text(1).contains("\"taskId\":3"));
+	}
+
+	@Test
+	void unknownOrExpiredLastEventId_requestsResync() throws Exception {
+		RecordingSink live = new RecordingSink();
+		broadcaster.subscribe("acme", null, live);
+		broadcaster.publish("acme", 1L, TaskStatus.IN_PROGRESS);
+		await(() -> live.events().size() == 1);
+		String expired = live.id(0);
+		for (long taskId = 2; taskId < 20; taskId++) {
+			broadcaster.publish("other", taskId, TaskStatus.CREATE);
+		}
+
+		RecordingSink fromOtherInstance = new RecordingSink();
+		RecordingSink fromExpired = new RecordingSink();
+		broadcaster.subscribe("acme", "elsewhere-1", fromOtherInstance);
+		broadcaster.subscribe("acme", expired, fromExpired);
+
+		await(() -> fromOtherInstance.events().size() == 1 && fromExpired.events().size() == 1);
+		assertTrue(fromOtherInstance.text(0).startsWith("event: resync"));
+		assertTrue(fromExpired.text(0).startsWith("event: resync"));
+	}
+
+	@Test
+	void slowSubscriber_isResyncedWithoutDelayingOthers() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingSink slow = new RecordingSink(release);
+		RecordingSink fast = new RecordingSink();
+		broadcaster.subscribe("acme", null, slow);
+		broadcaster.subscribe("acme", null, fast);
+
+		for (long taskId = 1; taskId <= 10; taskId++) {
+			broadcaster.publish("acme", taskId, TaskStatus.IN_PROGRESS);
+			int published = (int) taskId;
+			await(() -> fast.events().size() == published);
+		}
+		release.countDown();
+
+		await(() -> slow.events().stream().anyMatch(frame -> new String(frame, StandardCharsets.UTF_8)
+				.startsWith("event: resync")));
+		assertTrue(slow.events().size() < 10);
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condition not met in time");
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+	}
+
+	/**
+	 * Sink recording the frames it receives, except keep-alive comments; optionally blocking until released.
+	 */
+	private static final class RecordingSink implements FrameSink {
+
+		private final List<byte[]> events = new CopyOnWriteArrayList<>();
+		private final CountDownLatch release;
+
+		private RecordingSink() {
+			this(new CountDownLatch(0));
+		}
+
+		private RecordingSink(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public void write(byte[] frame) {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (frame[0] != ':') {
+				events.add(frame);
+			}
+		}
+
+		private List<byte[]> events() {
+			return events;
+		}
+
+		private String text(int index) {
+			return new String(events.get(index), StandardCharsets.UTF_8);
+		}
+
+		private String id(int index) {
+			String text = text(index);
+			return text.substring("id: ".length(), text.indexOf('\n'));
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package org.yvynnyk.timetrack.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Subscribes to the event stream over HTTP and checks that time entries stream their task's status.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskEventStreamTest {
+
+	private static final String TENANT = "events";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void startingTimeEntry_streamsStatusToTenantSubscribers() throws Exception {
+		MvcResult subscription = subscribe(TENANT);
+		MvcResult otherTenant = subscribe("events-other");
+
+		long taskId = createTask();
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/timeEntry/start")
+						.header(HeaderConstants.TENANT_ID, TENANT)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(String.valueOf(taskId)))
+				.andExpect(status().isNoContent());
+
+		String expected = "\"taskId\":" + taskId + ",\"status\":\"IN_PROGRESS\"";
+		awaitContent(subscription.getResponse(), expected);
+		assertTrue(subscription.getResponse().getContentAsString().contains("\"status\":\"CREATE\""));
+		assertFalse(otherTenant.getResponse().getContentAsString().contains("task-status"));
+	}
+
+	private MvcResult subscribe(String tenant) throws Exception {
+		return mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/events")
+						.header(HeaderConstants.TENANT_ID, tenant)
+						.accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+	}
+
+	private long createTask() throws Exception {
+		String body = mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.header(HeaderConstants.TENANT_ID, TENANT)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new TaskCreateDTO("Task", "Description"))))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("id").asLong();
+	}
+
+	private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!response.getContentAsString().contains(expected)) {
+			assertTrue(System.nanoTime() < deadline, "event not streamed: " + response.getContentAsString());
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,220 @@
+package org.yvynnyk.timetrack.eventstore;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.dto.TaskLifecycleEventDTO;
+import org.yvynnyk.timetrack.dto.TaskStateDTO;
+import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
+import org.yvynnyk.timetrack.model.TaskLifecycleEvent;
+import org.yvynnyk.timetrack.model.TaskSnapshot;
+import org.yvynnyk.timetrack.model.enumeration.LifecycleEventType;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.repository.TaskLifecycleEventRepository;
+import org.yvynnyk.timetrack.repository.TaskSnapshotRepository;
+import org.yvynnyk.timetrack.service.TaskService;
+import org.yvynnyk.timetrack.service.TimeEntryService;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Appends task lifecycle events through the services, rebuilds task states from them and takes snapshots, on H2.
+ */
+@SpringBootTest(properties = {
+		"timetrack.event-store.snapshots.interval=1h",
+		"timetrack.event-store.snapshots.threshold=3"
+})
+class TaskEventStoreTest {
+
+	private static final String TENANT = "eventstore";
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TimeEntryService timeEntryService;
+
+	@Autowired
+	private TaskProjector projector;
+
+	@Autowired
+	private TaskEventStore eventStore;
+
+	@Autowired
+	private TaskLifecycleEventRepository events;
+
+	@Autowired
+	private TaskSnapshotRepository snapshots;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		TenantContext.bind(TENANT);
+	}
+
+	@AfterEach
+	void tearDown() {
+		TenantContext.unbind();
+	}
+
+	@Test
+	void lifecycle_isRecordedInOrderAndRebuilt() {
+		Long taskId = taskService.create(new TaskCreateDTO("Task", "Description")).getId();
+		timeEntryService.start(taskId);
+		timeEntryService.stop(taskId);
+
+		List<TaskLifecycleEventDTO> history = projector.history(taskId);
+		TaskStateDTO state = projector.state(taskId);
+
+		assertEquals(List.of(LifecycleEventType.CREATED, LifecycleEventType.STARTED, LifecycleEventType.STOPPED),
+				history.stream().map(TaskLifecycleEventDTO::getType).toList());
+		assertEquals(List.of(1L, 2L, 3L), history.stream().map(TaskLifecycleEventDTO::getSequenceNumber).toList());
+		assertEquals(TaskStatus.COMPLETED, state.getStatus());
+		assertEquals("Task", state.getName());
+		assertEquals(3, state.getSequenceNumber());
+		assertNotNull(state.getTimeEntryId());
+		assertFalse(state.getEndTime().isBefore(state.getStartTime()));
+	}
+
+	@Test
+	void pause_isAnUpdateBackToPending() {
+		Long taskId = taskService.create(new TaskCreateDTO("Task", "Description")).getId();
+		timeEntryService.start(taskId);
+		taskService.update(taskId, new TaskDTO(taskId, "Paused", "Description", TaskStatus.PENDING, null, null));
+
+		TaskStateDTO state = projector.state(taskId);
+
+		assertEquals(LifecycleEventType.UPDATED, projector.history(taskId).get(2).getType());
+		assertEquals(TaskStatus.PENDING, state.getStatus());
+		assertEquals("Paused", state.getName());
+		assertNull(state.getEndTime());
+	}
+
+	@Test
+	void dueSnapshot_isTakenAndRebuildReplaysOnlyLaterEvents() {
+		Long taskId = taskService.create(new TaskCreateDTO("Task", "Description")).getId();
+		timeEntryService.start(taskId);
+		taskService.update(taskId, new TaskDTO(taskId, "Renamed", "Description", TaskStatus.IN_PROGRESS, null,
+				null));
+
+		projector.snapshotDue();
+
+		TaskSnapshot snapshot = snapshots.findByTaskId(taskId).orElseThrow();
+		assertEquals(3, snapshot.getSequenceNumber());
+		assertEquals(TENANT, snapshot.getTenantId());
+		assertEquals("Renamed", snapshot.getName());
+
+		timeEntryService.stop(taskId);
+		DistributionSummary replayed = meterRegistry.get(MetricsConstants.EventStore.REPLAYED).summary();
+		long rebuilds = replayed.count();
+		double replayedEvents = replayed.totalAmount();
+
+		TaskStateDTO state = projector.state(taskId);
+
+		assertEquals(4, state.getSequenceNumber());
+		assertEquals(TaskStatus.COMPLETED, state.getStatus());
+		assertEquals("Renamed", state.getName());
+		assertEquals(rebuilds + 1, replayed.count());
+		assertEquals(replayedEvents + 1, replayed.totalAmount());
+
+		projector.snapshotDue();
+
+		assertEquals(3, snapshots.findByTaskId(taskId).orElseThrow().getSequenceNumber());
+	}
+
+	@Test
+	void concurrentAppends_toOneTask_areNumberedInCommitOrder() throws Exception {
+		TaskDTO task = taskService.create(new TaskCreateDTO("Task", "Description"));
+		CountDownLatch firstAppended = new CountDownLatch(1);
+		CountDownLatch secondStarted = new CountDownLatch(1);
+
+		CompletableFuture<Void> first = CompletableFuture.runAsync(() -> appendInTransaction(task, () -> {
+			firstAppended.countDown();
+			await(secondStarted);
+			sleep(200);
+		}));
+		await(firstAppended);
+		CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+			secondStarted.countDown();
+			appendInTransaction(task, () -> {
+			});
+		});
+		CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+
+		assertEquals(List.of(1L, 2L, 3L), projector.history(task.getId()).stream()
+				.map(TaskLifecycleEventDTO::getSequenceNumber).toList());
+	}
+
+	@Test
+	void rolledBackChange_appendsNoEvent() {
+		Long taskId = new TransactionTemplate(transactionManager).execute(status -> {
+			Long id = taskService.create(new TaskCreateDTO("Task", "Description")).getId();
+			status.setRollbackOnly();
+			return id;
+		});
+
+		assertTrue(events.findAllByTaskIdAndSequenceNumberGreaterThanOrderBySequenceNumber(taskId, 0L).isEmpty());
+		assertThrows(ResourceNotFoundException.class, () -> projector.state(taskId));
+		assertThrows(ResourceNotFoundException.class, () -> projector.history(taskId));
+	}
+
+	@Test
+	void eventOutOfSequence_isRejected() {
+		TaskProjection projection = TaskProjection.empty(1L);
+		TaskLifecycleEvent second = new TaskLifecycleEvent(null, 1L, 2L, LifecycleEventType.UPDATED,
+				TaskStatus.PENDING, "Task", null, null, LocalDateTime.now(), TENANT);
+
+		assertThrows(IllegalStateException.class, () -> projection.apply(second));
+	}
+
+	private void appendInTransaction(TaskDTO task, Runnable afterAppend) {
+		TenantContext.bind(TENANT);
+		try {
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+				eventStore.updated(task);
+				afterAppend.run();
+			});
+		} finally {
+			TenantContext.unbind();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
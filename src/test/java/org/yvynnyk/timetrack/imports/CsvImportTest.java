@@ -0,0 +1,129 @@
+package org.yvynnyk.timetrack.imports;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.statistics.TaskDurationStatistics;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Imports tasks and time entries through the HTTP endpoints, staging them with batched inserts on H2.
+ */
+@SpringBootTest(properties = "timetrack.import.batch-size=2")
+@AutoConfigureMockMvc
+class CsvImportTest {
+
+	private static final String TASKS = """
+			ref,name,description,status,created_at
+			T-1,Design,"Draft, then review",COMPLETED,2023-05-01T09:00:00
+			T-2,Build,,,2023-05-02 10:30
+			T-1,Duplicate,,COMPLETED,
+			T-3,,missing name,COMPLETED,
+			T-4,Running,,IN_PROGRESS,
+			T-5,Later,,PENDING,not-a-date
+			T-6,Queued,,PENDING,
+			""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TaskDurationStatistics taskDurations;
+
+	@Test
+	void tasksAndTimeEntries_areImportedAndRejectionsReported() throws Exception {
+		String tenant = "import-a";
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header(HeaderConstants.TENANT_ID, tenant))
+				.andExpect(status().isNoContent());
+
+		importCsv(tenant, "/api/import/tasks", TASKS)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.kind").value("tasks"))
+				.andExpect(jsonPath("$.rows").value(7))
+				.andExpect(jsonPath("$.imported").value(3))
+				.andExpect(jsonPath("$.rejected").value(4))
+				.andExpect(jsonPath("$.rejections[0].line").value(4))
+				.andExpect(jsonPath("$.rejections[0].reason").value("duplicate task reference"))
+				.andExpect(jsonPath("$.rejections[1].reason").value("name is required"))
+				.andExpect(jsonPath("$.rejections[2].reason").value("IN_PROGRESS tasks cannot be imported"))
+				.andExpect(jsonPath("$.rejections[3].reason").value("created_at is not an ISO-8601 date-time"));
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header(HeaderConstants.TENANT_ID, tenant))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3));
+		assertEquals("Draft, then review", jdbcTemplate.queryForObject(
+				"select description from task where tenant_id = ? and import_ref = 'T-1'", String.class, tenant));
+		assertEquals(LocalDateTime.of(2023, 5, 2, 10, 30), jdbcTemplate.queryForObject(
+				"select created_at from task where tenant_id = ? and import_ref = 'T-2'", LocalDateTime.class, tenant));
+
+		LocalDateTime recentEnd = LocalDateTime.now().minusMinutes(5);
+		String timeEntries = """
+				task_ref,start_time,end_time
+				T-1,2023-05-01T09:00,2023-05-01T17:00
+				T-2,%s,%s
+				T-1,2023-05-03T09:00,2023-05-03T10:00
+				T-9,2023-05-01T09:00,2023-05-01T10:00
+				T-6,2023-05-01T09:00,2023-05-01T10:00
+				T-2,2023-05-01T09:00
+				T-2,2023-05-01T10:00,2023-05-01T09:00
+				""".formatted(recentEnd.minusMinutes(20), recentEnd);
+		importCsv(tenant, "/api/import/time-entries", timeEntries)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.rows").value(7))
+				.andExpect(jsonPath("$.imported").value(2))
+				.andExpect(jsonPath("$.rejections[0].reason").value("duplicate time entry for task"))
+				.andExpect(jsonPath("$.rejections[1].reason").value("unknown task reference"))
+				.andExpect(jsonPath("$.rejections[2].reason").value("task is not completed"))
+				.andExpect(jsonPath("$.rejections[3].reason").value("expected 3 columns, got 2"))
+				.andExpect(jsonPath("$.rejections[4].reason").value("end_time is before start_time"));
+		assertEquals(2, jdbcTemplate.queryForObject(
+				"select count(*) from time_entry where tenant_id = ?", Integer.class, tenant));
+
+		TenantContext.bind(tenant);
+		try {
+			assertEquals(1, taskDurations.statistics().get(0).getCount());
+		} finally {
+			TenantContext.unbind();
+		}
+	}
+
+	@Test
+	void repeatedImport_rejectsImportedReferencesOfSameTenantOnly() throws Exception {
+		String csv = "ref,name,description,status,created_at\nR-1,Task,,,\n";
+		importCsv("import-b", "/api/import/tasks", csv).andExpect(jsonPath("$.imported").value(1));
+
+		importCsv("import-b", "/api/import/tasks", csv)
+				.andExpect(jsonPath("$.imported").value(0))
+				.andExpect(jsonPath("$.rejections[0].reason").value("task reference already imported"));
+		importCsv("import-c", "/api/import/tasks", csv).andExpect(jsonPath("$.imported").value(1));
+	}
+
+	@Test
+	void unexpectedHeader_isRejected() throws Exception {
+		importCsv("import-d", "/api/import/tasks", "name,description\nTask,\n")
+				.andExpect(status().isBadRequest());
+		assertEquals(0, jdbcTemplate.queryForObject(
+				"select count(*) from task where tenant_id = 'import-d'", Integer.class));
+	}
+
+	private ResultActions importCsv(String tenant, String url, String csv) throws Exception {
+		return mockMvc.perform(MockMvcRequestBuilders.post(url)
+				.header(HeaderConstants.TENANT_ID, tenant)
+				.contentType("text/csv")
+				.content(csv));
+	}
+}
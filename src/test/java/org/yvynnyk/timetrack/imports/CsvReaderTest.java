@@ -0,0 +1,50 @@
+package org.yvynnyk.timetrack.imports;
+
+import org.junit.jupiter.api.Test;
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+	@Test
+	void quotedFields_mayHoldSeparatorsQuotesAndLineBreaks() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("a,\"b,c\",\"say \"\"hi\"\"\"\r\n\"multi\nline\",x,y\n"));
+
+		assertEquals(List.of("a", "b,c", "say \"hi\""), csv.next());
+		assertEquals(1, csv.line());
+		assertEquals(List.of("multi\nline", "x", "y"), csv.next());
+		assertEquals(2, csv.line());
+		assertNull(csv.next());
+	}
+
+	@Test
+	void emptyFields_areNullUnlessQuoted() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("a,,\"\",\n"));
+
+		assertEquals(Arrays.asList("a", null, "", null), csv.next());
+	}
+
+	@Test
+	void emptyLines_areSkippedButCounted() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("header\n\n\r\nrow"));
+
+		assertEquals(List.of("header"), csv.next());
+		assertEquals(List.of("row"), csv.next());
+		assertEquals(4, csv.line());
+		assertNull(csv.next());
+	}
+
+	@Test
+	void unterminatedQuote_isRejected() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("ok\n\"open,field\n"));
+
+		csv.next();
+		assertThrows(InvalidRequestException.class, csv::next);
+	}
+}
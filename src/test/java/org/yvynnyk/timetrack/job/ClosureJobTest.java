@@ -0,0 +1,182 @@
+package org.yvynnyk.timetrack.job;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.model.JobClaim;
+import org.yvynnyk.timetrack.model.JobClaimId;
+import org.yvynnyk.timetrack.model.Task;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.repository.JobClaimRepository;
+import org.yvynnyk.timetrack.repository.TaskRepository;
+import org.yvynnyk.timetrack.service.TimeEntryService;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs closure jobs of several simulated instances against the claim table.
+ */
+@SpringBootTest
+class ClosureJobTest {
+
+	private static final int PARTITIONS = 8;
+
+	@Autowired
+	private JobClaimRepository repository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TimeEntryService timeEntryService;
+
+	@Test
+	void concurrentInstances_processEachPartitionOnce() throws Exception {
+		LocalDate date = LocalDate.of(2001, 1, 1);
+		List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+		ClosureJob first = job("node-a", recording(processed), Clock.systemDefaultZone());
+		ClosureJob second = job("node-b", recording(processed), Clock.systemDefaultZone());
+
+		CompletableFuture.allOf(
+				CompletableFuture.runAsync(() -> first.runFor(date)),
+				CompletableFuture.runAsync(() -> second.runFor(date))).get();
+		first.runFor(date);
+
+		assertEquals(IntStream.range(0, PARTITIONS).boxed().toList(), processed.stream().sorted().toList());
+		assertTrue(claims(date).stream().allMatch(claim -> claim.getCompletedAt() != null));
+	}
+
+	@Test
+	void expiredClaim_isTakenOverAndFreshClaimIsSkipped() {
+		LocalDate date = LocalDate.of(2001, 1, 2);
+		LocalDateTime now = LocalDateTime.now();
+		repository.claim(ClosureJob.JOB_NAME, date.toString(), 0, "crashed", now.minusHours(1));
+		repository.claim(ClosureJob.JOB_NAME, date.toString(), 1, "busy", now);
+		List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+
+		job("node-c", recording(processed), Clock.systemDefaultZone()).runFor(date);
+
+		assertTrue(processed.contains(0));
+		assertFalse(processed.contains(1));
+		assertEquals(PARTITIONS - 1, processed.size());
+		JobClaim takenOver = repository.findById(new JobClaimId(ClosureJob.JOB_NAME, date.toString(), 0)).orElseThrow();
+		assertEquals("node-c", takenOver.getOwner());
+		assertNotNull(takenOver.getCompletedAt());
+	}
+
+	@Test
+	void failedPartition_remainsClaimedUntilLeaseExpires() {
+		LocalDate date = LocalDate.of(2001, 1, 3);
+		TimeEntryService failing = mock(TimeEntryService.class);
+		doThrow(new IllegalStateException("boom")).when(failing).closeTasksAutomatically(date, 2, PARTITIONS);
+		job("node-d", failing, Clock.systemDefaultZone()).runFor(date);
+		List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+
+		job("node-e", recording(processed), Clock.systemDefaultZone()).runFor(date);
+		assertTrue(processed.isEmpty());
+
+		Clock later = Clock.offset(Clock.systemDefaultZone(), Duration.ofMinutes(11));
+		job("node-e", recording(processed), later).runFor(date);
+		assertEquals(List.of(2), processed);
+	}
+
+	@Test
+	void failingTask_leavesItsPartitionIncomplete() {
+		LocalDate date = LocalDate.of(2001, 1, 4);
+		Task orphan;
+		TenantContext.bind("closure-orphan");
+		try {
+			orphan = taskRepository.save(new Task(null, "Orphan", "Task without time entry", TaskStatus.IN_PROGRESS,
+					LocalDateTime.now(), null));
+			job("node-f", timeEntryService, Clock.systemDefaultZone()).runFor(date);
+		} finally {
+			TenantContext.unbind();
+		}
+
+		int failed = Math.toIntExact(orphan.getId() % PARTITIONS);
+		assertEquals(PARTITIONS, claims(date).size());
+		claims(date).forEach(claim -> assertEquals(claim.getId().getPartitionIndex() != failed,
+				claim.getCompletedAt() != null, "partition " + claim.getId().getPartitionIndex()));
+	}
+
+	@Test
+	void catchUp_resumesExpiredPartitionsOfYesterdayAndToday() {
+		LocalDate today = LocalDate.now();
+		LocalDateTime now = LocalDateTime.now();
+		repository.claim(ClosureJob.JOB_NAME, today.toString(), 3, "crashed", now.minusHours(1));
+		repository.claim(ClosureJob.JOB_NAME, today.minusDays(1).toString(), 4, "busy", now);
+		repository.claim(ClosureJob.JOB_NAME, today.minusDays(1).toString(), 6, "crashed", now.minusHours(1));
+		List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+
+		job("node-g", recording(processed), Clock.systemDefaultZone()).catchUp();
+
+		assertEquals(List.of(3, 6), processed.stream().sorted().toList());
+		assertEquals(1, claims(today).size(), "unclaimed partitions are left to the scheduled run");
+		assertNotNull(claims(today).get(0).getCompletedAt());
+	}
+
+	@Test
+	void lostLease_isNotCountedAsProcessed() {
+		LocalDate date = LocalDate.of(2001, 1, 5);
+		TimeEntryService overtaken = mock(TimeEntryService.class);
+		doAnswer(invocation -> repository.takeOver(ClosureJob.JOB_NAME, date.toString(), 0, "node-i",
+				LocalDateTime.now(), LocalDateTime.now().plusMinutes(1)))
+				.when(overtaken).closeTasksAutomatically(date, 0, PARTITIONS);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+		job("node-h", overtaken, Clock.systemDefaultZone(), meterRegistry).runFor(date);
+
+		assertEquals(1.0, partitions(meterRegistry, MetricsConstants.Outcome.LOST));
+		assertEquals(PARTITIONS - 1, partitions(meterRegistry, MetricsConstants.Outcome.SUCCESS));
+		JobClaim lost = repository.findById(new JobClaimId(ClosureJob.JOB_NAME, date.toString(), 0)).orElseThrow();
+		assertEquals("node-i", lost.getOwner());
+		assertNull(lost.getCompletedAt());
+	}
+
+	private ClosureJob job(String nodeId, TimeEntryService timeEntryService, Clock clock) {
+		return job(nodeId, timeEntryService, clock, new SimpleMeterRegistry());
+	}
+
+	private ClosureJob job(String nodeId, TimeEntryService timeEntryService, Clock clock,
+						   SimpleMeterRegistry meterRegistry) {
+		ClosureProperties properties = new ClosureProperties();
+		properties.setNodeId(nodeId);
+		properties.setPartitions(PARTITIONS);
+		JobLeases leases = new JobLeases(repository, nodeId, properties.getLease(), clock);
+		return new ClosureJob(timeEntryService, leases, properties, meterRegistry);
+	}
+
+	private static double partitions(SimpleMeterRegistry meterRegistry, String outcome) {
+		return meterRegistry.get(MetricsConstants.Closure.PARTITIONS).tag(MetricsConstants.Tags.OUTCOME, outcome)
+				.counter().count();
+	}
+
+	private static TimeEntryService recording(List<Integer> processed) {
+		TimeEntryService timeEntryService = mock(TimeEntryService.class);
+		doAnswer(invocation -> processed.add(invocation.getArgument(1)))
+				.when(timeEntryService).closeTasksAutomatically(any(LocalDate.class), anyInt(), anyInt());
+		return timeEntryService;
+	}
+
+	private List<JobClaim> claims(LocalDate date) {
+		return repository.findAll().stream()
+				.filter(claim -> claim.getId().getRunKey().equals(date.toString()))
+				.toList();
+	}
+}
@@ -0,0 +1,75 @@
+package org.yvynnyk.timetrack.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskDTOSerializerTest {
+
+	private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+
+	private final ObjectMapper handWritten = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.serializers(new TaskDTOSerializer(), new TaskStatusSerializer())
+			.build();
+
+	@Test
+	void serialize_matchesReflectiveSerializer() throws Exception {
+		List<TaskDTO> tasks = List.of(
+				new TaskDTO(1L, "Task", "Description", TaskStatus.IN_PROGRESS,
+						LocalDateTime.of(2024, 9, 10, 12, 34, 56), LocalDateTime.of(2024, 9, 10, 12, 34, 56, 123_456_789)),
+				new TaskDTO(null, "Quote \" and é", null, null, null, null),
+				new TaskDTO(2L, "Task", "", TaskStatus.COMPLETED,
+						LocalDateTime.of(0, 1, 1, 0, 0), LocalDateTime.of(12345, 12, 31, 23, 59, 59, 100_000_000)),
+				new TaskDTO(3L, "Task", "Description", TaskStatus.CREATE,
+						LocalDateTime.of(-1, 6, 15, 8, 5, 3, 1_000), LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999)));
+
+		assertEquals(reflective.writeValueAsString(tasks), handWritten.writeValueAsString(tasks));
+	}
+
+	@Test
+	void serialize_withTimestampsEnabled_matchesReflectiveSerializer() throws Exception {
+		ObjectMapper reflectiveTimestamps = reflective.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		ObjectMapper handWrittenTimestamps = reflective.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.registerModule(new SimpleModule().addSerializer(new TaskDTOSerializer()));
+		TaskDTO task = new TaskDTO(1L, "Task", null, TaskStatus.PENDING,
+				LocalDateTime.of(2024, 9, 10, 12, 34, 56), LocalDateTime.of(2024, 9, 10, 12, 34, 56, 5));
+
+		assertEquals(reflectiveTimestamps.writeValueAsString(task), handWrittenTimestamps.writeValueAsString(task));
+	}
+
+	@Test
+	void format_matchesIsoLocalDateTime() {
+		Random random = new Random(42);
+		char[] buffer = new char[29];
+		for (int i = 0; i < 100_000; i++) {
+			LocalDateTime value = LocalDateTime.of(random.nextInt(10_000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+					random.nextInt(24), random.nextInt(60), random.nextInt(60), nano(random));
+			int length = IsoLocalDateTimeWriter.format(value, buffer);
+
+			assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value), new String(buffer, 0, length));
+		}
+	}
+
+	private static int nano(Random random) {
+		return switch (random.nextInt(4)) {
+			case 0 -> 0;
+			case 1 -> random.nextInt(1_000) * 1_000_000;
+			case 2 -> random.nextInt(1_000_000) * 1_000;
+			default -> random.nextInt(1_000_000_000);
+		};
+	}
+}
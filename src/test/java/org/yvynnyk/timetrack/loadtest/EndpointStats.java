@@ -0,0 +1,126 @@
+package org.yvynnyk.timetrack.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters of one endpoint.
+ * <p>
+ * Latencies are recorded in microseconds from the <em>intended</em> send time of a request, i.e. the time
+ * the open-model arrival schedule wanted it sent, not the time the client actually managed to send it. This
+ * keeps queueing delay caused by a slow server in the numbers instead of hiding it (coordinated omission).
+ * </p>
+ */
+final class EndpointStats {
+
+	private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+	private final String name;
+	private final double targetRate;
+	private final Histogram latency = new ConcurrentHistogram(1, MAX_TRACKABLE_MICROS, 3);
+	private final LongAdder ok = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs empty statistics for an endpoint.
+	 *
+	 * @param name       the endpoint name used in the report
+	 * @param targetRate the configured arrival rate in requests per second
+	 */
+	EndpointStats(String name, double targetRate) {
+		this.name = name;
+		this.targetRate = targetRate;
+	}
+
+	String name() {
+		return name;
+	}
+
+	double targetRate() {
+		return targetRate;
+	}
+
+	/**
+	 * Records a completed request.
+	 *
+	 * @param intendedNanos  the scheduled send time, from {@link System#nanoTime()}
+	 * @param completedNanos the completion time, from {@link System#nanoTime()}
+	 * @param status         the HTTP status code, or {@code -1} if the request failed without a response
+	 * @param success        whether the response is the expected one for the endpoint
+	 */
+	void record(long intendedNanos, long completedNanos, int status, boolean success) {
+		long micros = TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedNanos);
+		latency.recordValue(Math.max(1, Math.min(micros, MAX_TRACKABLE_MICROS)));
+		(success ? ok : failed).increment();
+		statusCodes.computeIfAbsent(status, code -> new LongAdder()).increment();
+	}
+
+	/**
+	 * Records an arrival for which no input was available, e.g. a stop without any started task.
+	 */
+	void skip() {
+		skipped.increment();
+	}
+
+	/**
+	 * Records an arrival that was not sent because the in-flight limit was reached.
+	 */
+	void drop() {
+		dropped.increment();
+	}
+
+	/**
+	 * Builds the report section of this endpoint.
+	 *
+	 * @param measuredSeconds the length of the measurement window
+	 * @return the endpoint report
+	 */
+	LoadTestReport.Endpoint report(double measuredSeconds) {
+		Histogram snapshot = latency.copy();
+		Map<String, Long> codes = new TreeMap<>();
+		statusCodes.forEach((code, count) -> codes.put(code < 0 ? "none" : Integer.toString(code), count.sum()));
+		return new LoadTestReport.Endpoint(
+				targetRate,
+				ok.sum() + failed.sum(),
+				ok.sum(),
+				failed.sum(),
+				skipped.sum(),
+				dropped.sum(),
+				codes,
+				ok.sum() / measuredSeconds,
+				new LoadTestReport.Latency(
+						millis(snapshot.getValueAtPercentile(50)),
+						millis(snapshot.getValueAtPercentile(90)),
+						millis(snapshot.getValueAtPercentile(99)),
+						millis(snapshot.getValueAtPercentile(99.9)),
+						millis(snapshot.getMaxValue()),
+						snapshot.getMean() / 1000.0),
+				encode(snapshot));
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+
+	/**
+	 * Encodes the histogram in HdrHistogram's compressed format, so that reports from different builds can
+	 * be merged or compared at any percentile later, not only at the ones printed.
+	 */
+	private static String encode(Histogram histogram) {
+		ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+		int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+		return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+	}
+}
@@ -0,0 +1,302 @@
+package org.yvynnyk.timetrack.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.yvynnyk.timetrack.TimeTrackApplication;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Open-model HTTP load generator for the task and time entry endpoints.
+ * <p>
+ * Each endpoint gets its own arrival schedule with a fixed mean rate (constant or Poisson inter-arrival
+ * times). Requests are fired asynchronously at their scheduled time whether or not earlier requests have
+ * completed, so a slow server sees growing concurrency exactly like it would from independent clients,
+ * instead of the closed-loop back-off that hides saturation. The driven endpoints are:
+ * </p>
+ * <ul>
+ *     <li>{@code create} - {@code POST /api/tasks}; created ids feed the start pool</li>
+ *     <li>{@code start} - {@code POST /api/timeEntry/start} with a task in {@code CREATE} state</li>
+ *     <li>{@code stop} - {@code POST /api/timeEntry/{taskId}/stop} with a previously started task</li>
+ *     <li>{@code getAll} - {@code GET /api/tasks/all}</li>
+ * </ul>
+ * <p>
+ * The run writes a JSON {@link LoadTestReport} with throughput, p50/p90/p99/p999 latency and the encoded
+ * HdrHistogram of each endpoint. See the README for invocation examples.
+ * </p>
+ */
+public final class LoadTest {
+
+	/**
+	 * Client-side marker carrying the task id of a start request to its completion handler; the
+	 * application ignores it.
+	 */
+	private static final String TASK_ID_HEADER = "X-Load-Test-Task-Id";
+
+	private static final DateTimeFormatter FILE_TIMESTAMP =
+			DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+
+	private final LoadTestOptions options;
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Semaphore inFlight;
+	private final Queue<Long> createdTasks = new ConcurrentLinkedQueue<>();
+	private final Queue<Long> startedTasks = new ConcurrentLinkedQueue<>();
+	private volatile long measureStartNanos = Long.MAX_VALUE;
+	private String baseUrl;
+
+	private LoadTest(LoadTestOptions options) {
+		this.options = options;
+		this.inFlight = new Semaphore(options.maxInFlight());
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(options.requestTimeout())
+				.build();
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestOptions options = LoadTestOptions.parse(args);
+		ConfigurableApplicationContext context = null;
+		if (options.startApp()) {
+			List<String> appArgs = new ArrayList<>(options.appArgs());
+			appArgs.add("--server.port=0");
+			context = SpringApplication.run(TimeTrackApplication.class, appArgs.toArray(String[]::new));
+		}
+		try {
+			String baseUrl = context != null
+					? "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+					: options.baseUrl();
+			Path report = new LoadTest(options).run(baseUrl);
+			System.out.println("Report written to " + report.toAbsolutePath());
+		} finally {
+			if (context != null) {
+				context.close();
+			}
+		}
+	}
+
+	private Path run(String baseUrl) throws Exception {
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+		seed();
+
+		Map<String, EndpointStats> stats = new LinkedHashMap<>();
+		stats.put("create", new EndpointStats("create", options.createRate()));
+		stats.put("start", new EndpointStats("start", options.startRate()));
+		stats.put("stop", new EndpointStats("stop", options.stopRate()));
+		stats.put("getAll", new EndpointStats("getAll", options.getAllRate()));
+
+		long startNanos = System.nanoTime();
+		long measureStart = startNanos + options.warmup().toNanos();
+		long endNanos = measureStart + options.duration().toNanos();
+		measureStartNanos = measureStart;
+
+		List<Thread> drivers = new ArrayList<>();
+		drivers.add(driver(stats.get("create"), startNanos, endNanos, this::createRequest,
+				response -> onCreated(response, createdTasks)));
+		drivers.add(driver(stats.get("start"), startNanos, endNanos, this::startRequest, this::onStarted));
+		drivers.add(driver(stats.get("stop"), startNanos, endNanos, this::stopRequest,
+				response -> response.statusCode() == 204));
+		drivers.add(driver(stats.get("getAll"), startNanos, endNanos,
+				() -> get("/api/tasks/all"), response -> response.statusCode() == 200 || response.statusCode() == 204));
+		Instant startedAt = Instant.now().plusNanos(measureStart - System.nanoTime());
+		for (Thread driver : drivers) {
+			driver.join();
+		}
+		awaitInFlight();
+
+		double measuredSeconds = options.duration().toNanos() / 1e9;
+		Map<String, LoadTestReport.Endpoint> endpoints = new LinkedHashMap<>();
+		stats.forEach((name, endpoint) -> {
+			if (endpoint.targetRate() > 0) {
+				endpoints.put(name, endpoint.report(measuredSeconds));
+			}
+		});
+		LoadTestReport report = new LoadTestReport(options.label(), startedAt, this.baseUrl,
+				options.poisson() ? "poisson" : "constant", measuredSeconds, endpoints);
+		printSummary(report);
+		return write(report);
+	}
+
+	/**
+	 * Creates the initial pool of tasks the start endpoint draws from, with bounded concurrency.
+	 */
+	private void seed() {
+		Semaphore permits = new Semaphore(32);
+		List<CompletableFuture<?>> pending = new ArrayList<>();
+		for (int i = 0; i < options.seedTasks(); i++) {
+			permits.acquireUninterruptibly();
+			pending.add(httpClient.sendAsync(createRequest(), HttpResponse.BodyHandlers.ofString())
+					.thenAccept(response -> onCreated(response, createdTasks))
+					.whenComplete((ignored, error) -> permits.release()));
+		}
+		CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+		System.out.printf("Seeded %d tasks%n", createdTasks.size());
+	}
+
+	private Thread driver(EndpointStats stats, long startNanos, long endNanos,
+	                      Supplier<HttpRequest> requests, Predicate<HttpResponse<String>> success) {
+		Thread thread = new Thread(() -> {
+			if (stats.targetRate() <= 0) {
+				return;
+			}
+			double meanIntervalNanos = 1e9 / stats.targetRate();
+			long next = startNanos;
+			while (true) {
+				next += options.poisson()
+						? (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos)
+						: (long) meanIntervalNanos;
+				if (next >= endNanos) {
+					return;
+				}
+				long wait;
+				while ((wait = next - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				fire(stats, next, requests, success);
+			}
+		}, "loadtest-" + stats.name());
+		thread.start();
+		return thread;
+	}
+
+	private void fire(EndpointStats stats, long intendedNanos, Supplier<HttpRequest> requests,
+	                  Predicate<HttpResponse<String>> success) {
+		boolean measured = intendedNanos >= measureStartNanos;
+		HttpRequest request = requests.get();
+		if (request == null) {
+			if (measured) {
+				stats.skip();
+			}
+			return;
+		}
+		if (!inFlight.tryAcquire()) {
+			if (measured) {
+				stats.drop();
+			}
+			return;
+		}
+		httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+				.whenComplete((response, error) -> {
+					long completed = System.nanoTime();
+					inFlight.release();
+					boolean ok = error == null && success.test(response);
+					if (measured) {
+						stats.record(intendedNanos, completed, error == null ? response.statusCode() : -1, ok);
+					}
+				});
+	}
+
+	private void awaitInFlight() throws InterruptedException {
+		long deadline = System.nanoTime() + options.requestTimeout().toNanos();
+		while (inFlight.availablePermits() < options.maxInFlight() && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+	}
+
+	private HttpRequest createRequest() {
+		TaskCreateDTO task = new TaskCreateDTO("Load test task", "Created by the load test harness");
+		return post("/api/tasks", json(task));
+	}
+
+	private HttpRequest startRequest() {
+		Long taskId = createdTasks.poll();
+		return taskId == null ? null : post("/api/timeEntry/start", json(taskId), TASK_ID_HEADER, taskId.toString());
+	}
+
+	private HttpRequest stopRequest() {
+		Long taskId = startedTasks.poll();
+		return taskId == null ? null : post("/api/timeEntry/" + taskId + "/stop", "");
+	}
+
+	private boolean onStarted(HttpResponse<String> response) {
+		if (response.statusCode() != 204) {
+			return false;
+		}
+		response.request().headers().firstValue(TASK_ID_HEADER).map(Long::valueOf).ifPresent(startedTasks::add);
+		return true;
+	}
+
+	private boolean onCreated(HttpResponse<String> response, Queue<Long> pool) {
+		if (response.statusCode() != 201) {
+			return false;
+		}
+		try {
+			pool.add(objectMapper.readTree(response.body()).get("id").asLong());
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(options.requestTimeout())
+				.GET()
+				.build();
+	}
+
+	private HttpRequest post(String path, String body, String... headers) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(options.requestTimeout())
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body));
+		if (headers.length > 0) {
+			builder.headers(headers);
+		}
+		return builder.build();
+	}
+
+	private String json(Object value) {
+		try {
+			return objectMapper.writeValueAsString(value);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void printSummary(LoadTestReport report) {
+		System.out.printf("%-8s %10s %10s %8s %8s %8s %10s %10s %10s %10s%n",
+				"endpoint", "target/s", "ok/s", "failed", "skipped", "dropped", "p50 ms", "p99 ms", "p999 ms", "max ms");
+		report.endpoints().forEach((name, endpoint) -> System.out.printf(
+				"%-8s %10.1f %10.1f %8d %8d %8d %10.2f %10.2f %10.2f %10.2f%n",
+				name, endpoint.targetRate(), endpoint.throughput(), endpoint.failed(), endpoint.skipped(),
+				endpoint.dropped(), endpoint.latencyMs().p50(), endpoint.latencyMs().p99(),
+				endpoint.latencyMs().p999(), endpoint.latencyMs().max()));
+	}
+
+	private Path write(LoadTestReport report) throws IOException {
+		Files.createDirectories(options.outputDir());
+		Path file = options.outputDir().resolve("loadtest-" + FILE_TIMESTAMP.format(report.startedAt()) + ".json");
+		objectMapper.copy()
+				.findAndRegisterModules()
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.enable(SerializationFeature.INDENT_OUTPUT)
+				.writeValue(file.toFile(), report);
+		return file;
+	}
+}
@@ -0,0 +1,114 @@
+package org.yvynnyk.timetrack.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options of the {@link LoadTest} harness.
+ * <p>
+ * Options are passed as {@code --name=value}. Durations accept a number followed by {@code ms}, {@code s}
+ * or {@code m}; rates are requests per second and a rate of {@code 0} disables the endpoint.
+ * </p>
+ *
+ * @param baseUrl        base URL of the application under test
+ * @param startApp       whether to start the application in-process instead of targeting {@code baseUrl}
+ * @param appArgs        arguments of the in-process application, from the repeatable {@code --app-arg} option
+ * @param warmup         time to drive load before measuring
+ * @param duration       measured time
+ * @param createRate     arrival rate of {@code POST /api/tasks}
+ * @param startRate      arrival rate of {@code POST /api/timeEntry/start}
+ * @param stopRate       arrival rate of {@code POST /api/timeEntry/{taskId}/stop}
+ * @param getAllRate     arrival rate of {@code GET /api/tasks/all}
+ * @param poisson        whether inter-arrival times are exponentially distributed instead of constant
+ * @param seedTasks      number of tasks created before the run to feed the start endpoint
+ * @param maxInFlight    upper bound of outstanding requests; arrivals beyond it are counted as dropped
+ * @param requestTimeout timeout of a single request
+ * @param label          free-form label stored in the report, e.g. a build number or a configuration name
+ * @param outputDir      directory the JSON report is written to
+ */
+record LoadTestOptions(
+		String baseUrl,
+		boolean startApp,
+		List<String> appArgs,
+		Duration warmup,
+		Duration duration,
+		double createRate,
+		double startRate,
+		double stopRate,
+		double getAllRate,
+		boolean poisson,
+		int seedTasks,
+		int maxInFlight,
+		Duration requestTimeout,
+		String label,
+		Path outputDir) {
+
+	/**
+	 * Parses {@code --name=value} arguments, falling back to defaults for absent options.
+	 *
+	 * @param args the command-line arguments
+	 * @return the parsed options
+	 * @throws IllegalArgumentException if an argument is malformed or unknown
+	 */
+	static LoadTestOptions parse(String[] args) {
+		Map<String, String> values = new HashMap<>();
+		List<String> appArgs = new ArrayList<>();
+		for (String arg : args) {
+			if (arg.isBlank()) {
+				continue;
+			}
+			if (!arg.startsWith("--")) {
+				throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+			}
+			int separator = arg.indexOf('=');
+			String name = separator < 0 ? arg.substring(2) : arg.substring(2, separator);
+			if (name.equals("app-arg")) {
+				appArgs.add(arg.substring(separator + 1));
+				continue;
+			}
+			values.put(name, separator < 0 ? "true" : arg.substring(separator + 1));
+		}
+		LoadTestOptions options = new LoadTestOptions(
+				take(values, "base-url", "http://localhost:8080"),
+				Boolean.parseBoolean(take(values, "start-app", "false")),
+				List.copyOf(appArgs),
+				duration(take(values, "warmup", "10s")),
+				duration(take(values, "duration", "60s")),
+				Double.parseDouble(take(values, "create-rate", "20")),
+				Double.parseDouble(take(values, "start-rate", "20")),
+				Double.parseDouble(take(values, "stop-rate", "20")),
+				Double.parseDouble(take(values, "get-all-rate", "5")),
+				Boolean.parseBoolean(take(values, "poisson", "true")),
+				Integer.parseInt(take(values, "seed-tasks", "500")),
+				Integer.parseInt(take(values, "max-in-flight", "2000")),
+				duration(take(values, "request-timeout", "30s")),
+				take(values, "label", ""),
+				Path.of(take(values, "output-dir", "target/loadtest")));
+		if (!values.isEmpty()) {
+			throw new IllegalArgumentException("Unknown options: " + values.keySet());
+		}
+		return options;
+	}
+
+	private static String take(Map<String, String> values, String name, String defaultValue) {
+		String value = values.remove(name);
+		return value != null ? value : defaultValue;
+	}
+
+	private static Duration duration(String value) {
+		if (value.endsWith("ms")) {
+			return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+		}
+		if (value.endsWith("s")) {
+			return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+		}
+		if (value.endsWith("m")) {
+			return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+		}
+		return Duration.ofSeconds(Long.parseLong(value));
+	}
+}
@@ -0,0 +1,56 @@
+package org.yvynnyk.timetrack.loadtest;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a {@link LoadTest} run, serialised as JSON.
+ *
+ * @param label            the label given on the command line
+ * @param startedAt        wall-clock start of the measurement window
+ * @param baseUrl          the application under test
+ * @param arrivals         the arrival process, {@code poisson} or {@code constant}
+ * @param measuredSeconds  length of the measurement window
+ * @param endpoints        per-endpoint results keyed by endpoint name
+ */
+record LoadTestReport(
+		String label,
+		Instant startedAt,
+		String baseUrl,
+		String arrivals,
+		double measuredSeconds,
+		Map<String, Endpoint> endpoints) {
+
+	/**
+	 * Result of one endpoint.
+	 *
+	 * @param targetRate  configured arrival rate, requests per second
+	 * @param completed   requests that completed with or without a response
+	 * @param ok          requests with the expected status code
+	 * @param failed      requests with an unexpected status code or a transport error
+	 * @param skipped     arrivals without input, e.g. a stop while no task was started
+	 * @param dropped     arrivals not sent because the client in-flight limit was reached
+	 * @param statusCodes completed requests by HTTP status code
+	 * @param throughput  successful requests per second
+	 * @param latencyMs   latency percentiles in milliseconds, measured from the intended send time
+	 * @param histogram   base64 of the compressed HdrHistogram of latencies in microseconds
+	 */
+	record Endpoint(
+			double targetRate,
+			long completed,
+			long ok,
+			long failed,
+			long skipped,
+			long dropped,
+			Map<String, Long> statusCodes,
+			double throughput,
+			Latency latencyMs,
+			String histogram) {
+	}
+
+	/**
+	 * Latency summary in milliseconds.
+	 */
+	record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+	}
+}
@@ -0,0 +1,111 @@
+package org.yvynnyk.timetrack.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.service.TaskService;
+import org.yvynnyk.timetrack.service.TimeEntryService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectTest {
+
+	private MeterRegistry meterRegistry;
+	private TaskService taskService;
+	private TimeEntryService timeEntryService;
+	private TaskService proxiedTaskService;
+	private TimeEntryService proxiedTimeEntryService;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		ServiceMetricsAspect aspect = new ServiceMetricsAspect(meterRegistry);
+		taskService = mock(TaskService.class);
+		timeEntryService = mock(TimeEntryService.class);
+		proxiedTaskService = proxy(taskService, TaskService.class, aspect);
+		proxiedTimeEntryService = proxy(timeEntryService, TimeEntryService.class, aspect);
+	}
+
+	@Test
+	void successfulCall_isTimedWithSuccessOutcome() {
+		when(taskService.getById(1L)).thenReturn(new TaskDTO(1L, "Task", null, TaskStatus.CREATE, null, null));
+
+		proxiedTaskService.getById(1L);
+
+		Timer timer = meterRegistry.get(MetricsConstants.Service.OPERATION)
+				.tag(MetricsConstants.Tags.OPERATION, "getById")
+				.tag(MetricsConstants.Tags.OUTCOME, MetricsConstants.Outcome.SUCCESS)
+				.tag(MetricsConstants.Tags.EXCEPTION, MetricsConstants.Tags.NONE)
+				.timer();
+		assertEquals(1L, timer.count());
+	}
+
+	@Test
+	void repeatedCalls_areTimedInOneTimer() {
+		when(taskService.getById(1L)).thenReturn(new TaskDTO(1L, "Task", null, TaskStatus.CREATE, null, null));
+
+		proxiedTaskService.getById(1L);
+		proxiedTaskService.getById(1L);
+
+		assertEquals(1, meterRegistry.find(MetricsConstants.Service.OPERATION).timers().size());
+		assertEquals(2L, meterRegistry.get(MetricsConstants.Service.OPERATION)
+				.tag(MetricsConstants.Tags.OPERATION, "getById")
+				.timer().count());
+	}
+
+	@Test
+	void notFound_isTimedWithNotFoundOutcome() {
+		when(taskService.getById(1L)).thenThrow(new ResourceNotFoundException("Task not found"));
+
+		assertThrows(ResourceNotFoundException.class, () -> proxiedTaskService.getById(1L));
+
+		Timer timer = meterRegistry.get(MetricsConstants.Service.OPERATION)
+				.tag(MetricsConstants.Tags.OPERATION, "getById")
+				.tag(MetricsConstants.Tags.OUTCOME, MetricsConstants.Outcome.NOT_FOUND)
+				.tag(MetricsConstants.Tags.EXCEPTION, "ResourceNotFoundException")
+				.timer();
+		assertEquals(1L, timer.count());
+	}
+
+	@Test
+	void invalidState_isTimedWithInvalidStateOutcome() {
+		doThrow(new IllegalStateException("Invalid state")).when(timeEntryService).start(1L);
+
+		assertThrows(IllegalStateException.class, () -> proxiedTimeEntryService.start(1L));
+
+		Timer timer = meterRegistry.get(MetricsConstants.Service.OPERATION)
+				.tag(MetricsConstants.Tags.OPERATION, "start")
+				.tag(MetricsConstants.Tags.OUTCOME, MetricsConstants.Outcome.INVALID_STATE)
+				.timer();
+		assertEquals(1L, timer.count());
+	}
+
+	@Test
+	void unexpectedException_isTimedWithErrorOutcome() {
+		doThrow(new RuntimeException("Boom")).when(timeEntryService).stop(1L);
+
+		assertThrows(RuntimeException.class, () -> proxiedTimeEntryService.stop(1L));
+
+		Timer timer = meterRegistry.get(MetricsConstants.Service.OPERATION)
+				.tag(MetricsConstants.Tags.OPERATION, "stop")
+				.tag(MetricsConstants.Tags.OUTCOME, MetricsConstants.Outcome.ERROR)
+				.timer();
+		assertEquals(1L, timer.count());
+	}
+
+	private static <T> T proxy(T target, Class<T> type, ServiceMetricsAspect aspect) {
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.addInterface(type);
+		factory.addAspect(aspect);
+		return factory.getProxy();
+	}
+}
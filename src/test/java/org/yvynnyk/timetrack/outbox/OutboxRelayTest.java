@@ -0,0 +1,178 @@
+package org.yvynnyk.timetrack.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.repository.OutboxEventRepository;
+import org.yvynnyk.timetrack.service.TaskService;
+import org.yvynnyk.timetrack.service.TimeEntryService;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records events with task and time entry changes and relays them to a test sink, on H2.
+ */
+@SpringBootTest(properties = {
+		"timetrack.outbox.relay.enabled=true",
+		"timetrack.outbox.relay.poll-interval=1h",
+		"timetrack.outbox.relay.batch-size=2"
+})
+class OutboxRelayTest {
+
+	private static final String TENANT = "outbox";
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TimeEntryService timeEntryService;
+
+	@Autowired
+	private OutboxRelay relay;
+
+	@Autowired
+	private OutboxEventRepository repository;
+
+	@Autowired
+	private RecordingSink sink;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		TenantContext.bind(TENANT);
+		relay.poll();
+		sink.reset();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TenantContext.unbind();
+	}
+
+	@Test
+	void committedChanges_areDeliveredInOrderAndRemoved() {
+		double delivered = meterRegistry.get(MetricsConstants.Outbox.DELIVERED).counter().count();
+		long lagged = meterRegistry.get(MetricsConstants.Outbox.LAG).timer().count();
+		Long taskId = taskService.create(new TaskCreateDTO("Task", "Description")).getId();
+		timeEntryService.start(taskId);
+		timeEntryService.stop(taskId);
+
+		relay.poll();
+
+		List<OutboxMessage> messages = sink.messages();
+		assertEquals(List.of(Outbox.TASK_SAVED, Outbox.TASK_SAVED, Outbox.TIME_ENTRY_STARTED, Outbox.TASK_SAVED,
+				Outbox.TIME_ENTRY_STOPPED), messages.stream().map(OutboxMessage::eventType).toList());
+		assertTrue(messages.stream().allMatch(message -> TENANT.equals(message.tenantId())));
+		assertEquals(taskId, messages.get(0).aggregateId());
+		assertTrue(messages.get(0).payload().contains("\"status\":\"CREATE\""));
+		assertTrue(messages.get(4).payload().contains("\"taskId\":" + taskId));
+		assertEquals(0, repository.count());
+		assertEquals(delivered + 5, meterRegistry.get(MetricsConstants.Outbox.DELIVERED).counter().count());
+		assertEquals(lagged + 5, meterRegistry.get(MetricsConstants.Outbox.LAG).timer().count());
+	}
+
+	@Test
+	void rolledBackChange_recordsNoEvent() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			taskService.create(new TaskCreateDTO("Task", "Description"));
+			status.setRollbackOnly();
+		});
+
+		assertEquals(0, repository.count());
+	}
+
+	@Test
+	void failedDelivery_keepsEventsForNextPoll() {
+		taskService.create(new TaskCreateDTO("Task", "Description"));
+		sink.failing = true;
+
+		relay.poll();
+
+		assertEquals(1, repository.count());
+		sink.failing = false;
+		relay.poll();
+		assertEquals(1, sink.messages().size());
+		assertEquals(0, repository.count());
+	}
+
+	@Test
+	void concurrentRelays_deliverEachEventOnce() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			taskService.create(new TaskCreateDTO("Task " + i, "Description"));
+		}
+		sink.delayMillis = 20;
+
+		CompletableFuture<Void> first = CompletableFuture.runAsync(relay::poll);
+		CompletableFuture<Void> second = CompletableFuture.runAsync(relay::poll);
+		CompletableFuture.allOf(first, second).get();
+		relay.poll();
+
+		List<Long> ids = sink.messages().stream().map(OutboxMessage::id).toList();
+		assertEquals(10, ids.size());
+		assertEquals(10, ids.stream().distinct().count());
+	}
+
+	/**
+	 * Sink keeping the delivered events, failing or slowing down on demand.
+	 */
+	static class RecordingSink implements OutboxSink {
+
+		private final List<OutboxMessage> messages = Collections.synchronizedList(new ArrayList<>());
+		private volatile boolean failing;
+		private volatile long delayMillis;
+
+		@Override
+		public void deliver(List<OutboxMessage> batch) throws IOException {
+			if (failing) {
+				throw new IOException("Sink unavailable");
+			}
+			try {
+				Thread.sleep(delayMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException(e);
+			}
+			messages.addAll(batch);
+		}
+
+		private List<OutboxMessage> messages() {
+			return List.copyOf(messages);
+		}
+
+		private void reset() {
+			messages.clear();
+			failing = false;
+			delayMillis = 0;
+		}
+	}
+
+	@TestConfiguration
+	static class SinkConfig {
+
+		@Bean
+		RecordingSink recordingSink() {
+			return new RecordingSink();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package org.yvynnyk.timetrack.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxSinksTest {
+
+	private static final OutboxMessage STARTED = new OutboxMessage(1L, "acme", Outbox.TIME_ENTRY, 7L,
+			Outbox.TIME_ENTRY_STARTED, "{\"timeEntryId\":7,\"taskId\":3}", LocalDateTime.of(2024, 9, 1, 8, 0));
+	private static final OutboxMessage STOPPED = new OutboxMessage(2L, "acme", Outbox.TIME_ENTRY, 7L,
+			Outbox.TIME_ENTRY_STOPPED, "{\"timeEntryId\":7,\"taskId\":3}", LocalDateTime.of(2024, 9, 1, 9, 0));
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+	private HttpServer server;
+	private final AtomicInteger status = new AtomicInteger(204);
+	private final AtomicReference<String> received = new AtomicReference<>();
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/events", exchange -> {
+			received.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+			exchange.sendResponseHeaders(status.get(), -1);
+			exchange.close();
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void fileSink_appendsOneJsonLinePerEvent(@TempDir Path directory) throws IOException {
+		Path file = directory.resolve("events/outbox.jsonl");
+		FileOutboxSink sink = new FileOutboxSink(file, objectMapper);
+
+		sink.deliver(List.of(STARTED));
+		sink.deliver(List.of(STOPPED));
+
+		List<String> lines = Files.readAllLines(file);
+		assertEquals(2, lines.size());
+		assertEquals(1, objectMapper.readTree(lines.get(0)).get("id").asLong());
+		assertEquals(3, objectMapper.readTree(lines.get(1)).get("payload").get("taskId").asLong());
+	}
+
+	@Test
+	void httpSink_postsBatchAsJsonArray() throws IOException {
+		HttpOutboxSink sink = new HttpOutboxSink(endpoint(), Duration.ofSeconds(5), objectMapper);
+
+		sink.deliver(List.of(STARTED, STOPPED));
+
+		assertEquals(2, objectMapper.readTree(received.get()).size());
+		assertEquals(Outbox.TIME_ENTRY_STOPPED, objectMapper.readTree(received.get()).get(1).get("eventType").asText());
+	}
+
+	@Test
+	void httpSink_failsOnErrorStatus() {
+		status.set(503);
+		HttpOutboxSink sink = new HttpOutboxSink(endpoint(), Duration.ofSeconds(5), objectMapper);
+
+		assertThrows(IOException.class, () -> sink.deliver(List.of(STARTED)));
+	}
+
+	private URI endpoint() {
+		return URI.create("http://localhost:" + server.getAddress().getPort() + "/events");
+	}
+}
@@ -0,0 +1,130 @@
+package org.yvynnyk.timetrack.repository;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.model.Task;
+import org.yvynnyk.timetrack.model.TimeEntry;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.sql.StatementStats;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the JDBC statements each {@link TimeEntryRepository} query issues and whether it fetches the task, on H2.
+ * <p>
+ * Every query runs in a transaction of its own, so nothing is served from a persistence context filled before.
+ * </p>
+ */
+@SpringBootTest
+class TimeEntryRepositoryTest {
+
+	private static final String TENANT = "repository";
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TimeEntryRepository timeEntryRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private Long taskId;
+	private Long timeEntryId;
+
+	@BeforeEach
+	void setUp() {
+		TenantContext.bind(TENANT);
+		Task task = taskRepository.save(new Task(null, "Task", "Description", TaskStatus.IN_PROGRESS, null, null));
+		taskId = task.getId();
+		timeEntryId = timeEntryRepository.save(new TimeEntry(null, task, LocalDateTime.now(), null)).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TenantContext.unbind();
+	}
+
+	@Test
+	void findByTaskIdAndEndTimeIsNull_selectsTimeEntryOnly() {
+		Fetched fetched = fetch(repository -> repository.findByTaskIdAndEndTimeIsNull(taskId).orElseThrow());
+
+		assertEquals(1, fetched.statements());
+		assertFalse(fetched.taskInitialized());
+	}
+
+	@Test
+	void findByTaskId_selectsTimeEntryOnly() {
+		Fetched fetched = fetch(repository -> repository.findByTaskId(taskId).orElseThrow());
+
+		assertEquals(1, fetched.statements());
+		assertFalse(fetched.taskInitialized());
+	}
+
+	@Test
+	void findById_selectsTimeEntryOnly() {
+		Fetched fetched = fetch(repository -> repository.findById(timeEntryId).orElseThrow());
+
+		assertEquals(1, fetched.statements());
+		assertFalse(fetched.taskInitialized());
+	}
+
+	@Test
+	void findWithTaskByTaskId_fetchesTaskInSameStatement() {
+		Fetched fetched = fetch(repository -> repository.findWithTaskByTaskId(taskId).orElseThrow());
+
+		assertEquals(1, fetched.statements());
+		assertTrue(fetched.taskInitialized());
+		assertEquals(TaskStatus.IN_PROGRESS, fetched.taskStatus());
+	}
+
+	@Test
+	void lazyTask_isLoadedOnFirstAccess() {
+		int statements = new TransactionTemplate(transactionManager).execute(status -> {
+			TimeEntry timeEntry = timeEntryRepository.findByTaskId(taskId).orElseThrow();
+			assertEquals(taskId, timeEntry.getTask().getId());
+			StatementStats stats = StatementStats.bind();
+			try {
+				assertEquals(TaskStatus.IN_PROGRESS, timeEntry.getTask().getStatus());
+				return stats.getCount();
+			} finally {
+				StatementStats.unbind();
+			}
+		});
+
+		assertEquals(1, statements);
+	}
+
+	/**
+	 * Runs a query in a new transaction and counts its statements.
+	 *
+	 * @param query the query
+	 * @return the statement count and the state of the task after the query
+	 */
+	private Fetched fetch(Function<TimeEntryRepository, TimeEntry> query) {
+		return new TransactionTemplate(transactionManager).execute(status -> {
+			StatementStats stats = StatementStats.bind();
+			try {
+				TimeEntry timeEntry = query.apply(timeEntryRepository);
+				int statements = stats.getCount();
+				boolean initialized = Hibernate.isInitialized(timeEntry.getTask());
+				return new Fetched(statements, initialized, initialized ? timeEntry.getTask().getStatus() : null);
+			} finally {
+				StatementStats.unbind();
+			}
+		});
+	}
+
+	private record Fetched(int statements, boolean taskInitialized, TaskStatus taskStatus) {
+	}
+}
@@ -0,0 +1,79 @@
+package org.yvynnyk.timetrack.schema;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ContextConfiguration;
+import org.yvynnyk.timetrack.dto.TaskChangesDTO;
+import org.yvynnyk.timetrack.service.TaskService;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application with {@code ddl-auto=update} on a database holding the tables and rows of a version before
+ * tenancy and change times, and reads the stored task through the tenant filter and the synchronization.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=" + LegacySchemaUpgradeTest.URL,
+		"spring.jpa.hibernate.ddl-auto=update"
+})
+@ContextConfiguration(initializers = LegacySchemaUpgradeTest.LegacySchema.class)
+class LegacySchemaUpgradeTest {
+
+	static final String URL = "jdbc:h2:mem:legacy_schema;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+			+ "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+	private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 9, 10, 8, 30);
+
+	@Autowired
+	private TaskService taskService;
+
+	@BeforeEach
+	void setUp() {
+		TenantContext.bind("default");
+	}
+
+	@AfterEach
+	void tearDown() {
+		TenantContext.unbind();
+	}
+
+	@Test
+	void legacyTask_belongsToTheDefaultTenantAndIsSynchronized() {
+		TaskChangesDTO changes = taskService.getChangesSince(null);
+
+		assertEquals(1, changes.getTasks().size());
+		assertEquals("Legacy", changes.getTasks().get(0).getName());
+		assertEquals("Legacy", taskService.getById(changes.getTasks().get(0).getId()).getName());
+	}
+
+	/**
+	 * Creates the legacy tables before the application context starts.
+	 */
+	static class LegacySchema implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+		@Override
+		public void initialize(ConfigurableApplicationContext context) {
+			JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+			jdbc.execute("create table if not exists task (id bigint generated by default as identity primary key, "
+					+ "name varchar(255) not null, description varchar(255), status varchar(255) not null, "
+					+ "created_at timestamp(6) not null, updated_at timestamp(6))");
+			jdbc.execute("create table if not exists time_entry (id bigint generated by default as identity "
+					+ "primary key, task_id bigint not null, start_time timestamp(6) not null, end_time timestamp(6))");
+			if (jdbc.queryForObject("select count(*) from task", Integer.class) == 0) {
+				jdbc.update("insert into task (name, status, created_at) values ('Legacy', 'PENDING', ?)", CREATED_AT);
+				jdbc.update("insert into time_entry (task_id, start_time, end_time) select id, ?, ? from task",
+						CREATED_AT, CREATED_AT.plusHours(1));
+			}
+		}
+	}
+}
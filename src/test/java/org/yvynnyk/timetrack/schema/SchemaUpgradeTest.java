@@ -0,0 +1,101 @@
+package org.yvynnyk.timetrack.schema;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades the tables of a database created before tenancy and change times existed, on H2 in PostgreSQL mode.
+ */
+class SchemaUpgradeTest {
+
+	private static final String DEFAULT_TENANT = "default";
+	private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 9, 10, 8, 30);
+	private static final List<String> UPGRADES = List.of("task-changed-at", "task-tenant-id", "tenant-shard-moving",
+			"time-entry-tenant-id");
+
+	private HikariDataSource dataSource;
+	private JdbcTemplate jdbc;
+	private SchemaUpgrade upgrade;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl("jdbc:h2:mem:schema_upgrade;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+		dataSource.setMaximumPoolSize(2);
+		jdbc = new JdbcTemplate(dataSource);
+		upgrade = new SchemaUpgrade(Map.of("legacy", dataSource), DEFAULT_TENANT);
+	}
+
+	@AfterEach
+	void tearDown() {
+		dataSource.close();
+	}
+
+	@Test
+	void legacyRows_getTheDefaultTenantAndNotNullColumns() {
+		createLegacyTables();
+
+		upgrade.apply();
+
+		assertEquals(DEFAULT_TENANT, jdbc.queryForObject("select tenant_id from task", String.class));
+		assertEquals(DEFAULT_TENANT, jdbc.queryForObject("select tenant_id from time_entry", String.class));
+		assertEquals("NO", nullable("task", "tenant_id"));
+		assertEquals("NO", nullable("time_entry", "tenant_id"));
+		assertEquals(CREATED_AT, jdbc.queryForObject("select changed_at from task", LocalDateTime.class));
+		assertEquals("NO", nullable("task", "changed_at"));
+		assertEquals(Boolean.FALSE, jdbc.queryForObject("select moving from tenant_shard", Boolean.class));
+		assertEquals("NO", nullable("tenant_shard", "moving"));
+		assertEquals(UPGRADES, applied());
+	}
+
+	@Test
+	void appliedUpgrade_isNotRepeated() {
+		createLegacyTables();
+		upgrade.apply();
+		jdbc.execute("alter table task alter column tenant_id drop not null");
+
+		upgrade.apply();
+
+		assertEquals("YES", nullable("task", "tenant_id"));
+	}
+
+	@Test
+	void missingTables_areLeftToHibernate() {
+		upgrade.apply();
+
+		assertEquals(0, jdbc.queryForObject("select count(*) from information_schema.tables where table_name = 'task'",
+				Integer.class));
+		assertEquals(UPGRADES, applied());
+	}
+
+	private void createLegacyTables() {
+		jdbc.execute("create table task (id bigint generated by default as identity primary key, "
+				+ "name varchar(255) not null, description varchar(255), status varchar(255) not null, "
+				+ "created_at timestamp(6) not null, updated_at timestamp(6))");
+		jdbc.execute("create table time_entry (id bigint generated by default as identity primary key, "
+				+ "task_id bigint not null, start_time timestamp(6) not null, end_time timestamp(6))");
+		jdbc.update("insert into task (name, status, created_at) values ('Legacy', 'IN_PROGRESS', ?)", CREATED_AT);
+		jdbc.update("insert into time_entry (task_id, start_time) select id, current_timestamp from task");
+		jdbc.execute("create table tenant_shard (tenant_id varchar(64) not null primary key, "
+				+ "shard varchar(64) not null)");
+		jdbc.update("insert into tenant_shard (tenant_id, shard) values ('acme', 'eu-1')");
+	}
+
+	private String nullable(String table, String column) {
+		return jdbc.queryForObject("select is_nullable from information_schema.columns "
+				+ "where table_name = ? and column_name = ?", String.class, table, column);
+	}
+
+	private List<String> applied() {
+		return jdbc.queryForList("select id from schema_upgrade order by id", String.class);
+	}
+}
@@ -5,20 +5,37 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.yvynnyk.timetrack.cache.TaskCache;
+import org.yvynnyk.timetrack.cache.TaskChanges;
+import org.yvynnyk.timetrack.dto.TaskBatchDTO;
+import org.yvynnyk.timetrack.dto.TaskChangesDTO;
 import org.yvynnyk.timetrack.dto.TaskCreateDTO;
 import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.eventstore.TaskEventStore;
+import org.yvynnyk.timetrack.events.TaskEvents;
+import org.yvynnyk.timetrack.events.TaskStatusEvent;
+import org.yvynnyk.timetrack.exception.InvalidRequestException;
 import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
 import org.yvynnyk.timetrack.mapper.TaskMapper;
 import org.yvynnyk.timetrack.model.Task;
 import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.outbox.Outbox;
 import org.yvynnyk.timetrack.repository.TaskRepository;
+import org.yvynnyk.timetrack.sync.ChangeToken;
+import org.yvynnyk.timetrack.sync.SyncProperties;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,6 +48,24 @@ class TaskServiceImplTest {
 	@Mock
 	private TaskMapper taskMapper;
 
+	@Spy
+	private TaskCache taskCache = TaskCache.disabled("default");
+
+	@Mock
+	private TaskChanges taskChanges;
+
+	@Mock
+	private TaskEvents taskEvents;
+
+	@Mock
+	private Outbox outbox;
+
+	@Mock
+	private TaskEventStore eventStore;
+
+	@Spy
+	private SyncProperties syncProperties = new SyncProperties();
+
 	@InjectMocks
 	private TaskServiceImpl taskService;
 
@@ -75,6 +110,8 @@ class TaskServiceImplTest {
 		verify(taskMapper).toEntity(taskCreateDTO);
 		verify(taskRepository).save(task);
 		verify(taskMapper).toDto(task);
+		verify(outbox).record(eq(Outbox.TASK), eq(taskDTO.getId()), eq(Outbox.TASK_SAVED), any(TaskStatusEvent.class));
+		verify(eventStore).created(taskDTO);
 	}
 
 	@Test
@@ -91,6 +128,20 @@ class TaskServiceImplTest {
 		verify(taskMapper).toEntity(taskDTO);
 		verify(taskRepository).save(task);
 		verify(taskMapper).toDto(task);
+		verify(eventStore).updated(taskDTO);
+	}
+
+	@Test
+	void update_byTimeEntry_shouldNotAppendUpdateEvent() {
+		when(taskRepository.existsById(1L)).thenReturn(true);
+		when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+		when(taskRepository.save(task)).thenReturn(task);
+		when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+		taskService.update(taskDTO);
+
+		verify(taskRepository).save(task);
+		verify(eventStore, never()).updated(any());
 	}
 
 	@Test
@@ -124,6 +175,64 @@ class TaskServiceImplTest {
 		verify(taskRepository).findById(1L);
 	}
 
+	@Test
+	void getByIds_shouldReturnTasksInRequestOrderAndReportMissingIds() {
+		Task second = new Task(2L, "Second Task", null, TaskStatus.CREATE, null, null);
+		TaskDTO secondDTO = new TaskDTO(2L, "Second Task", null, TaskStatus.CREATE, null, null);
+		when(taskRepository.findAllById(List.of(2L, 3L, 1L))).thenReturn(List.of(task, second));
+		when(taskMapper.toDto(List.of(task, second))).thenReturn(List.of(taskDTO, secondDTO));
+
+		TaskBatchDTO batch = taskService.getByIds(List.of(2L, 3L, 1L, 2L));
+
+		assertEquals(List.of(secondDTO, taskDTO), batch.getTasks());
+		assertEquals(List.of(3L), batch.getMissingIds());
+	}
+
+	@Test
+	void getByIds_nullId_shouldThrowException() {
+		assertThrows(InvalidRequestException.class, () -> taskService.getByIds(Arrays.asList(1L, null)));
+	}
+
+	@Test
+	void getChangesSince_shouldMoveTokenOnlyPastSettledChanges() {
+		LocalDateTime settledAt = LocalDateTime.now().minusMinutes(1);
+		task.setChangedAt(settledAt);
+		Task recent = new Task(2L, "Recent Task", null, TaskStatus.CREATE, null, null);
+		recent.setChangedAt(LocalDateTime.now());
+		TaskDTO recentDTO = new TaskDTO(2L, "Recent Task", null, TaskStatus.CREATE, null, null);
+		when(taskRepository.findChangedAfter(ChangeToken.START.changedAt(), 0, Limit.of(1001)))
+				.thenReturn(List.of(task, recent));
+		when(taskMapper.toDto(List.of(task, recent))).thenReturn(List.of(taskDTO, recentDTO));
+
+		TaskChangesDTO changes = taskService.getChangesSince(null);
+
+		assertEquals(List.of(taskDTO, recentDTO), changes.getTasks());
+		assertEquals(new ChangeToken(settledAt, 1L).toString(), changes.getToken());
+		assertFalse(changes.isHasMore());
+	}
+
+	@Test
+	void getChangesSince_fullPage_shouldReportMoreChanges() {
+		syncProperties.setPageSize(1);
+		LocalDateTime since = LocalDateTime.of(2024, 9, 10, 12, 0);
+		task.setChangedAt(since.plusSeconds(1));
+		Task next = new Task(2L, "Next Task", null, TaskStatus.CREATE, null, null);
+		next.setChangedAt(since.plusSeconds(2));
+		when(taskRepository.findChangedAfter(since, 7L, Limit.of(2))).thenReturn(List.of(task, next));
+		when(taskMapper.toDto(List.of(task))).thenReturn(List.of(taskDTO));
+
+		TaskChangesDTO changes = taskService.getChangesSince(new ChangeToken(since, 7L).toString());
+
+		assertEquals(List.of(taskDTO), changes.getTasks());
+		assertEquals(new ChangeToken(since.plusSeconds(1), 1L).toString(), changes.getToken());
+		assertTrue(changes.isHasMore());
+	}
+
+	@Test
+	void getChangesSince_malformedToken_shouldThrowException() {
+		assertThrows(InvalidRequestException.class, () -> taskService.getChangesSince("yesterday"));
+	}
+
 	@Test
 	void getTasksInProgress_shouldReturnTasks() {
 		List<Task> tasks = List.of(task);
@@ -1,18 +1,32 @@
 package org.yvynnyk.timetrack.service.impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.yvynnyk.timetrack.constant.MetricsConstants;
+import org.yvynnyk.timetrack.cache.TaskChanges;
 import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.eventstore.TaskEventStore;
+import org.yvynnyk.timetrack.exception.InvalidTaskStateException;
+import org.yvynnyk.timetrack.exception.ResourceNotFoundException;
+import org.yvynnyk.timetrack.mapper.TaskMapper;
 import org.yvynnyk.timetrack.model.Task;
 import org.yvynnyk.timetrack.model.TimeEntry;
 import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+import org.yvynnyk.timetrack.outbox.Outbox;
+import org.yvynnyk.timetrack.outbox.TimeEntryEvent;
 import org.yvynnyk.timetrack.repository.TimeEntryRepository;
 import org.yvynnyk.timetrack.service.TaskService;
+import org.yvynnyk.timetrack.statistics.TaskDurationStatistics;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -20,7 +34,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.yvynnyk.timetrack.constant.ExceptionConstants.TimeEntry.AUTOMATIC_CLOSURE_FAILED;
 import static org.yvynnyk.timetrack.constant.ExceptionConstants.TimeEntry.TASK_STATUS_ERROR;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +48,27 @@ class TimeEntryServiceImplTest {
 	@Mock
 	private TaskService taskService;
 
+	@Mock
+	private TaskMapper taskMapper;
+
+	@Mock
+	private TaskChanges taskChanges;
+
+	@Mock
+	private Outbox outbox;
+
+	@Mock
+	private TaskEventStore eventStore;
+
+	@Mock
+	private TaskDurationStatistics taskDurations;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	@InjectMocks
 	private TimeEntryServiceImpl timeEntryService;
 
@@ -72,6 +109,8 @@ class TimeEntryServiceImplTest {
 
 		verify(taskService, times(1)).getById(1L);
 		verify(timeEntryRepository, times(1)).save(any(TimeEntry.class));
+		verify(outbox).record(eq(Outbox.TIME_ENTRY), any(), eq(Outbox.TIME_ENTRY_STARTED), any(TimeEntryEvent.class));
+		verify(eventStore).started(eq(1L), any(TimeEntry.class));
 		assertEquals(TaskStatus.IN_PROGRESS, taskDTO.getStatus());
 	}
 
@@ -80,9 +119,10 @@ class TimeEntryServiceImplTest {
 		taskDTO.setStatus(TaskStatus.IN_PROGRESS);
 		when(taskService.getById(1L)).thenReturn(taskDTO);
 
-		IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> timeEntryService.start(1L));
+		InvalidTaskStateException thrown = assertThrows(InvalidTaskStateException.class, () -> timeEntryService.start(1L));
 
 		assertEquals(TASK_STATUS_ERROR, thrown.getMessage());
+		assertEquals(0, thrown.getStackTrace().length);
 		verify(taskService, times(1)).getById(1L);
 		verify(timeEntryRepository, never()).save(any(TimeEntry.class));
 	}
@@ -115,6 +155,8 @@ class TimeEntryServiceImplTest {
 		verify(timeEntryRepository, times(1)).save(timeEntry);
 		assertEquals(TaskStatus.COMPLETED, taskDTO.getStatus());
 		assertNotNull(timeEntry.getEndTime());
+		verify(taskDurations).completed(timeEntry.getTenantId(), timeEntry.getStartTime(), timeEntry.getEndTime());
+		verify(eventStore).stopped(1L, timeEntry);
 	}
 
 	@Test
@@ -149,7 +191,7 @@ class TimeEntryServiceImplTest {
 
 		verify(taskService, times(1)).getTasksInProgress(TaskStatus.IN_PROGRESS);
 
-		verify(timeEntryRepository, never()).findByTaskId(anyLong());
+		verify(timeEntryRepository, never()).findWithTaskByTaskId(anyLong());
 	}
 
 	@Test
@@ -157,15 +199,71 @@ class TimeEntryServiceImplTest {
 		task.setStatus(TaskStatus.IN_PROGRESS);
 		taskDTO.setStatus(TaskStatus.IN_PROGRESS);
 		when(taskService.getTasksInProgress(TaskStatus.IN_PROGRESS)).thenReturn(List.of(taskDTO));
-		when(timeEntryRepository.findByTaskId(taskDTO.getId())).thenReturn(Optional.of(timeEntry));
+		when(timeEntryRepository.findWithTaskByTaskId(taskDTO.getId())).thenReturn(Optional.of(timeEntry));
 		when(timeEntryRepository.findByTaskIdAndEndTimeIsNull(task.getId())).thenReturn(Optional.of(timeEntry));
 		when(taskService.getById(task.getId())).thenReturn(taskDTO);
 
 		timeEntryService.closeTasksAutomatically();
 
 		verify(taskService, times(1)).getTasksInProgress(TaskStatus.IN_PROGRESS);
-		verify(timeEntryRepository, times(1)).findByTaskId(taskDTO.getId());
+		verify(timeEntryRepository, times(1)).findWithTaskByTaskId(taskDTO.getId());
 		assertEquals(TaskStatus.COMPLETED, taskDTO.getStatus());
 		assertNotNull(timeEntry.getEndTime());
+		assertEquals(1.0, meterRegistry.get(MetricsConstants.Closure.TASKS_SCANNED).counter().count());
+		assertEquals(1.0, meterRegistry.get(MetricsConstants.Closure.TASKS_CLOSED).counter().count());
+		assertEquals(1L, meterRegistry.get(MetricsConstants.Closure.DURATION).timer().count());
+	}
+
+	@Test
+	void closeTasksAutomatically_closesTasksOfGivenDate() {
+		LocalDate yesterday = LocalDate.now().minusDays(1);
+		timeEntry.setStartTime(yesterday.atTime(9, 0));
+		task.setStatus(TaskStatus.IN_PROGRESS);
+		taskDTO.setStatus(TaskStatus.IN_PROGRESS);
+		when(taskService.getTasksInProgress(TaskStatus.IN_PROGRESS, 0, 1)).thenReturn(List.of(taskDTO));
+		when(timeEntryRepository.findWithTaskByTaskId(taskDTO.getId())).thenReturn(Optional.of(timeEntry));
+		when(timeEntryRepository.findByTaskIdAndEndTimeIsNull(task.getId())).thenReturn(Optional.of(timeEntry));
+		when(taskService.getById(task.getId())).thenReturn(taskDTO);
+
+		timeEntryService.closeTasksAutomatically(yesterday, 0, 1);
+
+		assertEquals(TaskStatus.COMPLETED, taskDTO.getStatus());
+		assertNotNull(timeEntry.getEndTime());
+	}
+
+	@Test
+	void closeTasksAutomatically_skipsTasksOfOtherDate() {
+		task.setStatus(TaskStatus.IN_PROGRESS);
+		taskDTO.setStatus(TaskStatus.IN_PROGRESS);
+		when(taskService.getTasksInProgress(TaskStatus.IN_PROGRESS, 0, 1)).thenReturn(List.of(taskDTO));
+		when(timeEntryRepository.findWithTaskByTaskId(taskDTO.getId())).thenReturn(Optional.of(timeEntry));
+
+		timeEntryService.closeTasksAutomatically(LocalDate.now().minusDays(1), 0, 1);
+
+		assertEquals(TaskStatus.IN_PROGRESS, taskDTO.getStatus());
+		verify(taskService, never()).update(any(TaskDTO.class));
+	}
+
+	@Test
+	void closeTasksAutomatically_failingTaskDoesNotStopOthersAndIsRethrown() {
+		TaskDTO orphan = new TaskDTO(2L, "Orphan", "Task without time entry", TaskStatus.IN_PROGRESS, null, null);
+		task.setStatus(TaskStatus.IN_PROGRESS);
+		taskDTO.setStatus(TaskStatus.IN_PROGRESS);
+		when(taskService.getTasksInProgress(TaskStatus.IN_PROGRESS)).thenReturn(List.of(orphan, taskDTO));
+		when(timeEntryRepository.findWithTaskByTaskId(orphan.getId())).thenReturn(Optional.empty());
+		when(timeEntryRepository.findWithTaskByTaskId(taskDTO.getId())).thenReturn(Optional.of(timeEntry));
+		when(timeEntryRepository.findByTaskIdAndEndTimeIsNull(task.getId())).thenReturn(Optional.of(timeEntry));
+		when(taskService.getById(task.getId())).thenReturn(taskDTO);
+
+		IllegalStateException failure = assertThrows(IllegalStateException.class,
+				() -> timeEntryService.closeTasksAutomatically());
+
+		assertEquals(AUTOMATIC_CLOSURE_FAILED.formatted(List.of(orphan.getId())),
+				failure.getMessage());
+		assertInstanceOf(ResourceNotFoundException.class, failure.getSuppressed()[0]);
+		assertEquals(TaskStatus.COMPLETED, taskDTO.getStatus());
+		verify(transactionManager, times(1)).commit(any());
+		assertEquals(2.0, meterRegistry.get(MetricsConstants.Closure.TASKS_SCANNED).counter().count());
+		assertEquals(1.0, meterRegistry.get(MetricsConstants.Closure.TASKS_CLOSED).counter().count());
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package org.yvynnyk.timetrack.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRingTest {
+
+	private static final int TENANTS = 10_000;
+
+	@Test
+	void shardFor_isStableAcrossInstances() {
+		ShardRing first = new ShardRing(List.of("a", "b", "c"), 128);
+		ShardRing second = new ShardRing(List.of("c", "a", "b"), 128);
+
+		for (int i = 0; i < 100; i++) {
+			assertEquals(first.shardFor("tenant-" + i), second.shardFor("tenant-" + i));
+		}
+	}
+
+	@Test
+	void shardFor_spreadsTenantsEvenly() {
+		ShardRing ring = new ShardRing(List.of("a", "b", "c", "d"), 128);
+		Map<String, Integer> counts = new HashMap<>();
+
+		for (int i = 0; i < TENANTS; i++) {
+			counts.merge(ring.shardFor("tenant-" + i), 1, Integer::sum);
+		}
+
+		assertEquals(4, counts.size());
+		counts.values().forEach(count -> assertTrue(Math.abs(count - TENANTS / 4) < TENANTS / 4 * 0.2,
+				"unbalanced shard share: " + counts));
+	}
+
+	@Test
+	void addingShard_onlyMovesTenantsToNewShard() {
+		ShardRing before = new ShardRing(List.of("a", "b", "c"), 128);
+		ShardRing after = new ShardRing(List.of("a", "b", "c", "d"), 128);
+		int moved = 0;
+
+		for (int i = 0; i < TENANTS; i++) {
+			String tenant = "tenant-" + i;
+			if (!before.shardFor(tenant).equals(after.shardFor(tenant))) {
+				assertEquals("d", after.shardFor(tenant));
+				moved++;
+			}
+		}
+
+		assertTrue(moved > TENANTS / 4 * 0.8 && moved < TENANTS / 4 * 1.2, "moved " + moved + " tenants");
+	}
+
+	@Test
+	void constructor_withoutShards_throws() {
+		assertThrows(IllegalArgumentException.class, () -> new ShardRing(List.of(), 128));
+	}
+}
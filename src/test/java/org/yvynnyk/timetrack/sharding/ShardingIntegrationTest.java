@@ -0,0 +1,193 @@
+package org.yvynnyk.timetrack.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.job.ClosureJob;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application over two in-memory shards and checks placement, rebalancing and the closure job across
+ * shards on the shards' tables directly.
+ */
+@SpringBootTest(properties = {
+		"timetrack.sharding.enabled=true",
+		"timetrack.sharding.shards[0].name=alpha",
+		"timetrack.sharding.shards[0].url=jdbc:h2:mem:shard_alpha;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"timetrack.sharding.shards[1].name=beta",
+		"timetrack.sharding.shards[1].url=jdbc:h2:mem:shard_beta;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"timetrack.sharding.directory-cache-ttl=300ms",
+		"timetrack.sharding.move-drain-time=700ms"
+})
+@AutoConfigureMockMvc
+class ShardingIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TenantDirectory directory;
+
+	@Autowired
+	private TenantRebalancer rebalancer;
+
+	@Autowired
+	private ClosureJob closureJob;
+
+	@Autowired
+	@Qualifier("alphaShardDataSource")
+	private DataSource alpha;
+
+	@Autowired
+	@Qualifier("betaShardDataSource")
+	private DataSource beta;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void tasks_areStoredOnTheirTenantsShard() throws Exception {
+		String alphaTenant = tenantOnRing("placement", "alpha");
+		String betaTenant = tenantOnRing("placement", "beta");
+
+		long alphaTask = createTask(alphaTenant);
+		long betaTask = createTask(betaTenant);
+
+		assertEquals(1, taskCount(alpha, alphaTenant));
+		assertEquals(0, taskCount(beta, alphaTenant));
+		assertEquals(1, taskCount(beta, betaTenant));
+		assertEquals(0, taskCount(alpha, betaTenant));
+		assertTrue(betaTask >= ShardSchemaInitializer.ID_BLOCK, "beta must generate ids in its own block");
+		assertTrue(alphaTask < ShardSchemaInitializer.ID_BLOCK);
+	}
+
+	@Test
+	void move_copiesTenantWithItsIdsAndRoutesToTarget() throws Exception {
+		String tenant = tenantOnRing("move", "alpha");
+		long taskId = createTask(tenant);
+		startTask(tenant, taskId);
+
+		Map<String, Integer> moved = rebalancer.move(tenant, "beta");
+
+		assertEquals(Map.of("task", 1, "time_entry", 1, "outbox_event", 3, "task_lifecycle_event", 2,
+				"task_snapshot", 0), moved);
+		assertEquals("beta", directory.shardOf(tenant));
+		assertEquals(0, taskCount(alpha, tenant));
+		assertEquals(1, taskCount(beta, tenant));
+		assertEquals("alpha", rebalancer.plan().get(tenant));
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header(HeaderConstants.TENANT_ID, tenant))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(taskId))
+				.andExpect(jsonPath("$[0].status").value("IN_PROGRESS"));
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/timeEntry/" + taskId + "/stop")
+						.header(HeaderConstants.TENANT_ID, tenant))
+				.andExpect(status().isNoContent());
+	}
+
+	@Test
+	void fencedTenant_isRejectedDuringMoveAndServedAfterwards() throws Exception {
+		String tenant = tenantOnRing("fence", "alpha");
+		long taskId = createTask(tenant);
+
+		CompletableFuture<Map<String, Integer>> move = CompletableFuture.supplyAsync(() -> rebalancer.move(tenant, "beta"));
+		awaitFence(tenant);
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.header(HeaderConstants.TENANT_ID, tenant)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new TaskCreateDTO("Lost", "Written during the move"))))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(jsonPath("$.type").value("urn:timetrack:problem:tenant-moving"));
+
+		assertEquals(1, move.get(10, TimeUnit.SECONDS).get("task"));
+		assertEquals(0, taskCount(alpha, tenant));
+		assertEquals(1, taskCount(beta, tenant));
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/" + taskId).header(HeaderConstants.TENANT_ID, tenant))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void automaticClosure_coversAllShards() throws Exception {
+		String alphaTenant = tenantOnRing("closure", "alpha");
+		String betaTenant = tenantOnRing("closure", "beta");
+		long alphaTask = createTask(alphaTenant);
+		long betaTask = createTask(betaTenant);
+		startTask(alphaTenant, alphaTask);
+		startTask(betaTenant, betaTask);
+
+		closureJob.runFor(LocalDate.now());
+
+		assertEquals("COMPLETED", taskStatus(alpha, alphaTask));
+		assertEquals("COMPLETED", taskStatus(beta, betaTask));
+		assertEquals(1, stoppedEvents(beta, betaTenant));
+	}
+
+	private String tenantOnRing(String prefix, String shard) {
+		return IntStream.range(0, 1000)
+				.mapToObj(i -> prefix + "-" + i)
+				.filter(tenant -> directory.ringShardOf(tenant).equals(shard))
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private void awaitFence(String tenantId) throws InterruptedException {
+		JdbcTemplate catalog = new JdbcTemplate(alpha);
+		for (int i = 0; i < 100; i++) {
+			if (Boolean.TRUE.equals(catalog.queryForObject("select moving from tenant_shard where tenant_id = ?",
+					Boolean.class, tenantId))) {
+				return;
+			}
+			Thread.sleep(10);
+		}
+		fail("tenant " + tenantId + " was not fenced");
+	}
+
+	private long createTask(String tenantId) throws Exception {
+		String body = mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.header(HeaderConstants.TENANT_ID, tenantId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new TaskCreateDTO("Task", "Description"))))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("id").asLong();
+	}
+
+	private void startTask(String tenantId, long taskId) throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/timeEntry/start")
+						.header(HeaderConstants.TENANT_ID, tenantId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(String.valueOf(taskId)))
+				.andExpect(status().isNoContent());
+	}
+
+	private static int taskCount(DataSource shard, String tenantId) {
+		return new JdbcTemplate(shard).queryForObject("select count(*) from task where tenant_id = ?", Integer.class,
+				tenantId);
+	}
+
+	private static int stoppedEvents(DataSource shard, String tenantId) {
+		return new JdbcTemplate(shard).queryForObject("select count(*) from outbox_event where tenant_id = ? "
+				+ "and event_type = 'time-entry.stopped'", Integer.class, tenantId);
+	}
+
+	private static String taskStatus(DataSource shard, long taskId) {
+		return new JdbcTemplate(shard).queryForObject("select status from task where id = ?", String.class, taskId);
+	}
+}
@@ -0,0 +1,189 @@
+package org.yvynnyk.timetrack.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the startup time and the time to first request of the packaged application in several launch modes.
+ * <p>
+ * Every run starts the application from the directory produced by {@code mvn -Pstartup package} as a separate
+ * process, polls an HTTP path until it answers {@code 200}, and stops it again. Two numbers are recorded per run:
+ * </p>
+ * <ul>
+ *     <li>{@code firstRequestMs} - from launching the process to the first successful response, which is what
+ *     a load balancer waiting for a new pod experiences</li>
+ *     <li>{@code startedMs} - the "process running for" time Spring Boot logs when the context is ready</li>
+ * </ul>
+ * <p>
+ * Modes are {@code jit} (plain jar), {@code aot} (Spring AOT initialisers) and {@code aot-cds} (AOT plus the
+ * AppCDS archive from the training run). Medians per mode are printed and written, with all runs, to
+ * {@code startup-<timestamp>.json} in the output directory.
+ * </p>
+ * <p>
+ * Options, passed as {@code --name=value}: {@code dir} (default {@code target/startup}), {@code runs}
+ * ({@code 5}), {@code modes} ({@code jit,aot,aot-cds}), {@code port} ({@code 18080}), {@code path}
+ * ({@code /actuator/health/liveness}), {@code timeout} in seconds ({@code 120}), {@code output-dir}
+ * ({@code target/startup-report}) and {@code jvm-arg}, an extra JVM argument such as the datasource URL, which
+ * may be repeated.
+ * </p>
+ */
+public final class StartupProbe {
+
+	private static final Pattern STARTED = Pattern.compile("Started \\S+ in [\\d.]+ seconds \\(process running for ([\\d.]+)\\)");
+	private static final String JAR_SUFFIX = ".jar";
+
+	private final Map<String, String> options;
+	private final List<String> jvmArgs;
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+	private StartupProbe(Map<String, String> options, List<String> jvmArgs) {
+		this.options = options;
+		this.jvmArgs = jvmArgs;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		List<String> jvmArgs = new ArrayList<>();
+		for (String arg : args) {
+			if (arg.isBlank()) {
+				continue;
+			}
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+			}
+			String name = arg.substring(2, arg.indexOf('='));
+			String value = arg.substring(arg.indexOf('=') + 1);
+			if (name.equals("jvm-arg")) {
+				jvmArgs.add(value);
+			} else {
+				options.put(name, value);
+			}
+		}
+		new StartupProbe(options, jvmArgs).run();
+	}
+
+	private void run() throws Exception {
+		Path dir = Path.of(option("dir", "target/startup")).toAbsolutePath();
+		Path jar = findJar(dir);
+		int runs = Integer.parseInt(option("runs", "5"));
+		Path outputDir = Path.of(option("output-dir", "target/startup-report"));
+		Files.createDirectories(outputDir);
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("jar", jar.toString());
+		report.put("runs", runs);
+		Map<String, Object> modes = new LinkedHashMap<>();
+		for (String mode : option("modes", "jit,aot,aot-cds").split(",")) {
+			List<Map<String, Long>> results = new ArrayList<>();
+			for (int run = 1; run <= runs; run++) {
+				Map<String, Long> result = measure(dir, jar, mode.trim(), outputDir.resolve("%s-%d.log".formatted(mode.trim(), run)));
+				System.out.printf("%-8s run %d: first request %d ms, started %d ms%n",
+						mode, run, result.get("firstRequestMs"), result.get("startedMs"));
+				results.add(result);
+			}
+			Map<String, Object> summary = new LinkedHashMap<>();
+			summary.put("medianFirstRequestMs", median(results, "firstRequestMs"));
+			summary.put("medianStartedMs", median(results, "startedMs"));
+			summary.put("runs", results);
+			modes.put(mode.trim(), summary);
+			System.out.printf("%-8s median: first request %d ms, started %d ms%n",
+					mode, summary.get("medianFirstRequestMs"), summary.get("medianStartedMs"));
+		}
+		report.put("modes", modes);
+
+		Path file = outputDir.resolve("startup-%s.json".formatted(
+				LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+		System.out.println("Report written to " + file.toAbsolutePath());
+	}
+
+	private Map<String, Long> measure(Path dir, Path jar, String mode, Path log) throws Exception {
+		int port = Integer.parseInt(option("port", "18080"));
+		List<String> command = new ArrayList<>(List.of("java"));
+		switch (mode) {
+			case "jit" -> {
+			}
+			case "aot" -> command.add("-Dspring.aot.enabled=true");
+			case "aot-cds" -> command.addAll(List.of("-Dspring.aot.enabled=true", "-Xlog:cds=error",
+					"-XX:SharedArchiveFile=" + dir.resolve("application.jsa")));
+			default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+		}
+		command.add("-Dserver.port=" + port);
+		command.addAll(jvmArgs);
+		command.addAll(List.of("-jar", jar.toString()));
+
+		URI uri = URI.create("http://localhost:" + port + option("path", "/actuator/health/liveness"));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Long.parseLong(option("timeout", "120")));
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command)
+				.directory(dir.toFile())
+				.redirectErrorStream(true)
+				.redirectOutput(log.toFile())
+				.start();
+		try {
+			while (!answers(uri)) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException("Application exited with code %d, see %s".formatted(process.exitValue(), log));
+				}
+				if (System.nanoTime() > deadline) {
+					throw new IllegalStateException("No successful response from %s, see %s".formatted(uri, log));
+				}
+				Thread.sleep(10);
+			}
+			long firstRequestMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			return Map.of("firstRequestMs", firstRequestMs, "startedMs", startedMs(log));
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+	}
+
+	private boolean answers(URI uri) throws InterruptedException {
+		try {
+			HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(1)).build(),
+					HttpResponse.BodyHandlers.discarding());
+			return response.statusCode() == 200;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static long startedMs(Path log) throws IOException {
+		Matcher matcher = STARTED.matcher(Files.readString(log));
+		return matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : -1L;
+	}
+
+	private static long median(List<Map<String, Long>> results, String key) {
+		long[] values = results.stream().mapToLong(result -> result.get(key)).sorted().toArray();
+		return values[values.length / 2];
+	}
+
+	private static Path findJar(Path dir) throws IOException {
+		try (var files = Files.list(dir)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(JAR_SUFFIX))
+					.findFirst()
+					.orElseThrow(() -> new IllegalStateException("No jar in %s, run mvn -Pstartup package first".formatted(dir)));
+		}
+	}
+
+	private String option(String name, String defaultValue) {
+		return options.getOrDefault(name, defaultValue);
+	}
+}
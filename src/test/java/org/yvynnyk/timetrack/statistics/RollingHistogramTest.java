@@ -0,0 +1,68 @@
+package org.yvynnyk.timetrack.statistics;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingHistogramTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+	private final RollingHistogram histogram = new RollingHistogram(Duration.ofHours(1), 12, 3_600, 2);
+
+	@Test
+	void valuesWithinWindow_areMerged() {
+		histogram.record(60, NOW.minusMinutes(50));
+		histogram.record(120, NOW.minusMinutes(10));
+		histogram.record(180, NOW);
+
+		Histogram snapshot = histogram.snapshot(NOW);
+
+		assertEquals(3, snapshot.getTotalCount());
+		assertEquals(120, snapshot.getValueAtPercentile(50), 1);
+		assertEquals(180, snapshot.getMaxValue(), 1);
+	}
+
+	@Test
+	void valuesLeaveWindow_sliceBySlice() {
+		histogram.record(60, NOW);
+
+		assertEquals(1, histogram.snapshot(NOW.plusMinutes(55)).getTotalCount());
+		assertEquals(0, histogram.snapshot(NOW.plusMinutes(60)).getTotalCount());
+	}
+
+	@Test
+	void reusedSlice_dropsItsPreviousValues() {
+		histogram.record(60, NOW);
+		histogram.record(120, NOW.plusHours(1));
+
+		Histogram snapshot = histogram.snapshot(NOW.plusHours(1));
+
+		assertEquals(1, snapshot.getTotalCount());
+		assertEquals(120, snapshot.getMaxValue(), 1);
+	}
+
+	@Test
+	void valueOlderThanItsSlice_isDropped() {
+		histogram.record(60, NOW.plusHours(1));
+		histogram.record(120, NOW);
+
+		assertEquals(1, histogram.snapshot(NOW.plusHours(1)).getTotalCount());
+		assertEquals(0, histogram.snapshot(NOW).getTotalCount());
+	}
+
+	@Test
+	void outOfRangeValues_areClamped() {
+		histogram.record(-5, NOW);
+		histogram.record(10_000, NOW);
+
+		Histogram snapshot = histogram.snapshot(NOW);
+
+		assertEquals(0, snapshot.getMinValue());
+		assertEquals(3_600, snapshot.getMaxValue(), 36);
+	}
+}
@@ -0,0 +1,129 @@
+package org.yvynnyk.timetrack.statistics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.dto.DurationStatisticsDTO;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.service.TaskService;
+import org.yvynnyk.timetrack.service.TimeEntryService;
+import org.yvynnyk.timetrack.tenant.TenantContext;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Records the durations of stopped tasks and rebuilds them from the stored time entries, on H2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskDurationStatisticsTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TimeEntryService timeEntryService;
+
+	@Autowired
+	private TaskDurationStatistics taskDurations;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@AfterEach
+	void tearDown() {
+		TenantContext.unbind();
+	}
+
+	@Test
+	void stoppedTask_isReportedOnEndpoint() throws Exception {
+		TenantContext.bind("durations-live");
+		Long taskId = taskService.create(new TaskCreateDTO("Task", "Description")).getId();
+		timeEntryService.start(taskId);
+		timeEntryService.stop(taskId);
+		TenantContext.unbind();
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/statistics/task-durations")
+						.header(HeaderConstants.TENANT_ID, "durations-live"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3))
+				.andExpect(jsonPath("$[0].window").value("PT1H"))
+				.andExpect(jsonPath("$[0].count").value(1))
+				.andExpect(jsonPath("$[2].window").value("PT168H"))
+				.andExpect(jsonPath("$[2].count").value(1));
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/statistics/task-durations")
+						.header(HeaderConstants.TENANT_ID, "durations-other"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].count").value(0));
+	}
+
+	@Test
+	void rolledBackStop_isNotRecorded() {
+		TenantContext.bind("durations-rollback");
+		Long taskId = taskService.create(new TaskCreateDTO("Task", "Description")).getId();
+		timeEntryService.start(taskId);
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			timeEntryService.stop(taskId);
+			status.setRollbackOnly();
+		});
+
+		assertEquals(0, taskDurations.statistics().get(0).getCount());
+	}
+
+	@Test
+	void loader_recordsEntriesCompletedBeforeLiveFrom() {
+		TenantContext.bind("durations-stored");
+		Long taskId = taskService.create(new TaskCreateDTO("Task", "Description")).getId();
+		timeEntryService.start(taskId);
+		timeEntryService.stop(taskId);
+		TaskDurationStatistics rebuilt = new TaskDurationStatistics(new StatisticsProperties(), "default",
+				LocalDateTime.now().plusMinutes(1));
+
+		TenantContext.bind(TenantContext.ROOT);
+		new TaskDurationLoader(new JdbcTemplate(dataSource), rebuilt).load();
+		rebuilt.completed("durations-stored", NOW, NOW.plusMinutes(5));
+
+		TenantContext.bind("durations-stored");
+		assertEquals(1, rebuilt.statistics().get(0).getCount());
+	}
+
+	@Test
+	void rootTenant_seesAllTenants() {
+		TaskDurationStatistics statistics = new TaskDurationStatistics(new StatisticsProperties(), "default",
+				LocalDateTime.MIN);
+		statistics.completed("a", NOW.minusMinutes(10), NOW);
+		statistics.completed("b", NOW.minusMinutes(30), NOW);
+		statistics.completed("b", NOW.minusDays(3), NOW.minusDays(2));
+
+		TenantContext.bind("a");
+		assertEquals(1, statistics.statistics(NOW).get(0).getCount());
+		TenantContext.bind(TenantContext.ROOT);
+		List<DurationStatisticsDTO> all = statistics.statistics(NOW);
+		assertEquals(List.of(2L, 2L, 3L), all.stream().map(DurationStatisticsDTO::getCount).toList());
+		assertEquals(Duration.ofMinutes(30).toSeconds(), all.get(0).getMaxSeconds(), 18);
+		assertEquals(Duration.ofDays(1).toSeconds(), all.get(2).getMaxSeconds(), 900);
+	}
+}
@@ -0,0 +1,66 @@
+package org.yvynnyk.timetrack.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.dto.TaskCreateDTO;
+import org.yvynnyk.timetrack.dto.TaskDTO;
+import org.yvynnyk.timetrack.model.enumeration.TaskStatus;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TenantIsolationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void tasksOfOtherTenants_areInvisible() throws Exception {
+		long taskId = createTask("isolation-a");
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header(HeaderConstants.TENANT_ID, "isolation-b"))
+				.andExpect(status().isNoContent());
+		mockMvc.perform(MockMvcRequestBuilders.put("/api/tasks/" + taskId)
+						.header(HeaderConstants.TENANT_ID, "isolation-b")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(
+								new TaskDTO(taskId, "Taken", null, TaskStatus.PENDING, null, null))))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/timeEntry/start")
+						.header(HeaderConstants.TENANT_ID, "isolation-b")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(String.valueOf(taskId)))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header(HeaderConstants.TENANT_ID, "isolation-a"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].id").value(taskId));
+	}
+
+	@Test
+	void malformedTenantId_isRejected() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header(HeaderConstants.TENANT_ID, TenantContext.ROOT))
+				.andExpect(status().isBadRequest());
+	}
+
+	private long createTask(String tenantId) throws Exception {
+		String body = mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.header(HeaderConstants.TENANT_ID, tenantId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new TaskCreateDTO("Task", "Description"))))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("id").asLong();
+	}
+}
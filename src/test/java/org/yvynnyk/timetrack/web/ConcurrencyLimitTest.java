@@ -0,0 +1,59 @@
+package org.yvynnyk.timetrack.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.yvynnyk.timetrack.concurrency.AdaptiveLimiter;
+import org.yvynnyk.timetrack.concurrency.ConcurrencyLimits;
+import org.yvynnyk.timetrack.concurrency.LimitGroup;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that requests above a group's limit are shed with 503 while the other group keeps serving.
+ */
+@SpringBootTest(properties = {
+		"timetrack.concurrency.reads.initial-limit=1",
+		"timetrack.concurrency.reads.min-limit=1",
+		"timetrack.concurrency.reads.max-limit=1",
+		"timetrack.concurrency.retry-after=2s"
+})
+@AutoConfigureMockMvc
+class ConcurrencyLimitTest {
+
+	private static final String TENANT = "limits";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ConcurrencyLimits limits;
+
+	@Test
+	void fullGroup_shedsItsRequestsOnly() throws Exception {
+		AdaptiveLimiter.Permit running = limits.tryAcquire(LimitGroup.READS);
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header(HeaderConstants.TENANT_ID, TENANT))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+		mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+						.header(HeaderConstants.TENANT_ID, TENANT)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Task\",\"description\":\"Description\"}"))
+				.andExpect(status().isCreated());
+
+		running.ignore();
+		mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/all").header(HeaderConstants.TENANT_ID, TENANT))
+				.andExpect(status().isOk());
+		assertEquals(0, limits.limiter(LimitGroup.READS).inflight());
+		assertEquals(0, limits.limiter(LimitGroup.WRITES).inflight());
+	}
+}
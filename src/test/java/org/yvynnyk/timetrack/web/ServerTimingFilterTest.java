@@ -0,0 +1,65 @@
+package org.yvynnyk.timetrack.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.yvynnyk.timetrack.constant.HeaderConstants;
+import org.yvynnyk.timetrack.timing.RequestTiming;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+	private static final Pattern HEADER = Pattern.compile(
+			"svc;dur=\\d+\\.\\d{2}, mapper;dur=\\d+\\.\\d{2}, app;dur=\\d+\\.\\d{2}");
+
+	private final ServerTimingFilter filter = new ServerTimingFilter(Duration.ofSeconds(10));
+
+	@Test
+	void responseWithBody_hasServerTimingHeader() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/all"), response, (req, res) -> {
+			RequestTiming timing = RequestTiming.current();
+			timing.enter(RequestTiming.Phase.SERVICE);
+			timing.exit(RequestTiming.Phase.SERVICE);
+			res.getWriter().write("[]");
+		});
+
+		String header = response.getHeader(HeaderConstants.SERVER_TIMING);
+		assertNotNull(header);
+		assertTrue(HEADER.matcher(header).matches(), header);
+		assertNull(RequestTiming.current());
+	}
+
+	@Test
+	void responseWithoutBody_hasServerTimingHeader() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("POST", "/api/timeEntry/1/stop"), response,
+				(req, res) -> ((HttpServletResponse) res).setStatus(204));
+
+		assertTrue(HEADER.matcher(response.getHeader(HeaderConstants.SERVER_TIMING)).matches());
+	}
+
+	@Test
+	void nestedPhase_isCountedOnce() {
+		RequestTiming timing = RequestTiming.bind();
+		try {
+			timing.enter(RequestTiming.Phase.SERVICE);
+			timing.enter(RequestTiming.Phase.SERVICE);
+			timing.exit(RequestTiming.Phase.SERVICE);
+			long inner = timing.getPhaseNanos(RequestTiming.Phase.SERVICE);
+			timing.exit(RequestTiming.Phase.SERVICE);
+
+			assertEquals(0L, inner);
+			assertTrue(timing.getPhaseNanos(RequestTiming.Phase.SERVICE) > 0L);
+		} finally {
+			RequestTiming.unbind();
+		}
+	}
+}